@@ -1,77 +1,233 @@
 package org.paradise.palmbeach.basic.messaging;
 
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
-import org.assertj.core.util.Lists;
+import lombok.NonNull;
 import org.paradise.palmbeach.core.agent.SimpleAgent;
 
-import java.util.List;
-import java.util.Map;
 import java.util.TreeSet;
 
+/**
+ * Manages the clocks of agents to detect already received messages. For each agent, the {@code ClockManager} keeps the greatest clock {@code c} such
+ * as all clocks in {@code [1, c]} have been received and a sliding bitset window of the clocks received after {@code c}. When the clock {@code c + 1}
+ * is received, the clock of the agent slides to the next not received clock.
+ * <p>
+ * The window grows until it covers {@link #MAX_WINDOW_SIZE} clocks. Clocks received further ahead are kept in a sorted set and moved to the window
+ * when the clock of the agent comes closer, therefore a clock far ahead (for example from a faulty agent) never allocates a window which covers it.
+ * <p>
+ * Agent clocks are stored in an open addressing hash table keyed by the unique id of the {@link SimpleAgent.AgentIdentifier}, therefore {@link
+ * #notReceivedClock(SimpleAgent.AgentIdentifier, long)} and {@link #updateAgentClockFromClockReceived(SimpleAgent.AgentIdentifier, long)} do not
+ * allocate once the agent is known.
+ * <p>
+ * This class is not thread safe.
+ */
 public class ClockManager {
 
+    // Constants.
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int INITIAL_WINDOW_WORDS = 1;
+
+    private static final int MAX_WINDOW_WORDS = 1 << 10;
+
+    /**
+     * Maximal number of clocks covered by the window of an agent.
+     */
+    public static final long MAX_WINDOW_SIZE = (long) MAX_WINDOW_WORDS << 6;
+
     // Variables.
 
-    private final Map<SimpleAgent.AgentIdentifier, Long> agentClock;
-    private final Map<SimpleAgent.AgentIdentifier, TreeSet<Long>> agentClockReceived;
+    private long[] uniqueIds;
+    private AgentClock[] agentClocks;
+    private int size;
 
     // Constructors.
 
     public ClockManager() {
-        this.agentClock = Maps.newHashMap();
-        this.agentClockReceived = Maps.newHashMap();
+        this.uniqueIds = new long[INITIAL_CAPACITY];
+        this.agentClocks = new AgentClock[INITIAL_CAPACITY];
+        this.size = 0;
     }
 
     // Methods.
 
-    public long incrementAndGetClock(SimpleAgent.AgentIdentifier agent) {
-        return agentClock.merge(agent, 1L, Long::sum);
+    public long incrementAndGetClock(@NonNull SimpleAgent.AgentIdentifier agent) {
+        return agentClock(agent).increment();
+    }
+
+    public long getAgentClock(@NonNull SimpleAgent.AgentIdentifier agent) {
+        return agentClock(agent).clock;
+    }
+
+    public boolean notReceivedClock(@NonNull SimpleAgent.AgentIdentifier agent, long clock) {
+        return !agentClock(agent).isReceived(clock);
     }
 
-    public long getAgentClock(SimpleAgent.AgentIdentifier agent) {
-        return agentClock.computeIfAbsent(agent, k -> 0L);
+    public void updateAgentClockFromClockReceived(@NonNull SimpleAgent.AgentIdentifier agent, long clockReceived) {
+        agentClock(agent).receive(clockReceived);
     }
 
-    public boolean notReceivedClock(SimpleAgent.AgentIdentifier agent, long clock) {
-        return clock > getAgentClock(agent) && !isInAlreadyReceivedClock(agent, clock);
+    private AgentClock agentClock(SimpleAgent.AgentIdentifier agent) {
+        long uniqueId = agent.getUniqueId();
+        int mask = agentClocks.length - 1;
+        int slot = hash(uniqueId) & mask;
+        AgentClock agentClock;
+        while ((agentClock = agentClocks[slot]) != null) {
+            if (uniqueIds[slot] == uniqueId && agentClock.agent.equals(agent))
+                return agentClock;
+            slot = (slot + 1) & mask;
+        }
 
+        agentClock = new AgentClock(agent);
+        uniqueIds[slot] = uniqueId;
+        agentClocks[slot] = agentClock;
+        if (++size * 2 > agentClocks.length)
+            rehash();
+        return agentClock;
     }
 
-    private boolean isInAlreadyReceivedClock(SimpleAgent.AgentIdentifier agent, long clock) {
-        return agentClockReceived.computeIfAbsent(agent, k -> Sets.newTreeSet()).contains(clock);
+    private void rehash() {
+        long[] oldUniqueIds = uniqueIds;
+        AgentClock[] oldAgentClocks = agentClocks;
+        uniqueIds = new long[oldUniqueIds.length * 2];
+        agentClocks = new AgentClock[oldAgentClocks.length * 2];
+        int mask = agentClocks.length - 1;
+        for (int i = 0; i < oldAgentClocks.length; i++) {
+            if (oldAgentClocks[i] != null) {
+                int slot = hash(oldUniqueIds[i]) & mask;
+                while (agentClocks[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                uniqueIds[slot] = oldUniqueIds[i];
+                agentClocks[slot] = oldAgentClocks[i];
+            }
+        }
     }
 
-    public void updateAgentClockFromClockReceived(SimpleAgent.AgentIdentifier agent, long clockReceived) {
-        TreeSet<Long> allClockReceived = Sets.newTreeSet();
-        allClockReceived.add(clockReceived);
-        agentClockReceived.merge(agent, allClockReceived, (oldV, v) -> {
-            oldV.addAll(v);
-            return oldV;
-        });
-        updateClock(agent);
+    private static int hash(long uniqueId) {
+        long h = uniqueId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
     }
 
-    private void updateClock(SimpleAgent.AgentIdentifier agent) {
-        if (agentClock.containsKey(agent)) {
-            List<Long> clockToRemove = Lists.newArrayList();
-            long aClock = agentClock.get(agent);
-            TreeSet<Long> clockReceived = agentClockReceived.get(agent);
-            if (clockReceived != null) {
-                // clock Received is sorted is why we can break if the condition
-                // is not respect because all others will also not satisfy
-                // the condition
-                for (long clock : clockReceived) {
-                    if (clock == aClock + 1) {
-                        aClock += 1;
-                        clockToRemove.add(clock);
-                    } else {
-                        break;
-                    }
+    // Inner classes.
+
+    /**
+     * Clock of one agent. The bit {@code c % (64 * window.length)} of {@code window} is set if the clock {@code c} has been received and is in
+     * {@code ]clock, clock + 64 * window.length]}. Received clocks after the window are in {@code outliers}.
+     */
+    private static class AgentClock {
+
+        // Variables.
+
+        private final SimpleAgent.AgentIdentifier agent;
+        private long clock;
+        private long[] window;
+
+        /**
+         * Received clocks greater than {@code clock + windowSize()}, null until the first one.
+         */
+        private TreeSet<Long> outliers;
+
+        // Constructors.
+
+        private AgentClock(SimpleAgent.AgentIdentifier agent) {
+            this.agent = agent;
+            this.clock = 0L;
+            this.window = new long[INITIAL_WINDOW_WORDS];
+        }
+
+        // Methods.
+
+        private long increment() {
+            return ++clock;
+        }
+
+        private boolean isReceived(long c) {
+            if (c <= clock)
+                return true;
+            else if (c - clock > windowSize())
+                return outliers != null && outliers.contains(c);
+            else
+                return isSet(c);
+        }
+
+        private void receive(long c) {
+            if (c <= clock)
+                return;
+
+            while (c - clock > windowSize() && window.length < MAX_WINDOW_WORDS) {
+                growWindow();
+            }
+
+            if (c - clock > windowSize()) {
+                if (outliers == null)
+                    outliers = new TreeSet<>();
+                outliers.add(c);
+            } else {
+                set(c);
+                slide();
+            }
+        }
+
+        private void slide() {
+            do {
+                while (isSet(clock + 1)) {
+                    clear(clock + 1);
+                    clock++;
                 }
-                agentClock.put(agent, aClock);
-                clockToRemove.forEach(clockReceived::remove);
+            } while (moveOutliersInWindow());
+        }
+
+        /**
+         * Moves to the window the outliers which are now covered by the window.
+         *
+         * @return true if at least one outlier has been moved, else false.
+         */
+        private boolean moveOutliersInWindow() {
+            boolean moved = false;
+            while (outliers != null && !outliers.isEmpty() && outliers.first() - clock <= windowSize()) {
+                set(outliers.pollFirst());
+                moved = true;
+            }
+            return moved;
+        }
+
+        private long windowSize() {
+            return (long) window.length << 6;
+        }
+
+        private boolean isSet(long c) {
+            int bit = bit(c);
+            return (window[bit >>> 6] & (1L << bit)) != 0L;
+        }
+
+        private void set(long c) {
+            int bit = bit(c);
+            window[bit >>> 6] |= 1L << bit;
+        }
+
+        private void clear(long c) {
+            int bit = bit(c);
+            window[bit >>> 6] &= ~(1L << bit);
+        }
+
+        private int bit(long c) {
+            return (int) Math.floorMod(c, windowSize());
+        }
+
+        /**
+         * Doubles the window size. Received clocks are moved because their position depends on the window size. Outliers covered by the new window
+         * are moved to it.
+         */
+        private void growWindow() {
+            long[] oldWindow = window;
+            long oldSize = windowSize();
+            window = new long[oldWindow.length * 2];
+            for (long c = clock + 1; c <= clock + oldSize; c++) {
+                int oldBit = (int) Math.floorMod(c, oldSize);
+                if ((oldWindow[oldBit >>> 6] & (1L << oldBit)) != 0L)
+                    set(c);
             }
+            moveOutliersInWindow();
         }
     }
 }
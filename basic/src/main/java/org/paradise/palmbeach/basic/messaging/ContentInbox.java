@@ -0,0 +1,160 @@
+package org.paradise.palmbeach.basic.messaging;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.paradise.palmbeach.utils.validation.Validate;
+
+import java.util.function.Consumer;
+
+/**
+ * FIFO inbox of received contents backed by a ring buffer. The buffer grows by doubling its size until the capacity of the inbox. When the inbox is
+ * full, offered contents are dropped and counted.
+ * <p>
+ * This class is not thread safe.
+ */
+final class ContentInbox {
+
+    // Constants.
+
+    private static final int INITIAL_BUFFER_SIZE = 16;
+
+    // Variables.
+
+    @Getter
+    private final int capacity;
+
+    private Object[] buffer;
+    private int head;
+    private int size;
+
+    /**
+     * Number of contents which have been dropped because the inbox was full.
+     */
+    @Getter
+    private long droppedNumber;
+
+    /**
+     * Greatest number of contents that the inbox has contained at the same time.
+     */
+    @Getter
+    private int highWaterMark;
+
+    // Constructors.
+
+    /**
+     * @param capacity the max number of contents in the inbox
+     *
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    ContentInbox(int capacity) {
+        Validate.min(capacity, 1, "Inbox capacity cannot be less than 1");
+        this.capacity = capacity;
+        this.buffer = new Object[Math.min(INITIAL_BUFFER_SIZE, capacity)];
+        this.head = 0;
+        this.size = 0;
+        this.droppedNumber = 0L;
+        this.highWaterMark = 0;
+    }
+
+    // Methods.
+
+    /**
+     * Adds the content at the end of the inbox if the inbox is not full.
+     *
+     * @param content the content
+     *
+     * @return true if the content has been added, false if the inbox is full and the content has been dropped.
+     */
+    boolean offer(@NonNull Object content) {
+        if (size == capacity) {
+            droppedNumber++;
+            return false;
+        }
+
+        if (size == buffer.length)
+            grow();
+
+        buffer[(head + size) % buffer.length] = content;
+        size++;
+        highWaterMark = Math.max(highWaterMark, size);
+        return true;
+    }
+
+    /**
+     * @return the first content of the inbox after removing it from the inbox, null if the inbox is empty.
+     */
+    Object poll() {
+        if (size == 0)
+            return null;
+
+        Object content = buffer[head];
+        buffer[head] = null;
+        head = (head + 1) % buffer.length;
+        size--;
+        return content;
+    }
+
+    /**
+     * Removes at most {@code max} contents from the inbox and gives them to the consumer in the FIFO order.
+     *
+     * @param max      the max number of contents to drain
+     * @param consumer the consumer of drained contents
+     *
+     * @return the number of drained contents.
+     */
+    int drain(int max, @NonNull Consumer<Object> consumer) {
+        int toDrain = Math.min(max, size);
+        for (int i = 0; i < toDrain; i++) {
+            consumer.accept(poll());
+        }
+        return toDrain;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return a snapshot of the contents and the counters of the inbox which does not share any mutable object with the inbox.
+     */
+    Snapshot snapshot() {
+        Object[] contents = new Object[size];
+        for (int i = 0; i < size; i++) {
+            contents[i] = buffer[(head + i) % buffer.length];
+        }
+        return new Snapshot(contents, droppedNumber, highWaterMark);
+    }
+
+    /**
+     * Replaces the contents and the counters of the inbox by the ones of the specified snapshot.
+     *
+     * @param snapshot a snapshot returned by {@link #snapshot()}
+     */
+    void restore(@NonNull Snapshot snapshot) {
+        buffer = new Object[Math.max(snapshot.contents.length, Math.min(INITIAL_BUFFER_SIZE, capacity))];
+        System.arraycopy(snapshot.contents, 0, buffer, 0, snapshot.contents.length);
+        head = 0;
+        size = snapshot.contents.length;
+        droppedNumber = snapshot.droppedNumber;
+        highWaterMark = snapshot.highWaterMark;
+    }
+
+    private void grow() {
+        int newLength = (int) Math.min((long) buffer.length * 2, capacity);
+        Object[] newBuffer = new Object[newLength];
+        for (int i = 0; i < size; i++) {
+            newBuffer[i] = buffer[(head + i) % buffer.length];
+        }
+        buffer = newBuffer;
+        head = 0;
+    }
+
+    // Inner classes.
+
+    record Snapshot(Object[] contents, long droppedNumber, int highWaterMark) {
+    }
+}
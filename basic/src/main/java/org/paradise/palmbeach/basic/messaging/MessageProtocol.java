@@ -3,35 +3,68 @@ package org.paradise.palmbeach.basic.messaging;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.paradise.palmbeach.core.agent.AgentProcessEventExecutable;
 import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.core.agent.protocol.Protocol;
+import org.paradise.palmbeach.core.scheduler.Scheduler;
 import org.paradise.palmbeach.core.scheduler.exception.ForcedWakeUpException;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
 import org.paradise.palmbeach.core.scheduler.executor.Executor;
 import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.ContextKey;
+import org.paradise.palmbeach.utils.validation.Validate;
 
 import java.util.Deque;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.paradise.palmbeach.core.simulation.PalmBeachSimulation.scheduler;
 
+/**
+ * Base class of {@link Messenger} {@link Protocol}s. Delivered contents are stored in an inbox backed by a ring buffer. The inbox is unbounded by
+ * default, but its capacity can be specified in the {@code Protocol} {@link Context} with the key {@link #INBOX_CAPACITY_KEY}. When the inbox is full,
+ * delivered contents are dropped and counted in {@link #getDroppedContentNumber()}.
+ */
+@Slf4j
 public abstract class MessageProtocol<T extends MessageEncapsuler> extends Protocol implements Messenger {
 
+    // Constants.
+
+    public static final int DEFAULT_INBOX_CAPACITY = Integer.MAX_VALUE;
+
+    // Context key.
+
+    public static final String INBOX_CAPACITY = "inboxCapacity";
+
+    public static final ContextKey<Integer> INBOX_CAPACITY_KEY =
+            ContextKey.intKey(INBOX_CAPACITY, DEFAULT_INBOX_CAPACITY, new Validate.MinIntValidator(1, "Inbox capacity cannot be less than 1"));
+
     // Variables.
 
-    private final List<Executor.Condition> messageReceptionCondition;
+    private List<Executor.Condition> messageReceptionCondition;
 
-    private final Deque<Object> contentReceived;
+    private final ContentInbox contentReceived;
 
     private final Set<MessageReceiverObserver> observers;
 
+    private final Deque<Consumer<Object>> contentHandlers;
+
     // Constructors.
 
+    /**
+     * @param agent   the agent
+     * @param context the context
+     *
+     * @throws IllegalArgumentException if the inbox capacity specified in the context is less than 1
+     */
     protected MessageProtocol(@NonNull SimpleAgent agent, Context context) {
         super(agent, context);
-        this.messageReceptionCondition = Lists.newLinkedList();
-        this.contentReceived = Lists.newLinkedList();
+        this.messageReceptionCondition = Lists.newArrayList();
+        this.contentReceived = new ContentInbox(getContext().get(INBOX_CAPACITY_KEY));
         this.observers = Sets.newHashSet();
+        this.contentHandlers = Lists.newLinkedList();
     }
 
     // Methods.
@@ -75,13 +108,27 @@ public abstract class MessageProtocol<T extends MessageEncapsuler> extends Proto
     }
 
     /**
-     * Offer in the deque {@link #contentReceived} the specified {@link Message}. The call of this method wakeup all message reception listeners.
+     * Offer in the inbox {@link #contentReceived} the specified {@link Message}. The call of this method first serves registered content handlers
+     * and then wakeup all message reception listeners. If the inbox is full, the {@code Message} is dropped.
      *
-     * @param message the Message to offer in the deque {@link #contentReceived}
+     * @param message the Message to offer in the inbox {@link #contentReceived}
      */
     protected void offerMessage(@NonNull Message<?> message) {
-        contentReceived.offer(message);
-        wakeupOnDeliveryMessage();
+        if (contentReceived.offer(message)) {
+            serveContentHandlers();
+            wakeupOnDeliveryMessage();
+        } else
+            log.debug("Inbox of {} is full, drop {}", getAgent(), message);
+    }
+
+    /**
+     * Schedules the call of registered content handlers while there are contents and handlers.
+     */
+    private void serveContentHandlers() {
+        while (!contentHandlers.isEmpty() && hasContent()) {
+            scheduler().scheduleOnce(new ContentHandlerExecutable(getAgent(), contentHandlers.pollFirst(), contentReceived.poll()),
+                                     Scheduler.NEXT_STEP);
+        }
     }
 
     /**
@@ -101,8 +148,11 @@ public abstract class MessageProtocol<T extends MessageEncapsuler> extends Proto
      * Wakeup and clear all {@link Executor.Condition} which where waiting for the message reception.
      */
     private void wakeupOnDeliveryMessage() {
-        List<Executor.Condition> conditions = Lists.newLinkedList(messageReceptionCondition);
-        messageReceptionCondition.clear();
+        if (messageReceptionCondition.isEmpty())
+            return;
+
+        List<Executor.Condition> conditions = messageReceptionCondition;
+        messageReceptionCondition = Lists.newArrayList();
         for (Executor.Condition condition : conditions) {
             condition.wakeup();
         }
@@ -128,6 +178,90 @@ public abstract class MessageProtocol<T extends MessageEncapsuler> extends Proto
     @Override
     public Object nextContent() throws ForcedWakeUpException {
         waitMessageReception();
-        return contentReceived.pollFirst();
+        return contentReceived.poll();
+    }
+
+    @Override
+    public int drainContents(int max, @NonNull Consumer<Object> consumer) {
+        Validate.min(max, 0, "Max cannot be less than 0");
+        return contentReceived.drain(max, consumer);
+    }
+
+    @Override
+    public void onNextContent(@NonNull Consumer<Object> handler) {
+        contentHandlers.offer(handler);
+        serveContentHandlers();
+    }
+
+    /**
+     * The snapshot contains the contents of the inbox, its counters and the registered content handlers. Subclasses which have their own state must
+     * include this snapshot in theirs and override {@link #isRollbackable()}. Observers notified of a delivery cancelled by a rollback are not
+     * notified of the cancellation.
+     *
+     * @return a snapshot of the inbox and of the content handlers.
+     */
+    @Override
+    public Object snapshot() {
+        return new MessageProtocolSnapshot(contentReceived.snapshot(), List.copyOf(contentHandlers));
+    }
+
+    @Override
+    public void restore(Object snapshot) {
+        MessageProtocolSnapshot messageProtocolSnapshot = (MessageProtocolSnapshot) snapshot;
+        contentReceived.restore(messageProtocolSnapshot.inbox());
+        contentHandlers.clear();
+        contentHandlers.addAll(messageProtocolSnapshot.contentHandlers());
+    }
+
+    // Getters.
+
+    /**
+     * @return the max number of contents that the inbox can contain.
+     */
+    public int getInboxCapacity() {
+        return contentReceived.getCapacity();
+    }
+
+    /**
+     * @return the number of contents not already read in the inbox.
+     */
+    public int getInboxSize() {
+        return contentReceived.size();
+    }
+
+    /**
+     * @return the greatest number of contents that the inbox has contained at the same time.
+     */
+    public int getInboxHighWaterMark() {
+        return contentReceived.getHighWaterMark();
+    }
+
+    /**
+     * @return the number of delivered contents which have been dropped because the inbox was full.
+     */
+    public long getDroppedContentNumber() {
+        return contentReceived.getDroppedNumber();
+    }
+
+    // Inner classes.
+
+    private record MessageProtocolSnapshot(ContentInbox.Snapshot inbox, List<Consumer<Object>> contentHandlers) {
+    }
+
+    /**
+     * {@link Executable} which calls a content handler with the content delivered. The lock monitor is the agent, as for {@link
+     * AgentProcessEventExecutable}.
+     */
+    private record ContentHandlerExecutable(@NonNull SimpleAgent agent, @NonNull Consumer<Object> handler, Object content) implements Executable {
+
+        @Override
+        public void execute() {
+            handler.accept(content);
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return agent;
+        }
     }
 }
@@ -2,6 +2,9 @@ package org.paradise.palmbeach.basic.messaging;
 
 import lombok.NonNull;
 import org.paradise.palmbeach.core.scheduler.exception.ForcedWakeUpException;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+
+import java.util.function.Consumer;
 
 public interface MessageReceiver {
 
@@ -30,6 +33,34 @@ public interface MessageReceiver {
      */
     Object nextContent() throws ForcedWakeUpException;
 
+    /**
+     * Registers the specified handler to receive the next content without blocking the current Thread. The handler is not called directly: when a
+     * content is available, the content is removed from the {@link MessageReceiver} and an {@link Executable} which calls the handler with the
+     * content is scheduled at the next step of the simulation.
+     * <p>
+     * The handler is called only once. Handlers are served in their registration order and before Threads blocked in {@link #nextContent()}. To
+     * handle all contents, the handler must register itself again.
+     *
+     * @param handler the handler of the next content
+     *
+     * @throws NullPointerException if the handler is null
+     */
+    void onNextContent(@NonNull Consumer<Object> handler);
+
+    /**
+     * Removes at most {@code max} contents not already read and gives them to the consumer in the reception order. Never blocks, therefore a burst
+     * of received contents can be processed in only one execution.
+     *
+     * @param max      the max number of contents to drain
+     * @param consumer the consumer of drained contents
+     *
+     * @return the number of drained contents.
+     *
+     * @throws IllegalArgumentException if max is less than 0
+     * @throws NullPointerException     if the consumer is null
+     */
+    int drainContents(int max, @NonNull Consumer<Object> consumer);
+
     // Inner classes.
 
     interface MessageReceiverObserver {
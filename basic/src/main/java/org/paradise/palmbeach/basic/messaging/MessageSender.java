@@ -3,6 +3,9 @@ package org.paradise.palmbeach.basic.messaging;
 import lombok.NonNull;
 import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.core.environment.network.Network;
+import org.paradise.palmbeach.core.event.Event;
+
+import java.util.Collection;
 
 public interface MessageSender {
 
@@ -18,4 +21,21 @@ public interface MessageSender {
      */
     void sendMessage(@NonNull Message<?> message, @NonNull SimpleAgent.AgentIdentifier target, @NonNull Network network);
 
+    /**
+     * Sends the same {@link Message} from the current agent to all targets across the specified {@link Network}. By default, calls {@link
+     * #sendMessage(Message, SimpleAgent.AgentIdentifier, Network)} for each target. Implementations can override it to share the same envelope
+     * between all targets and use {@link Network#multicast(SimpleAgent.AgentIdentifier, Collection, Event)}.
+     *
+     * @param message the message to send
+     * @param targets the targets of the message
+     * @param network the network across which the message will be sent
+     *
+     * @throws NullPointerException if message, targets or network is null
+     */
+    default void multicastMessage(@NonNull Message<?> message, @NonNull Collection<SimpleAgent.AgentIdentifier> targets, @NonNull Network network) {
+        for (SimpleAgent.AgentIdentifier target : targets) {
+            sendMessage(message, target, network);
+        }
+    }
+
 }
@@ -55,11 +55,10 @@ public class PulsingMessenger extends MessageProtocol<PulsingMessenger.PulseMess
 
     private void pulse(PulseMessage pulseMsg) {
         Network network = pulseMsg.getNetwork();
-        Set<SimpleAgent.AgentIdentifier> directNeighbors = network.directNeighbors(getAgent().getIdentifier());
-        directNeighbors.remove(getAgent().getIdentifier());
+        Set<SimpleAgent.AgentIdentifier> directNeighbors = network.neighborsView(getAgent().getIdentifier());
         if (!directNeighbors.contains(pulseMsg.getReceiver())) {
             for (SimpleAgent.AgentIdentifier neighbor : directNeighbors) {
-                if (!neighbor.equals(pulseMsg.getSender()))
+                if (!neighbor.equals(pulseMsg.getSender()) && !neighbor.equals(getAgent().getIdentifier()))
                     network.send(getAgent().getIdentifier(), neighbor, new PulseMessageReception(pulseMsg));
             }
         } else {
@@ -69,9 +68,10 @@ public class PulsingMessenger extends MessageProtocol<PulsingMessenger.PulseMess
 
     @Override
     public void sendMessage(@NonNull Message<?> message, SimpleAgent.@NonNull AgentIdentifier target, @NonNull Network network) {
-        Set<SimpleAgent.AgentIdentifier> directNeighbors = network.directNeighbors(getAgent().getIdentifier());
-        directNeighbors.remove(getAgent().getIdentifier());
-        for (SimpleAgent.AgentIdentifier neighbor : directNeighbors) {
+        for (SimpleAgent.AgentIdentifier neighbor : network.neighborsView(getAgent().getIdentifier())) {
+            if (neighbor.equals(getAgent().getIdentifier()))
+                continue;
+
             network.send(getAgent().getIdentifier(),
                          neighbor,
                          new PulseMessageReception(new PulseMessage(clockManager.incrementAndGetClock(getAgent().getIdentifier()),
@@ -95,6 +95,11 @@ public class PulsingMessenger extends MessageProtocol<PulsingMessenger.PulseMess
         return event instanceof PulseMessageReception;
     }
 
+    @Override
+    public Set<Class<? extends Event<?>>> handledEventTypes() {
+        return Set.of(PulseMessageReception.class);
+    }
+
     // Inner classes.
 
     @EqualsAndHashCode(callSuper = true)
@@ -8,6 +8,9 @@ import org.paradise.palmbeach.core.environment.network.Network;
 import org.paradise.palmbeach.core.event.Event;
 import org.paradise.palmbeach.utils.context.Context;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * Protocol used to send and receive {@link Message}. This protocol can only send message to agent which are directly connected.
  */
@@ -42,6 +45,19 @@ public class SimpleMessenger extends MessageProtocol<SimpleMessenger.SimpleMessa
         return event instanceof SimpleMessageReception;
     }
 
+    @Override
+    public Set<Class<? extends Event<?>>> handledEventTypes() {
+        return Set.of(SimpleMessageReception.class);
+    }
+
+    /**
+     * @return true, the {@link SimpleMessenger} has no other state than the one saved by {@link MessageProtocol#snapshot()}.
+     */
+    @Override
+    public boolean isRollbackable() {
+        return true;
+    }
+
     /**
      * @param message the message to send
      * @param target  the target of the message
@@ -54,6 +70,20 @@ public class SimpleMessenger extends MessageProtocol<SimpleMessenger.SimpleMessa
         network.send(getAgent().getIdentifier(), target, new SimpleMessageReception(new SimpleMessage(message)));
     }
 
+    /**
+     * Sends one {@link SimpleMessageReception} shared by all targets with {@link Network#multicast(SimpleAgent.AgentIdentifier, Collection, Event)}.
+     *
+     * @param message the message to send
+     * @param targets the targets of the message
+     * @param network the network across which the message will be sent
+     *
+     * @throws AgentNotStartedException if the Agent is not in STARTED state
+     */
+    @Override
+    public void multicastMessage(@NonNull Message<?> message, @NonNull Collection<SimpleAgent.AgentIdentifier> targets, @NonNull Network network) {
+        network.multicast(getAgent().getIdentifier(), targets, new SimpleMessageReception(new SimpleMessage(message)));
+    }
+
     // Inner classes.
 
     public static class SimpleMessage extends MessageEncapsuler {
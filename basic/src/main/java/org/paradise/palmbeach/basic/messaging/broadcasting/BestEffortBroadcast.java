@@ -45,9 +45,7 @@ public class BestEffortBroadcast extends MessageProtocol<BestEffortBroadcast.Bes
     public void broadcastMessage(@NonNull Message<?> message, @NonNull Set<SimpleAgent.AgentIdentifier> groupMembership,
                                  @NonNull Network network) {
         groupMembership.add(getAgent().getIdentifier());
-        for (SimpleAgent.AgentIdentifier agent : groupMembership) {
-            messenger.sendMessage(new BestEffortBroadcastMessage(message), agent, network);
-        }
+        messenger.multicastMessage(new BestEffortBroadcastMessage(message), groupMembership, network);
     }
 
     /**
@@ -81,6 +79,14 @@ public class BestEffortBroadcast extends MessageProtocol<BestEffortBroadcast.Bes
         return false;
     }
 
+    /**
+     * @return an empty set, this protocol does not process any {@link Event}.
+     */
+    @Override
+    public Set<Class<? extends Event<?>>> handledEventTypes() {
+        return Set.of();
+    }
+
     @Override
     public void messageDelivery(@NonNull MessageReceiver msgReceiver, Object msg) {
         if (msgReceiver.equals(messenger)) {
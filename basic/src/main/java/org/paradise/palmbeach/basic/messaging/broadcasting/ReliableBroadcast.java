@@ -102,6 +102,14 @@ public class ReliableBroadcast extends MessageProtocol<ReliableBroadcast.Reliabl
         return false;
     }
 
+    /**
+     * @return an empty set, this protocol does not process any {@link Event}.
+     */
+    @Override
+    public Set<Class<? extends Event<?>>> handledEventTypes() {
+        return Set.of();
+    }
+
     // Setters.
 
     public void setBroadcaster(Broadcaster broadcaster) {
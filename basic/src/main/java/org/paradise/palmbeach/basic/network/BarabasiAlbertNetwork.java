@@ -0,0 +1,129 @@
+package org.paradise.palmbeach.basic.network;
+
+import lombok.NonNull;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.ContextKey;
+import org.paradise.palmbeach.utils.validation.Validate;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Scale-free {@link TopologyNetwork} generated with the Barabasi-Albert preferential attachment model: agents are attached one after the other, and
+ * each new agent is connected to {@link #connectionNumber()} already attached agents chosen with a probability proportional to their degree.
+ * <p>
+ * The generation uses the algorithm of Batagelj and Brandes: the array of the ends of all connections is filled once, choosing an end uniformly in
+ * this array is choosing an agent proportionally to its degree. Therefore, the generation is in O(n * connectionNumber). Each agent, except the first
+ * one, is connected to at least one previous agent, thus the network is connected. If the same agent is chosen several times, only one connection is
+ * created, therefore an agent can have fewer connections than {@link #connectionNumber()} with previous agents.
+ * <p>
+ * Agents added after the generation are attached in the same way, the array of ends is kept to continue the generation. Therefore, the topology is
+ * the same as if all agents had been added before the generation.
+ * <p>
+ * Example of configuration:
+ * <pre>
+ * network.scaleFree.class=org.paradise.palmbeach.basic.network.BarabasiAlbertNetwork
+ * network.scaleFree.context.scaleFreeConnectionNumber=3
+ * network.scaleFree.context.randomSeed=42
+ * </pre>
+ */
+public class BarabasiAlbertNetwork extends TopologyNetwork {
+
+    // Context keys and default values.
+
+    public static final String CONNECTION_NUMBER = "scaleFreeConnectionNumber";
+
+    public static final int DEFAULT_CONNECTION_NUMBER = 3;
+
+    public static final ContextKey<Integer> CONNECTION_NUMBER_KEY =
+            ContextKey.intKey(CONNECTION_NUMBER, DEFAULT_CONNECTION_NUMBER, new Validate.MinIntValidator(1, "Connection number cannot be less than 1"));
+
+    // Variables.
+
+    /**
+     * Ends of all generated connections, each agent appears once per connection, only accessed under the lock of the {@link TopologyNetwork}.
+     */
+    private int[] ends;
+
+    private int filled;
+
+    // Constructors.
+
+    /**
+     * @param name        the name of the Network
+     * @param environment the Network Environment
+     * @param context     the Network context
+     *
+     * @throws IllegalArgumentException if the value of {@link #connectionNumber()} define in the context is less than 1
+     */
+    public BarabasiAlbertNetwork(@NonNull String name, @NonNull Environment environment, Context context) {
+        super(name, environment, context);
+
+        // Verifications.
+        connectionNumber();
+    }
+
+    // Methods.
+
+    @Override
+    protected void generateConnections(int agentNumber, SplittableRandom random, ConnectionList connections) {
+        int connectionNumber = connectionNumber();
+        long endNumber = 2L * agentNumber * connectionNumber;
+        if (endNumber > Integer.MAX_VALUE - 8)
+            throw new IllegalStateException("Too many connections to generate: " + endNumber / 2);
+
+        connections.ensureCapacity((int) (endNumber / 2));
+        ends = new int[(int) endNumber];
+        filled = 0;
+        for (int agent = 0; agent < agentNumber; agent++) {
+            attach(agent, connectionNumber, random, connections);
+        }
+    }
+
+    @Override
+    protected void extendConnections(int slot, SplittableRandom random, ConnectionList connections) {
+        int connectionNumber = connectionNumber();
+        long endNumber = filled + 2L * connectionNumber;
+        if (endNumber > Integer.MAX_VALUE - 8)
+            throw new IllegalStateException("Too many connections to generate: " + endNumber / 2);
+
+        if (endNumber > ends.length)
+            ends = Arrays.copyOf(ends, (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(endNumber, 2L * ends.length)));
+        attach(slot, connectionNumber, random, connections);
+    }
+
+    private void attach(int agent, int connectionNumber, SplittableRandom random, ConnectionList connections) {
+        for (int i = 0; i < connectionNumber; i++) {
+            int chosen;
+            if (agent == 0) {
+                // Nobody to connect with, only gives its initial weight to the first agent.
+                chosen = agent;
+            } else {
+                do {
+                    chosen = ends[random.nextInt(filled)];
+                } while (chosen == agent);
+                connections.add(agent, chosen);
+            }
+            ends[filled++] = agent;
+            ends[filled++] = chosen;
+        }
+    }
+
+    // Getters and setters.
+
+    public int connectionNumber() {
+        return getContext().get(CONNECTION_NUMBER_KEY);
+    }
+
+    /**
+     * Sets the connection number in the context, only used for the agents added after the generation of the topology.
+     *
+     * @param connectionNumber the number of connections created by a new agent
+     *
+     * @throws IllegalArgumentException if connectionNumber is less than 1
+     */
+    public void connectionNumber(int connectionNumber) {
+        getContext().set(CONNECTION_NUMBER_KEY, connectionNumber);
+    }
+}
@@ -51,12 +51,28 @@ public class FullyConnectedNetwork extends NetworkWithDelay {
             throw new NotInNetworkException("Agent " + agent + " is not in the Network " + this);
     }
 
+    /**
+     * Returns the {@link Environment#evolvingAgentsView()}, the view is shared by all agents and is not copied.
+     *
+     * @param agent the agent to verify the connection
+     *
+     * @return the immutable view of all agents evolving in the {@link Environment}.
+     */
+    @Override
+    public Set<SimpleAgent.AgentIdentifier> neighborsView(SimpleAgent.@NonNull AgentIdentifier agent) {
+        if (getEnvironment().agentIsEvolving(agent))
+            return getEnvironment().evolvingAgentsView();
+        else
+            throw new NotInNetworkException("Agent " + agent + " is not in the Network " + this);
+    }
+
     @Override
     public Set<Connection> allConnections() {
         Set<SimpleAgent.AgentIdentifier> alreadySeen = Sets.newHashSet();
         Set<Connection> allConnections = Sets.newHashSet();
-        for (SimpleAgent.AgentIdentifier a0 : getEnvironment().evolvingAgents()) {
-            for (SimpleAgent.AgentIdentifier a1 : getEnvironment().evolvingAgents()) {
+        Set<SimpleAgent.AgentIdentifier> evolvingAgents = getEnvironment().evolvingAgentsView();
+        for (SimpleAgent.AgentIdentifier a0 : evolvingAgents) {
+            for (SimpleAgent.AgentIdentifier a1 : evolvingAgents) {
                 if (!alreadySeen.contains(a1)) {
                     Connection connection = new NonOrientedConnection(a0, a1);
                     allConnections.add(connection);
@@ -0,0 +1,132 @@
+package org.paradise.palmbeach.basic.network;
+
+import lombok.NonNull;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.ContextKey;
+import org.paradise.palmbeach.utils.validation.Validate;
+
+import java.util.SplittableRandom;
+
+/**
+ * Regular lattice {@link TopologyNetwork}: agents are placed in a square (2D) or a cube (3D) grid in the order of their adding and each agent is
+ * connected to the next agent of each axis, therefore an agent inside the grid has 4 (2D) or 6 (3D) connections. The side of the grid is the
+ * smallest integer {@code side} such as {@code side^dimension >= agentNumber}, the last row or layer can be incomplete.
+ * <p>
+ * If the lattice is periodic, the last agent of each axis is connected to the first one, the grid is a torus. The generation is in O(n *
+ * dimension) and does not use random.
+ * <p>
+ * The side of the grid depends on the number of agents, therefore agents cannot be added once the topology has been generated.
+ * <p>
+ * Example of configuration:
+ * <pre>
+ * network.lattice.class=org.paradise.palmbeach.basic.network.LatticeNetwork
+ * network.lattice.context.latticeDimension=3
+ * network.lattice.context.latticePeriodic=true
+ * </pre>
+ */
+public class LatticeNetwork extends TopologyNetwork {
+
+    // Constants.
+
+    public static final int MIN_DIMENSION = 1;
+    public static final int MAX_DIMENSION = 3;
+
+    // Context keys and default values.
+
+    public static final String DIMENSION = "latticeDimension";
+    public static final String PERIODIC = "latticePeriodic";
+
+    public static final int DEFAULT_DIMENSION = 2;
+    public static final boolean DEFAULT_PERIODIC = false;
+
+    public static final ContextKey<Integer> DIMENSION_KEY =
+            ContextKey.intKey(DIMENSION, DEFAULT_DIMENSION, new Validate.IntervalIntValidator(MIN_DIMENSION, MAX_DIMENSION,
+                                                                                               "Lattice dimension must be 1, 2 or 3"));
+    public static final ContextKey<Boolean> PERIODIC_KEY = ContextKey.booleanKey(PERIODIC, DEFAULT_PERIODIC);
+
+    // Constructors.
+
+    /**
+     * @param name        the name of the Network
+     * @param environment the Network Environment
+     * @param context     the Network context
+     *
+     * @throws IllegalArgumentException if the dimension is not in [{@link #MIN_DIMENSION}, {@link #MAX_DIMENSION}]
+     */
+    public LatticeNetwork(@NonNull String name, @NonNull Environment environment, Context context) {
+        super(name, environment, context);
+
+        // Verifications.
+        dimension();
+    }
+
+    // Methods.
+
+    @Override
+    protected void generateConnections(int agentNumber, SplittableRandom random, ConnectionList connections) {
+        int dimension = dimension();
+        boolean periodic = isPeriodic();
+        int side = side(agentNumber, dimension);
+
+        long[] strides = new long[dimension];
+        strides[0] = 1L;
+        for (int axis = 1; axis < dimension; axis++) {
+            strides[axis] = strides[axis - 1] * side;
+        }
+
+        connections.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8L, (long) agentNumber * dimension));
+        for (int agent = 0; agent < agentNumber; agent++) {
+            for (int axis = 0; axis < dimension; axis++) {
+                long coordinate = (agent / strides[axis]) % side;
+                long next = agent + strides[axis];
+                if (coordinate + 1 >= side || next >= agentNumber)
+                    next = periodic ? agent - coordinate * strides[axis] : -1L;
+
+                if (next >= 0 && next != agent)
+                    connections.add(agent, (int) next);
+            }
+        }
+    }
+
+    /**
+     * @return the smallest side such as {@code side^dimension >= agentNumber}.
+     */
+    static int side(int agentNumber, int dimension) {
+        int side = Math.max(1, (int) Math.floor(Math.pow(agentNumber, 1.0d / dimension)));
+        while (Math.pow(side, dimension) < agentNumber) {
+            side++;
+        }
+        return side;
+    }
+
+    // Getters and setters.
+
+    public int dimension() {
+        return getContext().get(DIMENSION_KEY);
+    }
+
+    /**
+     * Sets the dimension in the context, only used if the topology has not been generated yet.
+     *
+     * @param dimension the dimension of the lattice
+     *
+     * @throws IllegalArgumentException if the dimension is not in [{@link #MIN_DIMENSION}, {@link #MAX_DIMENSION}]
+     */
+    public void dimension(int dimension) {
+        getContext().set(DIMENSION_KEY, dimension);
+    }
+
+    public boolean isPeriodic() {
+        return getContext().get(PERIODIC_KEY);
+    }
+
+    /**
+     * Sets in the context if the lattice is periodic, only used if the topology has not been generated yet.
+     *
+     * @param periodic true if the lattice is a torus
+     */
+    public void periodic(boolean periodic) {
+        getContext().set(PERIODIC_KEY, periodic);
+    }
+}
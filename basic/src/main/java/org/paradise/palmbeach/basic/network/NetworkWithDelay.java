@@ -1,22 +1,35 @@
 package org.paradise.palmbeach.basic.network;
 
+import com.google.common.collect.Maps;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 import org.paradise.palmbeach.core.agent.AgentProcessEventExecutable;
 import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.core.environment.Environment;
 import org.paradise.palmbeach.core.environment.network.Network;
 import org.paradise.palmbeach.core.event.Event;
 import org.paradise.palmbeach.core.scheduler.Scheduler;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
 import org.paradise.palmbeach.core.simulation.PalmBeachSimulation;
 import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.ContextKey;
 import org.paradise.palmbeach.utils.validation.Validate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * {@link Network} which send {@link Event} with defined min and max delay. Delays are defined in the context of the {@code Network}. Keys to use
- * are:
+ * {@link Network} which send {@link Event} with defined min and max delay. Delays are defined in the context of the {@code Network} and are read
+ * with typed {@link ContextKey}s, thus they are converted and validated once by the context and not at each sending. Keys to use are:
  * <ul>
  *     <li>{@link #MIN_SENDING_DELAY} with default value {@link #DEFAULT_MIN_DELAY}</li>
  *     <li>{@link #MAX_SENDING_DELAY} with default value {@link #DEFAULT_MAX_DELAY}</li>
@@ -24,7 +37,21 @@ import java.util.Random;
  * <p>
  * When an {@code Event} is sent, the delay is randomly compute and chose between {@link #minDelay()} and {@link #maxDelay()}. The seed of the
  * random can be defined in the context with the key {@link #RANDOM_SEED}. Then {@link Random} is accessible by getter.
+ * <p>
+ * Sending delays of a source agent are drawn from its own SplitMix64 sequence (the generator of {@link SplittableRandom}) whose seed is derived
+ * from the seed of the {@code Network} and the unique id of the agent. The only state of an agent is the number of its draws, an atomic counter
+ * stored in an array indexed by the dense unique id of the agent. Therefore, agents send concurrently without lock nor allocation, and with the same
+ * seed, the sequence of delays of an agent does not depend on the other agents.
+ * <p>
+ * If the value of the context key {@link #COALESCE_DELIVERIES} is {@code true} (false by default), all {@code Events} delivered to the same agent
+ * at the same time are processed by only one {@link Executable}, in the order of their sending. It reduces the number of {@code Executables} when
+ * agents receive a lot of {@code Events} at the same time, but the ordering guarantee is weaker: the batch is executed at the position of its first
+ * {@code Event} in the scheduler, therefore an {@code Event} sent after the scheduling of another {@code Executable} of the agent at the same time
+ * (a timer or an {@code Event} of another {@code Network}) is processed before this {@code Executable} instead of after it. Simulations which
+ * depend on the order between deliveries and other {@code Executables} of a same time must not coalesce deliveries. Deliveries are never coalesced with an optimistic {@link Scheduler} (see {@link Scheduler#isOptimistic()}): an {@code
+ * Event} added in an already scheduled batch could not be cancelled alone when the execution which has sent it is rolled back.
  */
+@Slf4j
 public abstract class NetworkWithDelay extends Network {
 
     // Context keys and default values.
@@ -32,15 +59,39 @@ public abstract class NetworkWithDelay extends Network {
     public static final String MIN_SENDING_DELAY = "minDelay";
     public static final String MAX_SENDING_DELAY = "maxDelay";
     public static final String RANDOM_SEED = "randomSeed";
+    public static final String COALESCE_DELIVERIES = "coalesceDeliveries";
 
     public static final long DEFAULT_MIN_DELAY = 50L;
     public static final long DEFAULT_MAX_DELAY = 100L;
 
+    public static final ContextKey<Long> MIN_DELAY_KEY =
+            ContextKey.longKey(MIN_SENDING_DELAY, DEFAULT_MIN_DELAY, new Validate.MinLongValidator(Scheduler.NEXT_STEP, "Min delay cannot be less than 1"));
+    public static final ContextKey<Long> MAX_DELAY_KEY =
+            ContextKey.longKey(MAX_SENDING_DELAY, DEFAULT_MAX_DELAY, new Validate.MinLongValidator(Scheduler.NEXT_STEP, "Max delay cannot be less than 1"));
+    public static final ContextKey<Long> RANDOM_SEED_KEY = ContextKey.longKey(RANDOM_SEED, null, null);
+    public static final ContextKey<Boolean> COALESCE_DELIVERIES_KEY = ContextKey.booleanKey(COALESCE_DELIVERIES, false);
+
+    // Constants.
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
     // Variables.
 
     @Getter
     private final Random random;
 
+    private final long sendingSeed;
+
+    private final DrawCounters drawCounters;
+
+    @Getter
+    private final boolean coalescingDeliveries;
+
+    /**
+     * Not executed {@link DeliveryBatch}es by target agent and delivery time, only used if {@link #coalescingDeliveries} is true.
+     */
+    private final Map<DeliveryKey, DeliveryBatch> openBatches;
+
     // Constructors.
 
     protected NetworkWithDelay(@NonNull String name, @NonNull Environment environment, Context context) {
@@ -50,10 +101,17 @@ public abstract class NetworkWithDelay extends Network {
         minDelay();
         maxDelay();
 
-        if (getContext().getValue(RANDOM_SEED) != null)
-            this.random = new Random((Long) getContext().getValue(RANDOM_SEED));
-        else
+        Long seed = getContext().get(RANDOM_SEED_KEY);
+        if (seed != null) {
+            this.sendingSeed = seed;
+            this.random = new Random(sendingSeed);
+        } else {
+            this.sendingSeed = ThreadLocalRandom.current().nextLong();
             this.random = new Random();
+        }
+        this.drawCounters = new DrawCounters();
+        this.coalescingDeliveries = getContext().get(COALESCE_DELIVERIES_KEY);
+        this.openBatches = Maps.newConcurrentMap();
     }
 
     /**
@@ -69,21 +127,124 @@ public abstract class NetworkWithDelay extends Network {
     @Override
     protected void simulateSending(SimpleAgent.@NonNull AgentIdentifier source, SimpleAgent.@NonNull AgentIdentifier target,
                                    @NonNull Event<?> event) {
-        PalmBeachSimulation.scheduler().scheduleExecutable(new AgentProcessEventExecutable(PalmBeachSimulation.getAgent(target), event),
-                                                           random.nextLong(minDelay(), maxDelay() + 1L),
-                                                           Scheduler.ScheduleMode.ONCE, Scheduler.IGNORED, Scheduler.IGNORED);
+        Scheduler scheduler = PalmBeachSimulation.scheduler();
+        if (coalescesDeliveries(scheduler))
+            coalesceDelivery(scheduler, PalmBeachSimulation.getAgent(target), event, scheduler.getCurrentTime() + sendingDelay(source));
+        else
+            scheduler.scheduleExecutable(new AgentProcessEventExecutable(PalmBeachSimulation.getAgent(target), event), sendingDelay(source),
+                                         Scheduler.ScheduleMode.ONCE, Scheduler.IGNORED, Scheduler.IGNORED);
+    }
+
+    /**
+     * Draws the delay of each target as {@link #simulateSending(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier, Event)} does, then groups
+     * targets by delay and schedules each group with only one call to {@link Scheduler#scheduleAllAtTime(Collection, long)}. Therefore, the number
+     * of scheduler operations is bounded by the number of distinct delays instead of the number of targets.
+     *
+     * @param source  the source agent
+     * @param targets the target agents, all reachable from the source
+     * @param event   the event
+     *
+     * @throws IllegalArgumentException if minDelay is greater or equal to maxDelay - 1
+     */
+    @Override
+    protected void simulateMulticast(SimpleAgent.@NonNull AgentIdentifier source, @NonNull List<SimpleAgent.AgentIdentifier> targets,
+                                     @NonNull Event<?> event) {
+        Scheduler scheduler = PalmBeachSimulation.scheduler();
+        long currentTime = scheduler.getCurrentTime();
+        if (coalescesDeliveries(scheduler)) {
+            for (SimpleAgent.AgentIdentifier target : targets) {
+                coalesceDelivery(scheduler, PalmBeachSimulation.getAgent(target), event, currentTime + sendingDelay(source));
+            }
+            return;
+        }
+
+        Map<Long, List<Executable>> deliveries = Maps.newTreeMap();
+        for (SimpleAgent.AgentIdentifier target : targets) {
+            deliveries.computeIfAbsent(sendingDelay(source), k -> new ArrayList<>())
+                    .add(new AgentProcessEventExecutable(PalmBeachSimulation.getAgent(target), event));
+        }
+
+        for (Map.Entry<Long, List<Executable>> delivery : deliveries.entrySet()) {
+            scheduler.scheduleAllAtTime(delivery.getValue(), currentTime + delivery.getKey());
+        }
+    }
+
+    private boolean coalescesDeliveries(Scheduler scheduler) {
+        return coalescingDeliveries && !scheduler.isOptimistic();
+    }
+
+    /**
+     * Adds the {@link Event} in the not executed {@link DeliveryBatch} of the target for the delivery time. If there is no such batch, creates it
+     * and schedules it at the delivery time. Events of a batch are processed in the order of their adding, therefore the order of events delivered
+     * by this {@link Network} to an agent at the same time is the same as without coalescing, but the whole batch is executed at the position of its
+     * first event relatively to the other {@link Executable}s of the agent.
+     */
+    private void coalesceDelivery(Scheduler scheduler, SimpleAgent target, Event<?> event, long deliveryTime) {
+        DeliveryKey key = new DeliveryKey(target, deliveryTime);
+        DeliveryBatch created = null;
+        DeliveryBatch batch = openBatches.get(key);
+        while (batch == null || !batch.add(event)) {
+            DeliveryBatch newBatch = new DeliveryBatch(this, key, event);
+            if (batch == null ? openBatches.putIfAbsent(key, newBatch) == null : openBatches.replace(key, batch, newBatch)) {
+                created = newBatch;
+                break;
+            }
+            batch = openBatches.get(key);
+        }
+
+        if (created != null)
+            scheduler.scheduleAtTime(created, deliveryTime);
+    }
+
+    /**
+     * Draws the sending delay of the next {@link Event} sent by the source from the random of the source.
+     *
+     * @param source the source agent
+     *
+     * @return a delay between {@link #minDelay()} and {@link #maxDelay()}.
+     *
+     * @throws IllegalArgumentException if minDelay is greater or equal to maxDelay - 1
+     */
+    protected long sendingDelay(@NonNull SimpleAgent.AgentIdentifier source) {
+        long minDelay = minDelay();
+        long maxDelay = maxDelay();
+        if (minDelay > maxDelay)
+            throw new IllegalArgumentException("MinDelay " + minDelay + " is greater than maxDelay " + maxDelay);
+
+        long uniqueId = source.getUniqueId();
+        long draw = drawCounters.getAndIncrement(uniqueId);
+        return minDelay + Math.floorMod(mix64(agentSeed(sendingSeed, uniqueId) + (draw + 1L) * GOLDEN_GAMMA), maxDelay - minDelay + 1L);
+    }
+
+    /**
+     * @return the seed of the {@link Network}, the value of {@link #RANDOM_SEED} in the context if it is defined, else a seed randomly chosen at the
+     * construction.
+     */
+    protected long seed() {
+        return sendingSeed;
+    }
+
+    /**
+     * Mixes the seed of the {@link Network} and the unique id of the agent to have independent seeds for consecutive unique ids.
+     */
+    private static long agentSeed(long seed, long uniqueId) {
+        return mix64(seed + (uniqueId + 1L) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Finalizer of SplitMix64, the {@code n}th value of the sequence of seed {@code s} is {@code mix64(s + n * GOLDEN_GAMMA)}.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 
     /**
      * @return the minDelay set inf the context, else {@link #DEFAULT_MIN_DELAY}
      */
     public long minDelay() {
-        if (getContext().getValue(MIN_SENDING_DELAY) != null) {
-            long minDelay = getContext().getLong(MIN_SENDING_DELAY);
-            Validate.min(minDelay, Scheduler.NEXT_STEP, "Min delay cannot be less than 1");
-            return minDelay;
-        } else
-            return DEFAULT_MIN_DELAY;
+        return getContext().get(MIN_DELAY_KEY);
     }
 
     /**
@@ -94,20 +255,22 @@ public abstract class NetworkWithDelay extends Network {
      * @throws IllegalArgumentException if minDelay is less than 1
      */
     public void minDelay(long minDelay) {
-        Validate.min(minDelay, Scheduler.NEXT_STEP, "Min delay cannot be less than 1");
-        getContext().setLong(MIN_SENDING_DELAY, minDelay);
+        getContext().set(MIN_DELAY_KEY, minDelay);
+    }
+
+    /**
+     * @return the {@link #minDelay()}, no {@link Event} can be received before it.
+     */
+    @Override
+    public long lookahead() {
+        return minDelay();
     }
 
     /**
      * @return the maxDelay set inf the context, else {@link #DEFAULT_MAX_DELAY}
      */
     public long maxDelay() {
-        if (getContext().getValue(MAX_SENDING_DELAY) != null) {
-            long maxDelay = getContext().getLong(MAX_SENDING_DELAY);
-            Validate.min(maxDelay, Scheduler.NEXT_STEP, "Max delay cannot be less than 1");
-            return maxDelay;
-        } else
-            return DEFAULT_MAX_DELAY;
+        return getContext().get(MAX_DELAY_KEY);
     }
 
     /**
@@ -118,7 +281,138 @@ public abstract class NetworkWithDelay extends Network {
      * @throws IllegalArgumentException if maxDelay is less than 1
      */
     public void maxDelay(long maxDelay) {
-        Validate.min(maxDelay, Scheduler.NEXT_STEP, "Max delay cannot be less than 1");
-        getContext().setLong(MAX_SENDING_DELAY, maxDelay);
+        getContext().set(MAX_DELAY_KEY, maxDelay);
+    }
+
+    // Inner classes.
+
+    private record DeliveryKey(@NonNull SimpleAgent agent, long time) {
+    }
+
+    /**
+     * Number of delays drawn by each source agent. Unique ids are dense, therefore counters are stored in chunks of an array indexed by the unique
+     * id, as the agents of the simulation. Counters of negative or too big unique ids are stored in a map.
+     */
+    private static final class DrawCounters {
+
+        // Constants.
+
+        private static final int CHUNK_BITS = 10;
+        private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+        private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+        private static final int MAX_CHUNKS = 1 << 16;
+
+        // Variables.
+
+        private volatile AtomicReferenceArray<AtomicLongArray> chunks = new AtomicReferenceArray<>(1);
+
+        private final Map<Long, AtomicLong> otherCounters = Maps.newConcurrentMap();
+
+        // Methods.
+
+        /**
+         * @return the number of delays drawn by the agent before this call.
+         */
+        private long getAndIncrement(long uniqueId) {
+            if (uniqueId >= 0 && (uniqueId >>> CHUNK_BITS) < MAX_CHUNKS)
+                return chunk((int) (uniqueId >>> CHUNK_BITS)).getAndIncrement((int) (uniqueId & CHUNK_MASK));
+            else
+                return otherCounters.computeIfAbsent(uniqueId, id -> new AtomicLong()).getAndIncrement();
+        }
+
+        private AtomicLongArray chunk(int chunkIndex) {
+            AtomicReferenceArray<AtomicLongArray> currentChunks = chunks;
+            if (chunkIndex < currentChunks.length()) {
+                AtomicLongArray chunk = currentChunks.get(chunkIndex);
+                if (chunk != null)
+                    return chunk;
+            }
+
+            return createChunk(chunkIndex);
+        }
+
+        private synchronized AtomicLongArray createChunk(int chunkIndex) {
+            AtomicReferenceArray<AtomicLongArray> currentChunks = chunks;
+            if (chunkIndex >= currentChunks.length()) {
+                int newLength = Math.min(MAX_CHUNKS, Math.max(chunkIndex + 1, currentChunks.length() * 2));
+                AtomicReferenceArray<AtomicLongArray> newChunks = new AtomicReferenceArray<>(newLength);
+                for (int i = 0; i < currentChunks.length(); i++) {
+                    newChunks.set(i, currentChunks.get(i));
+                }
+                currentChunks = newChunks;
+            }
+
+            AtomicLongArray chunk = currentChunks.get(chunkIndex);
+            if (chunk == null) {
+                chunk = new AtomicLongArray(CHUNK_SIZE);
+                currentChunks.set(chunkIndex, chunk);
+            }
+            chunks = currentChunks;
+            return chunk;
+        }
+    }
+
+    /**
+     * {@link Executable} which processes all {@link Event}s delivered to an agent at the same time in only one acquisition of the agent. Once
+     * executed, the batch is closed and events can no more be added in it.
+     * <p>
+     * As if each {@code Event} was processed by its own {@code Executable}, an exception thrown by the processing of an {@code Event} is logged and
+     * does not prevent the processing of the next {@code Events} of the batch.
+     */
+    private static class DeliveryBatch implements Executable {
+
+        // Variables.
+
+        private final NetworkWithDelay network;
+        private final DeliveryKey key;
+        private final List<Event<?>> events;
+        private boolean closed;
+
+        // Constructors.
+
+        private DeliveryBatch(NetworkWithDelay network, DeliveryKey key, Event<?> first) {
+            this.network = network;
+            this.key = key;
+            this.events = new ArrayList<>();
+            this.events.add(first);
+            this.closed = false;
+        }
+
+        // Methods.
+
+        /**
+         * @return true if the event has been added, false if the batch is already closed.
+         */
+        private synchronized boolean add(Event<?> event) {
+            if (closed)
+                return false;
+
+            events.add(event);
+            return true;
+        }
+
+        private synchronized List<Event<?>> close() {
+            closed = true;
+            network.openBatches.remove(key, this);
+            return events;
+        }
+
+        @Override
+        public void execute() {
+            List<Event<?>> toProcess = close();
+            SimpleAgent agent = key.agent();
+            for (Event<?> event : toProcess) {
+                try {
+                    agent.processEvent(event);
+                } catch (Exception e) {
+                    log.error("Processing of the Event {} delivered to the agent {} throws Exception", event, agent.getIdentifier(), e);
+                }
+            }
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return key.agent();
+        }
     }
 }
@@ -1,21 +1,23 @@
 package org.paradise.palmbeach.basic.network;
 
 import org.paradise.palmbeach.core.agent.SimpleAgent;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.ContextKey;
 import org.paradise.palmbeach.core.environment.Environment;
 import org.paradise.palmbeach.core.environment.network.Network;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.paradise.palmbeach.utils.validation.Validate;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * Network which is randomly created but ensure one property:
@@ -25,9 +27,13 @@ import java.util.Set;
  * When an agent is added in the {@link Environment}, the {@code Network} also add the agent to always verify the previous cited property. However,
  * the property is not guaranty anymore if agent leave the {@code Network}.
  * <p>
+ * Connections are stored in an int indexed adjacency structure: each agent has a dense index and a sorted array of the indexes of its connected
+ * agents. Therefore, {@link #hasConnection(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier)} is a binary search in a primitive array and
+ * does not take any lock in the common case.
+ * <p>
  * It is possible to configure the number of connection created for a new added agent. More connections are created with the new agent, more the
  * network is connected and resistant to faulty agent. The number of connection must be specified in the {@code Network} {@link Context}. The context
- * key is {@link #CONNECTION_NUMBER} and the default value is {@link #DEFAULT_CONNECTION_NUMBER}.
+ * key is {@link #CONNECTION_NUMBER_KEY} and the default value is {@link #DEFAULT_CONNECTION_NUMBER}.
  *
  * <p>
  * This {@code Network} extends {@link NetworkWithDelay}.
@@ -43,10 +49,18 @@ public class RandomConnectedNetwork extends NetworkWithDelay {
 
     public static final String CONNECTION_NUMBER = "agentConnectionNumber";
 
+    public static final ContextKey<Integer> CONNECTION_NUMBER_KEY =
+            ContextKey.intKey(CONNECTION_NUMBER, DEFAULT_CONNECTION_NUMBER, new Validate.MinIntValidator(1, "Connection number cannot be less than 1"));
+
     // Variables.
 
     private final ConnectionGroup mainConnectionGroup;
 
+    /**
+     * Immutable neighbor views by agent, cleared each time the connections change.
+     */
+    private final Map<SimpleAgent.AgentIdentifier, Set<SimpleAgent.AgentIdentifier>> neighborsViews;
+
     // Constructors.
 
     /**
@@ -65,22 +79,40 @@ public class RandomConnectedNetwork extends NetworkWithDelay {
         // Verifications.
         connectionNumber();
 
-        this.mainConnectionGroup = new ConnectionGroup(Sets.newHashSet());
-        for (SimpleAgent.AgentIdentifier agent : environment.evolvingAgents()) {
-            this.mainConnectionGroup.addAgent(agent, connectionNumber(), getRandom());
-        }
+        this.mainConnectionGroup = new ConnectionGroup();
+        this.neighborsViews = Maps.newConcurrentMap();
+        this.mainConnectionGroup.addAgents(environment.evolvingAgents(), connectionNumber(), getRandom());
     }
 
     // Methods.
 
     @Override
     public void environmentAddAgent(@NonNull SimpleAgent.AgentIdentifier addedAgent) {
-        mainConnectionGroup.addAgent(addedAgent, connectionNumber(), getRandom());
+        synchronized (mainConnectionGroup) {
+            mainConnectionGroup.addAgent(addedAgent, connectionNumber(), getRandom());
+            neighborsViews.clear();
+        }
+    }
+
+    /**
+     * Adds all agents in the {@link ConnectionGroup} under one lock, as {@link ConnectionGroup#addAgents(Collection, int, Random)} does.
+     *
+     * @param addedAgents the added agents
+     */
+    @Override
+    public void environmentAddAgents(@NonNull Collection<SimpleAgent.AgentIdentifier> addedAgents) {
+        synchronized (mainConnectionGroup) {
+            mainConnectionGroup.addAgents(addedAgents, connectionNumber(), getRandom());
+            neighborsViews.clear();
+        }
     }
 
     @Override
     public void environmentRemoveAgent(@NonNull SimpleAgent.AgentIdentifier removedAgent) {
-        mainConnectionGroup.removeAgent(removedAgent);
+        synchronized (mainConnectionGroup) {
+            mainConnectionGroup.removeAgent(removedAgent);
+            neighborsViews.clear();
+        }
     }
 
     @Override
@@ -90,58 +122,84 @@ public class RandomConnectedNetwork extends NetworkWithDelay {
 
     @Override
     public Set<SimpleAgent.AgentIdentifier> directNeighbors(@NonNull SimpleAgent.AgentIdentifier agent) {
-        if (mainConnectionGroup.contains(agent)) {
-            Set<SimpleAgent.AgentIdentifier> connectedAgent = Sets.newHashSet(mainConnectionGroup.connections.get(agent));
+        Set<SimpleAgent.AgentIdentifier> connectedAgent = mainConnectionGroup.connectedAgents(agent);
+        if (connectedAgent != null) {
             connectedAgent.add(agent);
             return connectedAgent;
         } else
             throw new NotInNetworkException("Agent " + agent + " is not in the Network " + this);
     }
 
+    /**
+     * Returns an immutable view of the direct neighbors of the agent. The view is computed once and returned until an agent is added or removed from
+     * the {@link Network}.
+     *
+     * @param agent the agent to verify the connection
+     *
+     * @return an immutable set which contains all agents directly connected to the specified agent and the agent itself.
+     */
     @Override
-    public Set<Connection> allConnections() {
-        Set<SimpleAgent.AgentIdentifier> alreadySeen = Sets.newHashSet();
-        Set<Connection> allConnections = Sets.newHashSet();
-
-        for (SimpleAgent.AgentIdentifier a0 : mainConnectionGroup.agents) {
-            Set<SimpleAgent.AgentIdentifier> connectedAgents = mainConnectionGroup.connections.get(a0);
-            for (SimpleAgent.AgentIdentifier a1 : connectedAgents) {
-                if (!alreadySeen.contains(a1)) {
-                    allConnections.add(new NonOrientedConnection(a0, a1));
+    public Set<SimpleAgent.AgentIdentifier> neighborsView(@NonNull SimpleAgent.AgentIdentifier agent) {
+        Set<SimpleAgent.AgentIdentifier> view = neighborsViews.get(agent);
+        if (view == null) {
+            synchronized (mainConnectionGroup) {
+                view = neighborsViews.get(agent);
+                if (view == null) {
+                    view = ImmutableSet.copyOf(directNeighbors(agent));
+                    neighborsViews.put(agent, view);
                 }
             }
-            allConnections.add(new NonOrientedConnection(a0, a0));
-            alreadySeen.add(a0);
         }
+        return view;
+    }
 
-        return allConnections;
+    @Override
+    public Set<Connection> allConnections() {
+        return mainConnectionGroup.allConnections();
     }
 
     // Getters and setters.
 
     public int connectionNumber() {
-        if (getContext().getValue(CONNECTION_NUMBER) != null) {
-            int connectionNumber = (int) getContext().getValue(CONNECTION_NUMBER);
-            Validate.min(connectionNumber, 1, "Connection number cannot be less than 1");
-            return connectionNumber;
-        } else
-            return DEFAULT_CONNECTION_NUMBER;
+        return getContext().get(CONNECTION_NUMBER_KEY);
     }
 
     public void connectionNumber(int connectionNumber) {
-        Validate.min(connectionNumber, 1, "Connection number cannot be less than 1");
-        getContext().map(CONNECTION_NUMBER, connectionNumber);
+        getContext().set(CONNECTION_NUMBER_KEY, connectionNumber);
     }
 
     // Inner classes.
 
-    @RequiredArgsConstructor
+    /**
+     * Adjacency structure of the {@link RandomConnectedNetwork}. Each agent has a dense index in {@code [0, size)} and connections are stored in
+     * sorted arrays of indexes, one array by agent. When an agent is removed, the agent with the greatest index takes its index, therefore indexes
+     * are always dense.
+     * <p>
+     * Modifications are done under the write lock of a {@link StampedLock}. {@link #hasConnection(SimpleAgent.AgentIdentifier,
+     * SimpleAgent.AgentIdentifier)} uses optimistic reads and only takes the read lock if a modification has been done during the read.
+     */
     private static class ConnectionGroup {
 
-        @NonNull
-        private final Set<SimpleAgent.AgentIdentifier> agents;
+        // Constants.
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        // Variables.
+
+        private final StampedLock lock = new StampedLock();
+
+        private final Map<SimpleAgent.AgentIdentifier, Integer> indexes = Maps.newConcurrentMap();
+
+        private SimpleAgent.AgentIdentifier[] agents = new SimpleAgent.AgentIdentifier[INITIAL_CAPACITY];
 
-        private final Map<SimpleAgent.AgentIdentifier, Set<SimpleAgent.AgentIdentifier>> connections = Maps.newHashMap();
+        /**
+         * Sorted indexes of connected agents by agent index. Only the {@code degrees[i]} first values of {@code adjacency[i]} are significant.
+         */
+        private int[][] adjacency = new int[INITIAL_CAPACITY][];
+
+        private int[] degrees = new int[INITIAL_CAPACITY];
+
+        private int size = 0;
 
         // Methods.
 
@@ -154,38 +212,97 @@ public class RandomConnectedNetwork extends NetworkWithDelay {
          * @param random             the random use to chose randomly which already agents will be chosen to be connected with the new agent
          */
         public void addAgent(@NonNull SimpleAgent.AgentIdentifier agent, int numberOfConnection, Random random) {
+            long stamp = lock.writeLock();
+            try {
+                add(agent, numberOfConnection, random);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Add all specified agents in the iteration order, as {@link #addAgent(SimpleAgent.AgentIdentifier, int, Random)} does, but only takes the
+         * write lock once, allocates arrays for all agents at once and trims adjacency arrays at the end.
+         *
+         * @param toAdd              the agents to add
+         * @param numberOfConnection the number of connections created with each agent
+         * @param random             the random use to chose randomly which already agents will be chosen to be connected with new agents
+         */
+        public void addAgents(@NonNull Collection<SimpleAgent.AgentIdentifier> toAdd, int numberOfConnection, Random random) {
+            long stamp = lock.writeLock();
+            try {
+                ensureCapacity(size + toAdd.size());
+                for (SimpleAgent.AgentIdentifier agent : toAdd) {
+                    add(agent, numberOfConnection, random);
+                }
+                for (int i = 0; i < size; i++) {
+                    if (adjacency[i].length != degrees[i])
+                        adjacency[i] = Arrays.copyOf(adjacency[i], degrees[i]);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void add(SimpleAgent.AgentIdentifier agent, int numberOfConnection, Random random) {
             if (!contains(agent)) {
-                addNewConnections(agent, Math.min(numberOfConnection, agents.size()), random);
-                agents.add(agent);
+                int[] selected = selectRandomlyIndexes(Math.min(numberOfConnection, size), random);
+                Arrays.sort(selected);
+
+                int index = size;
+                ensureCapacity(index + 1);
+                agents[index] = agent;
+                adjacency[index] = selected;
+                degrees[index] = selected.length;
+                // The new index is the greatest index, therefore it is appended at the end of sorted arrays.
+                for (int other : selected) {
+                    insert(other, index);
+                }
+                size++;
+                indexes.put(agent, index);
             } else
                 log.debug("Cannot add Agent {} -> already in the Network Connection Group {}", agent, this);
         }
 
-        private void addNewConnections(SimpleAgent.AgentIdentifier agent, int numberOfConnection, Random random) {
-            if (numberOfConnection == agents.size()) {
-                createConnectionBetween(agent, agents);
+        /**
+         * Selects uniformly distinct indexes in {@code [0, size)}.
+         *
+         * @param number the number of indexes to select, must be less or equal to {@link #size}
+         * @param random the random
+         *
+         * @return a new array which contains the selected indexes.
+         */
+        private int[] selectRandomlyIndexes(int number, Random random) {
+            int[] selected = new int[number];
+            if (number * 2 > size) {
+                // Partial Fisher-Yates shuffle.
+                int[] all = new int[size];
+                for (int i = 0; i < size; i++) {
+                    all[i] = i;
+                }
+                for (int i = 0; i < number; i++) {
+                    int chosen = i + random.nextInt(size - i);
+                    selected[i] = all[chosen];
+                    all[chosen] = all[i];
+                }
             } else {
-                createConnectionBetween(agent, selectRandomlyAgents(numberOfConnection, random));
-            }
-        }
-
-        private void createConnectionBetween(SimpleAgent.AgentIdentifier agent, Set<SimpleAgent.AgentIdentifier> selectedAgents) {
-            for (SimpleAgent.AgentIdentifier other : selectedAgents) {
-                connections.computeIfAbsent(agent, k -> Sets.newHashSet()).add(other);
-                connections.computeIfAbsent(other, k -> Sets.newHashSet()).add(agent);
+                // Rejection sampling, at least half of indexes are not selected.
+                int selectedNumber = 0;
+                while (selectedNumber < number) {
+                    int chosen = random.nextInt(size);
+                    if (!contains(selected, selectedNumber, chosen))
+                        selected[selectedNumber++] = chosen;
+                }
             }
+            return selected;
         }
 
-        private Set<SimpleAgent.AgentIdentifier> selectRandomlyAgents(int number, Random random) {
-            List<SimpleAgent.AgentIdentifier> copy = Lists.newArrayList(agents);
-            Set<SimpleAgent.AgentIdentifier> selected = Sets.newHashSet();
-            for (int i = 0; i < number; i++) {
-                int index = random.nextInt(copy.size());
-                selected.add(copy.get(index));
-                copy.remove(index);
+        private static boolean contains(int[] array, int length, int value) {
+            for (int i = 0; i < length; i++) {
+                if (array[i] == value)
+                    return true;
             }
-
-            return selected;
+            return false;
         }
 
         /**
@@ -194,34 +311,167 @@ public class RandomConnectedNetwork extends NetworkWithDelay {
          * @param agent the agent to remove
          */
         public void removeAgent(@NonNull SimpleAgent.AgentIdentifier agent) {
-            if (contains(agent)) {
-                clearAgentConnections(agent);
-                agents.remove(agent);
-            } else
-                log.debug("Cannot remove Agent {} -> not in the Network Connection Group {}", agent, this);
+            long stamp = lock.writeLock();
+            try {
+                Integer index = indexes.remove(agent);
+                if (index != null)
+                    remove(index);
+                else
+                    log.debug("Cannot remove Agent {} -> not in the Network Connection Group {}", agent, this);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void remove(int index) {
+            for (int i = 0; i < degrees[index]; i++) {
+                delete(adjacency[index][i], index);
+            }
+
+            int last = size - 1;
+            if (index != last) {
+                // Move the last agent to the removed index to keep indexes dense.
+                for (int i = 0; i < degrees[last]; i++) {
+                    int other = adjacency[last][i];
+                    delete(other, last);
+                    insert(other, index);
+                }
+                agents[index] = agents[last];
+                adjacency[index] = adjacency[last];
+                degrees[index] = degrees[last];
+                indexes.put(agents[index], index);
+            }
+
+            agents[last] = null;
+            adjacency[last] = null;
+            degrees[last] = 0;
+            size--;
+        }
 
+        /**
+         * Inserts the value in the sorted adjacency array of the agent at the specified index. The value must not be already in the array.
+         */
+        private void insert(int index, int value) {
+            int[] neighbors = adjacency[index];
+            int degree = degrees[index];
+            int position = -(Arrays.binarySearch(neighbors, 0, degree, value) + 1);
+            if (degree == neighbors.length)
+                neighbors = Arrays.copyOf(neighbors, Math.max(2, degree * 2));
+
+            System.arraycopy(neighbors, position, neighbors, position + 1, degree - position);
+            neighbors[position] = value;
+            adjacency[index] = neighbors;
+            degrees[index] = degree + 1;
         }
 
-        private void clearAgentConnections(SimpleAgent.AgentIdentifier agent) {
-            Set<SimpleAgent.AgentIdentifier> connectedAgents = connections.remove(agent);
-            for (SimpleAgent.AgentIdentifier connectedAgent : connectedAgents) {
-                connections.get(connectedAgent).remove(agent);
+        /**
+         * Deletes the value from the sorted adjacency array of the agent at the specified index. Do nothing if the value is not in the array.
+         */
+        private void delete(int index, int value) {
+            int[] neighbors = adjacency[index];
+            int degree = degrees[index];
+            int position = Arrays.binarySearch(neighbors, 0, degree, value);
+            if (position >= 0) {
+                System.arraycopy(neighbors, position + 1, neighbors, position, degree - position - 1);
+                degrees[index] = degree - 1;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > agents.length) {
+                int newCapacity = Math.max(capacity, agents.length * 2);
+                agents = Arrays.copyOf(agents, newCapacity);
+                adjacency = Arrays.copyOf(adjacency, newCapacity);
+                degrees = Arrays.copyOf(degrees, newCapacity);
             }
         }
 
         public boolean contains(SimpleAgent.AgentIdentifier agent) {
-            return agents.contains(agent);
+            return indexes.containsKey(agent);
         }
 
         public boolean hasConnection(@NonNull SimpleAgent.AgentIdentifier a0, @NonNull SimpleAgent.AgentIdentifier a1) {
-            if (contains(a0) && contains(a1)) {
-                if (a0.equals(a1))
-                    return true;
-                else {
-                    return connections.get(a0).contains(a1);
+            if (a0.equals(a1))
+                return contains(a0);
+
+            long stamp = lock.tryOptimisticRead();
+            boolean connected = isConnected(a0, a1);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    connected = isConnected(a0, a1);
+                } finally {
+                    lock.unlockRead(stamp);
                 }
             }
-            return false;
+            return connected;
+        }
+
+        /**
+         * Can be called without lock, in that case, the result is only correct if no modification has been done during the call. Never throws
+         * exception even if a modification is done during the call.
+         */
+        private boolean isConnected(SimpleAgent.AgentIdentifier a0, SimpleAgent.AgentIdentifier a1) {
+            Integer i0 = indexes.get(a0);
+            Integer i1 = indexes.get(a1);
+            if (i0 == null || i1 == null)
+                return false;
+
+            int[][] currentAdjacency = adjacency;
+            int[] currentDegrees = degrees;
+            if (i0 >= currentAdjacency.length || i0 >= currentDegrees.length)
+                return false;
+
+            int[] neighbors = currentAdjacency[i0];
+            if (neighbors == null)
+                return false;
+
+            int degree = Math.min(currentDegrees[i0], neighbors.length);
+            return Arrays.binarySearch(neighbors, 0, degree, i1) >= 0;
+        }
+
+        /**
+         * @param agent the agent
+         *
+         * @return a new set which contains all agents connected to the specified agent (without the agent itself), null if the agent is not in the
+         * {@link ConnectionGroup}.
+         */
+        public Set<SimpleAgent.AgentIdentifier> connectedAgents(@NonNull SimpleAgent.AgentIdentifier agent) {
+            long stamp = lock.readLock();
+            try {
+                Integer index = indexes.get(agent);
+                if (index == null)
+                    return null;
+
+                Set<SimpleAgent.AgentIdentifier> connectedAgents = Sets.newHashSetWithExpectedSize(degrees[index] + 1);
+                for (int i = 0; i < degrees[index]; i++) {
+                    connectedAgents.add(agents[adjacency[index][i]]);
+                }
+                return connectedAgents;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * @return a new set which contains one {@link NonOrientedConnection} by connection and one connection of each agent with itself.
+         */
+        public Set<Connection> allConnections() {
+            long stamp = lock.readLock();
+            try {
+                Set<Connection> allConnections = Sets.newHashSet();
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < degrees[i]; j++) {
+                        int other = adjacency[i][j];
+                        if (other > i)
+                            allConnections.add(new NonOrientedConnection(agents[i], agents[other]));
+                    }
+                    allConnections.add(new NonOrientedConnection(agents[i], agents[i]));
+                }
+                return allConnections;
+            } finally {
+                lock.unlockRead(stamp);
+            }
         }
     }
 }
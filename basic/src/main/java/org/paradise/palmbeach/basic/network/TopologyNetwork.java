@@ -0,0 +1,477 @@
+package org.paradise.palmbeach.basic.network;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.core.environment.network.Network;
+import org.paradise.palmbeach.utils.context.Context;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link NetworkWithDelay} whose connections are generated in bulk by a topology algorithm instead of being created agent by agent.
+ * <p>
+ * Each agent added in the {@code Network} receives a slot, the index of the agent in the order of adding. Subclasses generate the connections
+ * between slots with {@link #generateConnections(int, SplittableRandom, ConnectionList)}. Connections are generated only once, when they are read for
+ * the first time, therefore adding a lot of agents (for example with {@link Environment#addAgents(Collection)}) before the first read only generates
+ * the topology once. The topology is generated with a {@link SplittableRandom} seeded with {@link #seed()}, thus with the same seed and the same
+ * order of adding, the topology is always the same.
+ * <p>
+ * The topology is never generated again. An agent added after the generation is connected by {@link #extendConnections(int, SplittableRandom,
+ * ConnectionList)} without changing the existing connections, which by default throws an {@link IllegalStateException}: topologies whose existing
+ * connections depend on the number of agents (as a ring or a grid) must be built once with all agents and then are static.
+ * <p>
+ * Connections are stored in a compressed sparse row structure: one int array contains the sorted slots of connected agents of all agents and another
+ * int array contains the offset of each agent in the first one. Connections of agents added after the generation are stored in sorted arrays by
+ * slot, which are merged in a new compressed structure once they are as many as the compressed connections, thus adding an agent is in amortized
+ * O(connections of the agent). {@link #hasConnection(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier)} is a binary search in a primitive
+ * array and does not take any lock once the topology has been generated.
+ * <p>
+ * A removed agent keeps its slot but is no longer connected to anybody. Connections are non oriented.
+ */
+public abstract class TopologyNetwork extends NetworkWithDelay {
+
+    // Constants.
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Variables.
+
+    private final Object lock = new Object();
+
+    private final Map<SimpleAgent.AgentIdentifier, Integer> slots;
+
+    /**
+     * Agents by slot, null if the agent of the slot has been removed.
+     */
+    private volatile SimpleAgent.AgentIdentifier[] agents;
+
+    private int size;
+
+    /**
+     * Generated topology, null if it has not been generated yet.
+     */
+    private volatile Topology topology;
+
+    /**
+     * Random used to generate the topology, kept to extend the topology with agents added after the generation.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Immutable neighbor views by agent, cleared each time the connections change.
+     */
+    private final Map<SimpleAgent.AgentIdentifier, Set<SimpleAgent.AgentIdentifier>> neighborsViews;
+
+    // Constructors.
+
+    /**
+     * Constructs a {@link TopologyNetwork} with all agents already in the {@link Environment}.
+     *
+     * @param name        the name of the Network
+     * @param environment the Network Environment
+     * @param context     the Network context
+     */
+    protected TopologyNetwork(@NonNull String name, @NonNull Environment environment, Context context) {
+        super(name, environment, context);
+        this.slots = Maps.newConcurrentMap();
+        this.agents = new SimpleAgent.AgentIdentifier[INITIAL_CAPACITY];
+        this.size = 0;
+        this.topology = null;
+        this.neighborsViews = Maps.newConcurrentMap();
+        addAll(environment.evolvingAgents());
+    }
+
+    // Methods.
+
+    /**
+     * Generates the connections between {@code agentNumber} slots. Connections of a slot with itself and duplicated connections are ignored.
+     *
+     * @param agentNumber the number of slots, slots are in [0, agentNumber[
+     * @param random      the random to use to generate the topology
+     * @param connections the list in which connections must be added
+     */
+    protected abstract void generateConnections(int agentNumber, SplittableRandom random, ConnectionList connections);
+
+    /**
+     * Generates the connections of an agent added after the generation of the topology with the slots of the previous agents. Existing connections
+     * cannot be changed. The default implementation rejects the agent.
+     *
+     * @param slot        the slot of the added agent, all previous slots are in [0, slot[
+     * @param random      the random used to generate the topology, in the state left by the previous generations
+     * @param connections the list in which connections must be added
+     *
+     * @throws IllegalStateException if the topology cannot be extended without changing existing connections
+     */
+    protected void extendConnections(int slot, SplittableRandom random, ConnectionList connections) {
+        throw new IllegalStateException(getClass().getSimpleName() + " " + getName() + " cannot add agents after its topology has been generated");
+    }
+
+    @Override
+    public void environmentAddAgent(@NonNull SimpleAgent.AgentIdentifier addedAgent) {
+        synchronized (lock) {
+            append(addedAgent);
+        }
+    }
+
+    @Override
+    public void environmentAddAgents(@NonNull Collection<SimpleAgent.AgentIdentifier> addedAgents) {
+        addAll(addedAgents);
+    }
+
+    private void addAll(Collection<SimpleAgent.AgentIdentifier> addedAgents) {
+        synchronized (lock) {
+            ensureCapacity(size + addedAgents.size());
+            for (SimpleAgent.AgentIdentifier agent : addedAgents) {
+                append(agent);
+            }
+        }
+    }
+
+    /**
+     * Must be called under the lock. If the topology has been generated, it is extended before the slot of the agent is visible, therefore a reader
+     * which sees the slot always reads a topology which contains it.
+     */
+    private void append(SimpleAgent.AgentIdentifier agent) {
+        if (!slots.containsKey(agent)) {
+            Topology current = topology;
+            if (current != null) {
+                ConnectionList connections = new ConnectionList(0);
+                extendConnections(size, random, connections);
+                ensureCapacity(size + 1);
+                agents[size] = agent;
+                topology = current.extend(size, connections);
+                for (int i = 0; i < connections.size; i++) {
+                    removeNeighborsView(connections.sources[i]);
+                    removeNeighborsView(connections.targets[i]);
+                }
+            } else {
+                ensureCapacity(size + 1);
+                agents[size] = agent;
+            }
+
+            slots.put(agent, size);
+            size++;
+        }
+    }
+
+    private void removeNeighborsView(int slot) {
+        if (slot < size && agents[slot] != null)
+            neighborsViews.remove(agents[slot]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > agents.length)
+            agents = Arrays.copyOf(agents, Math.max(capacity, agents.length * 2));
+    }
+
+    @Override
+    public void environmentRemoveAgent(@NonNull SimpleAgent.AgentIdentifier removedAgent) {
+        synchronized (lock) {
+            Integer slot = slots.remove(removedAgent);
+            if (slot != null) {
+                agents[slot] = null;
+                neighborsViews.clear();
+            }
+        }
+    }
+
+    private Topology topology() {
+        Topology current = topology;
+        return current != null ? current : generateTopology();
+    }
+
+    private Topology generateTopology() {
+        synchronized (lock) {
+            Topology current = topology;
+            if (current == null) {
+                ConnectionList connections = new ConnectionList(size);
+                random = new SplittableRandom(seed());
+                generateConnections(size, random, connections);
+                current = Topology.build(size, connections);
+                topology = current;
+            }
+            return current;
+        }
+    }
+
+    @Override
+    public boolean hasConnection(@NonNull SimpleAgent.AgentIdentifier source, @NonNull SimpleAgent.AgentIdentifier target) {
+        if (source.equals(target))
+            return slots.containsKey(source);
+
+        Integer s0 = slots.get(source);
+        Integer s1 = slots.get(target);
+        if (s0 == null || s1 == null)
+            return false;
+
+        Topology current = topology();
+        return s0 < current.size && s1 < current.size && current.isConnected(s0, s1);
+    }
+
+    @Override
+    public Set<SimpleAgent.AgentIdentifier> directNeighbors(@NonNull SimpleAgent.AgentIdentifier agent) {
+        Integer slot = slots.get(agent);
+        if (slot == null)
+            throw new NotInNetworkException("Agent " + agent + " is not in the Network " + this);
+
+        Topology current = topology();
+        if (slot >= current.size)
+            return Sets.newHashSet(agent);
+
+        SimpleAgent.AgentIdentifier[] currentAgents = agents;
+        Set<SimpleAgent.AgentIdentifier> neighbors = Sets.newHashSetWithExpectedSize(current.degree(slot) + 1);
+        current.forEachNeighbor(slot, other -> {
+            if (currentAgents[other] != null)
+                neighbors.add(currentAgents[other]);
+        });
+        neighbors.add(agent);
+        return neighbors;
+    }
+
+    /**
+     * Returns an immutable view of the direct neighbors of the agent. The view is computed once and returned until an agent is removed from the
+     * {@link Network} or a new agent is connected to it.
+     *
+     * @param agent the agent to verify the connection
+     *
+     * @return an immutable set which contains all agents directly connected to the specified agent and the agent itself.
+     */
+    @Override
+    public Set<SimpleAgent.AgentIdentifier> neighborsView(@NonNull SimpleAgent.AgentIdentifier agent) {
+        Set<SimpleAgent.AgentIdentifier> view = neighborsViews.get(agent);
+        if (view == null) {
+            synchronized (lock) {
+                view = neighborsViews.get(agent);
+                if (view == null) {
+                    view = ImmutableSet.copyOf(directNeighbors(agent));
+                    neighborsViews.put(agent, view);
+                }
+            }
+        }
+        return view;
+    }
+
+    @Override
+    public Set<Connection> allConnections() {
+        Topology current = topology();
+        SimpleAgent.AgentIdentifier[] currentAgents = agents;
+        Set<Connection> allConnections = Sets.newHashSet();
+        for (int slot = 0; slot < current.size; slot++) {
+            SimpleAgent.AgentIdentifier agent = currentAgents[slot];
+            if (agent != null) {
+                int s = slot;
+                current.forEachNeighbor(slot, other -> {
+                    if (other > s && currentAgents[other] != null)
+                        allConnections.add(new NonOrientedConnection(agent, currentAgents[other]));
+                });
+                allConnections.add(new NonOrientedConnection(agent, agent));
+            }
+        }
+        return allConnections;
+    }
+
+    /**
+     * @return the number of agents in the {@link Network}.
+     */
+    public int agentNumber() {
+        return slots.size();
+    }
+
+    // Inner classes.
+
+    /**
+     * Growable list of non oriented connections between slots, stored in two int arrays.
+     */
+    protected static final class ConnectionList {
+
+        // Variables.
+
+        private int[] sources;
+        private int[] targets;
+        private int size;
+
+        // Constructors.
+
+        private ConnectionList(int initialCapacity) {
+            this.sources = new int[Math.max(initialCapacity, INITIAL_CAPACITY)];
+            this.targets = new int[sources.length];
+            this.size = 0;
+        }
+
+        // Methods.
+
+        /**
+         * Adds the non oriented connection between both slots.
+         *
+         * @param s0 the first slot
+         * @param s1 the second slot
+         */
+        public void add(int s0, int s1) {
+            if (size == sources.length) {
+                int newCapacity = sources.length + (sources.length >> 1);
+                sources = Arrays.copyOf(sources, newCapacity);
+                targets = Arrays.copyOf(targets, newCapacity);
+            }
+            sources[size] = s0;
+            targets[size] = s1;
+            size++;
+        }
+
+        /**
+         * Ensures that the specified number of connections can be added without growing the list.
+         *
+         * @param capacity the expected number of connections
+         */
+        public void ensureCapacity(int capacity) {
+            if (capacity > sources.length) {
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Immutable compressed sparse row adjacency of the first {@code compressedSize} slots. Neighbors of the slot {@code s} are in {@code
+     * neighbors[offsets[s], offsets[s + 1][} and are sorted. Connections added after the generation are in {@code added}, the sorted array of added
+     * neighbors by slot. The map is shared by the successive {@code Topology} of each extension until the next compression, an extension only
+     * replaces the arrays of the modified slots.
+     */
+    private record Topology(int size, int compressedSize, int[] offsets, int[] neighbors, Map<Integer, int[]> added, int addedNumber) {
+
+        private static Topology build(int size, ConnectionList connections) {
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < connections.size; i++) {
+                int s0 = connections.sources[i];
+                int s1 = connections.targets[i];
+                if (s0 != s1) {
+                    offsets[s0 + 1]++;
+                    offsets[s1 + 1]++;
+                }
+            }
+            for (int slot = 0; slot < size; slot++) {
+                offsets[slot + 1] += offsets[slot];
+            }
+
+            int[] neighbors = new int[offsets[size]];
+            int[] positions = Arrays.copyOf(offsets, size);
+            for (int i = 0; i < connections.size; i++) {
+                int s0 = connections.sources[i];
+                int s1 = connections.targets[i];
+                if (s0 != s1) {
+                    neighbors[positions[s0]++] = s1;
+                    neighbors[positions[s1]++] = s0;
+                }
+            }
+
+            // Sorts each row and removes duplicated connections, rows are compacted in place.
+            int write = 0;
+            for (int slot = 0; slot < size; slot++) {
+                int from = offsets[slot];
+                int to = offsets[slot + 1];
+                Arrays.sort(neighbors, from, to);
+                offsets[slot] = write;
+                int previous = -1;
+                for (int i = from; i < to; i++) {
+                    if (neighbors[i] != previous) {
+                        previous = neighbors[i];
+                        neighbors[write++] = previous;
+                    }
+                }
+            }
+            offsets[size] = write;
+
+            return new Topology(size, size, offsets, write < neighbors.length ? Arrays.copyOf(neighbors, write) : neighbors, Maps.newConcurrentMap(), 0);
+        }
+
+        /**
+         * @param slot        the slot of the added agent, equal to the current size
+         * @param connections the connections of the added agent with previous slots
+         *
+         * @return the topology with the added agent and its connections, compressed again if there are as many added connections as compressed ones.
+         */
+        private Topology extend(int slot, ConnectionList connections) {
+            int nextAddedNumber = addedNumber;
+            for (int i = 0; i < connections.size; i++) {
+                int s0 = connections.sources[i];
+                int s1 = connections.targets[i];
+                if (s0 != s1 && (s0 == slot || s1 == slot) && s0 <= slot && s1 <= slot) {
+                    int other = s0 == slot ? s1 : s0;
+                    if (insert(slot, other)) {
+                        insert(other, slot);
+                        nextAddedNumber++;
+                    }
+                }
+            }
+
+            Topology extended = new Topology(slot + 1, compressedSize, offsets, neighbors, added, nextAddedNumber);
+            return nextAddedNumber > Math.max(INITIAL_CAPACITY, neighbors.length / 2) ? extended.compress() : extended;
+        }
+
+        private boolean insert(int slot, int neighbor) {
+            int[] current = added.getOrDefault(slot, new int[0]);
+            int index = Arrays.binarySearch(current, neighbor);
+            if (index >= 0)
+                return false;
+
+            int position = -index - 1;
+            int[] next = new int[current.length + 1];
+            System.arraycopy(current, 0, next, 0, position);
+            next[position] = neighbor;
+            System.arraycopy(current, position, next, position + 1, current.length - position);
+            added.put(slot, next);
+            return true;
+        }
+
+        private Topology compress() {
+            ConnectionList connections = new ConnectionList(neighbors.length / 2 + addedNumber);
+            for (int slot = 0; slot < size; slot++) {
+                int s0 = slot;
+                forEachNeighbor(slot, other -> {
+                    if (other > s0)
+                        connections.add(s0, other);
+                });
+            }
+            return build(size, connections);
+        }
+
+        private boolean isConnected(int s0, int s1) {
+            if (s0 < compressedSize && s1 < compressedSize)
+                return Arrays.binarySearch(neighbors, offsets[s0], offsets[s0 + 1], s1) >= 0;
+
+            int[] addedNeighbors = added.get(s0);
+            return addedNeighbors != null && Arrays.binarySearch(addedNeighbors, s1) >= 0;
+        }
+
+        private int degree(int slot) {
+            int[] addedNeighbors = added.get(slot);
+            return (slot < compressedSize ? offsets[slot + 1] - offsets[slot] : 0) + (addedNeighbors != null ? addedNeighbors.length : 0);
+        }
+
+        private void forEachNeighbor(int slot, IntConsumer action) {
+            if (slot < compressedSize) {
+                for (int i = offsets[slot]; i < offsets[slot + 1]; i++) {
+                    action.accept(neighbors[i]);
+                }
+            }
+            int[] addedNeighbors = added.get(slot);
+            if (addedNeighbors != null) {
+                for (int neighbor : addedNeighbors) {
+                    action.accept(neighbor);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.paradise.palmbeach.basic.network;
+
+import lombok.NonNull;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.ContextKey;
+import org.paradise.palmbeach.utils.validation.Validate;
+
+import java.util.SplittableRandom;
+
+/**
+ * Small-world {@link TopologyNetwork} generated with the Watts-Strogatz model: agents are placed on a ring and each agent is connected to its
+ * {@link #neighborNumber()} nearest agents ({@code neighborNumber / 2} on each side). Then each connection to a following agent is rewired with the
+ * probability {@link #rewiringProbability()} to an agent chosen uniformly. The generation is in O(n * neighborNumber).
+ * <p>
+ * A rewired connection which already exists is only created once, therefore an agent can have fewer connections than {@link #neighborNumber()}.
+ * <p>
+ * The ring depends on the number of agents, therefore agents cannot be added once the topology has been generated.
+ * <p>
+ * Example of configuration:
+ * <pre>
+ * network.smallWorld.class=org.paradise.palmbeach.basic.network.WattsStrogatzNetwork
+ * network.smallWorld.context.smallWorldNeighborNumber=4
+ * network.smallWorld.context.smallWorldRewiringProbability=0.1
+ * network.smallWorld.context.randomSeed=42
+ * </pre>
+ */
+public class WattsStrogatzNetwork extends TopologyNetwork {
+
+    // Context keys and default values.
+
+    public static final String NEIGHBOR_NUMBER = "smallWorldNeighborNumber";
+    public static final String REWIRING_PROBABILITY = "smallWorldRewiringProbability";
+
+    public static final int DEFAULT_NEIGHBOR_NUMBER = 4;
+    public static final double DEFAULT_REWIRING_PROBABILITY = 0.1d;
+
+    public static final ContextKey<Integer> NEIGHBOR_NUMBER_KEY =
+            ContextKey.intKey(NEIGHBOR_NUMBER, DEFAULT_NEIGHBOR_NUMBER, WattsStrogatzNetwork::validateNeighborNumber);
+    public static final ContextKey<Double> REWIRING_PROBABILITY_KEY =
+            ContextKey.doubleKey(REWIRING_PROBABILITY, DEFAULT_REWIRING_PROBABILITY,
+                                 new Validate.IntervalDoubleValidator(0d, 1d, "Rewiring probability must be in [0, 1]"));
+
+    // Constructors.
+
+    /**
+     * @param name        the name of the Network
+     * @param environment the Network Environment
+     * @param context     the Network context
+     *
+     * @throws IllegalArgumentException if the neighbor number is not an even number greater or equal to 2 or if the rewiring probability is not in
+     *                                  [0, 1]
+     */
+    public WattsStrogatzNetwork(@NonNull String name, @NonNull Environment environment, Context context) {
+        super(name, environment, context);
+
+        // Verifications.
+        neighborNumber();
+        rewiringProbability();
+    }
+
+    // Methods.
+
+    private static void validateNeighborNumber(Integer neighborNumber) {
+        if (neighborNumber < 2 || neighborNumber % 2 != 0)
+            throw new IllegalArgumentException("Neighbor number must be an even number greater or equal to 2");
+    }
+
+    @Override
+    protected void generateConnections(int agentNumber, SplittableRandom random, ConnectionList connections) {
+        int halfNeighborNumber = neighborNumber() / 2;
+        double rewiringProbability = rewiringProbability();
+
+        connections.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8L, (long) agentNumber * halfNeighborNumber));
+        for (int agent = 0; agent < agentNumber; agent++) {
+            for (int i = 1; i <= halfNeighborNumber; i++) {
+                int target = (int) ((agent + (long) i) % agentNumber);
+                if (rewiringProbability > 0d && agentNumber > 1 && random.nextDouble() < rewiringProbability) {
+                    do {
+                        target = random.nextInt(agentNumber);
+                    } while (target == agent);
+                }
+                connections.add(agent, target);
+            }
+        }
+    }
+
+    // Getters and setters.
+
+    public int neighborNumber() {
+        return getContext().get(NEIGHBOR_NUMBER_KEY);
+    }
+
+    /**
+     * Sets the neighbor number in the context, only used if the topology has not been generated yet.
+     *
+     * @param neighborNumber the number of nearest agents connected to each agent on the ring
+     *
+     * @throws IllegalArgumentException if neighborNumber is not an even number greater or equal to 2
+     */
+    public void neighborNumber(int neighborNumber) {
+        getContext().set(NEIGHBOR_NUMBER_KEY, neighborNumber);
+    }
+
+    public double rewiringProbability() {
+        return getContext().get(REWIRING_PROBABILITY_KEY);
+    }
+
+    /**
+     * Sets the rewiring probability in the context, only used if the topology has not been generated yet.
+     *
+     * @param rewiringProbability the probability to rewire a connection
+     *
+     * @throws IllegalArgumentException if rewiringProbability is not in [0, 1]
+     */
+    public void rewiringProbability(double rewiringProbability) {
+        getContext().set(REWIRING_PROBABILITY_KEY, rewiringProbability);
+    }
+}
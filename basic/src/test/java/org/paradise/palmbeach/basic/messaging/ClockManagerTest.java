@@ -0,0 +1,144 @@
+package org.paradise.palmbeach.basic.messaging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Nested
+@DisplayName("ClockManager tests")
+@Tag("ClockManager")
+@PalmBeachTest
+public class ClockManagerTest {
+
+    @Nested
+    @DisplayName("ClockManager incrementAndGetClock()")
+    @Tag("incrementAndGetClock")
+    class IncrementAndGetClock {
+
+        @Test
+        @DisplayName("incrementAndGetClock() increments the clock of the agent")
+        void incrementClock(@Mock SimpleAgent.AgentIdentifier agent) {
+            ClockManager clockManager = new ClockManager();
+
+            assertThat(clockManager.getAgentClock(agent)).isZero();
+            assertThat(clockManager.incrementAndGetClock(agent)).isEqualTo(1L);
+            assertThat(clockManager.incrementAndGetClock(agent)).isEqualTo(2L);
+            assertThat(clockManager.getAgentClock(agent)).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("incrementAndGetClock() does not mix agents with the same unique id")
+        void sameUniqueId(@Mock SimpleAgent.AgentIdentifier a0, @Mock SimpleAgent.AgentIdentifier a1) {
+            ClockManager clockManager = new ClockManager();
+
+            clockManager.incrementAndGetClock(a0);
+
+            assertThat(clockManager.getAgentClock(a0)).isEqualTo(1L);
+            assertThat(clockManager.getAgentClock(a1)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("ClockManager updateAgentClockFromClockReceived()")
+    @Tag("updateAgentClockFromClockReceived")
+    class UpdateAgentClockFromClockReceived {
+
+        @Test
+        @DisplayName("updateAgentClockFromClockReceived() only slides the clock when all previous clocks have been received")
+        void slideClock(@Mock SimpleAgent.AgentIdentifier agent) {
+            ClockManager clockManager = new ClockManager();
+
+            clockManager.updateAgentClockFromClockReceived(agent, 3L);
+            clockManager.updateAgentClockFromClockReceived(agent, 2L);
+
+            assertThat(clockManager.getAgentClock(agent)).isZero();
+            assertThat(clockManager.notReceivedClock(agent, 1L)).isTrue();
+            assertThat(clockManager.notReceivedClock(agent, 2L)).isFalse();
+            assertThat(clockManager.notReceivedClock(agent, 3L)).isFalse();
+            assertThat(clockManager.notReceivedClock(agent, 4L)).isTrue();
+
+            clockManager.updateAgentClockFromClockReceived(agent, 1L);
+
+            assertThat(clockManager.getAgentClock(agent)).isEqualTo(3L);
+            assertThat(clockManager.notReceivedClock(agent, 4L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("updateAgentClockFromClockReceived() does not grow the window to cover a clock far ahead")
+        void clockFarAhead(@Mock SimpleAgent.AgentIdentifier agent) {
+            ClockManager clockManager = new ClockManager();
+            long farAhead = (1L << 40) + 2L;
+
+            clockManager.updateAgentClockFromClockReceived(agent, farAhead);
+            clockManager.updateAgentClockFromClockReceived(agent, 2L);
+
+            assertThat(clockManager.getAgentClock(agent)).isZero();
+            assertThat(clockManager.notReceivedClock(agent, farAhead)).isFalse();
+            assertThat(clockManager.notReceivedClock(agent, farAhead - 1L)).isTrue();
+            assertThat(clockManager.notReceivedClock(agent, ClockManager.MAX_WINDOW_SIZE + 1L)).isTrue();
+
+            clockManager.updateAgentClockFromClockReceived(agent, 1L);
+
+            assertThat(clockManager.getAgentClock(agent)).isEqualTo(2L);
+            assertThat(clockManager.notReceivedClock(agent, farAhead)).isFalse();
+        }
+
+        @Test
+        @DisplayName("updateAgentClockFromClockReceived() slides the clock through clocks received after the max window size")
+        void slideThroughOutliers(@Mock SimpleAgent.AgentIdentifier agent) {
+            ClockManager clockManager = new ClockManager();
+            long last = 3 * ClockManager.MAX_WINDOW_SIZE;
+
+            for (long c = last; c >= 1L; c--) {
+                clockManager.updateAgentClockFromClockReceived(agent, c);
+            }
+
+            assertThat(clockManager.getAgentClock(agent)).isEqualTo(last);
+            assertThat(clockManager.notReceivedClock(agent, last + 1L)).isTrue();
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {10, 100, 1_000, 10_000})
+        @DisplayName("updateAgentClockFromClockReceived() detects all already received clocks whatever the reception order")
+        void anyReceptionOrder(int nbClocks) {
+            ClockManager clockManager = new ClockManager();
+            List<SimpleAgent.AgentIdentifier> agents = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                agents.add(new SimpleAgent.AgentIdentifier("Agent " + i, i));
+            }
+            Random random = new Random(nbClocks);
+
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                List<Long> clocks = new ArrayList<>();
+                for (long c = 1; c <= nbClocks; c++) {
+                    clocks.add(c);
+                }
+                Collections.shuffle(clocks, random);
+
+                for (long clock : clocks) {
+                    assertThat(clockManager.notReceivedClock(agent, clock)).isTrue();
+                    clockManager.updateAgentClockFromClockReceived(agent, clock);
+                    assertThat(clockManager.notReceivedClock(agent, clock)).isFalse();
+                }
+            }
+
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                assertThat(clockManager.getAgentClock(agent)).isEqualTo(nbClocks);
+                assertThat(clockManager.notReceivedClock(agent, nbClocks + 1L)).isTrue();
+            }
+        }
+    }
+}
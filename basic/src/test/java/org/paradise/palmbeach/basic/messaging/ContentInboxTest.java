@@ -0,0 +1,107 @@
+package org.paradise.palmbeach.basic.messaging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("ContentInbox tests")
+@Tag("ContentInbox")
+@PalmBeachTest
+public class ContentInboxTest {
+
+    @Nested
+    @DisplayName("ContentInbox constructor")
+    @Tag("constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(ints = {-56, -1, 0})
+        @DisplayName("constructor throws IllegalArgumentException with less than 1 capacity")
+        void withLessThanOneCapacity(int capacity) {
+            assertThrows(IllegalArgumentException.class, () -> new ContentInbox(capacity));
+        }
+    }
+
+    @Nested
+    @DisplayName("ContentInbox offer() and poll()")
+    @Tag("offer")
+    class Offer {
+
+        @Test
+        @DisplayName("offer() and poll() keep the FIFO order when the ring buffer wraps and grows")
+        void fifoOrder() {
+            ContentInbox inbox = new ContentInbox(Integer.MAX_VALUE);
+            int next = 0;
+            int expected = 0;
+            for (int round = 0; round < 10; round++) {
+                for (int i = 0; i < 7 * round + 3; i++) {
+                    assertThat(inbox.offer(next++)).isTrue();
+                }
+                for (int i = 0; i < 5 * round + 1; i++) {
+                    assertThat(inbox.poll()).isEqualTo(expected++);
+                }
+            }
+            while (!inbox.isEmpty()) {
+                assertThat(inbox.poll()).isEqualTo(expected++);
+            }
+
+            assertThat(expected).isEqualTo(next);
+            assertThat(inbox.poll()).isNull();
+            assertThat(inbox.getDroppedNumber()).isZero();
+        }
+
+        @Test
+        @DisplayName("offer() drops and counts contents when the inbox is full")
+        void dropWhenFull() {
+            ContentInbox inbox = new ContentInbox(3);
+            for (int i = 0; i < 5; i++) {
+                assertThat(inbox.offer(i)).isEqualTo(i < 3);
+            }
+
+            assertThat(inbox.size()).isEqualTo(3);
+            assertThat(inbox.getDroppedNumber()).isEqualTo(2L);
+            assertThat(inbox.getHighWaterMark()).isEqualTo(3);
+
+            inbox.poll();
+            assertThat(inbox.offer(5)).isTrue();
+            assertThat(inbox.getHighWaterMark()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("ContentInbox drain()")
+    @Tag("drain")
+    class Drain {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 1, 5, 10, 20})
+        @DisplayName("drain() gives at most max contents in the FIFO order")
+        void drainAtMostMax(int max) {
+            ContentInbox inbox = new ContentInbox(Integer.MAX_VALUE);
+            for (int i = 0; i < 10; i++) {
+                inbox.offer(i);
+            }
+            List<Object> drained = new ArrayList<>();
+
+            int nbDrained = inbox.drain(max, drained::add);
+
+            assertThat(nbDrained).isEqualTo(Math.min(max, 10));
+            assertThat(drained).hasSize(nbDrained);
+            for (int i = 0; i < nbDrained; i++) {
+                assertThat(drained.get(i)).isEqualTo(i);
+            }
+            assertThat(inbox.size()).isEqualTo(10 - nbDrained);
+        }
+    }
+}
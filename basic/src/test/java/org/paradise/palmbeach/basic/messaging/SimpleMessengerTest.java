@@ -7,6 +7,7 @@ import org.paradise.palmbeach.core.environment.network.Network;
 import org.paradise.palmbeach.core.junit.PalmBeachSimulationTest;
 import org.paradise.palmbeach.core.junit.PalmBeachTest;
 import org.paradise.palmbeach.basic.network.FullyConnectedNetwork;
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
@@ -18,6 +19,8 @@ import org.paradise.palmbeach.core.simulation.PalmBeachSimulation;
 import org.paradise.palmbeach.basic.test_tools.SupplierExecutable;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.paradise.palmbeach.core.junit.PalmBeachSimulationTestExtension.waitSimulationEnd;
@@ -88,6 +91,47 @@ public class SimpleMessengerTest {
         }
     }
 
+    @Nested
+    @DisplayName("SimpleMessageSender multicastMessage()")
+    @Tag("multicastMessage")
+    @PalmBeachSimulationTest
+    class MulticastMessage {
+
+        @Test
+        @DisplayName("multicastMessage() delivers the message to all targets connected to the agent")
+        void deliverToAllTargets() throws InterruptedException {
+            Environment env = new Environment("envName", null);
+            PalmBeachSimulation.addEnvironment(env);
+            List<SimpleAgent.AgentIdentifier> targets = Lists.newArrayList();
+            List<SimpleMessenger> messengers = Lists.newArrayList();
+            for (int i = 0; i < 20; i++) {
+                SimpleAgent agent = new SimpleAgent(new SimpleAgent.AgentIdentifier("Agent " + i, i), null);
+                SimpleMessenger messenger = new SimpleMessenger(agent, null);
+                agent.addProtocol(messenger);
+                PalmBeachSimulation.addAgent(agent);
+                env.addAgent(agent.getIdentifier());
+                agent.start();
+                targets.add(agent.getIdentifier());
+                messengers.add(messenger);
+            }
+
+            final FullyConnectedNetwork network = new FullyConnectedNetwork("fNetwork", env, null);
+            env.addNetwork(network);
+
+            final Message<String> mString = new Message<>("msg");
+            PalmBeachSimulation.scheduler().scheduleOnce(() -> messengers.get(0).multicastMessage(mString, targets, network), Scheduler.NEXT_STEP);
+
+            PalmBeachSimulation.start();
+
+            waitSimulationEnd();
+
+            for (SimpleMessenger messenger : messengers) {
+                assertThat(messenger.hasContent()).isTrue();
+                assertThat(messenger.drainContents(Integer.MAX_VALUE, content -> assertThat(content).isSameAs(mString))).isEqualTo(1);
+            }
+        }
+    }
+
     @Nested
     @DisplayName("SimpleMessageSender nextMessage()")
     @Tag("nextMessage")
@@ -136,6 +180,57 @@ public class SimpleMessengerTest {
         }
     }
 
+    @Nested
+    @DisplayName("SimpleMessageSender onNextContent()")
+    @Tag("onNextContent")
+    @PalmBeachSimulationTest
+    class OnNextContent {
+
+        @Test
+        @DisplayName("onNextContent() does not block and calls handlers in registration order with received messages")
+        void callHandlerOnMessageReception(@Mock SimpleAgent.AgentIdentifier i0, @Mock SimpleAgent.AgentIdentifier i1) throws InterruptedException {
+            SimpleAgent a0 = new SimpleAgent(i0, null);
+            SimpleAgent a1 = new SimpleAgent(i1, null);
+
+            SimpleMessenger s0 = new SimpleMessenger(a0, null);
+            a0.addProtocol(s0);
+
+            SimpleMessenger s1 = new SimpleMessenger(a1, null);
+            a1.addProtocol(s1);
+
+            PalmBeachSimulation.addAgent(a0);
+            PalmBeachSimulation.addAgent(a1);
+
+            Environment env = new Environment("envName", null);
+            env.addAgent(i0);
+            env.addAgent(i1);
+            PalmBeachSimulation.addEnvironment(env);
+
+            final FullyConnectedNetwork network = new FullyConnectedNetwork("fNetwork", env, null);
+            env.addNetwork(network);
+
+            a0.start();
+            a1.start();
+
+            final Message<String> m0 = new Message<>("m0");
+            final Message<String> m1 = new Message<>("m1");
+            final List<Object> received = new CopyOnWriteArrayList<>();
+            s1.onNextContent(received::add);
+            s1.onNextContent(received::add);
+            assertThat(received).isEmpty();
+
+            PalmBeachSimulation.scheduler().scheduleOnce(() -> s0.sendMessage(m0, i1, network), Scheduler.NEXT_STEP);
+            PalmBeachSimulation.scheduler().scheduleOnce(() -> s0.sendMessage(m1, i1, network), Scheduler.NEXT_STEP + 50L);
+
+            PalmBeachSimulation.start();
+
+            waitSimulationEnd();
+
+            assertThat(received).containsExactly(m0, m1);
+            assertThat(s1.hasContent()).isFalse();
+        }
+    }
+
 
     // Inner classes.
 }
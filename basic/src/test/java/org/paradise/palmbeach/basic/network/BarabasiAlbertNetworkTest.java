@@ -0,0 +1,148 @@
+package org.paradise.palmbeach.basic.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.core.environment.network.Network;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.SimpleContext;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("BarabasiAlbertNetwork tests")
+@Tag("BarabasiAlbertNetwork")
+@PalmBeachTest
+public class BarabasiAlbertNetworkTest {
+
+    private static List<SimpleAgent.AgentIdentifier> agents(int number) {
+        List<SimpleAgent.AgentIdentifier> agents = Lists.newArrayListWithCapacity(number);
+        for (int i = 0; i < number; i++) {
+            agents.add(new SimpleAgent.AgentIdentifier(String.valueOf(i), i));
+        }
+        return agents;
+    }
+
+    private static Context scaleFreeContext(int connectionNumber, long seed) {
+        Context context = new SimpleContext();
+        context.map(BarabasiAlbertNetwork.CONNECTION_NUMBER, connectionNumber);
+        context.map(NetworkWithDelay.RANDOM_SEED, seed);
+        return context;
+    }
+
+    @Nested
+    @DisplayName("BarabasiAlbertNetwork constructor()")
+    @Tag("constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1, 0})
+        @DisplayName("constructor() throws IllegalArgumentException if the connection number is less than 1")
+        void withWrongConnectionNumber(int connectionNumber) {
+            Environment env = new Environment("env", null);
+
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = scaleFreeContext(connectionNumber, 0L);
+                new BarabasiAlbertNetwork("net", env, context);
+            });
+        }
+
+        @Test
+        @DisplayName("constructor() does not throw exception with null context and default value is used")
+        void withNullContext() {
+            Environment env = new Environment("env", null);
+            BarabasiAlbertNetwork network = new BarabasiAlbertNetwork("net", env, null);
+
+            assertThat(network.connectionNumber()).isEqualTo(BarabasiAlbertNetwork.DEFAULT_CONNECTION_NUMBER);
+        }
+    }
+
+    @Nested
+    @DisplayName("BarabasiAlbertNetwork generateConnections()")
+    @Tag("generateConnections")
+    class GenerateConnections {
+
+        @Test
+        @DisplayName("all agents can reach each other and the same seed generates the same topology")
+        void connectedAndDeterministic() {
+            List<SimpleAgent.AgentIdentifier> agents = agents(2_000);
+
+            Environment env0 = new Environment("env0", null);
+            BarabasiAlbertNetwork network0 = new BarabasiAlbertNetwork("net", env0, scaleFreeContext(2, 42L));
+            env0.addAgents(agents);
+
+            Environment env1 = new Environment("env1", null);
+            BarabasiAlbertNetwork network1 = new BarabasiAlbertNetwork("net", env1, scaleFreeContext(2, 42L));
+            env1.addAgents(agents);
+
+            assertThat(network0.allConnections()).isEqualTo(network1.allConnections());
+            assertThat(reachableAgents(network0, agents.get(agents.size() - 1))).hasSize(agents.size());
+        }
+
+        @Test
+        @DisplayName("first agents are hubs with a lot more connections than the connection number")
+        void preferentialAttachment() {
+            Environment env = new Environment("env", null);
+            BarabasiAlbertNetwork network = new BarabasiAlbertNetwork("net", env, scaleFreeContext(3, 42L));
+            List<SimpleAgent.AgentIdentifier> agents = agents(10_000);
+            env.addAgents(agents);
+
+            int maxDegree = 0;
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                maxDegree = Math.max(maxDegree, network.directNeighbors(agent).size() - 1);
+            }
+            assertThat(maxDegree).isGreaterThan(10 * network.connectionNumber());
+            assertThat(network.allConnections()).hasSizeLessThanOrEqualTo(agents.size() + agents.size() * network.connectionNumber());
+        }
+
+        @Test
+        @DisplayName("agents added after the generation are attached without changing existing connections, as if added before")
+        void addAgentAfterGeneration() {
+            List<SimpleAgent.AgentIdentifier> agents = agents(500);
+
+            Environment bulkEnv = new Environment("bulkEnv", null);
+            BarabasiAlbertNetwork bulkNetwork = new BarabasiAlbertNetwork("net", bulkEnv, scaleFreeContext(2, 42L));
+            bulkEnv.addAgents(agents);
+
+            Environment env = new Environment("env", null);
+            BarabasiAlbertNetwork network = new BarabasiAlbertNetwork("net", env, scaleFreeContext(2, 42L));
+            env.addAgents(agents.subList(0, 100));
+            Set<Network.Connection> initialConnections = network.allConnections();
+            for (SimpleAgent.AgentIdentifier agent : agents.subList(100, agents.size())) {
+                env.addAgent(agent);
+                assertThat(network.neighborsView(agent).size()).isBetween(2, 3);
+            }
+
+            assertThat(network.allConnections()).containsAll(initialConnections).isEqualTo(bulkNetwork.allConnections());
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                assertThat(network.neighborsView(agent)).isEqualTo(bulkNetwork.directNeighbors(agent));
+            }
+        }
+
+        private Set<SimpleAgent.AgentIdentifier> reachableAgents(BarabasiAlbertNetwork network, SimpleAgent.AgentIdentifier from) {
+            Set<SimpleAgent.AgentIdentifier> reached = Sets.newHashSet(from);
+            Deque<SimpleAgent.AgentIdentifier> toVisit = new ArrayDeque<>(reached);
+            while (!toVisit.isEmpty()) {
+                for (SimpleAgent.AgentIdentifier neighbor : network.neighborsView(toVisit.poll())) {
+                    if (reached.add(neighbor))
+                        toVisit.add(neighbor);
+                }
+            }
+            return reached;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.paradise.palmbeach.basic.network;
 
+import org.paradise.palmbeach.core.agent.AgentProcessEventExecutable;
 import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.utils.context.SimpleContext;
@@ -8,6 +9,9 @@ import org.paradise.palmbeach.core.environment.network.Network;
 import org.paradise.palmbeach.core.event.Event;
 import org.paradise.palmbeach.core.junit.PalmBeachSimulationTest;
 import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.core.scheduler.Scheduler;
+import org.paradise.palmbeach.core.scheduler.SimpleScheduler;
+import org.paradise.palmbeach.core.scheduler.executor.mailbox.MailboxExecutor;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -20,12 +24,15 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.paradise.palmbeach.core.simulation.PalmBeachSimulation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @Nested
 @DisplayName("FullyConnectedNetwork tests")
@@ -43,20 +50,22 @@ public class FullyConnectedNetworkTest {
         @ValueSource(longs = {-16516, -6135, -1, 0})
         @DisplayName("constructor() throws IllegalArgumentException if the maxDelay set in context is less than 1")
         void withWrongMinDelay(long minDelay, @Mock Environment environment) {
-            Context context = new SimpleContext();
-            context.map(FullyConnectedNetwork.MIN_SENDING_DELAY, minDelay);
-
-            assertThrows(IllegalArgumentException.class, () -> new FullyConnectedNetwork("FullyConnectedNetwork", environment, context));
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = new SimpleContext();
+                context.map(FullyConnectedNetwork.MIN_SENDING_DELAY, minDelay);
+                new FullyConnectedNetwork("FullyConnectedNetwork", environment, context);
+            });
         }
 
         @ParameterizedTest
         @ValueSource(longs = {-16516, -6135, -1, 0})
         @DisplayName("constructor() throws IllegalArgumentException if the maxDelay set in context is less than 1")
         void withWrongMaxDelay(long maxDelay, @Mock Environment environment) {
-            Context context = new SimpleContext();
-            context.map(FullyConnectedNetwork.MAX_SENDING_DELAY, maxDelay);
-
-            assertThrows(IllegalArgumentException.class, () -> new FullyConnectedNetwork("FullyConnectedNetwork", environment, context));
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = new SimpleContext();
+                context.map(FullyConnectedNetwork.MAX_SENDING_DELAY, maxDelay);
+                new FullyConnectedNetwork("FullyConnectedNetwork", environment, context);
+            });
         }
 
         @Test
@@ -70,6 +79,21 @@ public class FullyConnectedNetworkTest {
         }
     }
 
+    @Nested
+    @DisplayName("FullyConnectedNetwork lookahead()")
+    @Tag("lookahead")
+    class Lookahead {
+
+        @Test
+        @DisplayName("lookahead() returns the minDelay")
+        void returnsMinDelay(@Mock Environment environment) {
+            FullyConnectedNetwork network = new FullyConnectedNetwork("FullyConnectedNetwork", environment, null);
+            network.minDelay(25L);
+
+            assertThat(network.lookahead()).isEqualTo(25L);
+        }
+    }
+
     @Nested
     @DisplayName("FullyConnectedNetwork hasConnection()")
     @Tag("hasConnection")
@@ -136,6 +160,19 @@ public class FullyConnectedNetworkTest {
 
             assertThrows(Network.NotInNetworkException.class, () -> network.directNeighbors(i0));
         }
+
+        @Test
+        @DisplayName("neighborsView() returns the evolving agents view of the Network Environment")
+        void neighborsViewIsEnvironmentView(@Mock SimpleAgent.AgentIdentifier a0, @Mock SimpleAgent.AgentIdentifier a1) {
+            Environment env = new Environment("envName", null);
+            env.addAgent(a0);
+            env.addAgent(a1);
+
+            FullyConnectedNetwork network = new FullyConnectedNetwork("FullyConnectedNetwork", env, null);
+
+            assertThat(network.neighborsView(a0)).isSameAs(env.evolvingAgentsView()).isSameAs(network.neighborsView(a1));
+            assertThrows(Network.NotInNetworkException.class, () -> network.neighborsView(new SimpleAgent.AgentIdentifier("other", 2L)));
+        }
     }
 
     @Nested
@@ -207,6 +244,125 @@ public class FullyConnectedNetworkTest {
             assertThat(a1.getExecutionTime()).isBetween(network.minDelay(), network.maxDelay());
         }
 
+        @Test
+        @DisplayName("send() and multicast() with coalesced deliveries process events delivered at the same time in the sending order")
+        void coalescedDeliveries(@Mock SimpleAgent.AgentIdentifier i0, @Mock SimpleAgent.AgentIdentifier i1, @Mock Event<?> e0,
+                                 @Mock Event<?> e1, @Mock Event<?> e2, @Mock Event<?> e3) throws InterruptedException {
+            SimpleAgent a0 = new SimpleAgent(i0, null);
+
+            Environment environment = new Environment("envName", null);
+            Agent a1 = new Agent(i1, null);
+
+            prepareAgentInSimulation(environment, a0, i0, a1, i1);
+
+            Context context = new SimpleContext();
+            context.map(FullyConnectedNetwork.MIN_SENDING_DELAY, 5L);
+            context.map(FullyConnectedNetwork.MAX_SENDING_DELAY, 5L);
+            context.map(FullyConnectedNetwork.COALESCE_DELIVERIES, true);
+            FullyConnectedNetwork network = new FullyConnectedNetwork("FullyConnectedNetwork", environment, context);
+
+            network.send(i0, i1, e0);
+            network.multicast(i0, List.of(i1), e1);
+            network.send(i0, i1, e2);
+            network.send(i0, i1, e3);
+            PalmBeachSimulation.start();
+
+            waitSimulationEnd();
+
+            assertThat(network.isCoalescingDeliveries()).isTrue();
+            assertThat(a1.getExecutionTime()).isEqualTo(5L);
+            assertThat(a1.getProcessedEvents()).containsExactly(e0, e1, e2, e3);
+        }
+
+        @ParameterizedTest
+        @ValueSource(booleans = {false, true})
+        @DisplayName("send() with coalesced deliveries processes the whole batch at the position of its first event, before other Executables")
+        void coalescedDeliveriesOrderWithOtherExecutables(boolean coalesce, @Mock SimpleAgent.AgentIdentifier i0,
+                                                          @Mock SimpleAgent.AgentIdentifier i1, @Mock Event<?> e0, @Mock Event<?> e1,
+                                                          @Mock Event<?> other) throws InterruptedException {
+            // Executes Executables of a same agent in the order of their scheduling.
+            PalmBeachSimulation.clear();
+            Scheduler scheduler = new SimpleScheduler(1000L, new MailboxExecutor(2));
+            PalmBeachSimulation.setSingletonInstance(new PalmBeachSimulation(scheduler, null, null, null, null, null));
+            SimpleAgent a0 = new SimpleAgent(i0, null);
+
+            Environment environment = new Environment("envName", null);
+            Agent a1 = new Agent(i1, null);
+
+            prepareAgentInSimulation(environment, a0, i0, a1, i1);
+
+            Context context = new SimpleContext();
+            context.map(FullyConnectedNetwork.MIN_SENDING_DELAY, 5L);
+            context.map(FullyConnectedNetwork.MAX_SENDING_DELAY, 5L);
+            context.map(FullyConnectedNetwork.COALESCE_DELIVERIES, coalesce);
+            FullyConnectedNetwork network = new FullyConnectedNetwork("FullyConnectedNetwork", environment, context);
+
+            network.send(i0, i1, e0);
+            scheduler.scheduleAtTime(new AgentProcessEventExecutable(a1, other), 5L);
+            network.send(i0, i1, e1);
+            PalmBeachSimulation.start();
+
+            waitSimulationEnd();
+
+            if (coalesce)
+                assertThat(a1.getProcessedEvents()).containsExactly(e0, e1, other);
+            else
+                assertThat(a1.getProcessedEvents()).containsExactly(e0, other, e1);
+        }
+
+        @Test
+        @DisplayName("send() with coalesced deliveries processes the next events of a batch if the processing of the first event throws exception")
+        void coalescedDeliveriesWithThrowingEvent(@Mock SimpleAgent.AgentIdentifier i0, @Mock SimpleAgent.AgentIdentifier i1, @Mock Event<?> e0,
+                                                  @Mock Event<?> e1, @Mock Event<?> e2) throws InterruptedException {
+            SimpleAgent a0 = new SimpleAgent(i0, null);
+
+            Environment environment = new Environment("envName", null);
+            Agent a1 = new Agent(i1, null, e0);
+
+            prepareAgentInSimulation(environment, a0, i0, a1, i1);
+
+            Context context = new SimpleContext();
+            context.map(FullyConnectedNetwork.MIN_SENDING_DELAY, 5L);
+            context.map(FullyConnectedNetwork.MAX_SENDING_DELAY, 5L);
+            context.map(FullyConnectedNetwork.COALESCE_DELIVERIES, true);
+            FullyConnectedNetwork network = new FullyConnectedNetwork("FullyConnectedNetwork", environment, context);
+
+            network.send(i0, i1, e0);
+            network.send(i0, i1, e1);
+            network.send(i0, i1, e2);
+            PalmBeachSimulation.start();
+
+            waitSimulationEnd();
+
+            assertThat(a1.getProcessedEvents()).containsExactly(e0, e1, e2);
+        }
+
+        @Test
+        @DisplayName("send() and multicast() do not coalesce deliveries with an optimistic Scheduler")
+        void noCoalescedDeliveriesWithOptimisticScheduler(@Mock SimpleAgent.AgentIdentifier i0, @Mock SimpleAgent.AgentIdentifier i1,
+                                                          @Mock Event<?> e0, @Mock Event<?> e1, @Mock Scheduler scheduler) {
+            when(scheduler.isOptimistic()).thenReturn(true);
+            PalmBeachSimulation.clear();
+            PalmBeachSimulation.setSingletonInstance(new PalmBeachSimulation(scheduler, null, null, null, null, null));
+            SimpleAgent a0 = new SimpleAgent(i0, null);
+            SimpleAgent a1 = new SimpleAgent(i1, null);
+
+            Environment environment = new Environment("envName", null);
+            prepareAgentInSimulation(environment, a0, i0, a1, i1);
+
+            Context context = new SimpleContext();
+            context.map(FullyConnectedNetwork.COALESCE_DELIVERIES, true);
+            FullyConnectedNetwork network = new FullyConnectedNetwork("FullyConnectedNetwork", environment, context);
+
+            network.send(i0, i1, e0);
+            network.multicast(i0, List.of(i1), e1);
+
+            verify(scheduler, times(1)).scheduleExecutable(any(AgentProcessEventExecutable.class), anyLong(), eq(Scheduler.ScheduleMode.ONCE),
+                                                           anyLong(), anyLong());
+            verify(scheduler, times(1)).scheduleAllAtTime(anyCollection(), anyLong());
+            verify(scheduler, never()).scheduleAtTime(any(), anyLong());
+        }
+
         private void prepareAgentInSimulation(Environment environment, SimpleAgent a0, SimpleAgent.AgentIdentifier i0, SimpleAgent a1,
                                               SimpleAgent.AgentIdentifier i1) {
             environment.addAgent(i0);
@@ -237,17 +393,93 @@ public class FullyConnectedNetworkTest {
             @Getter
             private long executionTime = 0L;
 
+            @Getter
+            private final List<Event<?>> processedEvents = new ArrayList<>();
+
+            /**
+             * Event whose processing throws exception, can be null.
+             */
+            private final Event<?> throwingEvent;
+
             public Agent(@NonNull AgentIdentifier identifier, Context context) {
+                this(identifier, context, null);
+            }
+
+            public Agent(@NonNull AgentIdentifier identifier, Context context, Event<?> throwingEvent) {
                 super(identifier, context);
+                this.throwingEvent = throwingEvent;
             }
 
             @Override
             protected void inProcessEvent(Event<?> event) {
                 executionTime = PalmBeachSimulation.scheduler().getCurrentTime();
+                processedEvents.add(event);
+                if (event == throwingEvent)
+                    throw new IllegalStateException("Processing failure");
             }
         }
     }
 
+    @Nested
+    @DisplayName("FullyConnectedNetwork sendingDelay()")
+    @Tag("sendingDelay")
+    class SendingDelay {
+
+        @Test
+        @DisplayName("sendingDelay() returns the same delays for an agent with the same seed whatever the delays drawn for other agents")
+        void sameDelaysWithSameSeed(@Mock Environment environment) {
+            Context c0 = new SimpleContext();
+            c0.map(NetworkWithDelay.RANDOM_SEED, 42L);
+            Context c1 = new SimpleContext();
+            c1.map(NetworkWithDelay.RANDOM_SEED, 42L);
+            FullyConnectedNetwork n0 = new FullyConnectedNetwork("n0", environment, c0);
+            FullyConnectedNetwork n1 = new FullyConnectedNetwork("n1", environment, c1);
+            SimpleAgent.AgentIdentifier i0 = new SimpleAgent.AgentIdentifier("a0", 0L);
+            SimpleAgent.AgentIdentifier i1 = new SimpleAgent.AgentIdentifier("a1", 1L);
+
+            for (int i = 0; i < 100; i++) {
+                n1.sendingDelay(i1);
+                long delay = n0.sendingDelay(i0);
+                assertThat(delay).isEqualTo(n1.sendingDelay(i0)).isBetween(n0.minDelay(), n0.maxDelay());
+            }
+        }
+
+        @Test
+        @DisplayName("sendingDelay() returns the same delays for an agent with the same seed whatever its unique id is dense or not")
+        void sameDelaysWithNotDenseUniqueId(@Mock Environment environment) {
+            Context c0 = new SimpleContext();
+            c0.map(NetworkWithDelay.RANDOM_SEED, 42L);
+            Context c1 = new SimpleContext();
+            c1.map(NetworkWithDelay.RANDOM_SEED, 42L);
+            FullyConnectedNetwork n0 = new FullyConnectedNetwork("n0", environment, c0);
+            FullyConnectedNetwork n1 = new FullyConnectedNetwork("n1", environment, c1);
+            SimpleAgent.AgentIdentifier negative = new SimpleAgent.AgentIdentifier("negative", -1L);
+            SimpleAgent.AgentIdentifier big = new SimpleAgent.AgentIdentifier("big", Long.MAX_VALUE);
+            SimpleAgent.AgentIdentifier dense = new SimpleAgent.AgentIdentifier("dense", 5000L);
+
+            for (int i = 0; i < 100; i++) {
+                for (SimpleAgent.AgentIdentifier identifier : List.of(negative, big, dense)) {
+                    long delay = n0.sendingDelay(identifier);
+                    assertThat(delay).isEqualTo(n1.sendingDelay(identifier)).isBetween(n0.minDelay(), n0.maxDelay());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("sendingDelay() returns delays in [minDelay, maxDelay] with minDelay equal to maxDelay and throws IllegalArgumentException with minDelay greater than maxDelay")
+        void withBoundDelays(@Mock Environment environment) {
+            FullyConnectedNetwork network = new FullyConnectedNetwork("FullyConnectedNetwork", environment, null);
+            SimpleAgent.AgentIdentifier identifier = new SimpleAgent.AgentIdentifier("a0", 0L);
+
+            network.minDelay(10L);
+            network.maxDelay(10L);
+            assertThat(network.sendingDelay(identifier)).isEqualTo(10L);
+
+            network.minDelay(11L);
+            assertThrows(IllegalArgumentException.class, () -> network.sendingDelay(identifier));
+        }
+    }
+
     @Nested
     @DisplayName("FullyConnectedNetwork minDelay()")
     @Tag("minDelay")
@@ -0,0 +1,194 @@
+package org.paradise.palmbeach.basic.network;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.core.environment.network.Network;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.SimpleContext;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("LatticeNetwork tests")
+@Tag("LatticeNetwork")
+@PalmBeachTest
+public class LatticeNetworkTest {
+
+    private static List<SimpleAgent.AgentIdentifier> agents(int number) {
+        List<SimpleAgent.AgentIdentifier> agents = Lists.newArrayListWithCapacity(number);
+        for (int i = 0; i < number; i++) {
+            agents.add(new SimpleAgent.AgentIdentifier(String.valueOf(i), i));
+        }
+        return agents;
+    }
+
+    private static Context latticeContext(int dimension, boolean periodic) {
+        Context context = new SimpleContext();
+        context.map(LatticeNetwork.DIMENSION, dimension);
+        context.map(LatticeNetwork.PERIODIC, String.valueOf(periodic));
+        return context;
+    }
+
+    @Nested
+    @DisplayName("LatticeNetwork constructor()")
+    @Tag("constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1, 0, 4, 10})
+        @DisplayName("constructor() throws IllegalArgumentException if the dimension is not correct")
+        void withWrongDimension(int dimension) {
+            Environment env = new Environment("env", null);
+
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = latticeContext(dimension, false);
+                new LatticeNetwork("net", env, context);
+            });
+        }
+
+        @Test
+        @DisplayName("constructor() connects agents already in the Environment")
+        void withAgentsInEnvironment() {
+            Environment env = new Environment("env", null);
+            List<SimpleAgent.AgentIdentifier> agents = agents(4);
+            agents.forEach(env::addAgent);
+
+            LatticeNetwork network = new LatticeNetwork("net", env, null);
+
+            assertThat(network.agentNumber()).isEqualTo(4);
+            assertThat(network.allConnections()).hasSize(4 + 4);
+        }
+    }
+
+    @Nested
+    @DisplayName("LatticeNetwork generateConnections()")
+    @Tag("generateConnections")
+    class GenerateConnections {
+
+        @Test
+        @DisplayName("2D lattice connects each agent to its neighbors on the grid")
+        void twoDimensions() {
+            Environment env = new Environment("env", null);
+            LatticeNetwork network = new LatticeNetwork("net", env, latticeContext(2, false));
+            List<SimpleAgent.AgentIdentifier> agents = agents(9);
+            env.addAgents(agents);
+
+            // 0 1 2
+            // 3 4 5
+            // 6 7 8
+            assertThat(network.directNeighbors(agents.get(4))).containsExactlyInAnyOrder(agents.get(1), agents.get(3), agents.get(4), agents.get(5),
+                                                                                         agents.get(7));
+            assertThat(network.directNeighbors(agents.get(0))).containsExactlyInAnyOrder(agents.get(0), agents.get(1), agents.get(3));
+            assertThat(network.hasConnection(agents.get(2), agents.get(3))).isFalse();
+            assertThat(network.allConnections()).hasSize(12 + 9);
+        }
+
+        @Test
+        @DisplayName("periodic 2D lattice is a torus where all agents have 4 connections")
+        void periodicTwoDimensions() {
+            Environment env = new Environment("env", null);
+            LatticeNetwork network = new LatticeNetwork("net", env, latticeContext(2, true));
+            List<SimpleAgent.AgentIdentifier> agents = agents(16);
+            env.addAgents(agents);
+
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                assertThat(network.directNeighbors(agent)).hasSize(5);
+            }
+            assertThat(network.hasConnection(agents.get(3), agents.get(0))).isTrue();
+            assertThat(network.hasConnection(agents.get(12), agents.get(0))).isTrue();
+        }
+
+        @Test
+        @DisplayName("periodic 3D lattice connects all agents to 6 agents")
+        void periodicThreeDimensions() {
+            Environment env = new Environment("env", null);
+            LatticeNetwork network = new LatticeNetwork("net", env, latticeContext(3, true));
+            List<SimpleAgent.AgentIdentifier> agents = agents(64);
+            env.addAgents(agents);
+
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                assertThat(network.directNeighbors(agent)).hasSize(7);
+            }
+            assertThat(network.hasConnection(agents.get(0), agents.get(16))).isTrue();
+            assertThat(network.hasConnection(agents.get(0), agents.get(48))).isTrue();
+        }
+
+        @Test
+        @DisplayName("side() returns the smallest side which contains all agents")
+        void side() {
+            assertThat(LatticeNetwork.side(9, 2)).isEqualTo(3);
+            assertThat(LatticeNetwork.side(10, 2)).isEqualTo(4);
+            assertThat(LatticeNetwork.side(1_000_000, 3)).isEqualTo(100);
+            assertThat(LatticeNetwork.side(1, 3)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("LatticeNetwork environmentAddAgent() and environmentRemoveAgent()")
+    @Tag("environmentAddAgent")
+    class EnvironmentAddAndRemoveAgent {
+
+        @Test
+        @DisplayName("adding agents one by one or in bulk before the generation generates the same topology")
+        void sameTopologyOneByOne() {
+            List<SimpleAgent.AgentIdentifier> agents = agents(50);
+
+            Environment bulkEnv = new Environment("bulkEnv", null);
+            LatticeNetwork bulkNetwork = new LatticeNetwork("net", bulkEnv, latticeContext(2, true));
+            bulkEnv.addAgents(agents);
+
+            Environment env = new Environment("env", null);
+            LatticeNetwork network = new LatticeNetwork("net", env, latticeContext(2, true));
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                env.addAgent(agent);
+                assertThat(network.hasConnection(agent, agent)).isTrue();
+            }
+
+            assertThat(bulkNetwork.allConnections()).isEqualTo(network.allConnections());
+        }
+
+        @Test
+        @DisplayName("environmentAddAgent() throws IllegalStateException once the topology has been generated")
+        void addAgentAfterGeneration() {
+            Environment env = new Environment("env", null);
+            LatticeNetwork network = new LatticeNetwork("net", env, latticeContext(2, false));
+            List<SimpleAgent.AgentIdentifier> agents = agents(10);
+            env.addAgents(agents.subList(0, 9));
+            Set<Network.Connection> connections = network.allConnections();
+
+            assertThrows(IllegalStateException.class, () -> network.environmentAddAgent(agents.get(9)));
+            assertThat(network.allConnections()).isEqualTo(connections);
+            assertThat(network.agentNumber()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("environmentRemoveAgent() removes all connections of the agent and keeps other connections")
+        void removeAgent() {
+            Environment env = new Environment("env", null);
+            LatticeNetwork network = new LatticeNetwork("net", env, latticeContext(2, false));
+            List<SimpleAgent.AgentIdentifier> agents = agents(9);
+            env.addAgents(agents);
+            assertThat(network.neighborsView(agents.get(1))).contains(agents.get(4));
+
+            env.removeAgent(agents.get(4));
+
+            assertThat(network.hasConnection(agents.get(1), agents.get(4))).isFalse();
+            assertThat(network.neighborsView(agents.get(1))).doesNotContain(agents.get(4));
+            assertThat(network.hasConnection(agents.get(0), agents.get(1))).isTrue();
+            assertThrows(Network.NotInNetworkException.class, () -> network.directNeighbors(agents.get(4)));
+            assertThat(network.agentNumber()).isEqualTo(8);
+        }
+    }
+}
@@ -50,35 +50,69 @@ public class RandomConnectedNetworkTest {
             assertThat(net.get().maxDelay()).isEqualTo(RandomConnectedNetwork.DEFAULT_MAX_DELAY);
         }
 
+        @ParameterizedTest
+        @ValueSource(ints = {1, 3, 10})
+        @DisplayName("constructor() connects all agents already in the Environment and all agents can reach each other")
+        void withAgentsInEnvironment(int connectionNumber) {
+            Environment env = new Environment("env", null);
+            Context context = new SimpleContext();
+            context.map(RandomConnectedNetwork.CONNECTION_NUMBER, connectionNumber);
+            int nbAgents = 1_000;
+            for (int i = 0; i < nbAgents; i++) {
+                env.addAgent(new SimpleAgent.AgentIdentifier(String.valueOf(i), i));
+            }
+
+            RandomConnectedNetwork network = new RandomConnectedNetwork("net", env, context);
+
+            SimpleAgent.AgentIdentifier first = env.evolvingAgents().iterator().next();
+            Set<SimpleAgent.AgentIdentifier> reached = Sets.newHashSet(first);
+            List<SimpleAgent.AgentIdentifier> toVisit = Lists.newArrayList(first);
+            while (!toVisit.isEmpty()) {
+                SimpleAgent.AgentIdentifier agent = toVisit.remove(toVisit.size() - 1);
+                Set<SimpleAgent.AgentIdentifier> neighbors = network.directNeighbors(agent);
+                assertThat(neighbors.size()).isGreaterThan(Math.min(connectionNumber, nbAgents - 1));
+                for (SimpleAgent.AgentIdentifier neighbor : neighbors) {
+                    assertThat(network.hasConnection(neighbor, agent)).isTrue();
+                    if (reached.add(neighbor))
+                        toVisit.add(neighbor);
+                }
+            }
+            assertThat(reached).hasSize(nbAgents);
+        }
+
         @ParameterizedTest
         @ValueSource(ints = {-16545, -65165, -1, 0})
         @DisplayName("constructor() throws IllegalArgumentException if connection number is not correct")
         void withNotCorrectConnectionNumber(int connectionNumber) {
             Environment env = new Environment("env", null);
-            Context context = new SimpleContext();
-            context.map(RandomConnectedNetwork.CONNECTION_NUMBER, connectionNumber);
 
-            assertThrows(IllegalArgumentException.class, () -> new RandomConnectedNetwork("net", env, context));
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = new SimpleContext();
+                context.map(RandomConnectedNetwork.CONNECTION_NUMBER, connectionNumber);
+                new RandomConnectedNetwork("net", env, context);
+            });
         }
 
         @ParameterizedTest
         @ValueSource(longs = {-16516, -6135, -1, 0})
         @DisplayName("constructor() throws IllegalArgumentException if the maxDelay set in context is less than 1")
         void withWrongMinDelay(long minDelay, @Mock Environment environment) {
-            Context context = new SimpleContext();
-            context.map(RandomConnectedNetwork.MIN_SENDING_DELAY, minDelay);
-
-            assertThrows(IllegalArgumentException.class, () -> new RandomConnectedNetwork("net", environment, context));
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = new SimpleContext();
+                context.map(RandomConnectedNetwork.MIN_SENDING_DELAY, minDelay);
+                new RandomConnectedNetwork("net", environment, context);
+            });
         }
 
         @ParameterizedTest
         @ValueSource(longs = {-16516, -6135, -1, 0})
         @DisplayName("constructor() throws IllegalArgumentException if the maxDelay set in context is less than 1")
         void withWrongMaxDelay(long maxDelay, @Mock Environment environment) {
-            Context context = new SimpleContext();
-            context.map(RandomConnectedNetwork.MAX_SENDING_DELAY, maxDelay);
-
-            assertThrows(IllegalArgumentException.class, () -> new RandomConnectedNetwork("net", environment, context));
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = new SimpleContext();
+                context.map(RandomConnectedNetwork.MAX_SENDING_DELAY, maxDelay);
+                new RandomConnectedNetwork("net", environment, context);
+            });
         }
     }
 
@@ -131,6 +165,40 @@ public class RandomConnectedNetworkTest {
         }
     }
 
+    @Nested
+    @DisplayName("RandomConnectedNetwork environmentAddAgents()")
+    @Tag("environmentAddAgents")
+    class EnvironmentAddAgents {
+
+        @Test
+        @DisplayName("environmentAddAgents() creates the same connections as adding agents one by one with the same seed")
+        void sameConnectionsAsOneByOne() {
+            List<SimpleAgent.AgentIdentifier> agents = Lists.newArrayList();
+            for (int i = 0; i < 200; i++) {
+                agents.add(new SimpleAgent.AgentIdentifier(String.valueOf(i), i));
+            }
+
+            Environment bulkEnv = new Environment("bulkEnv", null);
+            RandomConnectedNetwork bulkNetwork = new RandomConnectedNetwork("net", bulkEnv, seededContext());
+            bulkEnv.addAgents(agents);
+
+            Environment env = new Environment("env", null);
+            RandomConnectedNetwork network = new RandomConnectedNetwork("net", env, seededContext());
+            agents.forEach(env::addAgent);
+
+            assertThat(bulkNetwork.allConnections()).isEqualTo(network.allConnections());
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                assertThat(bulkNetwork.directNeighbors(agent)).hasSizeGreaterThanOrEqualTo(RandomConnectedNetwork.DEFAULT_CONNECTION_NUMBER + 1);
+            }
+        }
+
+        private Context seededContext() {
+            Context context = new SimpleContext();
+            context.map(NetworkWithDelay.RANDOM_SEED, 42L);
+            return context;
+        }
+    }
+
     @Nested
     @DisplayName("RandomConnectedNetwork environmentRemoveAgent()")
     @Tag("environmentRemoveAgent")
@@ -171,6 +239,34 @@ public class RandomConnectedNetworkTest {
                     assertThat(network.directNeighbors(cAgent)).doesNotContain(agent);
             }
         }
+        @Test
+        @DisplayName("environmentRemoveAgent() keeps connections of remaining agents symmetric after several additions and removals")
+        void keepsConnectionsAfterChurn() {
+            Environment env = new Environment("env", null);
+            RandomConnectedNetwork network = new RandomConnectedNetwork("net", env, null);
+            List<SimpleAgent.AgentIdentifier> agents = Lists.newArrayList();
+            Random random = new Random(42L);
+            for (int i = 0; i < 500; i++) {
+                if (!agents.isEmpty() && random.nextInt(3) == 0) {
+                    SimpleAgent.AgentIdentifier removed = agents.remove(random.nextInt(agents.size()));
+                    env.removeAgent(removed);
+                    assertThat(network.hasConnection(removed, removed)).isFalse();
+                } else {
+                    SimpleAgent.AgentIdentifier agent = new SimpleAgent.AgentIdentifier(String.valueOf(i), i);
+                    agents.add(agent);
+                    env.addAgent(agent);
+                }
+            }
+
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                Set<SimpleAgent.AgentIdentifier> neighbors = network.directNeighbors(agent);
+                assertThat(agents).containsAll(neighbors);
+                for (SimpleAgent.AgentIdentifier other : agents) {
+                    assertThat(network.hasConnection(agent, other)).isEqualTo(neighbors.contains(other));
+                    assertThat(network.hasConnection(other, agent)).isEqualTo(neighbors.contains(other));
+                }
+            }
+        }
     }
 
     @Nested
@@ -186,6 +282,25 @@ public class RandomConnectedNetworkTest {
 
             assertThrows(Network.NotInNetworkException.class, () -> network.directNeighbors(i0));
         }
+
+        @Test
+        @DisplayName("neighborsView() returns the same view as directNeighbors() until the Network changes")
+        void neighborsViewUntilChange() {
+            Environment env = new Environment("env", null);
+            RandomConnectedNetwork network = new RandomConnectedNetwork("net", env, null);
+            for (int i = 0; i < 20; i++) {
+                env.addAgent(new SimpleAgent.AgentIdentifier(String.valueOf(i), i));
+            }
+            SimpleAgent.AgentIdentifier agent = new SimpleAgent.AgentIdentifier("0", 0);
+
+            Set<SimpleAgent.AgentIdentifier> view = network.neighborsView(agent);
+
+            assertThat(view).isEqualTo(network.directNeighbors(agent)).isSameAs(network.neighborsView(agent));
+
+            env.addAgent(new SimpleAgent.AgentIdentifier("20", 20));
+
+            assertThat(network.neighborsView(agent)).isNotSameAs(view).isEqualTo(network.directNeighbors(agent));
+        }
     }
 
     @Nested
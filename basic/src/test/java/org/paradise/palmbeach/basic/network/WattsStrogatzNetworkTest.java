@@ -0,0 +1,130 @@
+package org.paradise.palmbeach.basic.network;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.core.environment.network.Network;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.utils.context.Context;
+import org.paradise.palmbeach.utils.context.SimpleContext;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("WattsStrogatzNetwork tests")
+@Tag("WattsStrogatzNetwork")
+@PalmBeachTest
+public class WattsStrogatzNetworkTest {
+
+    private static List<SimpleAgent.AgentIdentifier> agents(int number) {
+        List<SimpleAgent.AgentIdentifier> agents = Lists.newArrayListWithCapacity(number);
+        for (int i = 0; i < number; i++) {
+            agents.add(new SimpleAgent.AgentIdentifier(String.valueOf(i), i));
+        }
+        return agents;
+    }
+
+    private static Context smallWorldContext(int neighborNumber, double rewiringProbability) {
+        Context context = new SimpleContext();
+        context.map(WattsStrogatzNetwork.NEIGHBOR_NUMBER, neighborNumber);
+        context.map(WattsStrogatzNetwork.REWIRING_PROBABILITY, String.valueOf(rewiringProbability));
+        context.map(NetworkWithDelay.RANDOM_SEED, 7L);
+        return context;
+    }
+
+    @Nested
+    @DisplayName("WattsStrogatzNetwork constructor()")
+    @Tag("constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(ints = {-2, 0, 1, 3, 7})
+        @DisplayName("constructor() throws IllegalArgumentException if the neighbor number is not an even number greater or equal to 2")
+        void withWrongNeighborNumber(int neighborNumber) {
+            Environment env = new Environment("env", null);
+
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = smallWorldContext(neighborNumber, 0.1d);
+                new WattsStrogatzNetwork("net", env, context);
+            });
+        }
+
+        @ParameterizedTest
+        @ValueSource(doubles = {-0.1d, 1.1d, Double.NaN})
+        @DisplayName("constructor() throws IllegalArgumentException if the rewiring probability is not in [0, 1]")
+        void withWrongRewiringProbability(double rewiringProbability) {
+            Environment env = new Environment("env", null);
+
+            assertThrows(IllegalArgumentException.class, () -> {
+                Context context = smallWorldContext(4, rewiringProbability);
+                new WattsStrogatzNetwork("net", env, context);
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("WattsStrogatzNetwork generateConnections()")
+    @Tag("generateConnections")
+    class GenerateConnections {
+
+        @Test
+        @DisplayName("without rewiring, each agent is connected to its nearest agents on the ring")
+        void ringLattice() {
+            Environment env = new Environment("env", null);
+            WattsStrogatzNetwork network = new WattsStrogatzNetwork("net", env, smallWorldContext(4, 0d));
+            List<SimpleAgent.AgentIdentifier> agents = agents(20);
+            env.addAgents(agents);
+
+            for (SimpleAgent.AgentIdentifier agent : agents) {
+                assertThat(network.directNeighbors(agent)).hasSize(5);
+            }
+            assertThat(network.directNeighbors(agents.get(0))).containsExactlyInAnyOrder(agents.get(18), agents.get(19), agents.get(0),
+                                                                                         agents.get(1), agents.get(2));
+        }
+
+        @Test
+        @DisplayName("with rewiring, the number of connections is kept and the same seed generates the same topology")
+        void rewiring() {
+            List<SimpleAgent.AgentIdentifier> agents = agents(1_000);
+
+            Environment env0 = new Environment("env0", null);
+            WattsStrogatzNetwork network0 = new WattsStrogatzNetwork("net", env0, smallWorldContext(6, 0.2d));
+            env0.addAgents(agents);
+
+            Environment env1 = new Environment("env1", null);
+            WattsStrogatzNetwork network1 = new WattsStrogatzNetwork("net", env1, smallWorldContext(6, 0.2d));
+            env1.addAgents(agents);
+
+            Environment ringEnv = new Environment("ringEnv", null);
+            WattsStrogatzNetwork ring = new WattsStrogatzNetwork("net", ringEnv, smallWorldContext(6, 0d));
+            ringEnv.addAgents(agents);
+
+            assertThat(network0.allConnections()).isEqualTo(network1.allConnections())
+                    .isNotEqualTo(ring.allConnections())
+                    .hasSizeBetween(agents.size() + 2900, agents.size() + 3000);
+        }
+
+        @Test
+        @DisplayName("agents cannot be added once the topology has been generated, the ring is not rewired")
+        void addAgentAfterGeneration() {
+            Environment env = new Environment("env", null);
+            WattsStrogatzNetwork network = new WattsStrogatzNetwork("net", env, smallWorldContext(4, 0.2d));
+            List<SimpleAgent.AgentIdentifier> agents = agents(21);
+            env.addAgents(agents.subList(0, 20));
+            Set<Network.Connection> connections = network.allConnections();
+
+            assertThrows(IllegalStateException.class, () -> network.environmentAddAgents(agents.subList(20, 21)));
+            assertThat(network.allConnections()).isEqualTo(connections);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.paradise.palmbeach.blockchain;
+
+import lombok.NonNull;
+
+import java.util.Base64;
+
+/**
+ * Immutable SHA256 digest of 32 bytes. The digest is stored in four longs, therefore a {@code Hash} is compact and can be used as key without
+ * comparing arrays. The Base64 representation is only computed for display and for the compatibility with string hashes.
+ */
+public final class Hash implements Comparable<Hash> {
+
+    // Constants.
+
+    public static final int SIZE = 32;
+
+    // Variables.
+
+    private final long l0;
+    private final long l1;
+    private final long l2;
+    private final long l3;
+
+    // Constructors.
+
+    private Hash(long l0, long l1, long l2, long l3) {
+        this.l0 = l0;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.l3 = l3;
+    }
+
+    // Methods.
+
+    /**
+     * @param digest the 32 bytes of the digest
+     *
+     * @return the {@link Hash} of the digest.
+     *
+     * @throws IllegalArgumentException if the digest does not have 32 bytes
+     */
+    public static Hash of(@NonNull byte[] digest) {
+        if (digest.length != SIZE)
+            throw new IllegalArgumentException("Digest must have " + SIZE + " bytes but has " + digest.length + " bytes");
+
+        return new Hash(readLong(digest, 0), readLong(digest, 8), readLong(digest, 16), readLong(digest, 24));
+    }
+
+    /**
+     * @param base64 the Base64 representation of a digest of 32 bytes
+     *
+     * @return the {@link Hash} of the Base64 representation, null if the string is not the Base64 representation of a digest of 32 bytes.
+     */
+    public static Hash fromBase64(String base64) {
+        if (base64 == null)
+            return null;
+
+        try {
+            byte[] digest = Base64.getDecoder().decode(base64);
+            return digest.length == SIZE ? of(digest) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0L;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = offset + 7; i >= offset; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    /**
+     * Writes the 32 bytes of the digest in the specified array from the specified offset.
+     *
+     * @param bytes  the array
+     * @param offset the offset
+     */
+    public void writeTo(@NonNull byte[] bytes, int offset) {
+        writeLong(bytes, offset, l0);
+        writeLong(bytes, offset + 8, l1);
+        writeLong(bytes, offset + 16, l2);
+        writeLong(bytes, offset + 24, l3);
+    }
+
+    /**
+     * @return a new array which contains the 32 bytes of the digest.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[SIZE];
+        writeTo(bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * @return the Base64 representation of the digest.
+     */
+    public String toBase64() {
+        return Base64.getEncoder().encodeToString(toBytes());
+    }
+
+    @Override
+    public int compareTo(@NonNull Hash o) {
+        int compare = Long.compareUnsigned(l0, o.l0);
+        if (compare == 0)
+            compare = Long.compareUnsigned(l1, o.l1);
+        if (compare == 0)
+            compare = Long.compareUnsigned(l2, o.l2);
+        if (compare == 0)
+            compare = Long.compareUnsigned(l3, o.l3);
+        return compare;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Hash hash)) return false;
+        return l0 == hash.l0 && l1 == hash.l1 && l2 == hash.l2 && l3 == hash.l3;
+    }
+
+    @Override
+    public int hashCode() {
+        // Digest bytes are already uniformly distributed.
+        return Long.hashCode(l0);
+    }
+
+    @Override
+    public String toString() {
+        return toBase64();
+    }
+}
@@ -2,11 +2,20 @@ package org.paradise.palmbeach.blockchain;
 
 public interface Hashable {
 
+    /**
+     * Returns the current hash of the object. The hash is computed with the hash algorithm SHA256.
+     *
+     * @return the binary SHA256 hash of the object, never returns null.
+     */
+    Hash sha256Hash();
+
     /**
      * Returns the current hash of the object. The hash is computed with the hash algorithm SHA256 and the bytes results is encoded in Base64L
      *
      * @return the result string of the SHA256 hash encode in Base64.
      */
-    String sha256Base64Hash();
+    default String sha256Base64Hash() {
+        return sha256Hash().toBase64();
+    }
 
 }
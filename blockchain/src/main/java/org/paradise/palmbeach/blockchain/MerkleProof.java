@@ -0,0 +1,89 @@
+package org.paradise.palmbeach.blockchain;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.paradise.palmbeach.utils.validation.Validate.interval;
+import static org.paradise.palmbeach.utils.validation.Validate.min;
+
+/**
+ * Inclusion proof of a leaf in a {@link MerkleTree}. The proof contains the siblings of the path from the leaf to the root, therefore the inclusion
+ * is verified in O(log n) hashes without knowing the other leaves.
+ */
+public final class MerkleProof {
+
+    // Variables.
+
+    @Getter
+    private final Hash leaf;
+
+    /**
+     * Index of the leaf in the sorted leaves of the tree.
+     */
+    @Getter
+    private final int index;
+
+    @Getter
+    private final int leafNumber;
+
+    private final Hash[] siblings;
+
+    // Constructors.
+
+    MerkleProof(@NonNull Hash leaf, int index, int leafNumber, @NonNull Hash[] siblings) {
+        min(leafNumber, 1, "Leaf number cannot be less than 1");
+        interval(index, 0, leafNumber - 1L, "Index must be between 0 and leafNumber - 1");
+
+        this.leaf = leaf;
+        this.index = index;
+        this.leafNumber = leafNumber;
+        this.siblings = siblings;
+    }
+
+    // Methods.
+
+    /**
+     * Recomputes the root from the leaf and the siblings, with the same domain separation between leaf and inner nodes as in {@link MerkleTree}. A
+     * node without sibling at a level is promoted as is.
+     *
+     * @return the computed root, null if the number of siblings does not match the number of leaves.
+     */
+    public Hash computeRoot() {
+        Hash current = MerkleTree.hashLeaf(leaf);
+        int i = index;
+        int n = leafNumber;
+        int s = 0;
+        while (n > 1) {
+            if ((i & 1) == 1) {
+                if (s == siblings.length)
+                    return null;
+                current = MerkleTree.hashNodes(siblings[s++], current);
+            } else if (i + 1 < n) {
+                if (s == siblings.length)
+                    return null;
+                current = MerkleTree.hashNodes(current, siblings[s++]);
+            }
+            i >>= 1;
+            n = (n + 1) / 2;
+        }
+
+        return s == siblings.length ? current : null;
+    }
+
+    /**
+     * @param root the expected root
+     *
+     * @return true if the leaf is included in the tree which has the specified root, else false.
+     */
+    public boolean verify(@NonNull Hash root) {
+        return root.equals(computeRoot());
+    }
+
+    public List<Hash> getSiblings() {
+        return Collections.unmodifiableList(Arrays.asList(siblings));
+    }
+}
@@ -0,0 +1,172 @@
+package org.paradise.palmbeach.blockchain;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable binary Merkle tree built over leaves sorted in the {@link Hash} order, therefore the root does not depend on the order in which leaves
+ * are given. All intermediate nodes are kept, so a {@link MerkleProof} of any leaf is extracted without hashing.
+ * <p>
+ * A leaf node is the hash of the byte {@code 0x00} followed by the leaf, and an inner node is the hash of the byte {@code 0x01} followed by its two
+ * children. This domain separation prevents an inner node from being presented as a leaf. When a level has an odd number of nodes, the last node is
+ * promoted as is to the next level instead of being duplicated, thus the duplicate of the last leaf changes the root. Finding two different sets
+ * of leaves which give the same root is therefore as hard as finding a SHA256 collision. The root of an empty tree is the hash of no value.
+ * <p>
+ * Large levels are hashed in parallel.
+ */
+public final class MerkleTree {
+
+    // Constants.
+
+    /**
+     * Number of nodes in a level from which the level is sorted and hashed in parallel.
+     */
+    public static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final Hash EMPTY_ROOT = Sha256Hasher.begin().finish();
+
+    private static final byte LEAF_PREFIX = 0x00;
+
+    private static final byte NODE_PREFIX = 0x01;
+
+    // Variables.
+
+    /**
+     * Levels of the tree, {@code levels[0]} are the sorted leaves, {@code levels[1]} the leaf nodes and the last level only contains the root.
+     */
+    private final Hash[][] levels;
+
+    @Getter
+    private final Hash root;
+
+    // Constructors.
+
+    /**
+     * @param leaves the leaves of the tree, the array is not modified
+     */
+    public MerkleTree(@NonNull Hash[] leaves) {
+        Hash[] sorted = leaves.clone();
+        if (sorted.length >= PARALLEL_THRESHOLD)
+            Arrays.parallelSort(sorted);
+        else
+            Arrays.sort(sorted);
+
+        this.levels = buildLevels(sorted);
+        this.root = sorted.length == 0 ? EMPTY_ROOT : levels[levels.length - 1][0];
+    }
+
+    // Methods.
+
+    private static Hash[][] buildLevels(Hash[] leaves) {
+        if (leaves.length == 0)
+            return new Hash[][]{leaves};
+
+        int depth = 2;
+        for (int n = leaves.length; n > 1; n = (n + 1) / 2) {
+            depth++;
+        }
+
+        Hash[][] levels = new Hash[depth][];
+        levels[0] = leaves;
+        levels[1] = leafNodes(leaves);
+        for (int l = 2; l < depth; l++) {
+            levels[l] = nextLevel(levels[l - 1]);
+        }
+        return levels;
+    }
+
+    private static Hash[] leafNodes(Hash[] leaves) {
+        Hash[] nodes = new Hash[leaves.length];
+        IntStream indexes = IntStream.range(0, leaves.length);
+        if (leaves.length >= PARALLEL_THRESHOLD)
+            indexes = indexes.parallel();
+
+        indexes.forEach(i -> nodes[i] = hashLeaf(leaves[i]));
+        return nodes;
+    }
+
+    private static Hash[] nextLevel(Hash[] level) {
+        Hash[] next = new Hash[(level.length + 1) / 2];
+        IntStream indexes = IntStream.range(0, next.length);
+        if (level.length >= PARALLEL_THRESHOLD)
+            indexes = indexes.parallel();
+
+        indexes.forEach(i -> {
+            int left = 2 * i;
+            next[i] = left + 1 < level.length ? hashNodes(level[left], level[left + 1]) : level[left];
+        });
+        return next;
+    }
+
+    static Hash hashLeaf(Hash leaf) {
+        return Sha256Hasher.begin().putByte(LEAF_PREFIX).putHash(leaf).finish();
+    }
+
+    static Hash hashNodes(Hash left, Hash right) {
+        return Sha256Hasher.begin().putByte(NODE_PREFIX).putHash(left).putHash(right).finish();
+    }
+
+    /**
+     * @param leaf the leaf to search
+     *
+     * @return the index of the leaf in the sorted leaves, -1 if the tree does not contain the leaf.
+     */
+    public int indexOf(@NonNull Hash leaf) {
+        int index = Arrays.binarySearch(levels[0], leaf);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * @param index the index of the leaf in the sorted leaves
+     *
+     * @return the sorted leaf at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public Hash getLeaf(int index) {
+        return levels[0][index];
+    }
+
+    /**
+     * Builds the {@link MerkleProof} of the leaf at the specified index. The proof contains at most one sibling by level, therefore its size is in
+     * O(log n).
+     *
+     * @param index the index of the leaf in the sorted leaves
+     *
+     * @return the {@link MerkleProof} of the leaf.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public MerkleProof proof(int index) {
+        Hash leaf = levels[0][index];
+
+        Hash[] siblings = new Hash[levels.length - 2];
+        int nbSiblings = 0;
+        int i = index;
+        for (int l = 1; l < levels.length - 1; l++) {
+            int sibling = i ^ 1;
+            if (sibling < levels[l].length)
+                siblings[nbSiblings++] = levels[l][sibling];
+            i >>= 1;
+        }
+
+        return new MerkleProof(leaf, index, leafNumber(), Arrays.copyOf(siblings, nbSiblings));
+    }
+
+    /**
+     * @param leaf the leaf
+     *
+     * @return the {@link MerkleProof} of the leaf, null if the tree does not contain the leaf.
+     */
+    public MerkleProof proof(@NonNull Hash leaf) {
+        int index = indexOf(leaf);
+        return index >= 0 ? proof(index) : null;
+    }
+
+    public int leafNumber() {
+        return levels[0].length;
+    }
+}
@@ -0,0 +1,90 @@
+package org.paradise.palmbeach.blockchain;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes SHA256 {@link Hash}es by feeding primitive values directly to a {@link MessageDigest}. There is one {@code Sha256Hasher} by Thread which is
+ * reused for each hash computation, therefore, computing a hash does not create a new {@code MessageDigest} nor concatenate strings.
+ * <p>
+ * Strings are fed with their length before their UTF-8 bytes to avoid that two different sequences of strings give the same input.
+ * <p>
+ * Usage:
+ * <pre>
+ *     Hash hash = Sha256Hasher.begin().putLong(height).putString(sender).finish();
+ * </pre>
+ */
+public final class Sha256Hasher {
+
+    // Constants.
+
+    private static final ThreadLocal<Sha256Hasher> HASHERS = ThreadLocal.withInitial(Sha256Hasher::new);
+
+    // Variables.
+
+    private final MessageDigest digest;
+
+    private final byte[] buffer;
+
+    // Constructors.
+
+    private Sha256Hasher() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        this.buffer = new byte[Hash.SIZE];
+    }
+
+    // Methods.
+
+    /**
+     * Returns the {@link Sha256Hasher} of the current Thread after resetting it. The computation must be finished with {@link #finish()} before
+     * beginning another computation in the same Thread.
+     *
+     * @return the reset {@code Sha256Hasher} of the current Thread.
+     */
+    public static Sha256Hasher begin() {
+        Sha256Hasher hasher = HASHERS.get();
+        hasher.digest.reset();
+        return hasher;
+    }
+
+    public Sha256Hasher putByte(byte value) {
+        digest.update(value);
+        return this;
+    }
+
+    public Sha256Hasher putLong(long value) {
+        for (int i = 7; i >= 0; i--) {
+            buffer[i] = (byte) value;
+            value >>>= 8;
+        }
+        digest.update(buffer, 0, Long.BYTES);
+        return this;
+    }
+
+    public Sha256Hasher putString(@NonNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putLong(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    public Sha256Hasher putHash(@NonNull Hash hash) {
+        hash.writeTo(buffer, 0);
+        digest.update(buffer, 0, Hash.SIZE);
+        return this;
+    }
+
+    /**
+     * @return the {@link Hash} of all values put since the {@link #begin()}.
+     */
+    public Hash finish() {
+        return Hash.of(digest.digest());
+    }
+}
@@ -1,23 +1,28 @@
 package org.paradise.palmbeach.blockchain.block;
 
-import com.google.common.collect.Sets;
-import com.google.common.primitives.Longs;
+import com.google.common.collect.ImmutableSet;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
+import org.paradise.palmbeach.blockchain.Hash;
 import org.paradise.palmbeach.blockchain.Hashable;
+import org.paradise.palmbeach.blockchain.MerkleProof;
+import org.paradise.palmbeach.blockchain.MerkleTree;
+import org.paradise.palmbeach.blockchain.Sha256Hasher;
 import org.paradise.palmbeach.blockchain.transaction.Transaction;
 
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static org.apache.commons.codec.binary.Base64.encodeBase64String;
-import static org.apache.commons.codec.digest.DigestUtils.sha256;
 import static org.paradise.palmbeach.utils.validation.Validate.min;
 
 /**
  * Immutable class which represent a {@code Block} which can be stored in a {@link Blockchain}.
+ * <p>
+ * Transactions are kept in a canonical order (sorted by their hash) and are committed in the block hash through the root of a {@link MerkleTree},
+ * therefore the inclusion of a transaction can be proved with a {@link MerkleProof} without all the transactions of the block.
  *
  * @param <T> the type of transaction
  */
@@ -42,12 +47,42 @@ public class Block<T extends Transaction> implements Hashable {
     @NonNull
     private final String previous;
 
+    /**
+     * Binary hash of the previous block, null if {@link #previous} is not the Base64 representation of a hash (for example for the genesis block).
+     */
+    @Getter
+    @ToString.Exclude
+    private final Hash previousHash;
+
+    /**
+     * Transactions sorted by their hash.
+     */
     @NonNull
-    private final Set<T> transactions;
+    private final ImmutableSet<T> transactions;
+
+    /**
+     * Lazily computed Merkle tree of the transaction hashes. A {@code Block} is immutable, therefore the tree is built only once.
+     */
+    @ToString.Exclude
+    private MerkleTree merkleTree;
+
+    /**
+     * Lazily computed hash. A {@code Block} is immutable, therefore its hash is computed only once.
+     */
+    @ToString.Exclude
+    private Hash hash;
 
     // Constructors.
 
     public Block(long height, long timestamp, @NonNull String previous, @NonNull Set<T> transactions) {
+        this(height, timestamp, previous, Hash.fromBase64(previous), transactions);
+    }
+
+    public Block(long height, long timestamp, @NonNull Hash previous, @NonNull Set<T> transactions) {
+        this(height, timestamp, previous.toBase64(), previous, transactions);
+    }
+
+    private Block(long height, long timestamp, String previous, Hash previousHash, Set<T> transactions) {
         min(height, 0L, "Height cannot be less than 0");
         this.height = height;
 
@@ -55,7 +90,8 @@ public class Block<T extends Transaction> implements Hashable {
         this.timestamp = timestamp;
 
         this.previous = previous;
-        this.transactions = Sets.newHashSet(transactions);
+        this.previousHash = previousHash;
+        this.transactions = canonicalOrder(transactions);
     }
 
     @SuppressWarnings("unchecked")
@@ -63,43 +99,90 @@ public class Block<T extends Transaction> implements Hashable {
         this.height = base.getHeight();
         this.timestamp = base.getTimestamp();
         this.previous = base.getPrevious();
-        this.transactions = base.getTransactions().stream().map(tx -> (T) tx.copy()).collect(Collectors.toSet());
+        this.previousHash = base.getPreviousHash();
+        // Copied transactions are equal, therefore the order, the Merkle tree and the hash are the same.
+        this.transactions = base.transactions.stream().map(tx -> (T) tx.copy()).collect(ImmutableSet.toImmutableSet());
+        this.merkleTree = base.merkleTree;
+        this.hash = base.hash;
     }
 
     // Methods.
 
+    private static <T extends Transaction> ImmutableSet<T> canonicalOrder(Set<T> transactions) {
+        Stream<T> stream = transactions.stream();
+        if (transactions.size() >= MerkleTree.PARALLEL_THRESHOLD)
+            stream = stream.parallel();
+
+        // Computes (and memoizes) the hashes of transactions, in parallel for large blocks, before sorting them.
+        return stream.map(tx -> {
+                    tx.sha256Hash();
+                    return tx;
+                })
+                .sorted(Comparator.comparing(Transaction::sha256Hash))
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
     public boolean isGenesis() {
         return height == GENESIS_BLOCK_HEIGHT && timestamp == GENESIS_BLOCK_TIMESTAMP && previous.equals(GENESIS_BLOCK_PREVIOUS);
     }
 
+    /**
+     * Returns the hash of the {@link Block}, computed at the first call. The hash covers the height, the timestamp, the previous, the number of
+     * transactions and the root of the {@link MerkleTree} of transactions.
+     *
+     * @return the binary SHA256 hash of the block, never returns null.
+     */
     @Override
-    public String sha256Base64Hash() {
-        String headerHash = headerHash();
-        String txHash = transactionsHash();
-
-        String blockConcat = headerHash + txHash;
-
-        return encodeBase64String(sha256(blockConcat));
+    public Hash sha256Hash() {
+        Hash h = hash;
+        if (h == null) {
+            // Merkle root must be computed before beginning the block hash because it uses the same Sha256Hasher.
+            Hash merkleRoot = getMerkleRoot();
+            h = Sha256Hasher.begin().putLong(height).putLong(timestamp).putString(previous).putLong(transactions.size()).putHash(merkleRoot).finish();
+            hash = h;
+        }
+        return h;
     }
 
-    private String headerHash() {
-        String heightHash = encodeBase64String(sha256(Longs.toByteArray(height)));
-        String timestampHash = encodeBase64String(sha256(Longs.toByteArray(timestamp)));
-
-        String headerConcat = heightHash + timestampHash + previous; // Previous already a hash
-
-        return encodeBase64String(sha256(headerConcat));
+    /**
+     * @return the root of the {@link MerkleTree} of the transactions of the block.
+     */
+    public Hash getMerkleRoot() {
+        return merkleTree().getRoot();
     }
 
-    private String transactionsHash() {
-        StringBuilder builder = new StringBuilder();
-        for (Transaction tx : transactions) {
-            builder.append(tx.sha256Base64Hash());
+    private MerkleTree merkleTree() {
+        MerkleTree tree = merkleTree;
+        if (tree == null) {
+            tree = new MerkleTree(transactions.stream().map(Transaction::sha256Hash).toArray(Hash[]::new));
+            merkleTree = tree;
         }
+        return tree;
+    }
 
-        String txConcat = builder.toString();
-
-        return encodeBase64String(sha256(txConcat));
+    /**
+     * @param transaction the transaction
+     *
+     * @return the {@link MerkleProof} of the inclusion of the transaction in the block, null if the block does not contain the transaction.
+     */
+    public MerkleProof merkleProof(@NonNull T transaction) {
+        MerkleTree tree = merkleTree();
+        Hash hash = transaction.sha256Hash();
+        int index = tree.indexOf(hash);
+        if (index < 0)
+            return null;
+
+        // Transactions which only differ by values which are not hashed (as the timestamp) have the same hash, the whole run is scanned.
+        List<T> sorted = transactions.asList();
+        int first = index;
+        while (first > 0 && tree.getLeaf(first - 1).equals(hash)) {
+            first--;
+        }
+        for (int i = first; i < sorted.size() && tree.getLeaf(i).equals(hash); i++) {
+            if (sorted.get(i).equals(transaction))
+                return tree.proof(i);
+        }
+        return null;
     }
 
     public boolean isEmpty() {
@@ -108,7 +191,10 @@ public class Block<T extends Transaction> implements Hashable {
 
     // Getters.
 
+    /**
+     * @return the unmodifiable set of transactions, iterated in the canonical order of the block.
+     */
     public Set<T> getTransactions() {
-        return Collections.unmodifiableSet(transactions);
+        return transactions;
     }
 }
@@ -1,6 +1,7 @@
 package org.paradise.palmbeach.blockchain.block;
 
 import lombok.NonNull;
+import org.paradise.palmbeach.blockchain.Hash;
 import org.paradise.palmbeach.blockchain.transaction.Transaction;
 
 import java.util.Iterator;
@@ -54,14 +55,34 @@ public interface Blockchain<T extends Transaction> extends Iterable<Block<T>> {
      *
      * @return true if there is a block for the specified hash, else false.
      */
-    boolean hasBlock(String hash);
+    boolean hasBlock(Hash hash);
 
     /**
      * @param hash hash of the researched block
      *
      * @return the block associated to the specified block hash. If not present is the {@link Blockchain}, returns null.
      */
-    Block<T> getBlock(String hash);
+    Block<T> getBlock(Hash hash);
+
+    /**
+     * @param hash Base64 representation of the hash of the researched block
+     *
+     * @return true if there is a block for the specified hash, else false.
+     */
+    default boolean hasBlock(String hash) {
+        Hash h = Hash.fromBase64(hash);
+        return h != null && hasBlock(h);
+    }
+
+    /**
+     * @param hash Base64 representation of the hash of the researched block
+     *
+     * @return the block associated to the specified block hash. If not present is the {@link Blockchain}, returns null.
+     */
+    default Block<T> getBlock(String hash) {
+        Hash h = Hash.fromBase64(hash);
+        return h != null ? getBlock(h) : null;
+    }
 
     @Override
     default Iterator<Block<T>> iterator() {
@@ -101,7 +122,7 @@ public interface Blockchain<T extends Transaction> extends Iterable<Block<T>> {
         public Block<T> next() {
             if (ite != null) {
                 Block<T> tmp = ite;
-                ite = blockchain.getBlock(ite.getPrevious());
+                ite = tmp.getPreviousHash() != null ? blockchain.getBlock(tmp.getPreviousHash()) : null;
                 return tmp;
             } else
                 throw new NoSuchElementException();
@@ -0,0 +1,492 @@
+package org.paradise.palmbeach.blockchain.block;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.paradise.palmbeach.blockchain.Hash;
+import org.paradise.palmbeach.blockchain.transaction.Transaction;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blockchain which allows forks. All received blocks are kept in a tree of blocks and the main chain is the branch from the genesis block to the
+ * tip chosen by the {@link ForkChoice}. When the fork choice selects a tip in another branch, the main chain is reorganized: only the blocks after
+ * the common ancestor of the old and the new tips are removed and added.
+ * <p>
+ * A block whose previous block is unknown is kept as orphan until its previous block is added. Orphans are not in the blockchain, therefore
+ * {@link #hasBlock(Hash)} returns false for them.
+ * <p>
+ * Each block of the tree has a skew binary jump pointer, therefore the ancestor of a block at a specified height and the common ancestor of two
+ * blocks are found in O(log n) without any auxiliary array by block.
+ * <p>
+ * As {@link NonForkBlockchain}, this object is just a data structure, the coherence is only judge on block height and previous of block.
+ *
+ * @param <T> transaction type contains in block
+ */
+@Slf4j
+public class ForkBlockchain<T extends Transaction> implements Blockchain<T> {
+
+    // Variables.
+
+    @Getter
+    private final ForkChoice forkChoice;
+
+    private final Map<Hash, BlockNode<T>> nodes = Maps.newHashMap();
+
+    /**
+     * Blocks in the order where they have been attached to the tree. A parent is always before its children.
+     */
+    private final List<BlockNode<T>> attachedOrder = Lists.newArrayList();
+
+    /**
+     * Orphan blocks mapped by the hash of their previous block.
+     */
+    private final Map<Hash, List<Block<T>>> orphans = Maps.newHashMap();
+    private int orphanNumber = 0;
+
+    /**
+     * Nodes of the main chain, the index is the height of the block.
+     */
+    private final List<BlockNode<T>> mainChain = Lists.newArrayList();
+
+    private final BlockNode<T> genesis;
+    private BlockNode<T> tip;
+
+    /**
+     * Number of times where the main chain has been reorganized, i.e. where the new tip was not a child of the previous tip.
+     */
+    @Getter
+    private long reorgNumber = 0L;
+
+    // Constructors.
+
+    public ForkBlockchain(@NonNull Block<T> genesis) {
+        this(genesis, ForkChoice.LONGEST_CHAIN);
+    }
+
+    public ForkBlockchain(@NonNull Block<T> genesis, @NonNull ForkChoice forkChoice) {
+        if (!genesis.isGenesis())
+            throw new IncoherentBlockchainException("Block " + genesis + " is not a genesis block");
+
+        this.forkChoice = forkChoice;
+        this.genesis = new BlockNode<>(genesis, null, new Segment<>(null));
+        this.genesis.segment.blocks.add(this.genesis);
+        this.genesis.segment.weight = 1L;
+        this.nodes.put(genesis.sha256Hash(), this.genesis);
+        this.attachedOrder.add(this.genesis);
+        this.mainChain.add(this.genesis);
+        this.tip = this.genesis;
+    }
+
+    // Methods.
+
+    /**
+     * Returns a copy of the blockchain. Blocks are immutable, therefore they are shared with the copy, only the tree of blocks is rebuilt.
+     *
+     * @return a copy of the blockchain.
+     */
+    @Override
+    public ForkBlockchain<T> copy() {
+        ForkBlockchain<T> bc = new ForkBlockchain<>(genesis.block, forkChoice);
+
+        // Blocks are added in the same order, therefore ties of the fork choice are resolved in the same way.
+        for (int i = 1; i < attachedOrder.size(); i++) {
+            bc.addBlock(attachedOrder.get(i).block);
+        }
+        for (List<Block<T>> waiting : orphans.values()) {
+            waiting.forEach(bc::addBlock);
+        }
+
+        return bc;
+    }
+
+    @Override
+    public Block<T> genesisBlock() {
+        return genesis.block;
+    }
+
+    /**
+     * Adds the block in the tree of blocks. If the previous block is unknown, the block is kept as orphan until the previous block is added. Adding
+     * a block can change the main chain, moreover, adding a block can attach orphans which wait for it.
+     *
+     * @param block the block to add in the BC
+     *
+     * @throws IncoherentBlockchainException if the block is already in the blockchain, if the block does not have a hash as previous or if its
+     *                                       height is not the height of its previous block + 1
+     */
+    @Override
+    public void addBlock(@NonNull Block<T> block) {
+        if (nodes.containsKey(block.sha256Hash()))
+            throw new IncoherentBlockchainException("Cannot add block " + block + " already added block");
+
+        Hash previous = block.getPreviousHash();
+        if (previous == null)
+            throw new IncoherentBlockchainException("Cannot add block " + block + " because its previous is not a block hash");
+
+        BlockNode<T> parent = nodes.get(previous);
+        if (parent == null) {
+            orphans.computeIfAbsent(previous, k -> Lists.newArrayList()).add(block);
+            orphanNumber++;
+            return;
+        }
+
+        if (block.getHeight() != parent.height + 1)
+            throw new IncoherentBlockchainException(
+                    "Cannot add block " + block + " because its height is not the height of its previous block " + parent.block + " + 1");
+
+        BlockNode<T> best = longest(tip, attach(block, parent));
+        best = attachOrphans(block.sha256Hash(), best);
+        if (forkChoice == ForkChoice.GHOST)
+            best = ghostTip();
+
+        if (best != tip)
+            switchTip(best);
+    }
+
+    /**
+     * Attaches all orphans which wait (directly or not) for the block with the specified hash.
+     *
+     * @return the highest block between the specified best and the attached orphans.
+     */
+    private BlockNode<T> attachOrphans(Hash hash, BlockNode<T> best) {
+        Deque<Hash> toVisit = new ArrayDeque<>();
+        toVisit.add(hash);
+        while (!toVisit.isEmpty()) {
+            Hash current = toVisit.poll();
+            List<Block<T>> waiting = orphans.remove(current);
+            if (waiting != null) {
+                orphanNumber -= waiting.size();
+                BlockNode<T> parent = nodes.get(current);
+                for (Block<T> orphan : waiting) {
+                    if (orphan.getHeight() == parent.height + 1 && !nodes.containsKey(orphan.sha256Hash())) {
+                        best = longest(best, attach(orphan, parent));
+                        toVisit.add(orphan.sha256Hash());
+                    } else
+                        log.error("Find incoherent orphan block {} for the previous block {} -> orphan block has been removed", orphan, parent.block);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Attaches the block in the tree of blocks. The main chain is not modified.
+     *
+     * @return the node of the attached block.
+     */
+    private BlockNode<T> attach(Block<T> block, BlockNode<T> parent) {
+        Segment<T> parentSegment = parent.segment;
+        Segment<T> segment;
+        if (parentSegment.tail() == parent && parentSegment.children.isEmpty()) {
+            segment = parentSegment;
+        } else {
+            if (parentSegment.tail() != parent)
+                parentSegment.splitAfter(parent);
+            segment = new Segment<>(parentSegment);
+            parentSegment.children.add(segment);
+        }
+
+        BlockNode<T> node = new BlockNode<>(block, parent, segment);
+        segment.blocks.add(node);
+        nodes.put(block.sha256Hash(), node);
+        attachedOrder.add(node);
+
+        if (forkChoice == ForkChoice.GHOST) {
+            for (Segment<T> s = segment; s != null; s = s.parent) {
+                s.weight++;
+            }
+        }
+
+        return node;
+    }
+
+    /**
+     * @return the highest node, the current best in case of equality.
+     */
+    private static <T extends Transaction> BlockNode<T> longest(BlockNode<T> best, BlockNode<T> node) {
+        return node.height > best.height ? node : best;
+    }
+
+    private BlockNode<T> ghostTip() {
+        Segment<T> current = genesis.segment;
+        while (!current.children.isEmpty()) {
+            Segment<T> heaviest = current.children.get(0);
+            for (int i = 1; i < current.children.size(); i++) {
+                // Strictly heavier, therefore the first seen wins ties.
+                if (current.children.get(i).weight > heaviest.weight)
+                    heaviest = current.children.get(i);
+            }
+            current = heaviest;
+        }
+        return current.tail();
+    }
+
+    /**
+     * Replaces the main chain after the common ancestor of the current tip and the new tip by the branch of the new tip.
+     */
+    private void switchTip(BlockNode<T> newTip) {
+        BlockNode<T> ancestor = commonAncestor(tip, newTip);
+        if (ancestor != tip)
+            reorgNumber++;
+
+        for (int h = mainChain.size() - 1; h > ancestor.height; h--) {
+            mainChain.remove(h);
+        }
+
+        Deque<BlockNode<T>> branch = new ArrayDeque<>();
+        for (BlockNode<T> n = newTip; n != ancestor; n = n.parent) {
+            branch.push(n);
+        }
+        mainChain.addAll(branch);
+
+        tip = newTip;
+    }
+
+    private static <T extends Transaction> BlockNode<T> ancestorAt(BlockNode<T> node, long height) {
+        BlockNode<T> current = node;
+        while (current.height > height) {
+            current = current.jump.height >= height ? current.jump : current.parent;
+        }
+        return current;
+    }
+
+    private static <T extends Transaction> BlockNode<T> commonAncestor(BlockNode<T> n0, BlockNode<T> n1) {
+        BlockNode<T> a = ancestorAt(n0, Math.min(n0.height, n1.height));
+        BlockNode<T> b = ancestorAt(n1, a.height);
+        while (a != b) {
+            // Jump pointers only depend on the height, therefore a and b always have the same height.
+            if (a.jump != b.jump) {
+                a = a.jump;
+                b = b.jump;
+            } else {
+                a = a.parent;
+                b = b.parent;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * @param hash   the hash of a block of the blockchain
+     * @param height the height of the researched ancestor
+     *
+     * @return the ancestor of the block at the specified height (the block itself if it is at the height), null if the block is not in the
+     * blockchain or if the height is not between 0 and the height of the block.
+     */
+    public Block<T> getAncestor(@NonNull Hash hash, long height) {
+        BlockNode<T> node = nodes.get(hash);
+        if (node == null || height < 0 || height > node.height)
+            return null;
+
+        return ancestorAt(node, height).block;
+    }
+
+    /**
+     * @param h0 the hash of a block of the blockchain
+     * @param h1 the hash of a block of the blockchain
+     *
+     * @return the deepest block which is an ancestor (or itself) of both blocks, null if one of the blocks is not in the blockchain.
+     */
+    public Block<T> commonAncestor(@NonNull Hash h0, @NonNull Hash h1) {
+        BlockNode<T> n0 = nodes.get(h0);
+        BlockNode<T> n1 = nodes.get(h1);
+        if (n0 == null || n1 == null)
+            return null;
+
+        return commonAncestor(n0, n1).block;
+    }
+
+    /**
+     * @param hash the hash of the block
+     *
+     * @return true if the block is in the main chain, else false.
+     */
+    public boolean isInMainChain(@NonNull Hash hash) {
+        BlockNode<T> node = nodes.get(hash);
+        return node != null && mainChain.get((int) node.height) == node;
+    }
+
+    /**
+     * @param hash the hash of the block
+     *
+     * @return the number of blocks in the subtree of the block (the block included), 0 if the block is not in the blockchain. Always returns 0 if
+     * the fork choice is not {@link ForkChoice#GHOST}.
+     */
+    public long getWeight(@NonNull Hash hash) {
+        BlockNode<T> node = nodes.get(hash);
+        if (node == null || forkChoice != ForkChoice.GHOST)
+            return 0L;
+
+        return node.segment.weight - (node.height - node.segment.headHeight());
+    }
+
+    /**
+     * @return the last block of the main chain.
+     */
+    public Block<T> getTip() {
+        return tip.block;
+    }
+
+    /**
+     * @return the number of blocks in the tree of blocks, blocks out of the main chain and the genesis block included.
+     */
+    public int blockNumber() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of blocks waiting for their previous block.
+     */
+    public int orphanNumber() {
+        return orphanNumber;
+    }
+
+    @Override
+    public long currentHeight() {
+        return tip.height;
+    }
+
+    @Override
+    public boolean hasBlock(long height) {
+        return height >= 0 && height < mainChain.size();
+    }
+
+    /**
+     * @param height the height of the block
+     *
+     * @return the block of the main chain at the specific height, null if the main chain does not have a block at this height.
+     */
+    @Override
+    public Block<T> getBlock(long height) {
+        return hasBlock(height) ? mainChain.get((int) height).block : null;
+    }
+
+    /**
+     * @param hash hash of the researched block
+     *
+     * @return true if the block is in the tree of blocks, even if it is not in the main chain, else false.
+     */
+    @Override
+    public boolean hasBlock(Hash hash) {
+        return nodes.containsKey(hash);
+    }
+
+    /**
+     * @param hash hash of the researched block
+     *
+     * @return the block of the tree of blocks associated to the specified hash, even if it is not in the main chain, null if not in the
+     * blockchain.
+     */
+    @Override
+    public Block<T> getBlock(Hash hash) {
+        BlockNode<T> node = nodes.get(hash);
+        return node != null ? node.block : null;
+    }
+
+    // Inner classes.
+
+    /**
+     * Rule to choose the tip of the main chain between all branches of the tree of blocks.
+     */
+    public enum ForkChoice {
+        /**
+         * The tip is the highest block. In case of equality, the first attached block is kept.
+         */
+        LONGEST_CHAIN,
+
+        /**
+         * Greedy Heaviest Observed SubTree: from the genesis block, the main chain follows the child which has the greatest number of blocks in its
+         * subtree. In case of equality, the first attached child is followed.
+         */
+        GHOST
+    }
+
+    private static final class BlockNode<T extends Transaction> {
+
+        // Variables.
+
+        private final Block<T> block;
+        private final BlockNode<T> parent;
+        private final long height;
+
+        /**
+         * Skew binary jump pointer, the height of the jumped ancestor only depends on the height of the node.
+         */
+        private final BlockNode<T> jump;
+
+        private Segment<T> segment;
+
+        // Constructors.
+
+        private BlockNode(Block<T> block, BlockNode<T> parent, Segment<T> segment) {
+            this.block = block;
+            this.parent = parent;
+            this.height = block.getHeight();
+            this.segment = segment;
+
+            if (parent == null)
+                this.jump = this;
+            else if (parent.height - parent.jump.height == parent.jump.height - parent.jump.jump.height)
+                this.jump = parent.jump.jump;
+            else
+                this.jump = parent;
+        }
+    }
+
+    /**
+     * Maximal branch of the tree of blocks without fork. The weight of a segment is the number of blocks in the segment and in its descendant
+     * segments, therefore adding a block only updates one weight by fork point above it.
+     */
+    private static final class Segment<T extends Transaction> {
+
+        // Variables.
+
+        private Segment<T> parent;
+        private final List<Segment<T>> children = Lists.newArrayList();
+        private List<BlockNode<T>> blocks = Lists.newArrayList();
+        private long weight = 0L;
+
+        // Constructors.
+
+        private Segment(Segment<T> parent) {
+            this.parent = parent;
+        }
+
+        // Methods.
+
+        private BlockNode<T> tail() {
+            return blocks.get(blocks.size() - 1);
+        }
+
+        private long headHeight() {
+            return blocks.get(0).height;
+        }
+
+        /**
+         * Moves the blocks after the specified block and the children in a new child segment. Forks generally appear near tips, therefore few blocks
+         * are moved.
+         */
+        private void splitAfter(BlockNode<T> node) {
+            int index = (int) (node.height - headHeight());
+            Segment<T> after = new Segment<>(this);
+            after.blocks = Lists.newArrayList(blocks.subList(index + 1, blocks.size()));
+            after.children.addAll(children);
+            after.weight = weight - (index + 1);
+            for (BlockNode<T> moved : after.blocks) {
+                moved.segment = after;
+            }
+            for (Segment<T> child : children) {
+                child.parent = after;
+            }
+
+            blocks = Lists.newArrayList(blocks.subList(0, index + 1));
+            children.clear();
+            children.add(after);
+        }
+    }
+}
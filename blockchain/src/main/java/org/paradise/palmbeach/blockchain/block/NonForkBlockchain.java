@@ -3,6 +3,7 @@ package org.paradise.palmbeach.blockchain.block;
 import com.google.common.collect.Maps;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.paradise.palmbeach.blockchain.Hash;
 import org.paradise.palmbeach.blockchain.transaction.Transaction;
 
 import java.util.Map;
@@ -15,6 +16,9 @@ import java.util.Map;
  * <p>
  * There no also is a block validity or other similar things. This object is just a data structure. Only the coherence is guaranteed between 0 and
  * current height and the coherence is judge only on block height and previous of block.
+ * <p>
+ * Blocks between 0 and current height are stored in a {@link PersistentChain}, therefore {@link #copy()} is in O(1) and shares blocks with the
+ * copied blockchain. Adding blocks in the copy does not modify the copied blockchain.
  *
  * @param <T>
  */
@@ -23,31 +27,40 @@ public class NonForkBlockchain<T extends Transaction> implements Blockchain<T> {
 
     // Variables.
 
-    private long currentHeight = 0L;
-    private final Map<Long, Block<T>> blockHeight = Maps.newHashMap();
-    private final Map<String, Block<T>> blockHash = Maps.newHashMap();
+    /**
+     * Coherent blocks between 0 and current height.
+     */
+    private PersistentChain<T> chain;
+
+    /**
+     * Blocks after the current height waiting for the missing blocks.
+     */
+    private final Map<Long, Block<T>> pendingHeight = Maps.newHashMap();
+    private final Map<Hash, Block<T>> pendingHash = Maps.newHashMap();
 
     // Constructors.
 
     public NonForkBlockchain(@NonNull Block<T> genesis) {
         if (genesis.isGenesis()) {
-            blockHash.put(genesis.sha256Base64Hash(), genesis);
-            blockHeight.put(genesis.getHeight(), genesis);
+            this.chain = PersistentChain.of(genesis);
         } else
             throw new IncoherentBlockchainException("Block " + genesis + " is not a genesis block");
     }
 
+    private NonForkBlockchain(PersistentChain<T> chain) {
+        this.chain = chain;
+    }
+
     // Methods.
 
+    /**
+     * Returns a copy of the blockchain between 0 and the current height in O(1). Blocks are immutable, therefore they are shared with the copy.
+     *
+     * @return a copy of the blockchain.
+     */
     @Override
     public NonForkBlockchain<T> copy() {
-        NonForkBlockchain<T> bc = new NonForkBlockchain<>(new Block<>(genesisBlock()));
-
-        for (int i = 1; i <= currentHeight(); i++) {
-            bc.addBlock(new Block<>(getBlock(i)));
-        }
-
-        return bc;
+        return new NonForkBlockchain<>(chain);
     }
 
     @Override
@@ -59,14 +72,14 @@ public class NonForkBlockchain<T extends Transaction> implements Blockchain<T> {
     public void addBlock(@NonNull Block<T> block) {
         if (!hasBlock(block.getHeight())) {
             if (isCoherent(block)) {
-                internAdd(block);
-                if (block.getHeight() == currentHeight + 1) {
-                    currentHeight++;
+                if (block.getHeight() == currentHeight() + 1) {
+                    chain = chain.append(block);
                     mergeBlockchain();
-                }
+                } else
+                    internAddPending(block);
             } else {
                 throw new IncoherentBlockchainException(
-                        "Cannot add block " + block + " because is previous is not coherent (h - 1 block is " + getBlock(currentHeight) + ")");
+                        "Cannot add block " + block + " because is previous is not coherent (h - 1 block is " + getBlock(currentHeight()) + ")");
             }
         } else {
             throw new IncoherentBlockchainException("Cannot add block " + block + " already added block " + getBlock(block.getHeight()) + " for the" +
@@ -78,62 +91,69 @@ public class NonForkBlockchain<T extends Transaction> implements Blockchain<T> {
         long previousHeight = block.getHeight() - 1;
         Block<? extends T> previousBlock = getBlock(previousHeight);
         if (previousBlock != null) {
-            return previousBlock.sha256Base64Hash().equals(block.getPrevious());
+            return previousBlock.sha256Hash().equals(block.getPreviousHash());
         } else
             return true;
     }
 
     private void mergeBlockchain() {
-        long ite = currentHeight + 1;
-        if (hasBlock(ite)) {
-            Block<T> next = getBlock(ite);
+        long ite = currentHeight() + 1;
+        if (pendingHeight.containsKey(ite)) {
+            Block<T> next = pendingHeight.get(ite);
             if (!isCoherent(next)) {
-                while (hasBlock(ite)) {
-                    Block<T> toRemove = getBlock(ite);
-                    internRemove(toRemove);
+                while (pendingHeight.containsKey(ite)) {
+                    Block<T> toRemove = pendingHeight.get(ite);
+                    internRemovePending(toRemove);
                     log.error("Find incoherent block {} at the height {} -> incoherent block has been removed", toRemove, ite);
                     ite++;
                 }
             } else {
                 do {
-                    currentHeight++;
-                } while (hasBlock(++ite));
+                    Block<T> toMerge = pendingHeight.get(ite);
+                    internRemovePending(toMerge);
+                    chain = chain.append(toMerge);
+                } while (pendingHeight.containsKey(++ite));
             }
         }
     }
 
-    private void internAdd(Block<T> block) {
-        blockHeight.put(block.getHeight(), block);
-        blockHash.put(block.sha256Base64Hash(), block);
+    private void internAddPending(Block<T> block) {
+        pendingHeight.put(block.getHeight(), block);
+        pendingHash.put(block.sha256Hash(), block);
     }
 
-    private void internRemove(Block<T> b) {
-        blockHeight.remove(b.getHeight());
-        blockHash.remove(b.sha256Base64Hash());
+    private void internRemovePending(Block<T> b) {
+        pendingHeight.remove(b.getHeight());
+        pendingHash.remove(b.sha256Hash());
     }
 
     @Override
     public long currentHeight() {
-        return currentHeight;
+        return chain.size() - 1L;
     }
 
     @Override
     public boolean hasBlock(long height) {
-        return blockHeight.containsKey(height);
+        return chain.get(height) != null || pendingHeight.containsKey(height);
     }
 
     @Override
     public Block<T> getBlock(long height) {
-        return blockHeight.get(height);
+        Block<T> block = chain.get(height);
+        return block != null ? block : pendingHeight.get(height);
     }
 
     @Override
-    public boolean hasBlock(String hash) {
-        return blockHash.containsKey(hash);
+    public boolean hasBlock(Hash hash) {
+        return getBlock(hash) != null;
     }
 
     @Override
-    public Block<T> getBlock(String hash) {
-        return this.blockHash.get(hash);
+    public Block<T> getBlock(Hash hash) {
+        if (hash == null)
+            return null;
+
+        Block<T> block = chain.get(hash);
+        return block != null ? block : pendingHash.get(hash);
     }
 }
@@ -0,0 +1,141 @@
+package org.paradise.palmbeach.blockchain.block;
+
+import lombok.NonNull;
+import org.paradise.palmbeach.blockchain.Hash;
+import org.paradise.palmbeach.blockchain.transaction.Transaction;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of a chain of blocks from the height 0 to {@link #size()} - 1. Appending a block returns a new view and does not modify the
+ * current view, therefore a view can be shared between several {@link Blockchain} without copy.
+ * <p>
+ * All views created from the same genesis share the same array of blocks while they do not diverge: a view which appends a block after the end of
+ * the array appends it in place, and a view which appends the block already stored at its end in the array (generally the same block received by
+ * another agent) only extends its size. Only a view which appends a different block copies the references of its prefix in a new array.
+ * <p>
+ * Blocks are immutable, therefore they are never copied.
+ *
+ * @param <T> transaction type contains in block
+ */
+final class PersistentChain<T extends Transaction> {
+
+    // Constants.
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Variables.
+
+    private final Store<T> store;
+    private final int size;
+
+    // Constructors.
+
+    private PersistentChain(Store<T> store, int size) {
+        this.store = store;
+        this.size = size;
+    }
+
+    // Methods.
+
+    /**
+     * @param genesis the genesis block
+     *
+     * @return a new chain which only contains the genesis block.
+     */
+    static <T extends Transaction> PersistentChain<T> of(@NonNull Block<T> genesis) {
+        Store<T> store = new Store<>(new Block[INITIAL_CAPACITY], new ConcurrentHashMap<>());
+        store.add(genesis);
+        return new PersistentChain<>(store, 1);
+    }
+
+    /**
+     * Returns a new chain which contains the blocks of this chain and the specified block at the height {@link #size()}. This chain is not
+     * modified.
+     *
+     * @param block the block to append
+     *
+     * @return a new chain with the block appended.
+     */
+    PersistentChain<T> append(@NonNull Block<T> block) {
+        synchronized (store) {
+            if (store.size == size) {
+                store.add(block);
+                return new PersistentChain<>(store, size + 1);
+            } else if (store.blocks[size].sha256Hash().equals(block.sha256Hash())) {
+                return new PersistentChain<>(store, size + 1);
+            }
+        }
+
+        // Diverges from other views, only references of the prefix are copied.
+        Block[] prefix = new Block[Math.max(INITIAL_CAPACITY, 2 * size)];
+        System.arraycopy(store.blocks, 0, prefix, 0, size);
+        Store<T> diverging = new Store<>(prefix, store.index);
+        diverging.size = size;
+        diverging.add(block);
+        return new PersistentChain<>(diverging, size + 1);
+    }
+
+    /**
+     * @param height the height of the block
+     *
+     * @return the block at the specified height, null if the height is not in [0, {@link #size()}[.
+     */
+    Block<T> get(long height) {
+        return height >= 0 && height < size ? store.blocks[(int) height] : null;
+    }
+
+    /**
+     * @param hash the hash of the block
+     *
+     * @return the block of the chain which has the specified hash, null if the chain does not contain the block.
+     */
+    Block<T> get(@NonNull Hash hash) {
+        Block<T> indexed = store.index.get(hash);
+        if (indexed == null)
+            return null;
+
+        Block<T> block = get(indexed.getHeight());
+        return block != null && block.sha256Hash().equals(hash) ? block : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Inner classes.
+
+    /**
+     * Array of blocks shared by several views. Blocks before the size of a view are never modified. The index maps the hash of all blocks appended
+     * by views of the same genesis to the block and is only a hint: the height of the indexed block must be verified in the view.
+     */
+    private static final class Store<T extends Transaction> {
+
+        // Variables.
+
+        private volatile Block<T>[] blocks;
+        private int size;
+        private final Map<Hash, Block<T>> index;
+
+        // Constructors.
+
+        @SuppressWarnings("unchecked")
+        private Store(Block[] blocks, Map<Hash, Block<T>> index) {
+            this.blocks = (Block<T>[]) blocks;
+            this.size = 0;
+            this.index = index;
+        }
+
+        // Methods.
+
+        private void add(Block<T> block) {
+            if (size == blocks.length)
+                blocks = Arrays.copyOf(blocks, 2 * blocks.length);
+
+            blocks[size++] = block;
+            index.putIfAbsent(block.sha256Hash(), block);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.paradise.palmbeach.blockchain.ledger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.NonNull;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.palmbeach.blockchain.block.Blockchain;
+import org.paradise.palmbeach.blockchain.transaction.MoneyTx;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental index of the balance and the nonce of each account of a {@link Blockchain} of {@link MoneyTx}. The balance of an account is the sum
+ * of amounts received minus the sum of amounts sent, and its nonce is the number of transactions sent by the account.
+ * <p>
+ * The ledger follows the chain of a {@link Blockchain} with {@link #sync(Blockchain)}: blocks which are no longer in the chain (after a reorg) are
+ * undone from the last to the first, then new blocks are applied. Therefore, a sync only touches the diverging blocks and never iterates the whole
+ * chain again.
+ * <p>
+ * Each account has an int id, balances and nonces are stored in primitive arrays indexed by the account id.
+ * <p>
+ * This class is not thread safe.
+ */
+public class MoneyLedger {
+
+    // Constants.
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Variables.
+
+    private final Map<String, Integer> accountIds = Maps.newHashMap();
+    private long[] balances = new long[INITIAL_CAPACITY];
+    private long[] nonces = new long[INITIAL_CAPACITY];
+
+    /**
+     * Applied blocks, the index is the height of the block.
+     */
+    private final List<Block<MoneyTx>> appliedBlocks = Lists.newArrayList();
+
+    // Methods.
+
+    /**
+     * Undoes applied blocks which are not in the chain of the blockchain anymore and applies blocks of the chain which have not been applied.
+     *
+     * @param blockchain the followed blockchain
+     */
+    public void sync(@NonNull Blockchain<MoneyTx> blockchain) {
+        long currentHeight = blockchain.currentHeight();
+        for (int h = appliedBlocks.size() - 1; h >= 0 && !isInChain(appliedBlocks.get(h), blockchain, currentHeight); h--) {
+            undoBlock();
+        }
+
+        for (long h = appliedBlocks.size(); h <= currentHeight; h++) {
+            applyBlock(blockchain.getBlock(h));
+        }
+    }
+
+    private static boolean isInChain(Block<MoneyTx> block, Blockchain<MoneyTx> blockchain, long currentHeight) {
+        if (block.getHeight() > currentHeight)
+            return false;
+
+        Block<MoneyTx> inChain = blockchain.getBlock(block.getHeight());
+        return inChain == block || (inChain != null && inChain.sha256Hash().equals(block.sha256Hash()));
+    }
+
+    /**
+     * Applies the transactions of the block. The block must be at the height following the last applied block.
+     *
+     * @param block the block to apply
+     *
+     * @throws IllegalArgumentException if the block is not at the height following the last applied block
+     */
+    public void applyBlock(@NonNull Block<MoneyTx> block) {
+        if (block.getHeight() != appliedBlocks.size())
+            throw new IllegalArgumentException("Block " + block + " is not at the height following the last applied block " + lastAppliedHeight());
+
+        for (MoneyTx tx : block.getTransactions()) {
+            int sender = accountId(tx.getSender());
+            int receiver = accountId(tx.getReceiver());
+            balances[sender] -= tx.getAmount();
+            balances[receiver] += tx.getAmount();
+            nonces[sender]++;
+        }
+        appliedBlocks.add(block);
+    }
+
+    /**
+     * Undoes the transactions of the last applied block.
+     *
+     * @return the undone block.
+     *
+     * @throws IllegalStateException if there is no applied block
+     */
+    public Block<MoneyTx> undoBlock() {
+        if (appliedBlocks.isEmpty())
+            throw new IllegalStateException("No applied block to undo");
+
+        Block<MoneyTx> block = appliedBlocks.remove(appliedBlocks.size() - 1);
+        for (MoneyTx tx : block.getTransactions()) {
+            // Accounts of an applied block always have an id.
+            int sender = accountIds.get(tx.getSender());
+            int receiver = accountIds.get(tx.getReceiver());
+            balances[sender] += tx.getAmount();
+            balances[receiver] -= tx.getAmount();
+            nonces[sender]--;
+        }
+        return block;
+    }
+
+    private int accountId(String account) {
+        Integer id = accountIds.get(account);
+        if (id == null) {
+            id = accountIds.size();
+            if (id == balances.length) {
+                balances = Arrays.copyOf(balances, 2 * balances.length);
+                nonces = Arrays.copyOf(nonces, 2 * nonces.length);
+            }
+            accountIds.put(account, id);
+        }
+        return id;
+    }
+
+    /**
+     * @param account the account
+     *
+     * @return the balance of the account, 0 if the account has never been in a transaction.
+     */
+    public long getBalance(@NonNull String account) {
+        Integer id = accountIds.get(account);
+        return id != null ? balances[id] : 0L;
+    }
+
+    /**
+     * @param account the account
+     *
+     * @return the number of transactions sent by the account in applied blocks.
+     */
+    public long getNonce(@NonNull String account) {
+        Integer id = accountIds.get(account);
+        return id != null ? nonces[id] : 0L;
+    }
+
+    /**
+     * @param account the account
+     * @param amount  the amount to send
+     *
+     * @return true if the balance of the account is greater or equal to the amount, else false.
+     */
+    public boolean canSend(@NonNull String account, long amount) {
+        return getBalance(account) >= amount;
+    }
+
+    /**
+     * @return the height of the last applied block, -1 if no block has been applied.
+     */
+    public long lastAppliedHeight() {
+        return appliedBlocks.size() - 1L;
+    }
+}
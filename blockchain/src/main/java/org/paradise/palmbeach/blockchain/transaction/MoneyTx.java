@@ -1,13 +1,12 @@
 package org.paradise.palmbeach.blockchain.transaction;
 
-import com.google.common.primitives.Longs;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
+import org.paradise.palmbeach.blockchain.Hash;
+import org.paradise.palmbeach.blockchain.Sha256Hasher;
 
-import static org.apache.commons.codec.binary.Base64.encodeBase64String;
-import static org.apache.commons.codec.digest.DigestUtils.sha256;
 import static org.paradise.palmbeach.utils.validation.Validate.min;
 
 @EqualsAndHashCode(callSuper = true)
@@ -36,14 +35,8 @@ public class MoneyTx extends Transaction {
     // Methods.
 
     @Override
-    public String sha256Base64Hash() {
-        String senderHash = encodeBase64String(sha256(getSender()));
-        String receiverHash = encodeBase64String(sha256(getReceiver()));
-        String amountHash = encodeBase64String(sha256(Longs.toByteArray(getAmount())));
-
-        String txConcat = senderHash + receiverHash + amountHash;
-
-        return encodeBase64String(sha256(txConcat));
+    protected Hash computeHash() {
+        return Sha256Hasher.begin().putString(getSender()).putString(getReceiver()).putLong(getAmount()).finish();
     }
 
     @Override
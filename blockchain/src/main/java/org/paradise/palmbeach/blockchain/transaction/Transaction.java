@@ -4,6 +4,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
+import org.paradise.palmbeach.blockchain.Hash;
 import org.paradise.palmbeach.blockchain.Hashable;
 
 import static org.paradise.palmbeach.utils.validation.Validate.min;
@@ -21,6 +22,13 @@ public abstract class Transaction implements Hashable {
     @NonNull
     private final String sender;
 
+    /**
+     * Lazily computed hash. A {@code Transaction} is immutable, therefore its hash is computed only once.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Hash hash;
+
     // Constructors.
 
     protected Transaction(long timestamp, @NonNull String sender) {
@@ -29,5 +37,27 @@ public abstract class Transaction implements Hashable {
         this.sender = sender;
     }
 
+    /**
+     * Returns the hash of the {@link Transaction}, computed at the first call with {@link #computeHash()}.
+     *
+     * @return the binary SHA256 hash of the transaction, never returns null.
+     */
+    @Override
+    public final Hash sha256Hash() {
+        Hash h = hash;
+        if (h == null) {
+            h = computeHash();
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Computes the hash of the {@link Transaction}. Called only once by {@link #sha256Hash()}.
+     *
+     * @return the binary SHA256 hash of the transaction.
+     */
+    protected abstract Hash computeHash();
+
     public abstract Transaction copy();
 }
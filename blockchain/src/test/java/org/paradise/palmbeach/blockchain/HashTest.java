@@ -0,0 +1,101 @@
+package org.paradise.palmbeach.blockchain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.paradise.palmbeach.utils.junit.ParadiseTest;
+
+import java.util.Base64;
+import java.util.Random;
+
+import static org.apache.commons.codec.digest.DigestUtils.sha256;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("Hash tests")
+@Tag("Hash")
+@ParadiseTest
+public class HashTest {
+
+    @Nested
+    @DisplayName("Hash of()")
+    @Tag("of")
+    class Of {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 1, 31, 33, 64})
+        @DisplayName("of() throws IllegalArgumentException if the digest does not have 32 bytes")
+        void withWrongSize(int size) {
+            byte[] digest = new byte[size];
+            assertThrows(IllegalArgumentException.class, () -> Hash.of(digest));
+        }
+
+        @Test
+        @DisplayName("of() keeps the bytes of the digest and toBase64() is the Base64 representation of the digest")
+        void keepBytes() {
+            Random random = new Random(42L);
+            for (int i = 0; i < 100; i++) {
+                byte[] digest = new byte[Hash.SIZE];
+                random.nextBytes(digest);
+                Hash hash = Hash.of(digest);
+
+                assertThat(hash.toBytes()).isEqualTo(digest);
+                assertThat(hash.toBase64()).isEqualTo(Base64.getEncoder().encodeToString(digest));
+                assertThat(Hash.fromBase64(hash.toBase64())).isEqualTo(hash).hasSameHashCodeAs(hash);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Hash fromBase64()")
+    @Tag("fromBase64")
+    class FromBase64 {
+
+        @Test
+        @DisplayName("fromBase64() returns null if the string is not the Base64 representation of 32 bytes")
+        void withNotHash() {
+            assertThat(Hash.fromBase64(null)).isNull();
+            assertThat(Hash.fromBase64("GENESIS")).isNull();
+            assertThat(Hash.fromBase64("Not Base64 !")).isNull();
+            assertThat(Hash.fromBase64(Base64.getEncoder().encodeToString(new byte[16]))).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Hash compareTo()")
+    @Tag("compareTo")
+    class CompareTo {
+
+        @Test
+        @DisplayName("compareTo() orders hashes as unsigned bytes")
+        void unsignedOrder() {
+            byte[] low = new byte[Hash.SIZE];
+            byte[] high = new byte[Hash.SIZE];
+            high[0] = (byte) 0xFF;
+
+            assertThat(Hash.of(low)).isLessThan(Hash.of(high));
+            assertThat(Hash.of(high).compareTo(Hash.of(high.clone()))).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Sha256Hasher")
+    @Tag("Sha256Hasher")
+    class Hasher {
+
+        @Test
+        @DisplayName("Sha256Hasher computes the SHA256 digest of the put values and can be reused")
+        void sameAsSha256() {
+            byte[] input = new byte[]{0, 0, 0, 0, 0, 0, 0, 42};
+
+            assertThat(Sha256Hasher.begin().putLong(42L).finish().toBytes()).isEqualTo(sha256(input));
+            assertThat(Sha256Hasher.begin().putLong(42L).finish().toBytes()).isEqualTo(sha256(input));
+            assertThat(Sha256Hasher.begin().putString("ab").putString("c").finish())
+                    .isNotEqualTo(Sha256Hasher.begin().putString("a").putString("bc").finish());
+        }
+    }
+}
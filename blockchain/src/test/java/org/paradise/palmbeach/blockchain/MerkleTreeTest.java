@@ -0,0 +1,139 @@
+package org.paradise.palmbeach.blockchain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.paradise.palmbeach.utils.junit.ParadiseTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("MerkleTree tests")
+@Tag("MerkleTree")
+@ParadiseTest
+public class MerkleTreeTest {
+
+    private static Hash[] randomLeaves(int n, long seed) {
+        Random random = new Random(seed);
+        Hash[] leaves = new Hash[n];
+        for (int i = 0; i < n; i++) {
+            byte[] digest = new byte[Hash.SIZE];
+            random.nextBytes(digest);
+            leaves[i] = Hash.of(digest);
+        }
+        return leaves;
+    }
+
+    @Nested
+    @DisplayName("MerkleTree getRoot()")
+    @Tag("getRoot")
+    class GetRoot {
+
+        @Test
+        @DisplayName("getRoot() does not depend on the order of leaves")
+        void orderIndependent() {
+            Hash[] leaves = randomLeaves(37, 1L);
+            List<Hash> shuffled = Arrays.asList(leaves.clone());
+            Collections.shuffle(shuffled, new Random(2L));
+
+            assertThat(new MerkleTree(shuffled.toArray(Hash[]::new)).getRoot()).isEqualTo(new MerkleTree(leaves).getRoot());
+        }
+
+        @Test
+        @DisplayName("getRoot() changes if a leaf is added, even the duplicate of the last leaf")
+        void differentLeaves() {
+            Hash[] leaves = randomLeaves(3, 3L);
+            Arrays.sort(leaves);
+            Hash[] withDuplicate = Arrays.copyOf(leaves, 4);
+            withDuplicate[3] = leaves[2];
+
+            assertThat(new MerkleTree(withDuplicate).getRoot()).isNotEqualTo(new MerkleTree(leaves).getRoot());
+            assertThat(new MerkleTree(new Hash[0]).getRoot()).isNotNull().isNotEqualTo(new MerkleTree(leaves).getRoot());
+        }
+
+        @Test
+        @DisplayName("getRoot() separates leaf and inner nodes, inner nodes given as leaves do not give the same root")
+        void domainSeparation() {
+            Hash[] leaves = randomLeaves(4, 9L);
+            Arrays.sort(leaves);
+            Hash[] innerNodes = new Hash[]{
+                    MerkleTree.hashNodes(MerkleTree.hashLeaf(leaves[0]), MerkleTree.hashLeaf(leaves[1])),
+                    MerkleTree.hashNodes(MerkleTree.hashLeaf(leaves[2]), MerkleTree.hashLeaf(leaves[3]))
+            };
+
+            assertThat(new MerkleTree(leaves).getRoot()).isEqualTo(MerkleTree.hashNodes(innerNodes[0], innerNodes[1]));
+            assertThat(new MerkleTree(innerNodes).getRoot()).isNotEqualTo(new MerkleTree(leaves).getRoot());
+            assertThat(new MerkleTree(new Hash[]{leaves[0]}).getRoot()).isNotEqualTo(leaves[0]);
+        }
+
+        @Test
+        @DisplayName("getRoot() is the same when the tree is built in parallel")
+        void parallelBuild() {
+            Hash[] leaves = randomLeaves(MerkleTree.PARALLEL_THRESHOLD + 1, 4L);
+            MerkleTree tree = new MerkleTree(leaves);
+
+            Hash[] sorted = leaves.clone();
+            Arrays.sort(sorted);
+            Hash[] level = Arrays.stream(sorted).map(MerkleTree::hashLeaf).toArray(Hash[]::new);
+            while (level.length > 1) {
+                Hash[] next = new Hash[(level.length + 1) / 2];
+                for (int i = 0; i < next.length; i++) {
+                    next[i] = 2 * i + 1 < level.length ? MerkleTree.hashNodes(level[2 * i], level[2 * i + 1]) : level[2 * i];
+                }
+                level = next;
+            }
+
+            assertThat(tree.getRoot()).isEqualTo(level[0]);
+        }
+    }
+
+    @Nested
+    @DisplayName("MerkleTree proof()")
+    @Tag("proof")
+    class Proof {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 3, 5, 8, 13, 100})
+        @DisplayName("proof() returns a proof which is verified by the root for each leaf")
+        void verifiedProof(int n) {
+            Hash[] leaves = randomLeaves(n, n);
+            MerkleTree tree = new MerkleTree(leaves);
+
+            for (Hash leaf : leaves) {
+                MerkleProof proof = tree.proof(leaf);
+
+                assertThat(proof).isNotNull();
+                assertThat(proof.getLeaf()).isEqualTo(leaf);
+                assertThat(proof.getSiblings().size()).isLessThanOrEqualTo(32 - Integer.numberOfLeadingZeros(n));
+                assertThat(proof.verify(tree.getRoot())).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("proof() returns a proof which is not verified by another root")
+        void notVerifiedWithOtherRoot() {
+            MerkleTree tree = new MerkleTree(randomLeaves(10, 5L));
+            MerkleTree other = new MerkleTree(randomLeaves(10, 6L));
+
+            assertThat(tree.proof(0).verify(other.getRoot())).isFalse();
+        }
+
+        @Test
+        @DisplayName("proof() returns null for a leaf not in the tree and throws IndexOutOfBoundsException for a wrong index")
+        void notInTree() {
+            MerkleTree tree = new MerkleTree(randomLeaves(10, 7L));
+
+            assertThat(tree.proof(randomLeaves(1, 8L)[0])).isNull();
+            assertThrows(IndexOutOfBoundsException.class, () -> tree.proof(10));
+        }
+    }
+}
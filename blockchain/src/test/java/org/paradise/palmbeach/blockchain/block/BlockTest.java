@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.paradise.palmbeach.blockchain.Hash;
 import org.paradise.palmbeach.blockchain.transaction.MoneyTx;
 import org.paradise.palmbeach.blockchain.transaction.Transaction;
 import org.paradise.palmbeach.utils.junit.ParadiseTest;
@@ -107,6 +108,32 @@ public class BlockTest {
             assertThat(b0.sha256Base64Hash()).isEqualTo(b1.sha256Base64Hash());
             assertThat(b0.sha256Base64Hash()).isNotEqualTo(b2.sha256Base64Hash());
         }
+
+        @Test
+        @DisplayName("sha256Hash() is computed once, is kept by copies and is the Base64 decoding of sha256Base64Hash()")
+        void memoizedHash() {
+            Block<MoneyTx> b0 = new Block<>(1, 1, "Previous", Sets.newHashSet(new MoneyTx(1, "S0", "R0", 5), new MoneyTx(2, "S1", "R1", 7)));
+            Block<MoneyTx> notHashedCopy = new Block<>(b0);
+            Hash hash = b0.sha256Hash();
+            Block<MoneyTx> hashedCopy = new Block<>(b0);
+
+            assertThat(b0.sha256Hash()).isSameAs(hash).isSameAs(hashedCopy.sha256Hash());
+            assertThat(notHashedCopy.sha256Hash()).isEqualTo(hash);
+            assertThat(Hash.fromBase64(b0.sha256Base64Hash())).isEqualTo(b0.sha256Hash());
+        }
+
+        @Test
+        @DisplayName("sha256Hash() of a block created with the hash of the previous block is the same as with its Base64 representation")
+        void withBinaryPrevious() {
+            Block<MoneyTx> previous = new Block<>(0, 0, Block.GENESIS_BLOCK_PREVIOUS, Sets.newHashSet());
+            Block<MoneyTx> b0 = new Block<>(1, 1, previous.sha256Hash(), Sets.newHashSet());
+            Block<MoneyTx> b1 = new Block<>(1, 1, previous.sha256Base64Hash(), Sets.newHashSet());
+
+            assertThat(b0.getPreviousHash()).isEqualTo(previous.sha256Hash()).isEqualTo(b1.getPreviousHash());
+            assertThat(b0.getPrevious()).isEqualTo(b1.getPrevious());
+            assertThat(b0.sha256Hash()).isEqualTo(b1.sha256Hash());
+            assertThat(previous.getPreviousHash()).isNull();
+        }
     }
 
     @Nested
@@ -121,4 +148,60 @@ public class BlockTest {
             assertThat(b.toString()).isNotNull();
         }
     }
+
+    @Nested
+    @DisplayName("Block merkleProof()")
+    @Tag("merkleProof")
+    class MerkleProofTest {
+
+        @Test
+        @DisplayName("merkleProof() returns a proof verified by the Merkle root for each transaction of the block")
+        void verifiedProof() {
+            Set<MoneyTx> txs = Sets.newHashSet();
+            for (int i = 0; i < 50; i++) {
+                txs.add(new MoneyTx(i, "S" + i, "R" + i, i + 1L));
+            }
+            Block<MoneyTx> block = new Block<>(1, 1, "Previous", txs);
+
+            assertThat(block.getTransactions()).containsExactlyInAnyOrderElementsOf(txs);
+            for (MoneyTx tx : txs) {
+                assertThat(block.merkleProof(tx).verify(block.getMerkleRoot())).isTrue();
+            }
+            assertThat(block.merkleProof(new MoneyTx(0, "Other", "Other", 1))).isNull();
+        }
+
+        @Test
+        @DisplayName("merkleProof() returns a proof for each transaction which has the same hash as other transactions of the block")
+        void sameHashTransactions() {
+            Set<MoneyTx> txs = Sets.newHashSet();
+            for (int i = 0; i < 5; i++) {
+                txs.add(new MoneyTx(i, "Sender", "Receiver", 1L));
+                txs.add(new MoneyTx(i, "S" + i, "R" + i, i + 1L));
+            }
+            Block<MoneyTx> block = new Block<>(1, 1, "Previous", txs);
+
+            for (MoneyTx tx : txs) {
+                assertThat(block.merkleProof(tx).verify(block.getMerkleRoot())).isTrue();
+            }
+            assertThat(block.merkleProof(new MoneyTx(5, "Sender", "Receiver", 1L))).isNull();
+        }
+
+        @Test
+        @DisplayName("getTransactions() iterates transactions in the same order whatever the order of the given set")
+        void canonicalOrder() {
+            Set<MoneyTx> txs = Sets.newLinkedHashSet();
+            Set<MoneyTx> reversed = Sets.newLinkedHashSet();
+            for (int i = 0; i < 20; i++) {
+                txs.add(new MoneyTx(i, "S" + i, "R" + i, i + 1L));
+                reversed.add(new MoneyTx(19 - i, "S" + (19 - i), "R" + (19 - i), 20L - i));
+            }
+
+            Block<MoneyTx> b0 = new Block<>(1, 1, "Previous", txs);
+            Block<MoneyTx> b1 = new Block<>(1, 1, "Previous", reversed);
+
+            assertThat(b0.getTransactions()).containsExactlyElementsOf(b1.getTransactions());
+            assertThat(b0.getMerkleRoot()).isEqualTo(b1.getMerkleRoot());
+            assertThat(b0.sha256Hash()).isEqualTo(b1.sha256Hash());
+        }
+    }
 }
@@ -0,0 +1,247 @@
+package org.paradise.palmbeach.blockchain.block;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.paradise.palmbeach.blockchain.transaction.Transaction;
+import org.paradise.palmbeach.utils.junit.ParadiseTest;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("ForkBlockchain tests")
+@Tag("ForkBlockchain")
+@ParadiseTest
+public class ForkBlockchainTest {
+
+    private static Block<Transaction> genesis() {
+        return new Block<>(Block.GENESIS_BLOCK_HEIGHT, Block.GENESIS_BLOCK_TIMESTAMP, Block.GENESIS_BLOCK_PREVIOUS, Sets.newHashSet());
+    }
+
+    private static Block<Transaction> child(Block<Transaction> parent, long timestamp) {
+        return new Block<>(parent.getHeight() + 1, timestamp, parent.sha256Hash(), Sets.newHashSet());
+    }
+
+    private static List<Block<Transaction>> branch(Block<Transaction> from, int length, long timestamp) {
+        List<Block<Transaction>> branch = Lists.newArrayList();
+        Block<Transaction> current = from;
+        for (int i = 0; i < length; i++) {
+            current = child(current, timestamp);
+            branch.add(current);
+        }
+        return branch;
+    }
+
+    @Nested
+    @DisplayName("ForkBlockchain constructor()")
+    @Tag("constructor")
+    class Constructor {
+
+        @Test
+        @DisplayName("constructor() throws an IncoherentBlockchainException if the genesis block is not a genesis block")
+        void notGenesisBlock() {
+            Block<Transaction> notGenesis = new Block<>(1, 1, "Prev", Sets.newHashSet());
+            assertThrows(Blockchain.IncoherentBlockchainException.class, () -> new ForkBlockchain<>(notGenesis));
+        }
+
+        @Test
+        @DisplayName("constructor() creates a blockchain with only the genesis block")
+        void withGenesisBlock() {
+            Block<Transaction> genesis = genesis();
+            ForkBlockchain<Transaction> bc = new ForkBlockchain<>(genesis);
+
+            assertThat(bc.genesisBlock()).isSameAs(genesis);
+            assertThat(bc.getTip()).isSameAs(genesis);
+            assertThat(bc.currentHeight()).isZero();
+            assertThat(bc.getForkChoice()).isEqualTo(ForkBlockchain.ForkChoice.LONGEST_CHAIN);
+        }
+    }
+
+    @Nested
+    @DisplayName("ForkBlockchain addBlock()")
+    @Tag("addBlock")
+    class AddBlock {
+
+        @Test
+        @DisplayName("addBlock() throws IncoherentBlockchainException if the block is already added or if its height is not coherent")
+        void incoherentBlock() {
+            ForkBlockchain<Transaction> bc = new ForkBlockchain<>(genesis());
+            Block<Transaction> b1 = child(bc.genesisBlock(), 1);
+            bc.addBlock(b1);
+            Block<Transaction> wrongHeight = new Block<>(3, 1, b1.sha256Hash(), Sets.newHashSet());
+
+            assertThrows(Blockchain.IncoherentBlockchainException.class, () -> bc.addBlock(b1));
+            assertThrows(Blockchain.IncoherentBlockchainException.class, () -> bc.addBlock(wrongHeight));
+            assertThrows(Blockchain.IncoherentBlockchainException.class, () -> bc.addBlock(new Block<>(1, 1, "Prev", Sets.newHashSet())));
+        }
+
+        @Test
+        @DisplayName("addBlock() keeps competing blocks and reorganizes the main chain when a branch becomes longer")
+        void longestChainReorg() {
+            ForkBlockchain<Transaction> bc = new ForkBlockchain<>(genesis());
+            List<Block<Transaction>> b0 = branch(bc.genesisBlock(), 5, 1);
+            List<Block<Transaction>> b1 = branch(b0.get(1), 4, 2);
+            b0.forEach(bc::addBlock);
+            b1.subList(0, 3).forEach(bc::addBlock);
+
+            assertThat(bc.getTip()).isSameAs(b0.get(4));
+            assertThat(bc.getReorgNumber()).isZero();
+            assertThat(bc.blockNumber()).isEqualTo(9);
+
+            bc.addBlock(b1.get(3));
+
+            assertThat(bc.getTip()).isSameAs(b1.get(3));
+            assertThat(bc.currentHeight()).isEqualTo(6L);
+            assertThat(bc.getReorgNumber()).isOne();
+            assertThat(bc.getBlock(2)).isSameAs(b0.get(1));
+            for (int i = 0; i < 4; i++) {
+                assertThat(bc.getBlock(3L + i)).isSameAs(b1.get(i));
+            }
+            assertThat(bc.isInMainChain(b0.get(2).sha256Hash())).isFalse();
+            assertThat(bc.hasBlock(b0.get(2).sha256Hash())).isTrue();
+            assertThat(Lists.newArrayList(bc)).hasSize(7);
+        }
+
+        @Test
+        @DisplayName("addBlock() keeps orphans and attaches them when their previous block is added")
+        void orphans() {
+            ForkBlockchain<Transaction> bc = new ForkBlockchain<>(genesis());
+            List<Block<Transaction>> blocks = branch(bc.genesisBlock(), 10, 1);
+
+            for (int i = blocks.size() - 1; i > 0; i--) {
+                bc.addBlock(blocks.get(i));
+            }
+
+            assertThat(bc.orphanNumber()).isEqualTo(9);
+            assertThat(bc.currentHeight()).isZero();
+            assertThat(bc.hasBlock(blocks.get(9).sha256Hash())).isFalse();
+
+            bc.addBlock(blocks.get(0));
+
+            assertThat(bc.orphanNumber()).isZero();
+            assertThat(bc.getTip()).isSameAs(blocks.get(9));
+        }
+
+        @Test
+        @DisplayName("addBlock() with GHOST follows the heaviest subtree even if it is not the longest branch")
+        void ghost() {
+            ForkBlockchain<Transaction> bc = new ForkBlockchain<>(genesis(), ForkBlockchain.ForkChoice.GHOST);
+            List<Block<Transaction>> longest = branch(bc.genesisBlock(), 4, 1);
+            longest.forEach(bc::addBlock);
+
+            Block<Transaction> heavy = child(bc.genesisBlock(), 2);
+            bc.addBlock(heavy);
+            List<Block<Transaction>> heavyChildren = Lists.newArrayList();
+            for (int i = 0; i < 3; i++) {
+                heavyChildren.add(child(heavy, 10L + i));
+                bc.addBlock(heavyChildren.get(i));
+            }
+
+            assertThat(bc.getTip()).isSameAs(longest.get(3));
+            assertThat(bc.getWeight(heavy.sha256Hash())).isEqualTo(bc.getWeight(longest.get(0).sha256Hash())).isEqualTo(4L);
+
+            Block<Transaction> last = child(heavy, 20L);
+            bc.addBlock(last);
+
+            // Children of heavy have the same weight, the first attached is followed.
+            assertThat(bc.getTip()).isSameAs(heavyChildren.get(0));
+            assertThat(bc.currentHeight()).isEqualTo(2L);
+            assertThat(bc.getReorgNumber()).isOne();
+            assertThat(bc.getWeight(bc.genesisBlock().sha256Hash())).isEqualTo(10L);
+        }
+    }
+
+    @Nested
+    @DisplayName("ForkBlockchain getAncestor() and commonAncestor()")
+    @Tag("ancestor")
+    class Ancestor {
+
+        @ParameterizedTest
+        @EnumSource(ForkBlockchain.ForkChoice.class)
+        @DisplayName("getAncestor() and commonAncestor() return the same blocks as following previous blocks")
+        void sameAsNaive(ForkBlockchain.ForkChoice forkChoice) {
+            Random random = new Random(42L);
+            ForkBlockchain<Transaction> bc = new ForkBlockchain<>(genesis(), forkChoice);
+            List<Block<Transaction>> blocks = Lists.newArrayList(bc.genesisBlock());
+            for (int i = 1; i < 2_000; i++) {
+                // Mostly extends recent blocks to create long branches with frequent forks.
+                Block<Transaction> parent = blocks.get(Math.max(0, blocks.size() - 1 - random.nextInt(5)));
+                Block<Transaction> block = child(parent, i);
+                bc.addBlock(block);
+                blocks.add(block);
+            }
+
+            for (int i = 0; i < 200; i++) {
+                Block<Transaction> b0 = blocks.get(random.nextInt(blocks.size()));
+                Block<Transaction> b1 = blocks.get(random.nextInt(blocks.size()));
+
+                long height = random.nextInt((int) b0.getHeight() + 1);
+                assertThat(bc.getAncestor(b0.sha256Hash(), height)).isSameAs(naiveAncestor(bc, b0, height));
+                assertThat(bc.commonAncestor(b0.sha256Hash(), b1.sha256Hash())).isSameAs(naiveCommonAncestor(bc, b0, b1));
+            }
+
+            Block<Transaction> previous = null;
+            for (Block<Transaction> block : bc) {
+                assertThat(bc.isInMainChain(block.sha256Hash())).isTrue();
+                if (previous != null)
+                    assertThat(previous.getPreviousHash()).isEqualTo(block.sha256Hash());
+                previous = block;
+            }
+            assertThat(previous).isSameAs(bc.genesisBlock());
+        }
+
+        private Block<Transaction> naiveAncestor(ForkBlockchain<Transaction> bc, Block<Transaction> block, long height) {
+            Block<Transaction> current = block;
+            while (current.getHeight() > height) {
+                current = bc.getBlock(current.getPreviousHash());
+            }
+            return current;
+        }
+
+        private Block<Transaction> naiveCommonAncestor(ForkBlockchain<Transaction> bc, Block<Transaction> b0, Block<Transaction> b1) {
+            Block<Transaction> a = naiveAncestor(bc, b0, Math.min(b0.getHeight(), b1.getHeight()));
+            Block<Transaction> b = naiveAncestor(bc, b1, a.getHeight());
+            while (a != b) {
+                a = bc.getBlock(a.getPreviousHash());
+                b = bc.getBlock(b.getPreviousHash());
+            }
+            return a;
+        }
+    }
+
+    @Nested
+    @DisplayName("ForkBlockchain copy()")
+    @Tag("copy")
+    class Copy {
+
+        @Test
+        @DisplayName("copy() creates a new instance which shares the blocks and has the same main chain and the same orphans")
+        void correctCopy() {
+            ForkBlockchain<Transaction> bc = new ForkBlockchain<>(genesis());
+            List<Block<Transaction>> b0 = branch(bc.genesisBlock(), 5, 1);
+            List<Block<Transaction>> b1 = branch(b0.get(0), 4, 2);
+            b0.forEach(bc::addBlock);
+            b1.forEach(bc::addBlock);
+            bc.addBlock(child(child(b0.get(4), 3), 3));
+
+            ForkBlockchain<Transaction> copy = bc.copy();
+
+            assertThat(copy).isNotSameAs(bc);
+            assertThat(copy.blockNumber()).isEqualTo(bc.blockNumber());
+            assertThat(copy.orphanNumber()).isEqualTo(bc.orphanNumber()).isOne();
+            assertThat(copy.getTip().sha256Hash()).isEqualTo(bc.getTip().sha256Hash());
+            for (int i = 0; i <= bc.currentHeight(); i++) {
+                assertThat(copy.getBlock(i)).isSameAs(bc.getBlock(i));
+            }
+        }
+    }
+}
@@ -73,6 +73,36 @@ public class NonForkBlockchainTest {
                 assertThat(block.getTransactions()).containsAll(bCopy.getTransactions());
             }
         }
+
+        @Test
+        @DisplayName("copy() shares blocks and adding blocks in the copy or in the original does not modify the other")
+        void independentCopy() {
+            NonForkBlockchain<Transaction> bc = generateBC();
+            List<Block<Transaction>> blocks = generateBlock(bc.genesisBlock(), 10);
+            blocks.subList(0, 5).forEach(bc::addBlock);
+
+            NonForkBlockchain<Transaction> copy = bc.copy();
+            NonForkBlockchain<Transaction> sameBlocksCopy = bc.copy();
+            Block<Transaction> diverging = new Block<>(6, 1, blocks.get(4).sha256Hash(), Sets.newHashSet());
+            blocks.subList(5, 10).forEach(copy::addBlock);
+            blocks.subList(5, 8).forEach(sameBlocksCopy::addBlock);
+            bc.addBlock(diverging);
+
+            assertThat(bc.currentHeight()).isEqualTo(6L);
+            assertThat(bc.getBlock(6)).isSameAs(diverging);
+            assertThat(bc.hasBlock(blocks.get(5).sha256Hash())).isFalse();
+            assertThat(copy.currentHeight()).isEqualTo(10L);
+            assertThat(copy.hasBlock(diverging.sha256Hash())).isFalse();
+            assertThat(sameBlocksCopy.currentHeight()).isEqualTo(8L);
+            assertThat(sameBlocksCopy.hasBlock(blocks.get(8).sha256Hash())).isFalse();
+            for (int i = 0; i < 5; i++) {
+                assertThat(copy.getBlock(i + 1L)).isSameAs(bc.getBlock(i + 1L)).isSameAs(blocks.get(i));
+                assertThat(copy.getBlock(blocks.get(i).sha256Hash())).isSameAs(blocks.get(i));
+            }
+            verifyIteratorBrowsing(bc);
+            verifyIteratorBrowsing(copy);
+            verifyIteratorBrowsing(sameBlocksCopy);
+        }
     }
 
     @Nested
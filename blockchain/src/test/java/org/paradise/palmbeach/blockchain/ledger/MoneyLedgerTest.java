@@ -0,0 +1,147 @@
+package org.paradise.palmbeach.blockchain.ledger;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.palmbeach.blockchain.block.Block;
+import org.paradise.palmbeach.blockchain.block.ForkBlockchain;
+import org.paradise.palmbeach.blockchain.block.NonForkBlockchain;
+import org.paradise.palmbeach.blockchain.transaction.MoneyTx;
+import org.paradise.palmbeach.utils.junit.ParadiseTest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("MoneyLedger tests")
+@Tag("MoneyLedger")
+@ParadiseTest
+public class MoneyLedgerTest {
+
+    private static Block<MoneyTx> genesis() {
+        return new Block<>(Block.GENESIS_BLOCK_HEIGHT, Block.GENESIS_BLOCK_TIMESTAMP, Block.GENESIS_BLOCK_PREVIOUS,
+                           Sets.newHashSet(new MoneyTx(0, "Bank", "A", 100), new MoneyTx(0, "Bank", "B", 100)));
+    }
+
+    private static Block<MoneyTx> child(Block<MoneyTx> parent, long timestamp, MoneyTx... txs) {
+        return new Block<>(parent.getHeight() + 1, timestamp, parent.sha256Hash(), Sets.newHashSet(txs));
+    }
+
+    @Nested
+    @DisplayName("MoneyLedger applyBlock() and undoBlock()")
+    @Tag("applyBlock")
+    class ApplyBlock {
+
+        @Test
+        @DisplayName("applyBlock() updates balances and nonces and undoBlock() restores them")
+        void applyAndUndo() {
+            MoneyLedger ledger = new MoneyLedger();
+            Block<MoneyTx> genesis = genesis();
+            Block<MoneyTx> b1 = child(genesis, 1, new MoneyTx(1, "A", "B", 30), new MoneyTx(1, "A", "C", 10));
+
+            ledger.applyBlock(genesis);
+            ledger.applyBlock(b1);
+
+            assertThat(ledger.getBalance("Bank")).isEqualTo(-200L);
+            assertThat(ledger.getBalance("A")).isEqualTo(60L);
+            assertThat(ledger.getBalance("B")).isEqualTo(130L);
+            assertThat(ledger.getBalance("C")).isEqualTo(10L);
+            assertThat(ledger.getNonce("A")).isEqualTo(2L);
+            assertThat(ledger.canSend("A", 60L)).isTrue();
+            assertThat(ledger.canSend("A", 61L)).isFalse();
+
+            assertThat(ledger.undoBlock()).isSameAs(b1);
+
+            assertThat(ledger.getBalance("A")).isEqualTo(100L);
+            assertThat(ledger.getBalance("C")).isZero();
+            assertThat(ledger.getNonce("A")).isZero();
+            assertThat(ledger.lastAppliedHeight()).isZero();
+        }
+
+        @Test
+        @DisplayName("applyBlock() throws IllegalArgumentException if the block does not follow the last applied block")
+        void notFollowingBlock() {
+            MoneyLedger ledger = new MoneyLedger();
+            Block<MoneyTx> genesis = genesis();
+            Block<MoneyTx> b1 = child(genesis, 1);
+
+            assertThrows(IllegalArgumentException.class, () -> ledger.applyBlock(b1));
+            assertThrows(IllegalStateException.class, ledger::undoBlock);
+        }
+
+        @Test
+        @DisplayName("applyBlock() supports a lot of accounts")
+        void manyAccounts() {
+            MoneyLedger ledger = new MoneyLedger();
+            Set<MoneyTx> txs = Sets.newHashSet();
+            for (int i = 0; i < 1_000; i++) {
+                txs.add(new MoneyTx(0, "Bank", "Account " + i, i + 1L));
+            }
+            ledger.applyBlock(new Block<>(Block.GENESIS_BLOCK_HEIGHT, Block.GENESIS_BLOCK_TIMESTAMP, Block.GENESIS_BLOCK_PREVIOUS, txs));
+
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(ledger.getBalance("Account " + i)).isEqualTo(i + 1L);
+            }
+            assertThat(ledger.getNonce("Bank")).isEqualTo(1_000L);
+        }
+    }
+
+    @Nested
+    @DisplayName("MoneyLedger sync()")
+    @Tag("sync")
+    class Sync {
+
+        @Test
+        @DisplayName("sync() applies new blocks of a NonForkBlockchain")
+        void withNonForkBlockchain() {
+            NonForkBlockchain<MoneyTx> bc = new NonForkBlockchain<>(genesis());
+            MoneyLedger ledger = new MoneyLedger();
+            ledger.sync(bc);
+
+            assertThat(ledger.getBalance("A")).isEqualTo(100L);
+
+            Block<MoneyTx> b1 = child(bc.genesisBlock(), 1, new MoneyTx(1, "A", "B", 50));
+            bc.addBlock(b1);
+            bc.addBlock(child(b1, 2, new MoneyTx(2, "B", "A", 20)));
+            ledger.sync(bc);
+
+            assertThat(ledger.getBalance("A")).isEqualTo(70L);
+            assertThat(ledger.getBalance("B")).isEqualTo(130L);
+            assertThat(ledger.lastAppliedHeight()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("sync() undoes the blocks of the abandoned branch after a reorg of a ForkBlockchain")
+        void withReorg() {
+            ForkBlockchain<MoneyTx> bc = new ForkBlockchain<>(genesis());
+            MoneyLedger ledger = new MoneyLedger();
+            Block<MoneyTx> a1 = child(bc.genesisBlock(), 1, new MoneyTx(1, "A", "C", 40));
+            Block<MoneyTx> a2 = child(a1, 2, new MoneyTx(2, "C", "B", 10));
+            bc.addBlock(a1);
+            bc.addBlock(a2);
+            ledger.sync(bc);
+
+            assertThat(ledger.getBalance("C")).isEqualTo(30L);
+
+            Block<MoneyTx> b1 = child(bc.genesisBlock(), 3, new MoneyTx(3, "B", "D", 5));
+            Block<MoneyTx> b2 = child(b1, 4);
+            Block<MoneyTx> b3 = child(b2, 5, new MoneyTx(5, "D", "A", 5));
+            bc.addBlock(b1);
+            bc.addBlock(b2);
+            bc.addBlock(b3);
+            ledger.sync(bc);
+
+            assertThat(ledger.getBalance("A")).isEqualTo(105L);
+            assertThat(ledger.getBalance("B")).isEqualTo(95L);
+            assertThat(ledger.getBalance("C")).isZero();
+            assertThat(ledger.getBalance("D")).isZero();
+            assertThat(ledger.getNonce("A")).isZero();
+            assertThat(ledger.getNonce("D")).isOne();
+            assertThat(ledger.lastAppliedHeight()).isEqualTo(3L);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.paradise.palmbeach.core.agent;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import lombok.AllArgsConstructor;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -12,17 +12,19 @@ import org.paradise.palmbeach.core.agent.protocol.Protocol;
 import org.paradise.palmbeach.core.environment.Environment;
 import org.paradise.palmbeach.core.event.Event;
 import org.paradise.palmbeach.core.event.EventCatcher;
+import org.paradise.palmbeach.core.scheduler.Rollbackable;
 import org.paradise.palmbeach.core.simulation.configuration.BehaviorConfiguration;
 import org.paradise.palmbeach.core.simulation.configuration.ProtocolConfiguration;
 import org.paradise.palmbeach.core.simulation.configuration.exception.GenerationFailedException;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.utils.context.SimpleContext;
+import org.paradise.palmbeach.utils.reflection.FactoryCache;
 
 import java.io.Serializable;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -41,7 +43,7 @@ import java.util.concurrent.atomic.AtomicReference;
  * </pre>
  */
 @Slf4j
-public class SimpleAgent implements EventCatcher {
+public class SimpleAgent implements EventCatcher, Rollbackable {
 
     // Variables.
 
@@ -54,6 +56,11 @@ public class SimpleAgent implements EventCatcher {
     private final Map<Class<? extends Protocol>, Protocol> protocols;
     private final Map<Class<? extends Behavior>, Behavior> behaviors;
 
+    /**
+     * Index used to find which {@link Protocol}s process an {@link Event}. Rebuilt at each added {@code Protocol}.
+     */
+    private volatile EventDispatchIndex eventDispatchIndex;
+
     private final AtomicReference<AgentState> state;
 
     private final List<AgentObserver> observers;
@@ -77,6 +84,7 @@ public class SimpleAgent implements EventCatcher {
 
         this.protocols = Maps.newConcurrentMap();
         this.behaviors = Maps.newConcurrentMap();
+        this.eventDispatchIndex = new EventDispatchIndex(List.of());
 
         this.state = new AtomicReference<>(AgentState.CREATED);
 
@@ -111,8 +119,7 @@ public class SimpleAgent implements EventCatcher {
      */
     public static SimpleAgent initiateAgent(@NonNull Class<? extends SimpleAgent> agentClass, @NonNull AgentIdentifier identifier, Context context)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<? extends SimpleAgent> constructor = agentClass.getConstructor(AgentIdentifier.class, Context.class);
-        return constructor.newInstance(identifier, context);
+        return FactoryCache.constructor(agentClass, AgentIdentifier.class, Context.class).newInstance(identifier, context);
     }
 
     /**
@@ -273,12 +280,61 @@ public class SimpleAgent implements EventCatcher {
     public void addProtocol(Protocol protocol) {
         if (protocols.putIfAbsent(protocol.getClass(), protocol) == null) {
             // Protocol added
+            rebuildEventDispatchIndex(protocol);
             addObserver(protocol);
             log.info("Protocol " + protocol.getClass().getSimpleName() + " added to the Agent " + identifier);
         } else
             log.info(identifier + " try to add an already added Protocol " + protocol.getClass());
     }
 
+    private synchronized void rebuildEventDispatchIndex(Protocol addedProtocol) {
+        List<Protocol> indexedProtocols = Lists.newArrayList(eventDispatchIndex.protocols);
+        indexedProtocols.add(addedProtocol);
+        eventDispatchIndex = new EventDispatchIndex(indexedProtocols);
+    }
+
+    /**
+     * The snapshot of a {@link SimpleAgent} contains the snapshots of all its {@link Protocol}s, see {@link Protocol#snapshot()}. The {@link
+     * Behavior}s, the context and the state of the {@code SimpleAgent} are not saved, therefore they are not restored by {@link #restore(Object)}.
+     *
+     * @return a snapshot of the state of the {@code SimpleAgent}.
+     */
+    @Override
+    public Object snapshot() {
+        List<Protocol> indexedProtocols = eventDispatchIndex.protocols;
+        Object[] protocolSnapshots = new Object[indexedProtocols.size()];
+        for (int i = 0; i < protocolSnapshots.length; i++) {
+            protocolSnapshots[i] = indexedProtocols.get(i).snapshot();
+        }
+        return new AgentSnapshot(indexedProtocols, protocolSnapshots);
+    }
+
+    /**
+     * Restores all {@link Protocol}s which were in the {@link SimpleAgent} when the snapshot has been taken.
+     *
+     * @param snapshot a snapshot returned by {@link #snapshot()}
+     */
+    @Override
+    public void restore(Object snapshot) {
+        AgentSnapshot agentSnapshot = (AgentSnapshot) snapshot;
+        for (int i = 0; i < agentSnapshot.protocols.size(); i++) {
+            agentSnapshot.protocols.get(i).restore(agentSnapshot.protocolSnapshots[i]);
+        }
+    }
+
+    /**
+     * A {@link SimpleAgent} can be rolled back only if all its {@link Protocol}s can be rolled back, see {@link Protocol#isRollbackable()}.
+     * Otherwise, a {@link org.paradise.palmbeach.core.scheduler.TimeWarpScheduler} processes its {@link Event}s only at the GVT. {@link Behavior}s
+     * and the context of the {@code SimpleAgent} are not saved by {@link #snapshot()}, therefore they must not be modified by the processing of
+     * {@code Events} of a {@code SimpleAgent} executed speculatively.
+     *
+     * @return true if all {@code Protocols} of the {@code SimpleAgent} can be rolled back, else false.
+     */
+    @Override
+    public boolean isRollbackable() {
+        return eventDispatchIndex.rollbackable;
+    }
+
     /**
      * Verify if the {@link SimpleAgent} has already added a {@link Protocol} for the specified class or not.
      *
@@ -413,16 +469,18 @@ public class SimpleAgent implements EventCatcher {
     }
 
     /**
-     * Browses all added {@link Protocol} in the {@link SimpleAgent} and call the method {@link EventCatcher#processEvent(Event)} of each {@code
-     * Protocol} which can be process the {@code Event} (which returns true with the call of the method {@link EventCatcher#canProcessEvent(Event)}).
+     * Calls the method {@link EventCatcher#processEvent(Event)} of each {@link Protocol} which handles the {@code Event} class (see {@link
+     * Protocol#handledEventTypes()}) and of each {@code Protocol} which does not declare its handled {@code Event} types but which can process the
+     * {@code Event} (which returns true with the call of the method {@link EventCatcher#canProcessEvent(Event)}). {@code Protocols} are called in
+     * the order of their adding.
      *
      * @param event the event to process
      */
     private boolean searchProtocolForEvent(Event<?> event) {
         boolean hasBeenProcessed = false;
-        for (Protocol p : protocols.values()) {
-            if (p.canProcessEvent(event)) {
-                p.processEvent(event);
+        for (EventDispatchIndex.Entry entry : eventDispatchIndex.dispatch(event)) {
+            if (entry.canProcessEvent(event)) {
+                entry.protocol().processEvent(event);
                 hasBeenProcessed = true;
             }
         }
@@ -437,8 +495,8 @@ public class SimpleAgent implements EventCatcher {
      */
     @Override
     public boolean canProcessEvent(Event<?> event) {
-        for (Protocol p : protocols.values())
-            if (p.canProcessEvent(event))
+        for (EventDispatchIndex.Entry entry : eventDispatchIndex.dispatch(event))
+            if (entry.canProcessEvent(event))
                 return true;
 
         return false;
@@ -452,6 +510,102 @@ public class SimpleAgent implements EventCatcher {
 
     // Inner classes.
 
+    /**
+     * Snapshot of a {@link SimpleAgent}: the {@link Protocol}s of the agent and their snapshots, in the same order.
+     */
+    private record AgentSnapshot(List<Protocol> protocols, Object[] protocolSnapshots) {
+    }
+
+    /**
+     * Immutable dispatch table from {@link Event} classes to the {@link Protocol}s which can process them. For each {@code Event} class, the table
+     * contains {@code Protocols} which declare handling the class (or a super class of it) and {@code Protocols} which do not declare their handled
+     * {@code Event} types. The entry of an {@code Event} class is computed at the first dispatch of an {@code Event} of this class, then each
+     * dispatch is a single lookup.
+     * <p>
+     * The {@link Protocol#handledEventTypes()} of a {@code Protocol} are ignored if its class overrides {@link Protocol#canProcessEvent(Event)}
+     * after the class which declares them, because they cannot be consistent with the new {@code canProcessEvent(Event)}. Such a {@code Protocol}
+     * is asked with {@code canProcessEvent(Event)} for each {@code Event}, as a {@code Protocol} which does not declare its handled types.
+     */
+    private static final class EventDispatchIndex {
+
+        // Constants.
+
+        /**
+         * True by {@link Protocol} class if its {@link Protocol#handledEventTypes()} are declared in the same class or a subclass of the class which
+         * declares its {@link Protocol#canProcessEvent(Event)}.
+         */
+        private static final Map<Class<?>, Boolean> TRUSTED_HANDLED_EVENT_TYPES = Maps.newConcurrentMap();
+
+        // Variables.
+
+        private final List<Protocol> protocols;
+
+        /**
+         * True if all {@link Protocol}s can be rolled back.
+         */
+        private final boolean rollbackable;
+
+        private final List<Set<Class<? extends Event<?>>>> handledEventTypes;
+
+        private final Map<Class<?>, Entry[]> dispatchTable;
+
+        // Constructors.
+
+        private EventDispatchIndex(List<Protocol> protocols) {
+            this.protocols = List.copyOf(protocols);
+            this.rollbackable = this.protocols.stream().allMatch(Protocol::isRollbackable);
+            this.handledEventTypes = Lists.newArrayList();
+            for (Protocol protocol : this.protocols) {
+                handledEventTypes.add(trustsHandledEventTypes(protocol.getClass()) ? protocol.handledEventTypes() : null);
+            }
+            this.dispatchTable = Maps.newConcurrentMap();
+        }
+
+        // Methods.
+
+        private static boolean trustsHandledEventTypes(Class<? extends Protocol> protocolClass) {
+            return TRUSTED_HANDLED_EVENT_TYPES.computeIfAbsent(protocolClass, type -> {
+                try {
+                    Class<?> handledEventTypesOwner = type.getMethod("handledEventTypes").getDeclaringClass();
+                    Class<?> canProcessEventOwner = type.getMethod("canProcessEvent", Event.class).getDeclaringClass();
+                    return canProcessEventOwner.isAssignableFrom(handledEventTypesOwner);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException("Protocol methods not found in " + type.getName(), e);
+                }
+            });
+        }
+
+        private Entry[] dispatch(Event<?> event) {
+            return dispatchTable.computeIfAbsent(event.getClass(), this::computeDispatch);
+        }
+
+        private Entry[] computeDispatch(Class<?> eventClass) {
+            List<Entry> entries = Lists.newArrayList();
+            for (int i = 0; i < protocols.size(); i++) {
+                Set<Class<? extends Event<?>>> types = handledEventTypes.get(i);
+                if (types == null)
+                    entries.add(new Entry(protocols.get(i), false));
+                else if (types.stream().anyMatch(type -> type.isAssignableFrom(eventClass)))
+                    entries.add(new Entry(protocols.get(i), true));
+            }
+            return entries.toArray(new Entry[0]);
+        }
+
+        // Inner classes.
+
+        /**
+         * @param protocol the protocol
+         * @param declared true if the protocol has declared handling the {@link Event} class, else the protocol must be asked with {@link
+         *                 Protocol#canProcessEvent(Event)}
+         */
+        private record Entry(Protocol protocol, boolean declared) {
+
+            private boolean canProcessEvent(Event<?> event) {
+                return declared || protocol.canProcessEvent(event);
+            }
+        }
+    }
+
     /**
      * Represent the state of a {@link SimpleAgent}.
      * <p>
@@ -467,10 +621,10 @@ public class SimpleAgent implements EventCatcher {
     /**
      * A class to uniquely identify a {@link SimpleAgent}. This is a sort of primary key of {@code SimpleAgent}.
      * <p>
-     * An {@code AgentIdentifier} is just a couple of agentName and a uniqueId.
+     * An {@code AgentIdentifier} is just a couple of agentName and a uniqueId. The uniqueId is also the index of the {@code SimpleAgent} in the
+     * simulation, therefore the hash code of an {@code AgentIdentifier} only depends on its uniqueId.
      */
     @SuppressWarnings("ClassCanBeRecord")
-    @EqualsAndHashCode(callSuper = false)
     @AllArgsConstructor
     public static class AgentIdentifier implements Serializable {
 
@@ -492,6 +646,19 @@ public class SimpleAgent implements EventCatcher {
 
         // Methods.
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AgentIdentifier that = (AgentIdentifier) o;
+            return uniqueId == that.uniqueId && agentName.equals(that.agentName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(uniqueId);
+        }
+
         @Override
         public String toString() {
             return "[" + agentName + ", " + uniqueId + "]";
@@ -499,13 +666,31 @@ public class SimpleAgent implements EventCatcher {
 
         /**
          * Generate the next unique id for a {@link SimpleAgent}. If this method is always used to generate {@code SimpleAgent} identifier unique id,
-         * it is guaranty that each {@code SimpleAgent} will have different id.
+         * it is guaranty that each {@code SimpleAgent} will have different id. Generated ids are dense, they begin at 0 and are incremented by 1.
          *
          * @return the next generated unique id.
          */
         public static long nextId() {
             return currentId.getAndIncrement();
         }
+
+        /**
+         * Reserves a contiguous block of unique ids for {@link SimpleAgent}s. The reserved ids are [firstId, firstId + number[ and are never returned
+         * by {@link #nextId()} or by another reservation. Reserving the ids of a group of {@code SimpleAgents} before generating them makes the id of
+         * each {@code SimpleAgent} independent of the order in which they are generated.
+         *
+         * @param number the number of ids to reserve
+         *
+         * @return the first reserved id.
+         *
+         * @throws IllegalArgumentException if number is less than 0
+         */
+        public static long reserveIds(int number) {
+            if (number < 0)
+                throw new IllegalArgumentException("Cannot reserve a negative number of ids");
+
+            return currentId.getAndAdd(number);
+        }
     }
 
     /**
@@ -4,12 +4,12 @@ import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.core.agent.protocol.Protocol;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.utils.context.SimpleContext;
+import org.paradise.palmbeach.utils.reflection.FactoryCache;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -80,8 +80,7 @@ public abstract class Behavior {
      */
     public static Behavior instantiateBehavior(@NonNull Class<? extends Behavior> behaviorClass, @NonNull SimpleAgent agent, Context context)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<? extends Behavior> behaviorConstructor = behaviorClass.getConstructor(SimpleAgent.class, Context.class);
-        return behaviorConstructor.newInstance(agent, context);
+        return FactoryCache.constructor(behaviorClass, SimpleAgent.class, Context.class).newInstance(agent, context);
     }
 
     /**
@@ -4,12 +4,14 @@ import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.core.agent.protocol.exception.NullDefaultProtocolManipulatorException;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.utils.context.SimpleContext;
+import org.paradise.palmbeach.utils.reflection.FactoryCache;
+import org.paradise.palmbeach.core.event.Event;
 import org.paradise.palmbeach.core.event.EventCatcher;
 import lombok.*;
 import org.paradise.palmbeach.core.agent.behavior.Behavior;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Set;
 
 /**
  * Represents {@code Protocol} that a {@link SimpleAgent} can use.
@@ -85,8 +87,7 @@ public abstract class Protocol implements SimpleAgent.AgentObserver, EventCatche
      */
     public static Protocol instantiateProtocol(@NonNull Class<? extends Protocol> protocolClass, @NonNull SimpleAgent agent, Context context)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<? extends Protocol> protocolConstructor = protocolClass.getConstructor(SimpleAgent.class, Context.class);
-        return protocolConstructor.newInstance(agent, context);
+        return FactoryCache.constructor(protocolClass, SimpleAgent.class, Context.class).newInstance(agent, context);
     }
 
     /**
@@ -98,6 +99,62 @@ public abstract class Protocol implements SimpleAgent.AgentObserver, EventCatche
      */
     protected abstract ProtocolManipulator defaultProtocolManipulator();
 
+    /**
+     * Returns the {@link Event} classes that the {@link Protocol} processes. An {@code Event} whose class is or extends one of the returned classes
+     * is directly given to the {@code Protocol} by the {@link SimpleAgent}, without calling {@link #canProcessEvent(Event)}. Therefore, the
+     * returned classes must be consistent with {@code canProcessEvent(Event)}. The returned set must never change, because the {@code SimpleAgent}
+     * indexes it when the {@code Protocol} is added.
+     * <p>
+     * A subclass which overrides {@code canProcessEvent(Event)} without overriding this method is not bypassed: the {@code SimpleAgent} ignores the
+     * inherited handled classes and calls {@code canProcessEvent(Event)} for each {@code Event}. Such a subclass must also override this method to
+     * be dispatched without calling {@code canProcessEvent(Event)}.
+     * <p>
+     * By default, returns null, which means that the {@code Protocol} does not declare its handled {@code Event} types. In that case, the {@code
+     * SimpleAgent} calls {@code canProcessEvent(Event)} for each {@code Event} it receives.
+     *
+     * @return the set of handled {@code Event} classes, or null if the {@code Protocol} does not declare them.
+     */
+    public Set<Class<? extends Event<?>>> handledEventTypes() {
+        return null;
+    }
+
+    /**
+     * Returns a snapshot of the state of the {@link Protocol}. The {@link SimpleAgent} uses it to restore the {@code Protocol} when an {@link Event}
+     * speculatively processed by a {@link org.paradise.palmbeach.core.scheduler.TimeWarpScheduler} is cancelled. A {@code Protocol} which has a
+     * state modified by the processing of {@code Events} must override this method, {@link #restore(Object)} and {@link #isRollbackable()} to be
+     * speculatively executed by a {@code TimeWarpScheduler}.
+     * <p>
+     * By default, returns null.
+     *
+     * @return a snapshot of the state of the {@code Protocol}, can be null.
+     */
+    public Object snapshot() {
+        return null;
+    }
+
+    /**
+     * Restores the state of the {@link Protocol} saved in the specified snapshot. By default, does nothing.
+     *
+     * @param snapshot a snapshot returned by {@link #snapshot()}
+     */
+    public void restore(Object snapshot) {
+        // Nothing, stateless by default
+    }
+
+    /**
+     * Returns true if {@link #snapshot()} and {@link #restore(Object)} save and restore all the state of the {@link Protocol} modified by the
+     * processing of {@link Event}s. A {@link SimpleAgent} can be speculatively executed by a {@link
+     * org.paradise.palmbeach.core.scheduler.TimeWarpScheduler} only if all its {@code Protocols} return true. A stateless {@code Protocol} can
+     * override this method to return true without overriding {@code snapshot()} and {@code restore(Object)}.
+     * <p>
+     * By default, returns false, rollback is opt-in.
+     *
+     * @return true if the {@code Protocol} can be rolled back, else false.
+     */
+    public boolean isRollbackable() {
+        return false;
+    }
+
     /**
      * Use the method {@link #defaultProtocolManipulator()} to set the {@link ProtocolManipulator} to the default {@code ProtocolManipulator} of the
      * {@link Protocol}.
@@ -1,23 +1,29 @@
 package org.paradise.palmbeach.core.environment;
 
 import org.paradise.palmbeach.core.agent.SimpleAgent;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.utils.context.SimpleContext;
+import org.paradise.palmbeach.utils.reflection.FactoryCache;
 import org.paradise.palmbeach.core.environment.network.Network;
 import org.paradise.palmbeach.core.event.Event;
+import org.paradise.palmbeach.core.scheduler.Scheduler;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents an {@code Environment} where {@link SimpleAgent} are evolving in.
@@ -52,6 +58,19 @@ public class Environment {
     @ToString.Exclude
     private final Set<SimpleAgent.AgentIdentifier> agents;
 
+    /**
+     * Immutable snapshot of {@link #agents} with the {@link #agentsVersion} at which it has been taken, null if it has never been taken. The snapshot
+     * is out of date if its version is not the current {@code agentsVersion}.
+     */
+    @ToString.Exclude
+    private volatile AgentsView agentsView;
+
+    /**
+     * Incremented each time an agent is added or removed.
+     */
+    @ToString.Exclude
+    private final AtomicLong agentsVersion;
+
     private final Map<String, Network> networks;
 
     @ToString.Exclude
@@ -73,6 +92,7 @@ public class Environment {
         this.name = name;
         this.context = context != null ? context : new SimpleContext();
         this.agents = Sets.newConcurrentHashSet();
+        this.agentsVersion = new AtomicLong(0L);
         this.networks = Maps.newHashMap();
         this.observers = new Vector<>();
     }
@@ -91,6 +111,10 @@ public class Environment {
         observers.forEach(o -> o.environmentAddAgent(addedAgent));
     }
 
+    protected synchronized void notifyAgentsAdded(Collection<SimpleAgent.AgentIdentifier> addedAgents) {
+        observers.forEach(o -> o.environmentAddAgents(addedAgents));
+    }
+
     protected synchronized void notifyAgentRemoved(SimpleAgent.AgentIdentifier removedAgent) {
         observers.forEach(o -> o.environmentRemoveAgent(removedAgent));
     }
@@ -114,8 +138,7 @@ public class Environment {
     public static Environment instantiateEnvironment(@NonNull Class<? extends Environment> environmentClass, @NonNull String environmentName,
                                                      Context context)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<? extends Environment> constructor = environmentClass.getConstructor(String.class, Context.class);
-        return constructor.newInstance(environmentName, context);
+        return FactoryCache.constructor(environmentClass, String.class, Context.class).newInstance(environmentName, context);
     }
 
     /**
@@ -128,12 +151,36 @@ public class Environment {
      */
     public boolean addAgent(@NonNull SimpleAgent.AgentIdentifier agent) {
         if (agents.add(agent)) {
+            invalidateAgentsView();
             notifyAgentAdded(agent);
             return true;
         }
         return false;
     }
 
+    /**
+     * Add all agents in the {@link Environment}, as {@link #addAgent(SimpleAgent.AgentIdentifier)} does, but observers are notified only once with
+     * all added agents through {@link EnvironmentObserver#environmentAddAgents(Collection)} and the snapshot of evolving agents is invalidated only
+     * once. Agents already added are ignored.
+     *
+     * @param toAdd the agent identifiers
+     *
+     * @return the number of agents which have been added.
+     */
+    public int addAgents(@NonNull Collection<SimpleAgent.AgentIdentifier> toAdd) {
+        List<SimpleAgent.AgentIdentifier> added = Lists.newArrayListWithCapacity(toAdd.size());
+        for (SimpleAgent.AgentIdentifier agent : toAdd) {
+            if (agents.add(agent))
+                added.add(agent);
+        }
+
+        if (!added.isEmpty()) {
+            invalidateAgentsView();
+            notifyAgentsAdded(Collections.unmodifiableList(added));
+        }
+        return added.size();
+    }
+
     /**
      * Remove the {@link SimpleAgent} of the {@link Environment} only if the {@code SimpleAgent} is evolving in.
      *
@@ -141,6 +188,7 @@ public class Environment {
      */
     public void removeAgent(@NonNull SimpleAgent.AgentIdentifier agent) {
         if (agents.remove(agent)) {
+            invalidateAgentsView();
             notifyAgentRemoved(agent);
         }
     }
@@ -161,6 +209,48 @@ public class Environment {
         return Sets.newHashSet(agents);
     }
 
+    /**
+     * Returns an immutable snapshot of the current set of evolving agents. Contrary to {@link #evolvingAgents()}, the set is not copied at each call,
+     * the same snapshot is returned until an agent is added or removed. Therefore, iterate on it does not allocate anything.
+     *
+     * @return an immutable snapshot of the current set of evolving agent, never returns null.
+     */
+    public Set<SimpleAgent.AgentIdentifier> evolvingAgentsView() {
+        AgentsView view = agentsView;
+        return view != null && view.version == agentsVersion.get() ? view.agents : refreshAgentsView();
+    }
+
+    private synchronized Set<SimpleAgent.AgentIdentifier> refreshAgentsView() {
+        AgentsView view = agentsView;
+        long version = agentsVersion.get();
+        if (view == null || view.version != version) {
+            Set<SimpleAgent.AgentIdentifier> agentsCopy;
+            do {
+                version = agentsVersion.get();
+                agentsCopy = ImmutableSet.copyOf(agents);
+            } while (version != agentsVersion.get());
+            view = new AgentsView(version, agentsCopy);
+            agentsView = view;
+        }
+        return view.agents;
+    }
+
+    /**
+     * Only increments {@link #agentsVersion}, the current {@link #agentsView} is then out of date and is refreshed at the next read. A snapshot
+     * published by a refresh concurrent with a mutation keeps its old version, therefore it is never served after the mutation.
+     */
+    private void invalidateAgentsView() {
+        agentsVersion.incrementAndGet();
+    }
+
+    /**
+     * @return the version of the set of evolving agents, incremented each time an agent is added or removed. Can be used to know if a view or a
+     * structure computed from the evolving agents is out of date.
+     */
+    public long agentsVersion() {
+        return agentsVersion.get();
+    }
+
     /**
      * Add the specified {@link Network} to the {@link Environment}. In {@code Environment}, {@code Network} are mapped by their name . Therefore, if
      * several {@code Network} has the same name, the last {@code Network} added will be taken in account and erase previous added {@code Network}.
@@ -187,12 +277,38 @@ public class Environment {
         return networks.get(networkName);
     }
 
+    /**
+     * @return the min {@link Network#lookahead()} of all {@link Network}s of the {@link Environment}, {@link Scheduler#NEXT_STEP} if the {@code
+     * Environment} has no {@code Network}.
+     */
+    public long lookahead() {
+        long lookahead = Long.MAX_VALUE;
+        for (Network network : networks.values()) {
+            lookahead = Math.min(lookahead, network.lookahead());
+        }
+        return lookahead == Long.MAX_VALUE ? Scheduler.NEXT_STEP : Math.max(lookahead, Scheduler.NEXT_STEP);
+    }
+
     // Inner classes.
 
+    private record AgentsView(long version, Set<SimpleAgent.AgentIdentifier> agents) {
+    }
+
     public interface EnvironmentObserver {
 
         void environmentAddAgent(SimpleAgent.AgentIdentifier addedAgent);
 
+        /**
+         * Called once when several agents are added together with {@link Environment#addAgents(Collection)}. By default, calls {@link
+         * #environmentAddAgent(SimpleAgent.AgentIdentifier)} for each agent in the order of the collection. Observers which can process agents in
+         * bulk should override this method.
+         *
+         * @param addedAgents the added agents
+         */
+        default void environmentAddAgents(Collection<SimpleAgent.AgentIdentifier> addedAgents) {
+            addedAgents.forEach(this::environmentAddAgent);
+        }
+
         void environmentRemoveAgent(SimpleAgent.AgentIdentifier removedAgent);
     }
 }
@@ -4,8 +4,10 @@ import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.core.agent.exception.AgentNotStartedException;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.utils.context.SimpleContext;
+import org.paradise.palmbeach.utils.reflection.FactoryCache;
 import org.paradise.palmbeach.core.environment.Environment;
 import org.paradise.palmbeach.core.event.Event;
+import org.paradise.palmbeach.core.scheduler.Scheduler;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +15,11 @@ import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.paradise.palmbeach.core.simulation.PalmBeachSimulation;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -80,14 +85,17 @@ public abstract class Network implements Environment.EnvironmentObserver {
                                           @NonNull Environment environment,
                                           Context context)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<? extends Network> constructor = networkClass.getConstructor(String.class, Environment.class, Context.class);
-        return constructor.newInstance(networkName, environment, context);
+        return FactoryCache.constructor(networkClass, String.class, Environment.class, Context.class).newInstance(networkName, environment, context);
     }
 
     /**
      * Sends the {@link Event} from the source to the target. First check if from the source, the target is reachable with the method {@link
      * #hasConnection(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier)}. If it is the case, simulate sending with the method {@link
      * #simulateSending(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier, Event)}.
+     * <p>
+     * This method does not lock the {@code Network}, several agents can send concurrently. Therefore, {@link
+     * #hasConnection(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier)} and {@link #simulateSending(SimpleAgent.AgentIdentifier,
+     * SimpleAgent.AgentIdentifier, Event)} must be thread safe.
      *
      * @param source the source agent
      * @param target the target agent
@@ -95,8 +103,7 @@ public abstract class Network implements Environment.EnvironmentObserver {
      *
      * @throws NullPointerException if source, target or event is null
      */
-    public final synchronized void send(@NonNull SimpleAgent.AgentIdentifier source, @NonNull SimpleAgent.AgentIdentifier target,
-                                        @NonNull Event<?> event) {
+    public final void send(@NonNull SimpleAgent.AgentIdentifier source, @NonNull SimpleAgent.AgentIdentifier target, @NonNull Event<?> event) {
         if (PalmBeachSimulation.getAgent(source).isStarted()) {
             if (hasConnection(source, target))
                 simulateSending(source, target, event);
@@ -106,6 +113,35 @@ public abstract class Network implements Environment.EnvironmentObserver {
             throw new AgentNotStartedException("Cannot send Message, Agent " + source + " is not in STARTED state");
     }
 
+    /**
+     * Sends the same {@link Event} from the source to all targets. Targets which are not reachable from the source are ignored as in {@link
+     * #send(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier, Event)}. The sending to reachable targets is simulated with the method {@link
+     * #simulateMulticast(SimpleAgent.AgentIdentifier, List, Event)}, therefore all targets receive the same {@code Event} instance.
+     *
+     * @param source  the source agent
+     * @param targets the target agents
+     * @param event   the event to send
+     *
+     * @throws NullPointerException     if source, targets or event is null
+     * @throws AgentNotStartedException if the source agent is not in STARTED state
+     */
+    public final void multicast(@NonNull SimpleAgent.AgentIdentifier source, @NonNull Collection<SimpleAgent.AgentIdentifier> targets,
+                                @NonNull Event<?> event) {
+        if (PalmBeachSimulation.getAgent(source).isStarted()) {
+            List<SimpleAgent.AgentIdentifier> connectedTargets = new ArrayList<>(targets.size());
+            for (SimpleAgent.AgentIdentifier target : targets) {
+                if (hasConnection(source, target))
+                    connectedTargets.add(target);
+                else
+                    log.debug("Agent source " + source + " is not connected to target " + target + " by the Network " + this);
+            }
+
+            if (!connectedTargets.isEmpty())
+                simulateMulticast(source, connectedTargets, event);
+        } else
+            throw new AgentNotStartedException("Cannot send Message, Agent " + source + " is not in STARTED state");
+    }
+
     /**
      * Verifies if from the source, the target agent is reachable. The order is important and this function is not commutative. It means that if it is
      * true for {@code source -> target}, it can be false for {@code target -> source}.
@@ -130,11 +166,39 @@ public abstract class Network implements Environment.EnvironmentObserver {
      */
     public abstract Set<SimpleAgent.AgentIdentifier> directNeighbors(@NonNull SimpleAgent.AgentIdentifier agent);
 
+    /**
+     * Returns a read only view of the {@link #directNeighbors(SimpleAgent.AgentIdentifier)} of the agent. Contrary to {@code directNeighbors}, the
+     * returned set cannot be modified and subclasses can return the same instance while the {@code Network} does not change, to iterate on the
+     * neighbors without allocation. By default, wraps the result of {@code directNeighbors}.
+     *
+     * @param agent the agent to verify the connection
+     *
+     * @return an unmodifiable set which contains all {@link SimpleAgent.AgentIdentifier} directly connected to the specified agent. The set is never
+     * null and contains at least the specified agent itself.
+     *
+     * @throws NotInNetworkException if the agent is not in network
+     * @throws NullPointerException  if agent is null
+     */
+    public Set<SimpleAgent.AgentIdentifier> neighborsView(@NonNull SimpleAgent.AgentIdentifier agent) {
+        return Collections.unmodifiableSet(directNeighbors(agent));
+    }
+
     /**
      * @return the set of all {@link Connection}, never returns null.
      */
     public abstract Set<Connection> allConnections();
 
+    /**
+     * Returns the min time between the sending of an {@link Event} and its reception. A {@link Scheduler} in conservative mode can execute
+     * concurrently all steps which are in a window of this size. By default, the {@code Network} does not guarantee any delay and returns {@link
+     * Scheduler#NEXT_STEP}.
+     *
+     * @return the lookahead of the {@code Network}, never less than {@link Scheduler#NEXT_STEP}.
+     */
+    public long lookahead() {
+        return Scheduler.NEXT_STEP;
+    }
+
     /**
      * Simulate the sending of the {@link Event} from the source to the target.
      *
@@ -147,6 +211,24 @@ public abstract class Network implements Environment.EnvironmentObserver {
     protected abstract void simulateSending(@NonNull SimpleAgent.AgentIdentifier source, @NonNull SimpleAgent.AgentIdentifier target,
                                             @NonNull Event<?> event);
 
+    /**
+     * Simulate the sending of the {@link Event} from the source to all targets. By default, calls {@link
+     * #simulateSending(SimpleAgent.AgentIdentifier, SimpleAgent.AgentIdentifier, Event)} for each target. Subclasses can override it to batch the
+     * sending.
+     *
+     * @param source  the source agent
+     * @param targets the target agents, all reachable from the source
+     * @param event   the event
+     *
+     * @throws NullPointerException if source, targets or event is null
+     */
+    protected void simulateMulticast(@NonNull SimpleAgent.AgentIdentifier source, @NonNull List<SimpleAgent.AgentIdentifier> targets,
+                                     @NonNull Event<?> event) {
+        for (SimpleAgent.AgentIdentifier target : targets) {
+            simulateSending(source, target, event);
+        }
+    }
+
     // Inner classes.
 
     @ToString
@@ -0,0 +1,42 @@
+package org.paradise.palmbeach.core.scheduler;
+
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+
+/**
+ * Object whose state can be saved and restored. A {@link TimeWarpScheduler} executes speculatively the {@link Executable}s whose lock monitor is a
+ * {@code Rollbackable}. Before each execution, it takes a snapshot of the lock monitor and, if the execution must be cancelled, it restores the
+ * snapshot.
+ * <p>
+ * The snapshot must contain all the state that the execution of an {@code Executable} of this lock monitor can modify. It must not share mutable
+ * objects with the current state. A {@code Rollbackable} which cannot currently guarantee it must return false with {@link #isRollbackable()}, its
+ * {@code Executables} are then executed only at the GVT, as {@code Executables} of lock monitors which are not {@code Rollbackable}.
+ * <p>
+ * The state out of the snapshot is not restored. For example, a {@link org.paradise.palmbeach.core.agent.SimpleAgent} only saves its {@link
+ * org.paradise.palmbeach.core.agent.protocol.Protocol}s: its behaviors and its context keep the modifications done by cancelled executions.
+ */
+public interface Rollbackable {
+
+    /**
+     * @return a snapshot of the current state, can be null if there is no state to save.
+     */
+    Object snapshot();
+
+    /**
+     * Restores the state saved in the specified snapshot.
+     *
+     * @param snapshot a snapshot returned by {@link #snapshot()}
+     */
+    void restore(Object snapshot);
+
+    /**
+     * Returns true if {@link #snapshot()} and {@link #restore(Object)} currently save and restore all the state that an {@link Executable} of this
+     * lock monitor can modify. It is verified before each speculative execution, therefore the value can change during the simulation.
+     * <p>
+     * By default, returns true.
+     *
+     * @return true if the {@code Rollbackable} can be rolled back, else false.
+     */
+    default boolean isRollbackable() {
+        return true;
+    }
+}
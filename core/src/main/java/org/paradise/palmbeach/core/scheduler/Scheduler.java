@@ -10,6 +10,8 @@ import org.paradise.palmbeach.core.scheduler.executor.Executable;
 import org.paradise.palmbeach.core.scheduler.executor.Executor;
 import org.paradise.palmbeach.core.scheduler.executor.exception.NotInExecutorContextException;
 
+import java.util.Collection;
+
 /**
  * Schedules {@link Executable}s. It is the heart of the Simulation, it manages which {@code Executable} must be executed and when.
  */
@@ -67,6 +69,24 @@ public interface Scheduler {
      */
     void scheduleAtTime(@NonNull Executable executable, long time);
 
+    /**
+     * Schedules all specified {@link Executable}s to be executed at the specified time, in the iteration order of the collection. By default, calls
+     * {@link #scheduleAtTime(Executable, long)} for each {@code Executable}, implementations can override it to schedule all {@code Executables} in
+     * one operation.
+     *
+     * @param executables the executables to schedule
+     * @param time        the time when executables must be executed
+     *
+     * @throws NullPointerException          if executables is null or contains null
+     * @throws IllegalArgumentException      if time is less than {@link #NEXT_STEP}
+     * @throws ImpossibleSchedulingException if the {@code Scheduler} is not in a correct state to schedule {@code Executables}
+     */
+    default void scheduleAllAtTime(@NonNull Collection<? extends Executable> executables, long time) {
+        for (Executable executable : executables) {
+            scheduleAtTime(executable, time);
+        }
+    }
+
     /**
      * Schedules the specified {@link Executable} in function of the specified parameter. This method is the general method of a {@link Scheduler}.
      * However, it is recommended to use the following methods which are more specific:
@@ -196,6 +216,19 @@ public interface Scheduler {
         return getCurrentTime() > getMaxDuration() || isKilled();
     }
 
+    /**
+     * Returns true if the {@link Scheduler} can execute an {@link Executable} before the execution of all {@code Executables} scheduled before it and
+     * then cancel the execution, as a {@link TimeWarpScheduler}. The cancellation also cancels all {@code Executables} scheduled by the cancelled
+     * execution, therefore an {@code Executable} must not be modified after its scheduling, it would be cancelled as a whole.
+     * <p>
+     * By default, returns false.
+     *
+     * @return true if executions of {@code Executables} can be cancelled, else false.
+     */
+    default boolean isOptimistic() {
+        return false;
+    }
+
     // Inner classes.
 
     /**
@@ -1,6 +1,5 @@
 package org.paradise.palmbeach.core.scheduler;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -13,19 +12,33 @@ import org.paradise.palmbeach.core.scheduler.exception.ForcedWakeUpException;
 import org.paradise.palmbeach.core.scheduler.exception.ImpossibleSchedulingException;
 import org.paradise.palmbeach.core.scheduler.executor.Executable;
 import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.store.ExecutableStore;
+import org.paradise.palmbeach.core.scheduler.store.TimingWheelExecutableStore;
 
-import java.util.Deque;
-import java.util.Map;
+import java.util.Collection;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 import static org.paradise.palmbeach.utils.validation.Validate.min;
 
 /**
  * Discrete time {@link Scheduler}. Time use is not real time but "time step". When a step is finish, the scheduler pass directly to the next step
  * without waiting any time.
+ * <p>
+ * Scheduled {@link Executable}s are kept in an {@link ExecutableStore}. By default, a {@link TimingWheelExecutableStore} is used.
+ * <p>
+ * By default, the {@code SimpleScheduler} waits the end of all {@code Executables} of a step before executing the next step. In the
+ * <strong>conservative mode</strong> (see {@link #SimpleScheduler(long, Executor, ExecutableStore, LongSupplier)}), the {@code SimpleScheduler} uses
+ * a lookahead {@code L}: an {@code Executable} executed at the time {@code t} never schedules an {@code Executable} before {@code t + L} (for
+ * example, a {@code Network} which cannot deliver a message before a min delay). Therefore, the step {@code t} can be executed as soon as all
+ * {@code Executables} of times lower or equal to {@code t - L} are finished, concurrently with {@code Executables} of the other steps of the window.
+ * Each {@code Executable} sees its own step time with {@link #getCurrentTime()}. {@code Executables} of a same lock monitor are given to the {@link
+ * Executor} in the order of their time. A step which contains an {@code Executable} without lock monitor is executed alone, as a barrier, because
+ * nothing is known about what it modifies.
  */
 @ToString
 @Slf4j
@@ -33,16 +46,31 @@ public class SimpleScheduler implements Scheduler {
 
     // Variables.
 
-    private long currentTime = 0L;
+    /**
+     * In conservative mode, the time of the last step given to the {@link Executor}.
+     */
+    private volatile long currentTime = 0L;
     private final long maxDuration;
 
+    /**
+     * Lookahead of the conservative mode, null if the {@link SimpleScheduler} is not in conservative mode.
+     */
+    @ToString.Exclude
+    private final LongSupplier lookahead;
+
+    /**
+     * In conservative mode, the time of the step of the {@link Executable} executed by the current thread.
+     */
+    @ToString.Exclude
+    private final ThreadLocal<Long> executionTime;
+
     private final AtomicReference<SchedulerState> state;
 
     @NonNull
     private final Executor executor;
 
     @ToString.Exclude
-    private final Map<Long, Deque<Executable>> executables;
+    private final ExecutableStore executables;
 
     @ToString.Exclude
     private final Set<SchedulerObserver> observers;
@@ -53,13 +81,50 @@ public class SimpleScheduler implements Scheduler {
     // Constructors.
 
     public SimpleScheduler(long maxDuration, @NonNull Executor executor) {
+        this(maxDuration, executor, new TimingWheelExecutableStore());
+    }
+
+    /**
+     * @param maxDuration the max time that the scheduler can reach
+     * @param executor    the executor which executes scheduled executables
+     * @param executables the store in which scheduled executables wait their execution time
+     *
+     * @throws IllegalArgumentException if maxDuration is less than 1
+     * @throws NullPointerException     if executor or executables is null
+     */
+    public SimpleScheduler(long maxDuration, @NonNull Executor executor, @NonNull ExecutableStore executables) {
+        this(maxDuration, executor, executables, null);
+    }
+
+    /**
+     * Constructs a {@link SimpleScheduler} in conservative mode. The lookahead is asked each time the {@code SimpleScheduler} tries to execute new
+     * steps. A lookahead less than {@link #NEXT_STEP} is considered as {@code NEXT_STEP}, in other words as the default mode.
+     * <p>
+     * The lookahead must be respected by all scheduled {@link Executable}s. If an {@code Executable} is scheduled at a time already given to the
+     * {@link Executor}, it is executed as soon as possible and a warning is logged.
+     * <p>
+     * The {@code Executor} must execute {@code Executables} of a same lock monitor one by one in the order of {@link Executor#execute(Executable)}
+     * calls, like the {@link org.paradise.palmbeach.core.scheduler.executor.mailbox.MailboxExecutor}. Else, the time order of {@code Executables}
+     * of a same lock monitor is not guaranteed.
+     *
+     * @param maxDuration the max time that the scheduler can reach
+     * @param executor    the executor which executes scheduled executables
+     * @param executables the store in which scheduled executables wait their execution time
+     * @param lookahead   the min time between the time of an executable and the time of the executables that it schedules
+     *
+     * @throws IllegalArgumentException if maxDuration is less than 1
+     * @throws NullPointerException     if executor or executables is null
+     */
+    public SimpleScheduler(long maxDuration, @NonNull Executor executor, @NonNull ExecutableStore executables, LongSupplier lookahead) {
         min(maxDuration, 1, "MaxDuration Scheduler must be greater than 0, current = " + maxDuration);
         this.maxDuration = maxDuration;
         this.executor = executor;
         this.state = new AtomicReference<>(SchedulerState.CREATED);
-        this.executables = Maps.newConcurrentMap();
+        this.executables = executables;
         this.observers = Sets.newConcurrentHashSet();
-        this.stepWatcher = new StepWatcher();
+        this.lookahead = lookahead;
+        this.executionTime = new ThreadLocal<>();
+        this.stepWatcher = lookahead != null ? new ConservativeStepWatcher() : new StepWatcher();
         log.info("Scheduler CREATED");
     }
 
@@ -70,7 +135,8 @@ public class SimpleScheduler implements Scheduler {
         if (state.compareAndSet(SchedulerState.CREATED, SchedulerState.STARTED)) {
             // Instructions order important
             log.info("Scheduler STARTED");
-            executeNextStep();
+            if (!isConservative())
+                executeNextStep();
             stepWatcher.start();
             notifySchedulerStarted();
         } else
@@ -78,17 +144,15 @@ public class SimpleScheduler implements Scheduler {
     }
 
     private void executeNextStep() {
-        TreeSet<Long> sortedScheduledTimes = Sets.newTreeSet(executables.keySet());
-        if (sortedScheduledTimes.isEmpty()) {
+        ExecutableStore.Step step = executables.pollNextStep();
+        if (step == null) {
             log.info("No executables to executes");
             endByNoExecutable();
         } else {
-            currentTime = sortedScheduledTimes.first();
+            currentTime = step.time();
             if (!isEnded()) {
                 log.info("New step -> current time = {}", currentTime);
-                Deque<Executable> execDeque = executables.get(currentTime);
-                executables.remove(currentTime);
-                execDeque.forEach(executor::execute);
+                step.executables().forEach(executor::execute);
             } else {
                 log.debug("End reach");
                 notifySchedulerReachEnd();
@@ -97,6 +161,13 @@ public class SimpleScheduler implements Scheduler {
         }
     }
 
+    /**
+     * @return true if the {@link SimpleScheduler} is in conservative mode, else false.
+     */
+    public boolean isConservative() {
+        return lookahead != null;
+    }
+
     private void endByNoExecutable() {
         if (!isKilled()) {
             notifySchedulerHasNoExecutable();
@@ -136,12 +207,27 @@ public class SimpleScheduler implements Scheduler {
     public void scheduleAtTime(@NonNull Executable executable, long time) {
         min(time, getCurrentTime() + 1, "ScheduleTime " + time + " already passed, currentTime = " + getCurrentTime());
 
-        if (!isKilled())
-            executables.computeIfAbsent(time, k -> new ConcurrentLinkedDeque<>()).offer(executable);
+        if (!isKilled()) {
+            if (isConservative() && time <= currentTime)
+                log.warn("Lookahead not respected, Executable scheduled at {} whereas the step {} has already been executed", time, currentTime);
+            executables.add(time, executable);
+        }
         else
             throw new ImpossibleSchedulingException("Scheduler not in correct state to schedule Executable, state = " + state);
     }
 
+    @Override
+    public void scheduleAllAtTime(@NonNull Collection<? extends Executable> executables, long time) {
+        min(time, getCurrentTime() + 1, "ScheduleTime " + time + " already passed, currentTime = " + getCurrentTime());
+
+        if (!isKilled()) {
+            if (isConservative() && time <= currentTime)
+                log.warn("Lookahead not respected, Executables scheduled at {} whereas the step {} has already been executed", time, currentTime);
+            this.executables.addAll(time, executables);
+        } else
+            throw new ImpossibleSchedulingException("Scheduler not in correct state to schedule Executable, state = " + state);
+    }
+
     @Override
     public void scheduleExecutable(@NonNull Executable executable, long waitingTime, @NonNull ScheduleMode scheduleMode, long nbRepetitions,
                                    long executionTimeStep) {
@@ -175,7 +261,40 @@ public class SimpleScheduler implements Scheduler {
     public void await(@NonNull Executor.Condition condition) throws ForcedWakeUpException {
         Executor.ExecutorThread executorThread = executor.getCurrentExecutorThread();
         condition.prepare(executorThread);
-        executorThreadWait(executorThread);
+
+        Long time = isConservative() ? executionTime.get() : null;
+        if (time != null)
+            conservativeWait(executorThread, condition, time);
+        else
+            executorThreadWait(executorThread);
+    }
+
+    /**
+     * While the {@link Executable} waits, it does not prevent the window to move forward. When it is woken up, it takes the time of the {@code
+     * Executable} which has woken up it, or keeps its own time if the waker is behind it, because its time cannot go backwards.
+     */
+    private void conservativeWait(Executor.ExecutorThread executorThread, Executor.Condition condition, long time) throws ForcedWakeUpException {
+        ConservativeStepWatcher conservativeStepWatcher = (ConservativeStepWatcher) stepWatcher;
+        conservativeStepWatcher.complete(time);
+        try {
+            executorThreadWait(executorThread);
+        } finally {
+            long wakeUpTime;
+            if (condition instanceof TimedCondition timedCondition && timedCondition.wakeUpTime != TimedCondition.NOT_WOKEN_UP) {
+                wakeUpTime = timedCondition.wakeUpTime;
+                timedCondition.wakeUpTime = TimedCondition.NOT_WOKEN_UP;
+                if (wakeUpTime < time) {
+                    // The waker has counted the woken up Executable at its time, registers before completing to never release the window
+                    conservativeStepWatcher.register(time);
+                    conservativeStepWatcher.complete(wakeUpTime);
+                    wakeUpTime = time;
+                }
+            } else {
+                wakeUpTime = currentTime;
+                conservativeStepWatcher.register(wakeUpTime);
+            }
+            executionTime.set(wakeUpTime);
+        }
     }
 
     private void executorThreadWait(Executor.ExecutorThread executorThread) throws ForcedWakeUpException {
@@ -197,11 +316,21 @@ public class SimpleScheduler implements Scheduler {
 
     @Override
     public Executor.Condition generateCondition() {
-        return executor.generateCondition();
+        return isConservative() ? new TimedCondition() : executor.generateCondition();
     }
 
+    /**
+     * In conservative mode, if the current thread is executing an {@link Executable}, returns the time of the step of the {@code Executable}.
+     *
+     * @return the current time.
+     */
     @Override
     public long getCurrentTime() {
+        if (isConservative()) {
+            Long time = executionTime.get();
+            if (time != null)
+                return time;
+        }
         return currentTime;
     }
 
@@ -259,19 +388,25 @@ public class SimpleScheduler implements Scheduler {
             log.info("Start of StepWatcher");
             while (!killed) {
                 try {
-                    if (!executor.awaitQuiescence())
-                        continue;
+                    nextStep();
                 } catch (InterruptedException e) {
                     interrupt();
                     killed = true;
                 }
-
-                if (!killed)
-                    scheduler.executeNextStep();
             }
             log.info("End of StepWatcher");
         }
 
+        /**
+         * Waits the end of the current step and executes the next step.
+         *
+         * @throws InterruptedException if the thread is interrupted during the wait
+         */
+        protected void nextStep() throws InterruptedException {
+            if (executor.awaitQuiescence() && !killed)
+                scheduler.executeNextStep();
+        }
+
         public void kill() {
             killed = true;
             log.info("StepWatcher KILLED");
@@ -279,6 +414,222 @@ public class SimpleScheduler implements Scheduler {
         }
     }
 
+    private enum WindowState {
+        WAITING, NO_EXECUTABLE, END_REACHED
+    }
+
+    /**
+     * {@link StepWatcher} of the conservative mode. Instead of waiting the end of each step, it counts the {@code Executables} which are not finished
+     * for each step time and gives to the {@link Executor} all steps of the window {@code [t, t + lookahead)} where {@code t} is the lowest time
+     * which has not finished {@code Executables}.
+     */
+    private class ConservativeStepWatcher extends StepWatcher {
+
+        // Variables.
+
+        private final Lock lock = new ReentrantLock();
+        private final java.util.concurrent.locks.Condition progress = lock.newCondition();
+
+        /**
+         * Number of given to the {@link Executor} and not finished {@link Executable}s for each step time. Waiting {@code Executables} are not
+         * counted.
+         */
+        private final TreeMap<Long, Long> unfinished = new TreeMap<>();
+
+        /**
+         * True if a step executed alone is in execution.
+         */
+        private boolean barrier = false;
+
+        /**
+         * Barrier step which waits the end of all other steps.
+         */
+        private ExecutableStore.Step heldStep = null;
+
+        // Methods.
+
+        @Override
+        protected void nextStep() throws InterruptedException {
+            WindowState windowState;
+            try {
+                lock.lock();
+                windowState = advanceWindow();
+                if (windowState == WindowState.WAITING)
+                    progress.await();
+            } finally {
+                lock.unlock();
+            }
+
+            switch (windowState) {
+                case NO_EXECUTABLE -> SimpleScheduler.this.endByNoExecutable();
+                case END_REACHED -> {
+                    log.debug("End reach");
+                    SimpleScheduler.this.notifySchedulerReachEnd();
+                    SimpleScheduler.this.kill();
+                }
+                default -> {
+                    // Nothing
+                }
+            }
+        }
+
+        private WindowState advanceWindow() {
+            long windowSize = Math.max(NEXT_STEP, lookahead.getAsLong());
+            while (!barrier) {
+                long nextTime = heldStep != null ? heldStep.time() : executables.nextTime();
+                if (nextTime == ExecutableStore.NO_TIME)
+                    return unfinished.isEmpty() ? WindowState.NO_EXECUTABLE : WindowState.WAITING;
+
+                if (nextTime > maxDuration) {
+                    if (!unfinished.isEmpty())
+                        return WindowState.WAITING;
+                    currentTime = nextTime;
+                    return WindowState.END_REACHED;
+                }
+
+                if (!unfinished.isEmpty() && nextTime - unfinished.firstKey() >= windowSize)
+                    return WindowState.WAITING;
+
+                ExecutableStore.Step step = heldStep != null ? heldStep : executables.pollNextStep();
+                heldStep = null;
+                if (step != null) {
+                    if (isBarrierStep(step)) {
+                        if (!unfinished.isEmpty()) {
+                            heldStep = step;
+                            return WindowState.WAITING;
+                        }
+                        barrier = true;
+                    }
+                    dispatch(step);
+                }
+            }
+            return WindowState.WAITING;
+        }
+
+        private boolean isBarrierStep(ExecutableStore.Step step) {
+            for (Executable executable : step.executables()) {
+                if (executable.getLockMonitor() == null)
+                    return true;
+            }
+            return false;
+        }
+
+        private void dispatch(ExecutableStore.Step step) {
+            if (step.time() > currentTime) {
+                currentTime = step.time();
+                log.info("New step -> current time = {}", currentTime);
+            }
+
+            unfinished.merge(step.time(), (long) step.executables().size(), Long::sum);
+            for (Executable executable : step.executables()) {
+                executor.execute(new TimedExecutable(step.time(), executable));
+            }
+        }
+
+        /**
+         * Counts a new not finished {@link Executable} for the specified time.
+         *
+         * @param time the time of the executable
+         */
+        private void register(long time) {
+            try {
+                lock.lock();
+                unfinished.merge(time, 1L, Long::sum);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Counts the end of an {@link Executable} of the specified time.
+         *
+         * @param time the time of the executable
+         */
+        private void complete(long time) {
+            try {
+                lock.lock();
+                Long remaining = unfinished.computeIfPresent(time, (t, counter) -> counter > 1L ? counter - 1L : null);
+                if (remaining == null) {
+                    if (unfinished.isEmpty())
+                        barrier = false;
+                    progress.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * {@link Executable} given to the {@link Executor} in conservative mode. Sets the time of the step as time of the current thread during the
+     * execution and counts the end of the execution.
+     */
+    private class TimedExecutable implements Executable {
+
+        // Variables.
+
+        private final long time;
+        private final Executable executable;
+
+        // Constructors.
+
+        private TimedExecutable(long time, Executable executable) {
+            this.time = time;
+            this.executable = executable;
+        }
+
+        // Methods.
+
+        @Override
+        public void execute() throws Exception {
+            executionTime.set(time);
+            try {
+                executable.execute();
+            } finally {
+                long endTime = executionTime.get();
+                executionTime.remove();
+                ((ConservativeStepWatcher) stepWatcher).complete(endTime);
+            }
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return executable.getLockMonitor();
+        }
+    }
+
+    /**
+     * {@link Executor.Condition} generated in conservative mode. When it wakes up an {@link Executable}, the woken up {@code Executable} is counted
+     * as not finished at the time of the waker, before the waker can finish its own execution.
+     */
+    private class TimedCondition extends Executor.Condition {
+
+        // Constants.
+
+        private static final long NOT_WOKEN_UP = -1L;
+
+        // Variables.
+
+        private volatile long wakeUpTime = NOT_WOKEN_UP;
+
+        // Methods.
+
+        @Override
+        public void wakeup() {
+            long time = getCurrentTime();
+            ConservativeStepWatcher conservativeStepWatcher = (ConservativeStepWatcher) stepWatcher;
+            conservativeStepWatcher.register(time);
+            wakeUpTime = time;
+            try {
+                super.wakeup();
+            } catch (RuntimeException e) {
+                wakeUpTime = NOT_WOKEN_UP;
+                conservativeStepWatcher.complete(time);
+                throw e;
+            }
+        }
+    }
+
     /**
      * Used to wake up {@link Executable} which is waiting with the method {@link #await(Executor.Condition, long)}. This {@code Executable} is
      * schedule to be executed at the specified timeout specified during the call of the wait and call {@link Executor.Condition#wakeup()}.
@@ -0,0 +1,924 @@
+package org.paradise.palmbeach.core.scheduler;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.paradise.palmbeach.core.scheduler.exception.CannotKillSchedulerException;
+import org.paradise.palmbeach.core.scheduler.exception.CannotStartSchedulerException;
+import org.paradise.palmbeach.core.scheduler.exception.ImpossibleSchedulingException;
+import org.paradise.palmbeach.core.scheduler.exception.NotPreparedConditionException;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.executor.exception.NotInExecutorContextException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.paradise.palmbeach.utils.validation.Validate.min;
+
+/**
+ * Optimistic (Time Warp) discrete time {@link Scheduler}. Contrary to the {@link SimpleScheduler}, the {@code TimeWarpScheduler} does not wait the end
+ * of a step to execute the next steps.
+ * <p>
+ * Each lock monitor of scheduled {@link Executable}s is a logical process which executes its {@code Executables} in the order of their times. If the
+ * lock monitor is {@link Rollbackable} and {@link Rollbackable#isRollbackable()} returns true, the logical process executes speculatively its {@code
+ * Executables} whose time is less than the global virtual time (GVT) plus the optimism window, whatever the other logical processes. The GVT is the
+ * min time of the not yet executed {@code Executables}, no {@code Executable} can be scheduled before it. Before each speculative execution, the lock
+ * monitor is saved with {@link Rollbackable#snapshot()}. If an {@code Executable} is scheduled for a logical process at a time before already
+ * executed {@code Executables} (a straggler), the logical process is rolled back: its lock monitor is restored, the {@code Executables} scheduled by
+ * the cancelled executions are cancelled (anti-messages) and the cancelled {@code Executables} are executed again after the straggler. Each time the
+ * GVT moves forward, the history older than the GVT of all logical processes is released because it is never rolled back.
+ * <p>
+ * {@code Executables} without lock monitor or whose lock monitor is not {@code Rollbackable} (or is a {@code Rollbackable} whose {@code
+ * isRollbackable()} returns false) cannot be rolled back, they are executed only when their time is the GVT. The cancelled executions must not have
+ * effects out of their lock monitor state and the {@code Executables} that they scheduled.
+ * <p>
+ * A speculatively executed {@code Executable} does not block its thread in {@link #await(Executor.Condition)}: its execution is rolled back and
+ * the {@code Executable} is executed again from its beginning when the {@link Executor.Condition} is woken up or when the timeout is reached, at the
+ * time of the waker if it is after its own time. In this new execution, the first call to {@code await()} returns immediately as if the thread had
+ * been woken up. Therefore, the {@code Executable} must reach its wait again in the same way and check again its waiting condition, as after a
+ * spurious wake up. A wake up done by an execution which is later rolled back is not cancelled, it is also a spurious wake up. {@code Executables}
+ * which cannot be rolled back cannot wait.
+ */
+@Slf4j
+@ToString
+public class TimeWarpScheduler implements Scheduler {
+
+    // Constants.
+
+    public static final long DEFAULT_OPTIMISM_WINDOW = 100L;
+
+    // Variables.
+
+    @ToString.Exclude
+    private final AtomicReference<SchedulerState> state;
+
+    @NonNull
+    @ToString.Exclude
+    private final Executor executor;
+
+    @Getter
+    private final long maxDuration;
+
+    /**
+     * Max distance between the GVT and the time of a speculatively executed {@link Executable}.
+     */
+    @Getter
+    private final long optimismWindow;
+
+    /**
+     * GVT, the time before which no {@link Executable} can be rolled back.
+     */
+    private volatile long currentTime = 0L;
+
+    @ToString.Exclude
+    private final Lock lock = new ReentrantLock();
+
+    @ToString.Exclude
+    private final Condition progress = lock.newCondition();
+
+    /**
+     * All not finished {@link TimeWarpEvent}s, pending or in execution. The first is the GVT.
+     */
+    @ToString.Exclude
+    private final TreeSet<TimeWarpEvent> unfinished;
+
+    /**
+     * Pending {@link TimeWarpEvent}s without lock monitor.
+     */
+    @ToString.Exclude
+    private final TreeSet<TimeWarpEvent> withoutLockMonitor;
+
+    @ToString.Exclude
+    private final Map<Object, LogicalProcess> processes;
+
+    /**
+     * {@link LogicalProcess}es not in execution which have pending {@link TimeWarpEvent}s, sorted by their next event.
+     */
+    @ToString.Exclude
+    private final TreeSet<LogicalProcess> readyProcesses;
+
+    /**
+     * {@link LogicalProcess}es with a not empty history, the only ones whose history must be released when the GVT moves forward.
+     */
+    @ToString.Exclude
+    private final Set<LogicalProcess> withHistory;
+
+    @ToString.Exclude
+    private final ThreadLocal<TimeWarpEvent> currentEvent;
+
+    private long sequence = 0L;
+
+    /**
+     * Number of rolled back {@link Executable} executions.
+     */
+    @Getter
+    private long rollbackNumber = 0L;
+
+    @ToString.Exclude
+    private final Set<SchedulerObserver> observers;
+
+    @ToString.Exclude
+    private final Dispatcher dispatcher;
+
+    // Constructors.
+
+    public TimeWarpScheduler(long maxDuration, @NonNull Executor executor) {
+        this(maxDuration, executor, DEFAULT_OPTIMISM_WINDOW);
+    }
+
+    /**
+     * @param maxDuration    the max time that the scheduler can reach
+     * @param executor       the executor which executes scheduled executables
+     * @param optimismWindow the max distance between the GVT and the time of a speculatively executed executable
+     *
+     * @throws IllegalArgumentException if maxDuration or optimismWindow is less than 1
+     * @throws NullPointerException     if executor is null
+     */
+    public TimeWarpScheduler(long maxDuration, @NonNull Executor executor, long optimismWindow) {
+        min(maxDuration, 1, "MaxDuration Scheduler must be greater than 0, current = " + maxDuration);
+        min(optimismWindow, 1, "OptimismWindow must be greater than 0, current = " + optimismWindow);
+        this.maxDuration = maxDuration;
+        this.optimismWindow = optimismWindow;
+        this.executor = executor;
+        this.state = new AtomicReference<>(SchedulerState.CREATED);
+        this.unfinished = new TreeSet<>();
+        this.withoutLockMonitor = new TreeSet<>();
+        this.processes = Maps.newHashMap();
+        this.readyProcesses = new TreeSet<>(Comparator.comparing(LogicalProcess::nextEvent));
+        this.withHistory = Sets.newHashSet();
+        this.currentEvent = new ThreadLocal<>();
+        this.observers = Sets.newConcurrentHashSet();
+        this.dispatcher = new Dispatcher();
+        log.info("TimeWarpScheduler CREATED");
+    }
+
+    // Methods.
+
+    @Override
+    public void start() {
+        if (state.compareAndSet(SchedulerState.CREATED, SchedulerState.STARTED)) {
+            log.info("TimeWarpScheduler STARTED");
+            dispatcher.start();
+            notifySchedulerStarted();
+        } else
+            throw new CannotStartSchedulerException("Scheduler is not in the correct state to be started. Current state " + state);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return state.get().equals(SchedulerState.STARTED);
+    }
+
+    @Override
+    public void kill() {
+        if (state.compareAndSet(SchedulerState.STARTED, SchedulerState.KILLED)) {
+            // Instructions order important
+            log.info("TimeWarpScheduler KILLED");
+            dispatcher.kill();
+            executor.shutdown();
+            clear();
+            notifySchedulerKilled();
+        } else
+            throw new CannotKillSchedulerException("Scheduler is not in the correct state to be killed. Current state " + state);
+    }
+
+    private void clear() {
+        try {
+            lock.lock();
+            unfinished.clear();
+            withoutLockMonitor.clear();
+            readyProcesses.clear();
+            withHistory.clear();
+            processes.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isKilled() {
+        return state.get().equals(SchedulerState.KILLED);
+    }
+
+    @Override
+    public boolean addSchedulerObserver(@NonNull SchedulerObserver observer) {
+        return observers.add(observer);
+    }
+
+    @Override
+    public void scheduleAtTime(@NonNull Executable executable, long time) {
+        min(time, getCurrentTime() + 1, "ScheduleTime " + time + " already passed, currentTime = " + getCurrentTime());
+
+        if (!isKilled()) {
+            try {
+                lock.lock();
+                TimeWarpEvent event = new TimeWarpEvent(time, sequence++, executable);
+                TimeWarpEvent parent = currentEvent.get();
+                // Only speculative executions can be rolled back and therefore cancel what they have scheduled.
+                if (parent != null && parent.speculative)
+                    parent.scheduled.add(event);
+                insert(event);
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        } else
+            throw new ImpossibleSchedulingException("Scheduler not in correct state to schedule Executable, state = " + state);
+    }
+
+    @Override
+    public void scheduleExecutable(@NonNull Executable executable, long waitingTime, @NonNull ScheduleMode scheduleMode, long nbRepetitions,
+                                   long executionTimeStep) {
+        switch (scheduleMode) {
+            case ONCE -> {
+                min(waitingTime, 1, "WaitingTime must be greater than 0");
+                scheduleAtTime(executable, getCurrentTime() + waitingTime);
+            }
+            case REPEATEDLY -> {
+                min(nbRepetitions, 1, "NbRepetitions must be greater than 0");
+                min(executionTimeStep, 1, "ExecutionTimeStep must be greater than 0");
+                scheduleAtTime(new RepeatedExecutable(this, executable, nbRepetitions, executionTimeStep), getCurrentTime() + waitingTime);
+            }
+            case INFINITELY -> {
+                min(executionTimeStep, 1, "ExecutionTimeStep must be greater than 0");
+                scheduleAtTime(new RepeatedExecutable(this, executable, -1L, executionTimeStep), getCurrentTime() + waitingTime);
+            }
+        }
+    }
+
+    /**
+     * Rolls back the execution of the current {@link Executable}, which is executed again from its beginning when the condition is woken up. This
+     * method never returns normally, the execution is stopped, except for the first call of an execution done after a wake up.
+     *
+     * @param condition the wake-up condition, generated by {@link #generateCondition()}
+     *
+     * @throws NotInExecutorContextException if the current thread is not executing an {@code Executable} of this scheduler
+     * @throws IllegalArgumentException      if the condition has not been generated by this scheduler
+     * @throws UnsupportedOperationException if the execution of the current {@code Executable} cannot be rolled back
+     */
+    @Override
+    public void await(@NonNull Executor.Condition condition) {
+        await(condition, -1L);
+    }
+
+    /**
+     * Same as {@link #await(Executor.Condition)}, but the {@link Executable} is also executed again at the current time plus the timeout if the
+     * condition has not been woken up before.
+     *
+     * @throws IllegalArgumentException if the timeout is less than 1
+     */
+    @Override
+    public void await(@NonNull Executor.Condition condition, long timeout) {
+        if (timeout != -1L)
+            min(timeout, 1, "Timeout must be greater or equal to 1");
+
+        TimeWarpEvent event = currentEvent.get();
+        if (event == null)
+            throw new NotInExecutorContextException();
+        if (!(condition instanceof TimeWarpCondition timeWarpCondition) || timeWarpCondition.scheduler() != this)
+            throw new IllegalArgumentException("Condition not generated by this TimeWarpScheduler");
+        if (!event.speculative)
+            throw new UnsupportedOperationException("Only Executables of a Rollbackable lock monitor can wait in a TimeWarpScheduler");
+        if (event.awaitReturns) {
+            event.awaitReturns = false;
+            return;
+        }
+
+        throw new Suspension(timeWarpCondition, timeout);
+    }
+
+    @Override
+    public Executor.Condition generateCondition() {
+        return new TimeWarpCondition();
+    }
+
+    /**
+     * If the current thread is executing an {@link Executable}, returns the time of the {@code Executable}, else returns the GVT.
+     *
+     * @return the current time.
+     */
+    @Override
+    public long getCurrentTime() {
+        TimeWarpEvent event = currentEvent.get();
+        return event != null ? event.time : currentTime;
+    }
+
+    /**
+     * @return true, executions of {@link Executable}s of {@link Rollbackable} lock monitors can be rolled back.
+     */
+    @Override
+    public boolean isOptimistic() {
+        return true;
+    }
+
+    private void insert(TimeWarpEvent event) {
+        event.state = EventState.PENDING;
+        unfinished.add(event);
+
+        Object lockMonitor = event.executable.getLockMonitor();
+        if (lockMonitor == null) {
+            withoutLockMonitor.add(event);
+        } else {
+            LogicalProcess process = processes.computeIfAbsent(lockMonitor, LogicalProcess::new);
+            event.process = process;
+            removeReady(process);
+            process.pending.add(event);
+            if (process.isExecutedAfter(event))
+                rollback(process, event);
+            updateReady(process);
+        }
+    }
+
+    /**
+     * Must be called before each modification of the pending events of the {@link LogicalProcess} because the ready processes are sorted by their
+     * next pending event.
+     */
+    private void removeReady(LogicalProcess process) {
+        if (process.ready) {
+            readyProcesses.remove(process);
+            process.ready = false;
+        }
+    }
+
+    private void updateReady(LogicalProcess process) {
+        removeReady(process);
+        if (process.executing == null && !process.pending.isEmpty()) {
+            readyProcesses.add(process);
+            process.ready = true;
+        }
+    }
+
+    /**
+     * Cancels all executions of the {@link LogicalProcess} which are after or equal to the specified {@link TimeWarpEvent}. If the {@code
+     * LogicalProcess} is executing an event after it, the rollback is done at the end of the execution.
+     */
+    private void rollback(LogicalProcess process, TimeWarpEvent from) {
+        if (process.executing != null) {
+            if (process.executing.compareTo(from) >= 0 && (process.rollbackFrom == null || process.rollbackFrom.compareTo(from) > 0))
+                process.rollbackFrom = from;
+            return;
+        }
+
+        ProcessedEvent restored = null;
+        while (!process.history.isEmpty() && process.history.peekLast().event.compareTo(from) >= 0) {
+            ProcessedEvent processed = process.history.pollLast();
+            restored = processed;
+            rollbackNumber++;
+            cancelScheduled(processed.event);
+            if (!processed.event.cancelled)
+                insert(processed.event);
+        }
+
+        if (restored != null)
+            ((Rollbackable) process.lockMonitor).restore(restored.snapshot);
+    }
+
+    /**
+     * Sends anti-messages: cancels all {@link TimeWarpEvent}s scheduled by the execution of the specified event.
+     */
+    private void cancelScheduled(TimeWarpEvent event) {
+        for (TimeWarpEvent scheduled : event.scheduled) {
+            cancel(scheduled);
+        }
+        event.scheduled.clear();
+    }
+
+    private void cancel(TimeWarpEvent event) {
+        event.cancelled = true;
+        switch (event.state) {
+            case PENDING -> {
+                unfinished.remove(event);
+                if (event.process != null) {
+                    removeReady(event.process);
+                    event.process.pending.remove(event);
+                    updateReady(event.process);
+                } else
+                    withoutLockMonitor.remove(event);
+            }
+            case EXECUTING, EXECUTED -> {
+                // Executables which cannot be rolled back are executed at the GVT, therefore they are never cancelled.
+                if (event.speculative)
+                    rollback(event.process, event);
+            }
+        }
+    }
+
+    /**
+     * @param snapshot the snapshot of the lock monitor before the execution, only taken if the event is {@link TimeWarpEvent#speculative}
+     */
+    private void complete(TimeWarpEvent event, Object snapshot) {
+        try {
+            lock.lock();
+            unfinished.remove(event);
+            event.state = EventState.EXECUTED;
+
+            LogicalProcess process = event.process;
+            if (process != null) {
+                process.executing = null;
+                if (event.speculative) {
+                    process.history.addLast(new ProcessedEvent(event, snapshot));
+                    withHistory.add(process);
+                }
+                rollbackDeferred(process);
+                updateReady(process);
+            }
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rolls back the execution of the event which waits on the condition and registers the event in the condition. If a timeout is specified, the
+     * event is also scheduled at its time plus the timeout. If a rollback has been requested during the execution, the wait has been decided on a
+     * state which is rolled back, therefore the event is executed again instead of waiting.
+     *
+     * @param snapshot the snapshot of the lock monitor before the execution, the event is always {@link TimeWarpEvent#speculative}
+     * @param timeout  the timeout of the wait, -1 if there is no timeout
+     */
+    private void suspend(TimeWarpEvent event, Object snapshot, TimeWarpCondition condition, long timeout) {
+        try {
+            lock.lock();
+            unfinished.remove(event);
+            event.state = EventState.WAITING;
+
+            LogicalProcess process = event.process;
+            process.executing = null;
+            rollbackNumber++;
+            cancelScheduled(event);
+            ((Rollbackable) process.lockMonitor).restore(snapshot);
+
+            if (process.rollbackFrom != null) {
+                rollbackDeferred(process);
+                if (!event.cancelled)
+                    insert(event);
+            } else {
+                condition.waiting.add(new WaitingEvent(event, event.time));
+                event.resumed = timeout > 0;
+                if (timeout > 0) {
+                    event.time += timeout;
+                    event.sequence = sequence++;
+                    insert(event);
+                }
+            }
+            updateReady(process);
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Does the rollback requested during the execution of an event of the {@link LogicalProcess}, whether the execution was speculative or not.
+     */
+    private void rollbackDeferred(LogicalProcess process) {
+        if (process.rollbackFrom != null) {
+            TimeWarpEvent from = process.rollbackFrom;
+            process.rollbackFrom = null;
+            rollback(process, from);
+        }
+    }
+
+    /**
+     * Schedules again the events which wait on the condition, at the time of the waker if it is after the time of the wait. If an event has been
+     * scheduled at the timeout of its wait and is not yet executed, it is only moved if the time of the waker is before the timeout.
+     */
+    private void resume(TimeWarpCondition condition) {
+        try {
+            lock.lock();
+            if (condition.waiting.isEmpty())
+                throw new NotPreparedConditionException("No Executable waits on the Condition");
+
+            TimeWarpEvent waker = currentEvent.get();
+            long wakeUpTime = waker != null ? waker.time : getCurrentTime();
+            for (WaitingEvent waiting : condition.waiting) {
+                TimeWarpEvent event = waiting.event;
+                long time = Math.max(waiting.time, wakeUpTime);
+                if (event.cancelled)
+                    continue;
+
+                if (event.state == EventState.WAITING) {
+                    event.resumed = true;
+                    event.time = time;
+                    event.sequence = sequence++;
+                    insert(event);
+                } else if (event.state == EventState.PENDING && event.time > time) {
+                    unfinished.remove(event);
+                    removeReady(event.process);
+                    event.process.pending.remove(event);
+                    event.time = time;
+                    event.sequence = sequence++;
+                    insert(event);
+                }
+            }
+            condition.waiting.clear();
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the history of all {@link LogicalProcess}es which is before the GVT and which therefore will never be rolled back, with the graph of
+     * the {@link TimeWarpEvent}s scheduled by the released executions.
+     */
+    private void collectFossils(long gvt) {
+        Iterator<LogicalProcess> iterator = withHistory.iterator();
+        while (iterator.hasNext()) {
+            LogicalProcess process = iterator.next();
+            while (!process.history.isEmpty() && process.history.peekFirst().event.time < gvt) {
+                process.history.pollFirst().event.scheduled.clear();
+            }
+            if (process.history.isEmpty())
+                iterator.remove();
+        }
+    }
+
+    /**
+     * @param speculative true if the execution of the event can be rolled back, see {@link TimeWarpEvent#speculative}
+     */
+    private void dispatch(TimeWarpEvent event, boolean speculative) {
+        event.state = EventState.EXECUTING;
+        event.speculative = speculative;
+        if (event.process != null)
+            event.process.executing = event;
+        executor.execute(new TimeWarpExecutable(event));
+    }
+
+    private void endByNoExecutable() {
+        if (!isKilled()) {
+            notifySchedulerHasNoExecutable();
+            kill();
+        }
+    }
+
+    private void notifySchedulerStarted() {
+        observers.forEach(SchedulerObserver::schedulerStarted);
+    }
+
+    private void notifySchedulerKilled() {
+        observers.forEach(SchedulerObserver::schedulerKilled);
+    }
+
+    private void notifySchedulerReachEnd() {
+        observers.forEach(SchedulerObserver::schedulerReachEnd);
+    }
+
+    private void notifySchedulerHasNoExecutable() {
+        observers.forEach(SchedulerObserver::noExecutableToExecute);
+    }
+
+    // Inner classes.
+
+    private enum SchedulerState {
+        CREATED, STARTED, KILLED
+    }
+
+    private enum EventState {
+        PENDING, EXECUTING, WAITING, EXECUTED
+    }
+
+    private enum DispatchState {
+        WAITING, NO_EXECUTABLE, END_REACHED
+    }
+
+    /**
+     * Scheduled {@link Executable} with its time. Events are sorted by time then by scheduling order. The time and the order of an event only
+     * change when it is scheduled again after a wait, while it is in no sorted set.
+     */
+    private static final class TimeWarpEvent implements Comparable<TimeWarpEvent> {
+
+        // Variables.
+
+        private long time;
+        private long sequence;
+        private final Executable executable;
+
+        /**
+         * Events scheduled during the execution of this event, cancelled if the execution is rolled back.
+         */
+        private final List<TimeWarpEvent> scheduled = new ArrayList<>();
+
+        private LogicalProcess process;
+        private EventState state;
+        private boolean cancelled = false;
+
+        /**
+         * True if the lock monitor was {@link Rollbackable#isRollbackable()} when the event has been dispatched. Only these executions are saved
+         * and recorded in the history, therefore only them can be rolled back, whatever the value of {@code isRollbackable()} at the cancellation.
+         */
+        private boolean speculative = false;
+
+        /**
+         * True if the event is scheduled again after a wait, then the first call to {@code await()} of each of its executions returns immediately.
+         */
+        private boolean resumed = false;
+
+        /**
+         * True if the next call to {@code await()} of the current execution must return immediately, only accessed by the executing thread.
+         */
+        private boolean awaitReturns = false;
+
+        // Constructors.
+
+        private TimeWarpEvent(long time, long sequence, Executable executable) {
+            this.time = time;
+            this.sequence = sequence;
+            this.executable = executable;
+        }
+
+        // Methods.
+
+        @Override
+        public int compareTo(TimeWarpEvent o) {
+            int compareTime = Long.compare(time, o.time);
+            return compareTime != 0 ? compareTime : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    private record ProcessedEvent(TimeWarpEvent event, Object snapshot) {
+    }
+
+    /**
+     * @param time the time of the event when it has started to wait
+     */
+    private record WaitingEvent(TimeWarpEvent event, long time) {
+    }
+
+    /**
+     * All {@link TimeWarpEvent}s of a same lock monitor.
+     */
+    private static final class LogicalProcess {
+
+        // Variables.
+
+        private final Object lockMonitor;
+        private final TreeSet<TimeWarpEvent> pending = new TreeSet<>();
+
+        /**
+         * Executed events which can be rolled back with the snapshot of the lock monitor before their execution.
+         */
+        private final Deque<ProcessedEvent> history = new ArrayDeque<>();
+
+        private TimeWarpEvent executing;
+
+        private boolean ready = false;
+
+        /**
+         * Rollback to do at the end of the current execution.
+         */
+        private TimeWarpEvent rollbackFrom;
+
+        // Constructors.
+
+        private LogicalProcess(Object lockMonitor) {
+            this.lockMonitor = lockMonitor;
+        }
+
+        // Methods.
+
+        private boolean isRollbackable() {
+            return lockMonitor instanceof Rollbackable rollbackable && rollbackable.isRollbackable();
+        }
+
+        private TimeWarpEvent nextEvent() {
+            return pending.first();
+        }
+
+        private boolean isExecutedAfter(TimeWarpEvent event) {
+            return (executing != null && executing.compareTo(event) > 0)
+                    || (!history.isEmpty() && history.peekLast().event.compareTo(event) > 0);
+        }
+    }
+
+    /**
+     * Executes a {@link TimeWarpEvent}: saves the lock monitor, executes the {@link Executable} and records the execution.
+     */
+    private class TimeWarpExecutable implements Executable {
+
+        // Variables.
+
+        private final TimeWarpEvent event;
+
+        // Constructors.
+
+        private TimeWarpExecutable(TimeWarpEvent event) {
+            this.event = event;
+        }
+
+        // Methods.
+
+        @Override
+        public void execute() throws Exception {
+            Object snapshot = event.speculative ? ((Rollbackable) event.process.lockMonitor).snapshot() : null;
+            Suspension suspension = null;
+            event.awaitReturns = event.resumed;
+            currentEvent.set(event);
+            try {
+                event.executable.execute();
+            } catch (Suspension s) {
+                suspension = s;
+            } finally {
+                currentEvent.remove();
+                if (suspension != null)
+                    suspend(event, snapshot, suspension.condition, suspension.timeout);
+                else
+                    complete(event, snapshot);
+            }
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return event.executable.getLockMonitor();
+        }
+    }
+
+    /**
+     * {@link Executor.Condition} of the {@link TimeWarpScheduler}. No thread waits on it, it only references the {@link TimeWarpEvent}s whose
+     * execution has been rolled back by {@link #await(Executor.Condition)}.
+     */
+    private final class TimeWarpCondition extends Executor.Condition {
+
+        // Variables.
+
+        /**
+         * Events waiting on the condition, guarded by the lock of the scheduler.
+         */
+        private final List<WaitingEvent> waiting = new ArrayList<>();
+
+        // Methods.
+
+        /**
+         * Not supported, the {@code TimeWarpScheduler} prepares the condition in {@link #await(Executor.Condition)}.
+         *
+         * @throws UnsupportedOperationException always
+         */
+        @Override
+        public void prepare(Executor.ExecutorThread executorThread) {
+            throw new UnsupportedOperationException("TimeWarpCondition is prepared by TimeWarpScheduler.await()");
+        }
+
+        /**
+         * Schedules again the {@link Executable}s which wait on the condition.
+         *
+         * @throws NotPreparedConditionException if no {@code Executable} waits on the condition
+         */
+        @Override
+        public void wakeup() {
+            resume(this);
+        }
+
+        private TimeWarpScheduler scheduler() {
+            return TimeWarpScheduler.this;
+        }
+    }
+
+    /**
+     * Thrown by {@link #await(Executor.Condition, long)} to stop the execution of the waiting {@link Executable}. It is an {@link Error} to not be
+     * caught by the {@code Executable} as an {@link Exception}.
+     */
+    private static final class Suspension extends Error {
+
+        private final transient TimeWarpCondition condition;
+        private final long timeout;
+
+        private Suspension(TimeWarpCondition condition, long timeout) {
+            super(null, null, false, false);
+            this.condition = condition;
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * {@link Executable} which repeats its execution, infinitely if the number of repetitions is negative. Contrary to {@link
+     * SimpleScheduler.RepeatedExecutable}, each repetition is a new instance to keep the repetition count consistent after a rollback.
+     */
+    private record RepeatedExecutable(Scheduler scheduler, Executable executable, long nbRepetitions, long executionTimeStep)
+            implements Executable {
+
+        @Override
+        public void execute() throws Exception {
+            executable.execute();
+            if (nbRepetitions < 0)
+                scheduler.scheduleOnce(this, executionTimeStep);
+            else if (nbRepetitions > 1)
+                scheduler.scheduleOnce(new RepeatedExecutable(scheduler, executable, nbRepetitions - 1, executionTimeStep), executionTimeStep);
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return executable.getLockMonitor();
+        }
+    }
+
+    /**
+     * Gives to the {@link Executor} the events which can be executed and detects the end of the simulation.
+     */
+    private class Dispatcher extends Thread {
+
+        // Variables.
+
+        private volatile boolean killed = false;
+
+        // Constructors.
+
+        public Dispatcher() {
+            super();
+            this.setName("SIMULATION-TIME-WARP-DISPATCHER");
+        }
+
+        // Methods.
+
+        @Override
+        public void run() {
+            log.info("Start of Dispatcher");
+            while (!killed) {
+                try {
+                    DispatchState dispatchState;
+                    try {
+                        lock.lock();
+                        dispatchState = dispatchEvents();
+                        if (dispatchState == DispatchState.WAITING)
+                            progress.await();
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    switch (dispatchState) {
+                        case NO_EXECUTABLE -> endByNoExecutable();
+                        case END_REACHED -> {
+                            log.debug("End reach");
+                            notifySchedulerReachEnd();
+                            TimeWarpScheduler.this.kill();
+                        }
+                        default -> {
+                            // Nothing
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    interrupt();
+                    killed = true;
+                }
+            }
+            log.info("End of Dispatcher");
+        }
+
+        private DispatchState dispatchEvents() {
+            if (unfinished.isEmpty())
+                return DispatchState.NO_EXECUTABLE;
+
+            long gvt = unfinished.first().time;
+            if (gvt > currentTime) {
+                currentTime = gvt;
+                collectFossils(gvt);
+                log.debug("New GVT = {}", gvt);
+            }
+
+            if (gvt > maxDuration)
+                return DispatchState.END_REACHED;
+
+            while (!withoutLockMonitor.isEmpty() && withoutLockMonitor.first().time == gvt) {
+                dispatch(withoutLockMonitor.pollFirst(), false);
+            }
+
+            Iterator<LogicalProcess> iterator = readyProcesses.iterator();
+            while (iterator.hasNext()) {
+                LogicalProcess process = iterator.next();
+                TimeWarpEvent next = process.nextEvent();
+                if (next.time > maxDuration || next.time - gvt >= optimismWindow)
+                    break;
+
+                boolean rollbackable = process.isRollbackable();
+                if (rollbackable || next.time == gvt) {
+                    iterator.remove();
+                    process.ready = false;
+                    process.pending.pollFirst();
+                    dispatch(next, rollbackable);
+                }
+            }
+
+            return DispatchState.WAITING;
+        }
+
+        public void kill() {
+            killed = true;
+            log.info("Dispatcher KILLED");
+            interrupt();
+        }
+    }
+}
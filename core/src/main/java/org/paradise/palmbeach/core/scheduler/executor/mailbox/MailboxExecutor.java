@@ -0,0 +1,523 @@
+package org.paradise.palmbeach.core.scheduler.executor.mailbox;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.executor.exception.NotInExecutorContextException;
+import org.paradise.palmbeach.core.scheduler.executor.exception.RejectedExecutionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.paradise.palmbeach.utils.validation.Validate.min;
+
+/**
+ * {@link Executor} where each lock monitor (see {@link Executable#getLockMonitor()}) owns a lock-free mailbox. A mailbox is a FIFO queue of {@link
+ * Executable}s which share the same lock monitor. Only mailboxes which have {@code Executables} to execute are scheduled, and a mailbox is scheduled
+ * at most one time. Therefore, never more than one {@code Executable} of the same lock monitor is executed at the same time, without any global
+ * lock. {@code Executables} without lock monitor are directly scheduled.
+ * <p>
+ * Scheduled mailboxes sit in work-stealing queues: each {@link Executor.ExecutorThread} has its own deque, mailboxes submitted from outside the
+ * {@code Executor} go in a shared injection queue and idle threads steal from others deques. Dispatching an {@code Executable} is therefore done in
+ * {@code O(1)}, whatever the number of lock monitors.
+ * <p>
+ * As in {@link org.paradise.palmbeach.core.scheduler.executor.multithread.MultiThreadExecutor}, when an {@code Executable} waits, its mailbox is
+ * released and a new {@code ExecutorThread} is created to keep {@code maxRunningThreads} threads in execution. Never more than {@code
+ * maxRunningThreads} threads are concurrently in execution.
+ */
+@ToString
+@Slf4j
+public class MailboxExecutor implements Executor {
+
+    // Constants.
+
+    /**
+     * Default max number of {@link Executable}s of a mailbox executed before the mailbox is rescheduled to let other mailboxes be executed.
+     */
+    public static final int DEFAULT_THROUGHPUT = 8;
+
+    // Variables.
+
+    @Getter
+    private final int maxRunningThreads;
+
+    @Getter
+    private final int throughput;
+
+    @ToString.Exclude
+    private final Semaphore executionZone;
+
+    @ToString.Exclude
+    private final Map<Object, Mailbox> mailboxes;
+
+    @ToString.Exclude
+    private final Queue<Task> injectionQueue;
+
+    @ToString.Exclude
+    private final List<Worker> workers;
+
+    @ToString.Exclude
+    private final Queue<Worker> idleWorkers;
+
+    private final AtomicLong activeExecutables;
+
+    private final AtomicBoolean shutdown;
+
+    @ToString.Exclude
+    private final Lock quiescenceLock = new ReentrantLock();
+
+    @ToString.Exclude
+    private final java.util.concurrent.locks.Condition quiescenceCondition = quiescenceLock.newCondition();
+
+    // Constructors.
+
+    /**
+     * @param maxRunningThreads the max number of concurrent executing thread
+     *
+     * @throws IllegalArgumentException if maxRunningThreads is less than 1
+     */
+    public MailboxExecutor(int maxRunningThreads) {
+        this(maxRunningThreads, DEFAULT_THROUGHPUT);
+    }
+
+    /**
+     * @param maxRunningThreads the max number of concurrent executing thread
+     * @param throughput        the max number of {@link Executable} of a mailbox executed before the mailbox is rescheduled
+     *
+     * @throws IllegalArgumentException if maxRunningThreads or throughput is less than 1
+     */
+    public MailboxExecutor(int maxRunningThreads, int throughput) {
+        min(maxRunningThreads, 1, "MaxRunningThreads must be greater or equal to 1");
+        min(throughput, 1, "Throughput must be greater or equal to 1");
+
+        this.maxRunningThreads = maxRunningThreads;
+        this.throughput = throughput;
+        this.executionZone = new Semaphore(maxRunningThreads, true);
+        this.mailboxes = new ConcurrentHashMap<>();
+        this.injectionQueue = new ConcurrentLinkedQueue<>();
+        this.workers = new CopyOnWriteArrayList<>();
+        this.idleWorkers = new ConcurrentLinkedQueue<>();
+        this.activeExecutables = new AtomicLong(0L);
+        this.shutdown = new AtomicBoolean(false);
+
+        for (int i = 0; i < maxRunningThreads; i++) {
+            createWorker();
+        }
+    }
+
+    // Methods.
+
+    private void createWorker() {
+        Worker worker = new Worker();
+        workers.add(worker);
+        worker.start();
+    }
+
+    @Override
+    public void execute(@NonNull Executable executable) {
+        if (isShutdown())
+            throw new RejectedExecutionException("Executor " + this + " shutdown, cannot execute Executable anymore");
+
+        activeExecutables.incrementAndGet();
+
+        Object lockMonitor = executable.getLockMonitor();
+        if (lockMonitor == null)
+            submit(new SingleExecutableTask(executable));
+        else
+            mailboxes.computeIfAbsent(lockMonitor, k -> new Mailbox()).offer(executable);
+    }
+
+    private void submit(Task task) {
+        if (Thread.currentThread() instanceof Worker worker && worker.isWorkerOf(this) && !worker.lastRun)
+            worker.tasks.offerLast(task);
+        else
+            injectionQueue.offer(task);
+
+        Worker idle = idleWorkers.poll();
+        if (idle != null)
+            LockSupport.unpark(idle);
+    }
+
+    private void decrementActiveExecutables(long delta) {
+        if (delta > 0 && activeExecutables.addAndGet(-delta) == 0L) {
+            try {
+                quiescenceLock.lock();
+                quiescenceCondition.signalAll();
+            } finally {
+                quiescenceLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<Executable> shutdown() {
+        if (shutdown.compareAndSet(false, true)) {
+            workers.forEach(Worker::kill);
+
+            List<Executable> remainingExecutables = new ArrayList<>();
+            drainTasks(injectionQueue, remainingExecutables);
+            for (Worker worker : workers) {
+                drainTasks(worker.tasks, remainingExecutables);
+            }
+            for (Mailbox mailbox : mailboxes.values()) {
+                Executable executable;
+                while ((executable = mailbox.executables.poll()) != null) {
+                    remainingExecutables.add(executable);
+                }
+            }
+
+            decrementActiveExecutables(remainingExecutables.size());
+            return remainingExecutables;
+        } else
+            return Collections.emptyList();
+    }
+
+    private static void drainTasks(Queue<Task> tasks, List<Executable> remainingExecutables) {
+        Task task;
+        while ((task = tasks.poll()) != null) {
+            if (task instanceof SingleExecutableTask single)
+                remainingExecutables.add(single.executable);
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return isQuiescence() && isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout) throws InterruptedException {
+        return awaitQuiescence(timeout) && isTerminated();
+    }
+
+    @Override
+    public boolean isQuiescence() {
+        return activeExecutables.get() == 0L;
+    }
+
+    @Override
+    public boolean awaitQuiescence() throws InterruptedException {
+        try {
+            quiescenceLock.lock();
+            while (!isQuiescence()) {
+                quiescenceCondition.await();
+            }
+
+            return true;
+        } finally {
+            quiescenceLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitQuiescence(long timeout) throws InterruptedException {
+        try {
+            quiescenceLock.lock();
+            if (!isQuiescence()) {
+                boolean hasBeenWakeUp = quiescenceCondition.await(timeout, TimeUnit.MILLISECONDS);
+                log.debug("AwaitQuiescence(timeout) -> hasBeenWakeUp ? {}", hasBeenWakeUp);
+            }
+            return isQuiescence();
+        } finally {
+            quiescenceLock.unlock();
+        }
+    }
+
+    @Override
+    public Executor.ExecutorThread getCurrentExecutorThread() {
+        if (Thread.currentThread() instanceof Executor.ExecutorThread executorThread)
+            return executorThread;
+        else
+            throw new NotInExecutorContextException();
+    }
+
+    @Override
+    public Executor.Condition generateCondition() {
+        return new Executor.Condition();
+    }
+
+    // Inner classes.
+
+    /**
+     * Something which can be scheduled in the work-stealing queues.
+     */
+    private interface Task {
+
+        void run(Worker worker);
+    }
+
+    private record SingleExecutableTask(Executable executable) implements Task {
+
+        @Override
+        public void run(Worker worker) {
+            worker.runExecutable(executable);
+        }
+    }
+
+    /**
+     * Lock-free FIFO queue of {@link Executable} which share the same lock monitor. The mailbox is in the work-stealing queues only if it is
+     * scheduled, and it is scheduled at most one time.
+     */
+    private class Mailbox implements Task {
+
+        // Variables.
+
+        private final Queue<Executable> executables = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        // Methods.
+
+        private void offer(Executable executable) {
+            executables.offer(executable);
+            scheduleIfNeeded();
+        }
+
+        private void scheduleIfNeeded() {
+            if (!executables.isEmpty() && scheduled.compareAndSet(false, true))
+                submit(this);
+        }
+
+        @Override
+        public void run(Worker worker) {
+            worker.currentMailbox = this;
+            for (int i = 0; i < throughput && worker.currentMailbox == this; i++) {
+                Executable executable = executables.poll();
+                if (executable == null)
+                    break;
+
+                worker.runExecutable(executable);
+            }
+
+            if (worker.currentMailbox == this) {
+                worker.currentMailbox = null;
+                release();
+            }
+        }
+
+        /**
+         * Unscheduled the mailbox and reschedules it if it still has {@link Executable}s.
+         */
+        private void release() {
+            scheduled.set(false);
+            scheduleIfNeeded();
+        }
+    }
+
+    /**
+     * Concrete implementation of {@link Executor.ExecutorThread} which can only be used in {@link MailboxExecutor}.
+     */
+    private class Worker extends Executor.ExecutorThread {
+
+        // Variables.
+
+        private final Deque<Task> tasks = new ConcurrentLinkedDeque<>();
+
+        private volatile Executable currentExecutable;
+
+        private Mailbox currentMailbox;
+
+        private volatile boolean lastRun = false;
+
+        private final AtomicBoolean killed = new AtomicBoolean(false);
+
+        private boolean waiting = false;
+
+        private boolean awake = false;
+
+        // Constructors.
+
+        public Worker() {
+            super();
+            log.info("ExecutorThread {} created", this);
+        }
+
+        // Methods.
+
+        private boolean isWorkerOf(MailboxExecutor executor) {
+            return MailboxExecutor.this == executor;
+        }
+
+        @Override
+        public void run() {
+            try {
+                log.info("ExecutorThread {} begin to run", this);
+                while (!lastRun && !killed.get()) {
+                    Task task = nextTask();
+                    executionZone.acquire();
+                    try {
+                        task.run(this);
+                    } finally {
+                        executionZone.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.debug("ExecutorThread {} INTERRUPTED -> kill it", this);
+                interrupt();
+            } finally {
+                log.info("End of ExecutorThread {}, killed {}, lastRun {}", this, killed.get(), lastRun);
+                kill();
+                leaveWorkers();
+            }
+        }
+
+        private Task nextTask() throws InterruptedException {
+            while (true) {
+                Task task = pollTask();
+                if (task != null)
+                    return task;
+
+                idleWorkers.offer(this);
+                task = pollTask();
+                if (task != null) {
+                    idleWorkers.remove(this);
+                    return task;
+                }
+
+                LockSupport.park(this);
+                idleWorkers.remove(this);
+                if (Thread.interrupted() || killed.get())
+                    throw new InterruptedException();
+            }
+        }
+
+        private Task pollTask() {
+            Task task = tasks.pollFirst();
+            if (task == null)
+                task = injectionQueue.poll();
+            if (task == null)
+                task = steal();
+            return task;
+        }
+
+        private Task steal() {
+            for (Worker worker : workers) {
+                if (worker != this) {
+                    Task task = worker.tasks.pollLast();
+                    if (task != null)
+                        return task;
+                }
+            }
+            return null;
+        }
+
+        private void leaveWorkers() {
+            workers.remove(this);
+            idleWorkers.remove(this);
+
+            Task task;
+            while ((task = tasks.pollFirst()) != null) {
+                injectionQueue.offer(task);
+            }
+
+            Worker idle = idleWorkers.poll();
+            if (idle != null)
+                LockSupport.unpark(idle);
+        }
+
+        private void runExecutable(Executable executable) {
+            currentExecutable = executable;
+            try {
+                executable.execute();
+            } catch (Exception e) {
+                log.error("Executable execution throws Exception", e);
+            } finally {
+                currentExecutable = null;
+                decrementActiveExecutables(1L);
+            }
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            Object waitMonitor = getWaitMonitor();
+
+            Mailbox mailbox = currentMailbox;
+            currentMailbox = null;
+            if (mailbox != null)
+                mailbox.release();
+
+            lastRun = true;
+            executionZone.release();
+            if (!isShutdown())
+                createWorker();
+
+            InterruptedException interruption = null;
+            synchronized (waitMonitor) {
+                if (!awake) {
+                    waiting = true;
+                    decrementActiveExecutables(1L);
+                    try {
+                        log.debug("ExecutorThread wait");
+                        while (!awake) {
+                            waitMonitor.wait();
+                        }
+                        log.debug("ExecutorThread wake up");
+                    } catch (InterruptedException e) {
+                        log.info("Executable INTERRUPTED while waiting");
+                        if (!awake)
+                            activeExecutables.incrementAndGet();
+                        interruption = e;
+                    }
+                    waiting = false;
+                }
+                awake = false;
+            }
+
+            executionZone.acquireUninterruptibly();
+
+            if (interruption != null) {
+                interrupt();
+                throw interruption;
+            }
+        }
+
+        @Override
+        public void wakeUp() {
+            Object waitMonitor = getWaitMonitor();
+            synchronized (waitMonitor) {
+                if (!awake) {
+                    awake = true;
+                    if (waiting) {
+                        log.debug("WakeUp ExecutorThread");
+                        activeExecutables.incrementAndGet();
+                        waitMonitor.notifyAll();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void kill() {
+            if (killed.compareAndSet(false, true))
+                interrupt();
+        }
+
+        private Object getWaitMonitor() {
+            Executable executable = currentExecutable;
+            return executable != null && executable.getLockMonitor() != null ? executable.getLockMonitor() : this;
+        }
+    }
+}
@@ -379,10 +379,15 @@ public class MultiThreadExecutor implements Executor {
 
             try {
                 synchronized (getLockMonitor()) {
-                    log.debug("ExecutorThread wait");
-                    decreaseActiveThreads();
-                    getLockMonitor().wait();
-                    log.debug("ExecutorThread wake up");
+                    // A wake up received before the wait has not counted the thread as active again, the thread must stay active.
+                    if (!awake.get()) {
+                        log.debug("ExecutorThread wait");
+                        decreaseActiveThreads();
+                        while (!awake.get()) {
+                            getLockMonitor().wait();
+                        }
+                        log.debug("ExecutorThread wake up");
+                    }
                 }
             } catch (InterruptedException e) {
                 log.info("Executable INTERRUPTED while waiting");
@@ -419,10 +424,11 @@ public class MultiThreadExecutor implements Executor {
 
         @Override
         public void wakeUp() {
-            if (waiting.get() && awake.compareAndSet(false, true)) {
+            if (awake.compareAndSet(false, true)) {
                 synchronized (getLockMonitor()) {
                     log.debug("WakeUp ExecutorThread");
-                    increaseActiveThreads();
+                    if (waiting.get())
+                        increaseActiveThreads();
                     getLockMonitor().notifyAll();
                 }
             }
@@ -0,0 +1,81 @@
+package org.paradise.palmbeach.core.scheduler.store;
+
+import lombok.NonNull;
+import org.paradise.palmbeach.core.scheduler.Scheduler;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stores the {@link Executable}s which have been scheduled by a {@link Scheduler} but which have not been executed yet. An {@code ExecutableStore}
+ * maps each {@code Executable} to its execution time and allows the {@code Scheduler} to find and poll the next step to execute.
+ * <p>
+ * Implementations must be thread safe because {@code Executables} can be scheduled from several threads at the same time.
+ */
+public interface ExecutableStore {
+
+    /**
+     * Value returned by {@link #nextTime()} when there is no {@link Executable} in the {@link ExecutableStore}.
+     */
+    long NO_TIME = -1L;
+
+    /**
+     * Add the specified {@link Executable} to be executed at the specified time. {@code Executables} added for the same time are returned in the
+     * order of their adding by {@link #pollNextStep()}.
+     *
+     * @param time       the time when the executable must be executed
+     * @param executable the executable
+     *
+     * @throws NullPointerException if executable is null
+     */
+    void add(long time, @NonNull Executable executable);
+
+    /**
+     * Add all specified {@link Executable}s to be executed at the specified time, in the iteration order of the collection. By default, calls {@link
+     * #add(long, Executable)} for each {@code Executable}, implementations can override it to add all {@code Executables} in one operation.
+     *
+     * @param time        the time when executables must be executed
+     * @param executables the executables
+     *
+     * @throws NullPointerException if executables is null or contains null
+     */
+    default void addAll(long time, @NonNull Collection<? extends Executable> executables) {
+        for (Executable executable : executables) {
+            add(time, executable);
+        }
+    }
+
+    /**
+     * @return the smallest time for which there is at least one {@link Executable}, or {@link #NO_TIME} if the {@link ExecutableStore} is empty.
+     */
+    long nextTime();
+
+    /**
+     * Removes and returns all {@link Executable}s of the smallest time of the {@link ExecutableStore}.
+     *
+     * @return the polled step, null if the {@code ExecutableStore} is empty.
+     */
+    Step pollNextStep();
+
+    /**
+     * @return true if there is no {@link Executable} in the {@link ExecutableStore}, else false.
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all {@link Executable}s of the {@link ExecutableStore}.
+     */
+    void clear();
+
+    // Inner classes.
+
+    /**
+     * All {@link Executable}s which must be executed at the same time.
+     *
+     * @param time        the time of the step
+     * @param executables the executables of the step in the order of their adding
+     */
+    record Step(long time, @NonNull List<Executable> executables) {
+    }
+}
@@ -0,0 +1,67 @@
+package org.paradise.palmbeach.core.scheduler.store;
+
+import lombok.NonNull;
+import lombok.ToString;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Simple {@link ExecutableStore} which keeps steps in a sorted map. Adding and polling are done in {@code O(log(k))} where {@code k} is the number
+ * of distinct pending times.
+ */
+@ToString
+public class SortedExecutableStore implements ExecutableStore {
+
+    // Variables.
+
+    @ToString.Exclude
+    private final TreeMap<Long, List<Executable>> executables;
+
+    // Constructors.
+
+    public SortedExecutableStore() {
+        this.executables = new TreeMap<>();
+    }
+
+    // Methods.
+
+    @Override
+    public synchronized void add(long time, @NonNull Executable executable) {
+        executables.computeIfAbsent(time, k -> new ArrayList<>()).add(executable);
+    }
+
+    @Override
+    public synchronized void addAll(long time, @NonNull Collection<? extends Executable> toAdd) {
+        for (Executable executable : toAdd) {
+            Objects.requireNonNull(executable, "Executable cannot be null");
+        }
+        executables.computeIfAbsent(time, k -> new ArrayList<>(toAdd.size())).addAll(toAdd);
+    }
+
+    @Override
+    public synchronized long nextTime() {
+        return executables.isEmpty() ? NO_TIME : executables.firstKey();
+    }
+
+    @Override
+    public synchronized Step pollNextStep() {
+        Map.Entry<Long, List<Executable>> first = executables.pollFirstEntry();
+        return first != null ? new Step(first.getKey(), first.getValue()) : null;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return executables.isEmpty();
+    }
+
+    @Override
+    public synchronized void clear() {
+        executables.clear();
+    }
+}
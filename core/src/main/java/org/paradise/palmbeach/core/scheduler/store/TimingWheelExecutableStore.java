@@ -0,0 +1,273 @@
+package org.paradise.palmbeach.core.scheduler.store;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.paradise.palmbeach.utils.validation.Validate.interval;
+
+/**
+ * {@link ExecutableStore} implemented with a hierarchical timing wheel. Adding an {@link Executable} and finding the next step are done in amortized
+ * {@code O(1)}, whatever the number of distinct pending times.
+ * <p>
+ * The wheel has {@code levelNumber} levels of {@link #SLOT_NUMBER} slots. Each slot of the level {@code l} covers {@code 64^l} times. An
+ * {@code Executable} is stored in the level of the highest bits group which differs between its time and the cursor of the wheel (the time of the
+ * last polled step). When the lower levels are empty, the next non-empty slot of the upper level is cascaded in the lower levels. Therefore, an
+ * {@code Executable} is moved at most {@code levelNumber} times. Each level has an occupancy bitmap which allows finding the next non-empty slot
+ * without browsing slots.
+ * <p>
+ * Times which are too far from the cursor to be in the wheel (or which are before the cursor) are stored in an overflow sorted map. Far-future times
+ * are moved in the wheel when the cursor reaches their range.
+ */
+@ToString
+public class TimingWheelExecutableStore implements ExecutableStore {
+
+    // Constants.
+
+    public static final int DEFAULT_LEVEL_NUMBER = 4;
+    public static final int MAX_LEVEL_NUMBER = 10;
+
+    public static final int SLOT_BITS = 6;
+    public static final int SLOT_NUMBER = 1 << SLOT_BITS;
+
+    private static final long SLOT_MASK = SLOT_NUMBER - 1L;
+
+    // Variables.
+
+    @Getter
+    private final int levelNumber;
+
+    private final int wheelBits;
+
+    @ToString.Exclude
+    private final Node[][] heads;
+
+    @ToString.Exclude
+    private final Node[][] tails;
+
+    @ToString.Exclude
+    private final long[] occupancy;
+
+    @ToString.Exclude
+    private final TreeMap<Long, Deque<Executable>> overflow;
+
+    private long cursor = 0L;
+
+    private int wheelSize = 0;
+
+    // Constructors.
+
+    public TimingWheelExecutableStore() {
+        this(DEFAULT_LEVEL_NUMBER);
+    }
+
+    /**
+     * @param levelNumber the number of level of the wheel. The wheel covers {@code 64^levelNumber} times from its cursor.
+     *
+     * @throws IllegalArgumentException if levelNumber is not between 1 and {@link #MAX_LEVEL_NUMBER}
+     */
+    public TimingWheelExecutableStore(int levelNumber) {
+        interval(levelNumber, 1, MAX_LEVEL_NUMBER, "LevelNumber must be between 1 and " + MAX_LEVEL_NUMBER);
+
+        this.levelNumber = levelNumber;
+        this.wheelBits = levelNumber * SLOT_BITS;
+        this.heads = new Node[levelNumber][SLOT_NUMBER];
+        this.tails = new Node[levelNumber][SLOT_NUMBER];
+        this.occupancy = new long[levelNumber];
+        this.overflow = new TreeMap<>();
+    }
+
+    // Methods.
+
+    @Override
+    public synchronized void add(long time, @NonNull Executable executable) {
+        if (inWheelRange(time))
+            insertInWheel(new Node(time, executable));
+        else
+            overflow.computeIfAbsent(time, k -> new ArrayDeque<>()).offer(executable);
+    }
+
+    @Override
+    public synchronized void addAll(long time, @NonNull Collection<? extends Executable> executables) {
+        for (Executable executable : executables) {
+            add(time, executable);
+        }
+    }
+
+    private boolean inWheelRange(long time) {
+        return time >= cursor && ((time ^ cursor) >>> wheelBits) == 0L;
+    }
+
+    private void insertInWheel(Node node) {
+        long diff = node.time ^ cursor;
+        int level = diff == 0L ? 0 : (63 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+        int slot = slotOf(node.time, level);
+
+        if (tails[level][slot] == null)
+            heads[level][slot] = node;
+        else
+            tails[level][slot].next = node;
+        tails[level][slot] = node;
+
+        occupancy[level] |= 1L << slot;
+        wheelSize++;
+    }
+
+    private static int slotOf(long time, int level) {
+        return (int) ((time >>> (level * SLOT_BITS)) & SLOT_MASK);
+    }
+
+    private Node detach(int level, int slot) {
+        Node head = heads[level][slot];
+        heads[level][slot] = null;
+        tails[level][slot] = null;
+        occupancy[level] &= ~(1L << slot);
+        return head;
+    }
+
+    @Override
+    public synchronized long nextTime() {
+        long wheelTime = nextWheelTime();
+        long overflowTime = overflow.isEmpty() ? NO_TIME : overflow.firstKey();
+
+        if (wheelTime == NO_TIME)
+            return overflowTime;
+        else if (overflowTime == NO_TIME)
+            return wheelTime;
+        else
+            return Math.min(wheelTime, overflowTime);
+    }
+
+    /**
+     * Cascades upper levels until the level 0 contains the next step of the wheel.
+     *
+     * @return the next time of the wheel, {@link #NO_TIME} if the wheel is empty.
+     */
+    private long nextWheelTime() {
+        while (wheelSize > 0) {
+            long levelZero = occupancy[0] & (-1L << slotOf(cursor, 0));
+            if (levelZero != 0L)
+                return (cursor & ~SLOT_MASK) | Long.numberOfTrailingZeros(levelZero);
+
+            if (!cascadeNextSlot())
+                break;
+        }
+        return NO_TIME;
+    }
+
+    private boolean cascadeNextSlot() {
+        for (int level = 1; level < levelNumber; level++) {
+            int cursorSlot = slotOf(cursor, level);
+            long nextSlots = cursorSlot == SLOT_NUMBER - 1 ? 0L : occupancy[level] & (-1L << (cursorSlot + 1));
+            if (nextSlots != 0L) {
+                int slot = Long.numberOfTrailingZeros(nextSlots);
+                int shift = level * SLOT_BITS;
+                cursor = (cursor & (-1L << (shift + SLOT_BITS))) | ((long) slot << shift);
+
+                Node node = detach(level, slot);
+                while (node != null) {
+                    Node next = node.next;
+                    node.next = null;
+                    wheelSize--;
+                    insertInWheel(node);
+                    node = next;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized Step pollNextStep() {
+        long time = nextTime();
+        if (time == NO_TIME)
+            return null;
+
+        List<Executable> executables = new ArrayList<>();
+        if (inWheelRange(time) && ((time ^ cursor) >>> SLOT_BITS) == 0L) {
+            Node node = detach(0, slotOf(time, 0));
+            while (node != null) {
+                executables.add(node.executable);
+                wheelSize--;
+                node = node.next;
+            }
+        }
+
+        Deque<Executable> overflowExecutables = overflow.remove(time);
+        if (overflowExecutables != null)
+            executables.addAll(overflowExecutables);
+
+        moveCursor(time);
+        return new Step(time, executables);
+    }
+
+    private void moveCursor(long time) {
+        if (time > cursor) {
+            long previousCursor = cursor;
+            cursor = time;
+            if ((previousCursor >>> wheelBits) != (time >>> wheelBits))
+                migrateOverflow();
+        }
+    }
+
+    /**
+     * Moves in the wheel all overflow {@link Executable}s which are now in the range of the wheel.
+     */
+    private void migrateOverflow() {
+        long rangeEnd = ((cursor >>> wheelBits) + 1L) << wheelBits;
+        NavigableMap<Long, Deque<Executable>> inRange = rangeEnd > cursor ? overflow.subMap(cursor, true, rangeEnd, false) :
+                overflow.tailMap(cursor, true);
+
+        Iterator<Map.Entry<Long, Deque<Executable>>> iterator = inRange.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Deque<Executable>> entry = iterator.next();
+            for (Executable executable : entry.getValue()) {
+                insertInWheel(new Node(entry.getKey(), executable));
+            }
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return wheelSize == 0 && overflow.isEmpty();
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (int level = 0; level < levelNumber; level++) {
+            Arrays.fill(heads[level], null);
+            Arrays.fill(tails[level], null);
+        }
+        Arrays.fill(occupancy, 0L);
+        overflow.clear();
+        wheelSize = 0;
+    }
+
+    // Inner classes.
+
+    private static final class Node {
+
+        private final long time;
+        private final Executable executable;
+        private Node next;
+
+        private Node(long time, Executable executable) {
+            this.time = time;
+            this.executable = executable;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.paradise.palmbeach.core.simulation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.NonNull;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registry of {@link SimpleAgent}s indexed by the unique id of their {@link SimpleAgent.AgentIdentifier}. Unique ids generated by {@link
+ * SimpleAgent.AgentIdentifier#nextId()} are dense, therefore {@code SimpleAgents} are stored in chunks of an array and the lookup of a {@code
+ * SimpleAgent} is only two index loads. {@code SimpleAgents} whose unique id is negative or too big, or whose unique id is already used by an other
+ * {@code SimpleAgent} with a different {@link SimpleAgent.AgentIdentifier}, are stored in a map.
+ * <p>
+ * This class is thread safe.
+ */
+final class AgentRegistry {
+
+    // Constants.
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * Max number of chunks, ids greater or equal to {@code MAX_CHUNKS * CHUNK_SIZE} are stored in the map.
+     */
+    private static final int MAX_CHUNKS = 1 << 16;
+
+    // Variables.
+
+    private volatile AtomicReferenceArray<AtomicReferenceArray<SimpleAgent>> chunks;
+
+    private final Map<SimpleAgent.AgentIdentifier, SimpleAgent> otherAgents;
+
+    // Constructors.
+
+    AgentRegistry() {
+        this.chunks = new AtomicReferenceArray<>(1);
+        this.otherAgents = Maps.newConcurrentMap();
+    }
+
+    // Methods.
+
+    /**
+     * Registers the {@link SimpleAgent} only if there is no {@code SimpleAgent} already registered with the same {@link
+     * SimpleAgent.AgentIdentifier}.
+     *
+     * @param agent the agent to register
+     *
+     * @return the already registered {@code SimpleAgent} with the same {@code AgentIdentifier}, null if the specified agent has been registered.
+     */
+    SimpleAgent putIfAbsent(@NonNull SimpleAgent agent) {
+        SimpleAgent.AgentIdentifier identifier = agent.getIdentifier();
+        long uniqueId = identifier.getUniqueId();
+        if (isDense(uniqueId)) {
+            AtomicReferenceArray<SimpleAgent> chunk = chunk((int) (uniqueId >>> CHUNK_BITS));
+            int index = (int) (uniqueId & CHUNK_MASK);
+            if (chunk.compareAndSet(index, null, agent))
+                return null;
+
+            SimpleAgent registered = chunk.get(index);
+            if (identifier.equals(registered.getIdentifier()))
+                return registered;
+        }
+
+        return otherAgents.putIfAbsent(identifier, agent);
+    }
+
+    /**
+     * @param agentIdentifier the agent identifier
+     *
+     * @return the registered {@link SimpleAgent} which has the specified {@link SimpleAgent.AgentIdentifier}, null if there is no one.
+     */
+    SimpleAgent get(SimpleAgent.AgentIdentifier agentIdentifier) {
+        if (agentIdentifier == null)
+            return null;
+
+        SimpleAgent agent = getDense(agentIdentifier.getUniqueId());
+        if (agent != null && agentIdentifier.equals(agent.getIdentifier()))
+            return agent;
+
+        return otherAgents.isEmpty() ? null : otherAgents.get(agentIdentifier);
+    }
+
+    /**
+     * @param uniqueId the unique id of the agent identifier
+     *
+     * @return a registered {@link SimpleAgent} which has the specified unique id, null if there is no one.
+     */
+    SimpleAgent get(long uniqueId) {
+        SimpleAgent agent = getDense(uniqueId);
+        if (agent != null)
+            return agent;
+
+        for (SimpleAgent other : otherAgents.values()) {
+            if (other.getIdentifier().getUniqueId() == uniqueId)
+                return other;
+        }
+        return null;
+    }
+
+    private SimpleAgent getDense(long uniqueId) {
+        if (isDense(uniqueId)) {
+            AtomicReferenceArray<AtomicReferenceArray<SimpleAgent>> currentChunks = chunks;
+            int chunkIndex = (int) (uniqueId >>> CHUNK_BITS);
+            if (chunkIndex >= currentChunks.length())
+                return null;
+
+            AtomicReferenceArray<SimpleAgent> chunk = currentChunks.get(chunkIndex);
+            return chunk != null ? chunk.get((int) (uniqueId & CHUNK_MASK)) : null;
+        } else
+            return null;
+    }
+
+    /**
+     * @return a new list which contains all registered {@link SimpleAgent}s, never returns null.
+     */
+    List<SimpleAgent> values() {
+        List<SimpleAgent> agents = Lists.newArrayList();
+        AtomicReferenceArray<AtomicReferenceArray<SimpleAgent>> currentChunks = chunks;
+        for (int i = 0; i < currentChunks.length(); i++) {
+            AtomicReferenceArray<SimpleAgent> chunk = currentChunks.get(i);
+            if (chunk != null) {
+                for (int j = 0; j < CHUNK_SIZE; j++) {
+                    SimpleAgent agent = chunk.get(j);
+                    if (agent != null)
+                        agents.add(agent);
+                }
+            }
+        }
+        agents.addAll(otherAgents.values());
+        return agents;
+    }
+
+    private static boolean isDense(long uniqueId) {
+        return uniqueId >= 0 && (uniqueId >>> CHUNK_BITS) < MAX_CHUNKS;
+    }
+
+    private AtomicReferenceArray<SimpleAgent> chunk(int chunkIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<SimpleAgent>> currentChunks = chunks;
+        if (chunkIndex < currentChunks.length()) {
+            AtomicReferenceArray<SimpleAgent> chunk = currentChunks.get(chunkIndex);
+            if (chunk != null)
+                return chunk;
+        }
+
+        return createChunk(chunkIndex);
+    }
+
+    private synchronized AtomicReferenceArray<SimpleAgent> createChunk(int chunkIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<SimpleAgent>> currentChunks = chunks;
+        if (chunkIndex >= currentChunks.length()) {
+            int newLength = Math.min(MAX_CHUNKS, Math.max(chunkIndex + 1, currentChunks.length() * 2));
+            AtomicReferenceArray<AtomicReferenceArray<SimpleAgent>> newChunks = new AtomicReferenceArray<>(newLength);
+            for (int i = 0; i < currentChunks.length(); i++) {
+                newChunks.set(i, currentChunks.get(i));
+            }
+            currentChunks = newChunks;
+        }
+
+        AtomicReferenceArray<SimpleAgent> chunk = currentChunks.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+            currentChunks.set(chunkIndex, chunk);
+        }
+        chunks = currentChunks;
+        return chunk;
+    }
+}
@@ -46,7 +46,7 @@ public class PalmBeachSimulation {
     private final Scheduler.WaitingSchedulerEndObserver schedulerWaitingEndObserver;
 
     private final Map<String, Environment> environments;
-    private final Map<SimpleAgent.AgentIdentifier, SimpleAgent> agents;
+    private final AgentRegistry agents;
     private final Set<Controller> controllers;
 
     // Constructors.
@@ -70,7 +70,7 @@ public class PalmBeachSimulation {
         this.environments = Maps.newConcurrentMap();
         fillEnvironments(environments);
 
-        this.agents = Maps.newConcurrentMap();
+        this.agents = new AgentRegistry();
         fillAgents(agents);
 
         this.controllers = controllers != null && !controllers.isEmpty() ? Sets.newHashSet(controllers) : new HashSet<>();
@@ -93,7 +93,7 @@ public class PalmBeachSimulation {
     private void fillAgents(Set<SimpleAgent> agents) {
         if (agents != null) {
             for (SimpleAgent agent : agents) {
-                SimpleAgent old = this.agents.putIfAbsent(agent.getIdentifier(), agent);
+                SimpleAgent old = this.agents.putIfAbsent(agent);
                 if (old != null) {
                     log.error("cannot add the SimpleAgent {} in Simulation because an SimpleAgent has already been added with the identifier {}",
                               agent,
@@ -226,9 +226,9 @@ public class PalmBeachSimulation {
     /**
      * Add the {@link SimpleAgent} in the simulation. Just add it, does not manage if it is evolving or not in some {@link Environment}.
      * <p>
-     * {@code SimpleAgent} are mapped with their {@link SimpleAgent.AgentIdentifier}. Therefore, if there already is a {@code SimpleAgent} with the
-     * same {@code AgentIdentifier} in the Simulation, the specified {@code SimpleAgent} will not be added in the Simulation and the method will
-     * return false.
+     * {@code SimpleAgent} are mapped with their {@link SimpleAgent.AgentIdentifier} and indexed by its unique id. Therefore, if there already is a
+     * {@code SimpleAgent} with the same {@code AgentIdentifier} in the Simulation, the specified {@code SimpleAgent} will not be added in the
+     * Simulation and the method will return false.
      *
      * @param agent to add
      *
@@ -237,7 +237,7 @@ public class PalmBeachSimulation {
      * @throws NullPointerException if agent is null
      */
     public static boolean addAgent(@NonNull SimpleAgent agent) {
-        SimpleAgent old = palmBeachSimulation.agents.putIfAbsent(agent.getIdentifier(), agent);
+        SimpleAgent old = palmBeachSimulation.agents.putIfAbsent(agent);
         if (old != null) {
             log.error("Cannot add agent {} because already added agent with the identifier {}", agent, agent.getIdentifier());
             return false;
@@ -251,8 +251,17 @@ public class PalmBeachSimulation {
         return palmBeachSimulation.agents.get(agentIdentifier);
     }
 
+    /**
+     * @param uniqueId the unique id of the agent identifier
+     *
+     * @return the {@link SimpleAgent} which has the specified unique id, null if there is no {@code SimpleAgent} with this unique id.
+     */
+    public static SimpleAgent getAgent(long uniqueId) {
+        return palmBeachSimulation.agents.get(uniqueId);
+    }
+
     public static List<SimpleAgent> allAgents() {
-        return Lists.newArrayList(palmBeachSimulation.agents.values());
+        return palmBeachSimulation.agents.values();
     }
 
     // Inner classes.
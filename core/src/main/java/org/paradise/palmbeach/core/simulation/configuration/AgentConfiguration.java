@@ -134,18 +134,39 @@ public class AgentConfiguration extends PalmBeachConfiguration<Set<SimpleAgent>>
     @Override
     public Set<SimpleAgent> generate() throws GenerationFailedException {
         try {
+            long firstId = SimpleAgent.AgentIdentifier.reserveIds(number);
             Set<SimpleAgent> agents = new HashSet<>();
             for (int i = 0; i < number; i++) {
-                Context context = contextConfiguration != null ? contextConfiguration.generate() : null;
-                SimpleAgent agent = SimpleAgent.initiateAgent(ReflectionTools.extractClass(agentClass),
-                                                              new SimpleAgent.AgentIdentifier(agentNamePattern.formatted(i),
-                                                                                              SimpleAgent.AgentIdentifier.nextId()),
-                                                              context);
-                agents.add(agent);
+                agents.add(generateAgent(i, firstId));
             }
             return agents;
         } catch (Exception e) {
             throw new GenerationFailedException("fail to generate all Agents from the configuration " + this, e);
         }
     }
+
+    /**
+     * Generates only the agent at the specified index. The index is used to format the agent name pattern and the unique id of the agent is {@code
+     * firstId + index}, therefore the unique id of an agent does not depend on the order in which agents are generated. This method is thread safe,
+     * agents of the same configuration can be generated concurrently.
+     *
+     * @param index   the index of the agent, in [0, number[
+     * @param firstId the first id of the block of {@code number} ids reserved with {@link SimpleAgent.AgentIdentifier#reserveIds(int)}
+     *
+     * @return a new {@link SimpleAgent}.
+     *
+     * @throws GenerationFailedException if the agent cannot be generated
+     */
+    public SimpleAgent generateAgent(int index, long firstId) throws GenerationFailedException {
+        try {
+            Context context = contextConfiguration != null ? contextConfiguration.generate() : null;
+            return SimpleAgent.initiateAgent(ReflectionTools.extractClass(agentClass),
+                                             new SimpleAgent.AgentIdentifier(agentNamePattern.formatted(index), firstId + index),
+                                             context);
+        } catch (GenerationFailedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new GenerationFailedException("fail to generate the Agent " + index + " from the configuration " + this, e);
+        }
+    }
 }
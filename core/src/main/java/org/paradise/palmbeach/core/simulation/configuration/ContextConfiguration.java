@@ -4,6 +4,7 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigValue;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.utils.context.SimpleContext;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.ToString;
@@ -24,6 +25,9 @@ import java.util.Map;
  * </pre>
  * <p>
  * A {@code ContextConfiguration} is always nested in another configuration.
+ * <p>
+ * If the class of the context is {@link SimpleContext}, the configured key/values are mapped only once in a frozen prototype and each generated
+ * {@code SimpleContext} shares this prototype. A generated context only allocates its own map when a value is mapped in it.
  */
 @Getter
 @ToString
@@ -38,6 +42,10 @@ public class ContextConfiguration extends PalmBeachConfiguration<Context> {
     private final String contextClass;
     private final Map<String, Object> contextKeyValue;
 
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private volatile SimpleContext prototype;
+
     // Constructors.
 
     public ContextConfiguration(@NonNull Config baseConfig) {
@@ -66,6 +74,9 @@ public class ContextConfiguration extends PalmBeachConfiguration<Context> {
 
     @Override
     public Context generate() throws GenerationFailedException {
+        if (contextClass.equals(SimpleContext.class.getName()))
+            return new SimpleContext(prototype());
+
         try {
             Context context = Context.instantiateContext(ReflectionTools.extractClass(contextClass));
             if (!contextKeyValue.isEmpty()) {
@@ -76,4 +87,19 @@ public class ContextConfiguration extends PalmBeachConfiguration<Context> {
             throw new GenerationFailedException("Fail to generate Context from config " + this, e);
         }
     }
+
+    private SimpleContext prototype() {
+        SimpleContext p = prototype;
+        if (p == null) {
+            synchronized (this) {
+                p = prototype;
+                if (p == null) {
+                    p = new SimpleContext();
+                    contextKeyValue.forEach(p::map);
+                    prototype = p = p.freeze();
+                }
+            }
+        }
+        return p;
+    }
 }
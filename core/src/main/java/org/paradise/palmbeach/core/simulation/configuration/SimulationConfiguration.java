@@ -1,5 +1,6 @@
 package org.paradise.palmbeach.core.simulation.configuration;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigObject;
@@ -12,8 +13,10 @@ import org.paradise.palmbeach.core.agent.protocol.Protocol;
 import org.paradise.palmbeach.core.environment.Environment;
 import org.paradise.palmbeach.core.scheduler.Scheduler;
 import org.paradise.palmbeach.core.scheduler.SimpleScheduler;
-import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.TimeWarpScheduler;
+import org.paradise.palmbeach.core.scheduler.executor.mailbox.MailboxExecutor;
 import org.paradise.palmbeach.core.scheduler.executor.multithread.MultiThreadExecutor;
+import org.paradise.palmbeach.core.scheduler.store.TimingWheelExecutableStore;
 import org.paradise.palmbeach.core.simulation.Controller;
 import org.paradise.palmbeach.core.simulation.PalmBeachSimulation;
 import org.paradise.palmbeach.core.simulation.SimulationFinisher;
@@ -22,15 +25,21 @@ import org.paradise.palmbeach.core.simulation.configuration.exception.Generation
 import org.paradise.palmbeach.core.simulation.configuration.exception.WrongAgentConfigurationException;
 import org.paradise.palmbeach.core.simulation.configuration.exception.WrongControllerConfigurationException;
 import org.paradise.palmbeach.core.simulation.configuration.exception.WrongSimulationConfigurationException;
+import org.paradise.palmbeach.utils.reflection.FactoryCache;
 import org.paradise.palmbeach.utils.reflection.ReflectionTools;
 
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import static java.util.Locale.ENGLISH;
 
@@ -43,6 +52,9 @@ import static java.util.Locale.ENGLISH;
  *
  * simulation.threads=4
  * simulation.maxDuration=1500
+ * simulation.conservative=true
+ * simulation.optimistic=false
+ * simulation.parallelBuild=false
  * simulation.setupClass=simulation.SimulationSetup
  * simulation.finisherClass=simulation.SimulationFinisher
  *
@@ -109,6 +121,16 @@ import static java.util.Locale.ENGLISH;
  * agent.byzantineAgent.protocols=[transport, tendermint, hackProtocol]
  * agent.byzantineAgent.behaviors=[byzantineBehavior]
  * </pre>
+ * <p>
+ * If {@code simulation.conservative} is true, the {@link SimpleScheduler} is created in conservative mode with the min {@link
+ * Environment#lookahead()} of all environments as lookahead and a {@link MailboxExecutor}. If {@code simulation.optimistic} is true, the scheduler
+ * is a {@link TimeWarpScheduler} with a {@code MailboxExecutor}. A simulation cannot be conservative and optimistic.
+ * <p>
+ * If {@code simulation.parallelBuild} is true, agents of each {@link AgentConfiguration} are generated by batches of {@link #AGENT_BATCH_SIZE}
+ * agents in a {@link ForkJoinPool} of {@code simulation.threads} threads. Each batch generates its agents with their protocols, protocol
+ * dependencies and behaviors. All generated agents of an {@code AgentConfiguration} are then added in each of their {@link Environment}s with only
+ * one {@link Environment#addAgents(Collection)}, therefore observers of an {@code Environment} (as {@link
+ * org.paradise.palmbeach.core.environment.network.Network}s) are notified once by {@code AgentConfiguration} instead of once by agent.
  */
 @Getter
 @ToString
@@ -121,6 +143,9 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
 
     public static final String THREADS_PROPERTY = "threads";
     public static final String MAX_DURATION_PROPERTY = "maxDuration";
+    public static final String CONSERVATIVE_PROPERTY = "conservative";
+    public static final String OPTIMISTIC_PROPERTY = "optimistic";
+    public static final String PARALLEL_BUILD_PROPERTY = "parallelBuild";
     public static final String SETUP_CLASS_PROPERTY = "setupClass";
     public static final String FINISHER_CLASS_PROPERTY = "finisherClass";
 
@@ -132,10 +157,18 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
     public static final String BEHAVIOR_PROPERTY = "behavior";
     public static final String AGENT_PROPERTY = "agent";
 
+    /**
+     * Maximal number of agents generated by one task in parallel build.
+     */
+    public static final int AGENT_BATCH_SIZE = 256;
+
     // Variables.
 
     private final int threads;
     private final long maxDuration;
+    private final boolean conservative;
+    private final boolean optimistic;
+    private final boolean parallelBuild;
     private final String setupClass;
     private final String finisherClass;
 
@@ -144,6 +177,9 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
     private final Set<EnvironmentConfiguration> environments;
     private final Map<String, ProtocolConfiguration> protocols;
     private final Map<String, BehaviorConfiguration> behaviors;
+    /**
+     * Agent configurations in the order of the configuration, the ids of agents are reserved in this order.
+     */
     private final Set<AgentConfiguration> agents;
 
     // Constructors.
@@ -160,6 +196,13 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
         if (this.maxDuration < 1)
             throw new WrongSimulationConfigurationException("Max duration cannot be less than 1");
 
+        this.conservative = simulationConfig.hasPath(CONSERVATIVE_PROPERTY) && simulationConfig.getBoolean(CONSERVATIVE_PROPERTY);
+        this.optimistic = simulationConfig.hasPath(OPTIMISTIC_PROPERTY) && simulationConfig.getBoolean(OPTIMISTIC_PROPERTY);
+        if (this.conservative && this.optimistic)
+            throw new WrongSimulationConfigurationException("Simulation cannot be conservative and optimistic");
+
+        this.parallelBuild = simulationConfig.hasPath(PARALLEL_BUILD_PROPERTY) && simulationConfig.getBoolean(PARALLEL_BUILD_PROPERTY);
+
         this.setupClass = simulationConfig.hasPath(SETUP_CLASS_PROPERTY) ? simulationConfig.getString(SETUP_CLASS_PROPERTY) : null;
         this.finisherClass = simulationConfig.hasPath(FINISHER_CLASS_PROPERTY) ? simulationConfig.getString(FINISHER_CLASS_PROPERTY) : null;
 
@@ -179,7 +222,7 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
             this.behaviors = new HashMap<>();
             parseBehaviorsConfiguration();
 
-            this.agents = new HashSet<>();
+            this.agents = new LinkedHashSet<>();
             parseAgentsConfiguration();
         } catch (Exception e) {
             throw new WrongSimulationConfigurationException("Fail to create Simulation configuration", e);
@@ -247,8 +290,6 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
     @Override
     public PalmBeachSimulation generate() throws GenerationFailedException {
         try {
-            Executor executor = new MultiThreadExecutor(threads);
-            Scheduler scheduler = new SimpleScheduler(maxDuration, executor);
             SimulationSetup simulationSetup = setupClass != null ?
                     SimulationSetup.initiateSimulationSetup(ReflectionTools.extractClass(setupClass)) : null;
             SimulationFinisher simulationFinisher =
@@ -256,6 +297,7 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
             Set<Controller> allControllers = generateAllControllers();
             Map<String, Environment> allEnvironments = generateAllEnvironments();
             Set<SimpleAgent> allAgents = generateAllAgents(allEnvironments);
+            Scheduler scheduler = generateScheduler(allEnvironments.values());
             return new PalmBeachSimulation(scheduler, simulationSetup, simulationFinisher, new HashSet<>(allEnvironments.values()), allAgents,
                                            allControllers);
         } catch (Exception e) {
@@ -263,6 +305,24 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
         }
     }
 
+    private Scheduler generateScheduler(Collection<Environment> allEnvironments) {
+        if (conservative)
+            return new SimpleScheduler(maxDuration, new MailboxExecutor(threads), new TimingWheelExecutableStore(),
+                                       () -> lookahead(allEnvironments));
+        else if (optimistic)
+            return new TimeWarpScheduler(maxDuration, new MailboxExecutor(threads));
+        else
+            return new SimpleScheduler(maxDuration, new MultiThreadExecutor(threads));
+    }
+
+    private static long lookahead(Collection<Environment> allEnvironments) {
+        long lookahead = Long.MAX_VALUE;
+        for (Environment environment : allEnvironments) {
+            lookahead = Math.min(lookahead, environment.lookahead());
+        }
+        return lookahead == Long.MAX_VALUE ? Scheduler.NEXT_STEP : lookahead;
+    }
+
     private Set<Controller> generateAllControllers() throws GenerationFailedException {
         Set<Controller> allControllers = new HashSet<>();
         for (ControllerConfiguration controllerConfiguration : controllers) {
@@ -293,6 +353,47 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
     }
 
     private Set<SimpleAgent> generateAllAgents(Map<String, Environment> allEnvironments) throws GenerationFailedException {
+        return parallelBuild ? generateAllAgentsInParallel(allEnvironments) : generateAllAgentsSequentially(allEnvironments);
+    }
+
+    private Set<SimpleAgent> generateAllAgentsInParallel(Map<String, Environment> allEnvironments) throws GenerationFailedException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Set<SimpleAgent> allAgents = new HashSet<>();
+            for (AgentConfiguration agentConfiguration : agents) {
+                SimpleAgent[] generatedAgents = new SimpleAgent[agentConfiguration.getNumber()];
+                long firstId = SimpleAgent.AgentIdentifier.reserveIds(generatedAgents.length);
+                pool.invoke(new AgentBatchTask(agentConfiguration, generatedAgents, firstId, 0, generatedAgents.length));
+                List<SimpleAgent> agentList = Arrays.asList(generatedAgents);
+                addAllInEnvironments(allEnvironments, agentConfiguration, agentList);
+                allAgents.addAll(agentList);
+            }
+            return allAgents;
+        } catch (CompletionException e) {
+            throw generationFailure(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return the {@link GenerationFailedException} which has caused the exception.
+     *
+     * @throws RuntimeException the exception itself if it is not caused by a {@code GenerationFailedException}
+     */
+    private static GenerationFailedException generationFailure(RuntimeException exception) {
+        Throwable cause = exception;
+        while (cause != null && !(cause instanceof GenerationFailedException)) {
+            cause = cause.getCause();
+        }
+
+        if (cause != null)
+            return (GenerationFailedException) cause;
+        else
+            throw exception;
+    }
+
+    private Set<SimpleAgent> generateAllAgentsSequentially(Map<String, Environment> allEnvironments) throws GenerationFailedException {
         Set<SimpleAgent> allAgents = new HashSet<>();
         for (AgentConfiguration agentConfiguration : agents) {
             Set<SimpleAgent> generatedAgents = agentConfiguration.generate();
@@ -354,10 +455,9 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
             throws GenerationFailedException {
         try {
             String setterName = "set" + protocolDependencyName.substring(0, 1).toUpperCase(ENGLISH) + protocolDependencyName.substring(1);
-            PropertyDescriptor dependencyProperty = new PropertyDescriptor(protocolDependencyName, protocol.getClass(), null, setterName);
-            dependencyProperty.getWriteMethod().invoke(protocol, protocolDependency);
+            FactoryCache.setter(protocol.getClass(), setterName).set(protocol, protocolDependency);
             log.info("Set dependency {} to the protocol {}", protocolDependencyName, protocol);
-        } catch (IntrospectionException e) {
+        } catch (NoSuchMethodException e) {
             throw new GenerationFailedException(
                     "No field " + protocolDependencyName + " in the protocol " + protocol.getClass().getName(), e);
         } catch (InvocationTargetException | IllegalAccessException e) {
@@ -379,6 +479,22 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
         }
     }
 
+    private void addAllInEnvironments(Map<String, Environment> allEnvironments, AgentConfiguration agentConfiguration,
+                                      List<SimpleAgent> generatedAgents) {
+        List<SimpleAgent.AgentIdentifier> identifiers = Lists.newArrayListWithCapacity(generatedAgents.size());
+        generatedAgents.forEach(agent -> identifiers.add(agent.getIdentifier()));
+
+        for (String environmentIdentifier : agentConfiguration.getEnvironments()) {
+            Environment environment = allEnvironments.get(environmentIdentifier);
+            if (environment != null) {
+                int added = environment.addAgents(identifiers);
+                log.info("Environment {} add {} agents", environment, added);
+            } else {
+                log.error("Cannot find Environment identified by {} in the Simulation configuration", environmentIdentifier);
+            }
+        }
+    }
+
     private void addInEnvironments(Map<String, Environment> allEnvironments, AgentConfiguration agentConfiguration, SimpleAgent agent) {
         for (String environmentIdentifier : agentConfiguration.getEnvironments()) {
             Environment environment = allEnvironments.get(environmentIdentifier);
@@ -390,4 +506,55 @@ public class SimulationConfiguration extends PalmBeachConfiguration<PalmBeachSim
             }
         }
     }
+
+    // Inner classes.
+
+    /**
+     * Generates the agents of an {@link AgentConfiguration} in [from, to[ with their protocols and behaviors. The range is split in two tasks while
+     * it contains more than {@link #AGENT_BATCH_SIZE} agents. Each generated agent is stored in the array at its index, therefore the order of agents
+     * does not depend on the order of execution of tasks. The ids of the agents are reserved before the generation, the agent at the index i has the
+     * unique id {@code firstId + i}, therefore ids are the same as with a sequential generation.
+     */
+    private class AgentBatchTask extends RecursiveAction {
+
+        // Variables.
+
+        private final transient AgentConfiguration agentConfiguration;
+        private final transient SimpleAgent[] generatedAgents;
+        private final long firstId;
+        private final int from;
+        private final int to;
+
+        // Constructors.
+
+        private AgentBatchTask(AgentConfiguration agentConfiguration, SimpleAgent[] generatedAgents, long firstId, int from, int to) {
+            this.agentConfiguration = agentConfiguration;
+            this.generatedAgents = generatedAgents;
+            this.firstId = firstId;
+            this.from = from;
+            this.to = to;
+        }
+
+        // Methods.
+
+        @Override
+        protected void compute() {
+            if (to - from > AGENT_BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AgentBatchTask(agentConfiguration, generatedAgents, firstId, from, middle),
+                          new AgentBatchTask(agentConfiguration, generatedAgents, firstId, middle, to));
+            } else {
+                try {
+                    for (int i = from; i < to; i++) {
+                        SimpleAgent agent = agentConfiguration.generateAgent(i, firstId);
+                        addProtocols(agentConfiguration, agent);
+                        addBehaviors(agentConfiguration, agent);
+                        generatedAgents[i] = agent;
+                    }
+                } catch (GenerationFailedException e) {
+                    throw new CompletionException(e);
+                }
+            }
+        }
+    }
 }
@@ -644,6 +644,59 @@ public class SimpleAgentTest {
             ProtocolTest.BasicProtocol protocol = simpleAgent.getProtocol(ProtocolTest.BasicProtocol.class);
             assertThat(protocol.getProcessEventCounter()).isEqualByComparingTo(1);
         }
+
+        @Test
+        @DisplayName("processEvent() gives the Event to the protocol which declares handling the Event class or a super class of it")
+        void withDeclaredEventProtocol(@Mock SimpleAgent.AgentIdentifier identifier) {
+            SimpleAgent simpleAgent = new SimpleAgent(identifier, null);
+            simpleAgent.start();
+            simpleAgent.addProtocol(ProtocolTest.DeclaredEventProtocol.class);
+
+            assertDoesNotThrow(() -> simpleAgent.processEvent(new ProtocolTest.DeclaredEvent(null)));
+            assertDoesNotThrow(() -> simpleAgent.processEvent(new ProtocolTest.SubDeclaredEvent(null)));
+            ProtocolTest.DeclaredEventProtocol protocol = simpleAgent.getProtocol(ProtocolTest.DeclaredEventProtocol.class);
+            assertThat(protocol.getProcessEventCounter()).isEqualByComparingTo(2);
+        }
+
+        @Test
+        @DisplayName("processEvent() does not give the Event to the protocol which does not declare handling the Event class")
+        void withNotDeclaredEvent(@Mock SimpleAgent.AgentIdentifier identifier, @Mock Event<?> event) {
+            SimpleAgent simpleAgent = new SimpleAgent(identifier, null);
+            simpleAgent.start();
+            simpleAgent.addProtocol(ProtocolTest.DeclaredEventProtocol.class);
+
+            assertThrows(AgentCannotProcessEventException.class, () -> simpleAgent.processEvent(event));
+            ProtocolTest.DeclaredEventProtocol protocol = simpleAgent.getProtocol(ProtocolTest.DeclaredEventProtocol.class);
+            assertThat(protocol.getProcessEventCounter()).isZero();
+        }
+
+        @Test
+        @DisplayName("processEvent() asks the protocol which overrides canProcessEvent() without overriding handledEventTypes()")
+        void withCanProcessEventOverriddenAfterHandledEventTypes(@Mock SimpleAgent.AgentIdentifier identifier) {
+            SimpleAgent simpleAgent = new SimpleAgent(identifier, null);
+            simpleAgent.start();
+            simpleAgent.addProtocol(ProtocolTest.RestrictedDeclaredEventProtocol.class);
+
+            assertThrows(AgentCannotProcessEventException.class, () -> simpleAgent.processEvent(new ProtocolTest.DeclaredEvent(null)));
+            assertDoesNotThrow(() -> simpleAgent.processEvent(new ProtocolTest.DeclaredEvent(new Object())));
+            ProtocolTest.RestrictedDeclaredEventProtocol protocol = simpleAgent.getProtocol(ProtocolTest.RestrictedDeclaredEventProtocol.class);
+            assertThat(protocol.getProcessEventCounter()).isEqualByComparingTo(1);
+        }
+
+        @Test
+        @DisplayName("processEvent() gives the Event to protocols added after a previous dispatch of the same Event class")
+        void withProtocolAddedAfterDispatch(@Mock SimpleAgent.AgentIdentifier identifier) {
+            SimpleAgent simpleAgent = new SimpleAgent(identifier, null);
+            simpleAgent.start();
+            simpleAgent.addProtocol(ProtocolTest.DeclaredEventProtocol.class);
+            simpleAgent.processEvent(new ProtocolTest.DeclaredEvent(null));
+
+            simpleAgent.addProtocol(ProtocolTest.BasicProtocol.class);
+            simpleAgent.processEvent(new ProtocolTest.DeclaredEvent(null));
+
+            assertThat(simpleAgent.getProtocol(ProtocolTest.DeclaredEventProtocol.class).getProcessEventCounter()).isEqualByComparingTo(2);
+            assertThat(simpleAgent.getProtocol(ProtocolTest.BasicProtocol.class).getProcessEventCounter()).isEqualByComparingTo(1);
+        }
     }
 
     @Nested
@@ -667,5 +720,45 @@ public class SimpleAgentTest {
 
             assertThat(simpleAgent.canProcessEvent(event)).isTrue();
         }
+
+        @Test
+        @DisplayName("canProcessEvent() returns true only for Events which are declared handled by agent.protocol")
+        void agentWithDeclaredEventProtocol(@Mock SimpleAgent.AgentIdentifier identifier, @Mock Event<?> event) {
+            SimpleAgent simpleAgent = new SimpleAgent(identifier, null);
+            simpleAgent.addProtocol(ProtocolTest.DeclaredEventProtocol.class);
+
+            assertThat(simpleAgent.canProcessEvent(new ProtocolTest.DeclaredEvent(null))).isTrue();
+            assertThat(simpleAgent.canProcessEvent(event)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("SimpleAgent snapshot()")
+    @Tag("snapshot")
+    class Snapshot {
+
+        @Test
+        @DisplayName("snapshot() never returns null even if the agent does not have agent.protocol")
+        void agentWithoutProtocol(@Mock SimpleAgent.AgentIdentifier identifier) {
+            SimpleAgent simpleAgent = new SimpleAgent(identifier, null);
+
+            assertThat(simpleAgent.snapshot()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("restore() restores all agent.protocol with the snapshot that they returned")
+        void restoreProtocols(@Mock SimpleAgent.AgentIdentifier identifier, @Mock ProtocolConfiguration protocolConfiguration,
+                              @Mock Protocol protocol) throws GenerationFailedException {
+            SimpleAgent simpleAgent = new SimpleAgent(identifier, null);
+            Object protocolSnapshot = new Object();
+            when(protocolConfiguration.generateProtocol(simpleAgent)).thenReturn(protocol);
+            when(protocol.snapshot()).thenReturn(protocolSnapshot);
+            simpleAgent.addProtocol(protocolConfiguration);
+
+            Object snapshot = simpleAgent.snapshot();
+            simpleAgent.restore(snapshot);
+
+            verify(protocol, times(1)).restore(protocolSnapshot);
+        }
     }
 }
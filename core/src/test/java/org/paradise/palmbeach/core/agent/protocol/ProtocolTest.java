@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -136,6 +137,20 @@ public class ProtocolTest {
         }
     }
 
+    @Nested
+    @DisplayName("Protocol handledEventTypes()")
+    @Tag("handledEventTypes")
+    class HandledEventTypes {
+
+        @Test
+        @DisplayName("handledEventTypes() returns null by default")
+        void returnsNullByDefault(@Mock SimpleAgent agent) {
+            Protocol p = new BasicProtocol(agent, null);
+
+            assertThat(p.handledEventTypes()).isNull();
+        }
+    }
+
     @Nested
     @DisplayName("Protocol setManipulator()")
     @Tag("setManipulator")
@@ -213,6 +228,61 @@ public class ProtocolTest {
         }
     }
 
+    /**
+     * {@link Protocol} which declares handling only {@link DeclaredEvent} and which never answers true to {@link #canProcessEvent(Event)}.
+     */
+    public static class DeclaredEventProtocol extends BasicProtocol {
+
+        public DeclaredEventProtocol(@NonNull SimpleAgent agent, Context context) {
+            super(agent, context);
+        }
+
+        @Override
+        public boolean canProcessEvent(Event<?> event) {
+            return false;
+        }
+
+        @Override
+        public Set<Class<? extends Event<?>>> handledEventTypes() {
+            return Set.of(DeclaredEvent.class);
+        }
+
+        @Override
+        protected ProtocolManipulator defaultProtocolManipulator() {
+            return new DefaultProtocolManipulator(this);
+        }
+    }
+
+    /**
+     * {@link DeclaredEventProtocol} which overrides {@link #canProcessEvent(Event)} without overriding {@link #handledEventTypes()} and which can
+     * only process {@link DeclaredEvent} with a content.
+     */
+    public static class RestrictedDeclaredEventProtocol extends DeclaredEventProtocol {
+
+        public RestrictedDeclaredEventProtocol(@NonNull SimpleAgent agent, Context context) {
+            super(agent, context);
+        }
+
+        @Override
+        public boolean canProcessEvent(Event<?> event) {
+            return event instanceof DeclaredEvent && event.getContent() != null;
+        }
+    }
+
+    public static class DeclaredEvent extends Event<Object> {
+
+        public DeclaredEvent(Object content) {
+            super(content);
+        }
+    }
+
+    public static class SubDeclaredEvent extends DeclaredEvent {
+
+        public SubDeclaredEvent(Object content) {
+            super(content);
+        }
+    }
+
     public static class WrongConstructorVisibilityProtocol extends BasicProtocol {
 
         protected WrongConstructorVisibilityProtocol(@NonNull SimpleAgent agent, Context context) {
@@ -252,6 +322,7 @@ public class ProtocolTest {
 
     public static class ProtocolWithDependencies extends BasicProtocol {
 
+        @Getter
         @Setter
         private BasicProtocol basicProtocol;
 
@@ -5,8 +5,10 @@ import org.paradise.palmbeach.core.agent.SimpleAgent;
 import org.paradise.palmbeach.utils.context.Context;
 import org.paradise.palmbeach.core.environment.network.Network;
 import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.core.scheduler.Scheduler;
 import org.mockito.Mock;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -152,6 +154,52 @@ public class EnvironmentTest {
         }
     }
 
+    @Nested
+    @DisplayName("Environment addAgents()")
+    @Tag("addAgents")
+    class AddAgents {
+
+        @Test
+        @DisplayName("addAgents() throws NullPointerException if the collection is null")
+        void withNullCollection() {
+            Environment environment = new Environment("name", null);
+
+            //noinspection ConstantConditions
+            assertThrows(NullPointerException.class, () -> environment.addAgents(null));
+        }
+
+        @Test
+        @DisplayName("addAgents() adds only new agents and notifies observers once with all added agents")
+        void notifyOnce(@Mock SimpleAgent.AgentIdentifier a0, @Mock SimpleAgent.AgentIdentifier a1, @Mock SimpleAgent.AgentIdentifier a2,
+                        @Mock Environment.EnvironmentObserver observer) {
+            Environment environment = new Environment("name", null);
+            environment.addAgent(a0);
+            environment.addObserver(observer);
+            long version = environment.agentsVersion();
+
+            int added = environment.addAgents(List.of(a0, a1, a2));
+
+            assertThat(added).isEqualTo(2);
+            assertThat(environment.evolvingAgents()).containsExactlyInAnyOrder(a0, a1, a2);
+            assertThat(environment.agentsVersion()).isEqualTo(version + 1);
+            verify(observer, times(1)).environmentAddAgents(List.of(a1, a2));
+            verify(observer, never()).environmentAddAgent(any());
+        }
+
+        @Test
+        @DisplayName("addAgents() does not notify observers if no agent has been added")
+        void noAddedAgent(@Mock SimpleAgent.AgentIdentifier agent, @Mock Environment.EnvironmentObserver observer) {
+            Environment environment = new Environment("name", null);
+            environment.addAgent(agent);
+            environment.addObserver(observer);
+
+            int added = environment.addAgents(List.of(agent));
+
+            assertThat(added).isZero();
+            verify(observer, never()).environmentAddAgents(any());
+        }
+    }
+
     @Nested
     @DisplayName("Environment removeAgent()")
     @Tag("removeAgent")
@@ -238,6 +286,62 @@ public class EnvironmentTest {
         }
     }
 
+    @Nested
+    @DisplayName("Environment evolvingAgentsView()")
+    @Tag("evolvingAgentsView")
+    class EvolvingAgentsView {
+
+        @Test
+        @DisplayName("evolvingAgentsView() returns the same unmodifiable view while no agent is added or removed")
+        void sameViewWithoutChange(@Mock SimpleAgent.AgentIdentifier a0, @Mock SimpleAgent.AgentIdentifier a1) {
+            Environment environment = new Environment("name", null);
+            environment.addAgent(a0);
+
+            Set<SimpleAgent.AgentIdentifier> view = environment.evolvingAgentsView();
+
+            assertThat(view).containsExactly(a0).isSameAs(environment.evolvingAgentsView());
+            assertThrows(UnsupportedOperationException.class, () -> view.add(a1));
+        }
+
+        @Test
+        @DisplayName("evolvingAgentsView() returns a new view and agentsVersion() is incremented after the add or the remove of an agent")
+        void newViewAfterChange(@Mock SimpleAgent.AgentIdentifier a0, @Mock SimpleAgent.AgentIdentifier a1) {
+            Environment environment = new Environment("name", null);
+            environment.addAgent(a0);
+            Set<SimpleAgent.AgentIdentifier> view = environment.evolvingAgentsView();
+            long version = environment.agentsVersion();
+
+            environment.addAgent(a1);
+
+            assertThat(environment.evolvingAgentsView()).containsExactlyInAnyOrder(a0, a1);
+            assertThat(view).containsExactly(a0);
+            assertThat(environment.agentsVersion()).isGreaterThan(version);
+
+            environment.removeAgent(a0);
+
+            assertThat(environment.evolvingAgentsView()).containsExactly(a1);
+        }
+
+        @Test
+        @DisplayName("evolvingAgentsView() never returns an out of date view after concurrent adds and reads")
+        void upToDateViewAfterConcurrentChanges() throws InterruptedException {
+            Environment environment = new Environment("name", null);
+            int agentNumber = 10_000;
+            Thread reader = new Thread(() -> {
+                for (int i = 0; i < agentNumber; i++) {
+                    environment.evolvingAgentsView();
+                }
+            });
+            reader.start();
+            for (int i = 0; i < agentNumber; i++) {
+                environment.addAgent(new SimpleAgent.AgentIdentifier("Agent " + i, i));
+            }
+            reader.join();
+
+            assertThat(environment.evolvingAgentsView()).hasSize(agentNumber).isEqualTo(environment.evolvingAgents());
+        }
+    }
+
     @Nested
     @DisplayName("Environment addNetwork()")
     @Tag("addNetwork")
@@ -309,6 +413,35 @@ public class EnvironmentTest {
         }
     }
 
+    @Nested
+    @DisplayName("Environment lookahead()")
+    @Tag("lookahead")
+    class Lookahead {
+
+        @Test
+        @DisplayName("lookahead() returns NEXT_STEP if the Environment has no Network")
+        void withoutNetwork() {
+            Environment environment = new Environment("name", null);
+
+            assertThat(environment.lookahead()).isEqualTo(Scheduler.NEXT_STEP);
+        }
+
+        @Test
+        @DisplayName("lookahead() returns the min lookahead of all Networks")
+        void withNetworks(@Mock Network n0, @Mock Network n1) {
+            Environment environment = new Environment("name", null);
+
+            when(n0.getName()).thenReturn("n0");
+            when(n1.getName()).thenReturn("n1");
+            when(n0.lookahead()).thenReturn(50L);
+            when(n1.lookahead()).thenReturn(20L);
+            environment.addNetwork(n0);
+            environment.addNetwork(n1);
+
+            assertThat(environment.lookahead()).isEqualTo(20L);
+        }
+    }
+
     @Nested
     @DisplayName("Environment toString()")
     @Tag("toString")
@@ -15,6 +15,7 @@ import lombok.Setter;
 import org.mockito.Mock;
 import org.paradise.palmbeach.core.simulation.PalmBeachSimulation;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -247,6 +248,43 @@ public class NetworkTest {
         }
     }
 
+    @Nested
+    @DisplayName("Network multicast()")
+    @Tag("multicast")
+    @PalmBeachSimulationTest
+    class Multicast {
+
+        @Test
+        @DisplayName("multicast() throws AgentNotStartedException if source is not started")
+        void notStartedSource(@Mock SimpleAgent.AgentIdentifier source, @Mock SimpleAgent.AgentIdentifier target,
+                              @Mock Environment environment, @Mock Event<?> event) {
+            SimpleAgent aSource = new SimpleAgent(source, null);
+            PalmBeachSimulation.addAgent(aSource);
+
+            BasicNetwork network = new BasicNetwork("name", environment, null);
+            assertThrows(AgentNotStartedException.class, () -> network.multicast(source, List.of(target), event));
+            assertThat(network.getSendingCounter()).isZero();
+        }
+
+        @Test
+        @DisplayName("multicast() call simulateSending() one times by connected target if source is started")
+        void connectedTargets(@Mock SimpleAgent.AgentIdentifier source, @Mock SimpleAgent.AgentIdentifier t0,
+                              @Mock SimpleAgent.AgentIdentifier t1, @Mock SimpleAgent.AgentIdentifier t2,
+                              @Mock Environment environment, @Mock Event<?> event) {
+            SimpleAgent aSource = new SimpleAgent(source, null);
+            PalmBeachSimulation.addAgent(aSource);
+            aSource.start();
+
+            BasicNetwork network = new BasicNetwork("name", environment, null);
+            network.multicast(source, List.of(t0, t1, t2), event);
+            assertThat(network.getSendingCounter()).isEqualTo(3);
+
+            network.setHasConnectionSupplier(() -> false);
+            network.multicast(source, List.of(t0, t1, t2), event);
+            assertThat(network.getSendingCounter()).isEqualTo(3);
+        }
+    }
+
     // Inner classes.
 
     public static class BasicNetwork extends Network {
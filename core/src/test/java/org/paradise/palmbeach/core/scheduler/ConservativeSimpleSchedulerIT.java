@@ -0,0 +1,352 @@
+package org.paradise.palmbeach.core.scheduler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.executor.mailbox.MailboxExecutor;
+import org.paradise.palmbeach.core.scheduler.store.TimingWheelExecutableStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@Nested
+@DisplayName("SimpleScheduler in conservative mode integration tests")
+@Tag("ConservativeSimpleScheduler")
+@Slf4j
+@PalmBeachTest
+class ConservativeSimpleSchedulerIT {
+
+    private static final Random r = new Random();
+
+    private static final int NB_EXECUTOR_THREADS = 4;
+
+    private static final long MAX_DURATION = 1000;
+
+    private static final long LOOKAHEAD = 10;
+
+    private static final int NB_AGENTS = 50;
+
+    private Scheduler scheduler;
+    private Scheduler.WaitingSchedulerEndObserver observer;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SimpleScheduler(MAX_DURATION, new MailboxExecutor(NB_EXECUTOR_THREADS), new TimingWheelExecutableStore(), () -> LOOKAHEAD);
+        observer = new Scheduler.WaitingSchedulerEndObserver();
+        scheduler.addSchedulerObserver(observer);
+    }
+
+    @Nested
+    @DisplayName("SimpleScheduler schedule() in conservative mode")
+    @Tag("schedule")
+    class Schedule {
+
+        @Test
+        @DisplayName("scheduleAtTime() execute Executable at expectedTime")
+        void executeAtTime() {
+            List<TimeExecutable> executables = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                executables.add(new TimeExecutable(scheduler, r.nextLong(Scheduler.NEXT_STEP, MAX_DURATION + 1), new Object()));
+            }
+            executables.forEach(exec -> scheduler.scheduleAtTime(exec, exec.getExpectedExecutedTime()));
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            for (TimeExecutable executable : executables) {
+                assertThat(executable.getExecutionCounter()).isEqualByComparingTo(1);
+                assertThat(executable.getExecutedTime()).isEqualByComparingTo(executable.getExpectedExecutedTime());
+            }
+        }
+
+        @Test
+        @DisplayName("Executables which respect the lookahead are executed in time order for each lock monitor and several steps are executed " +
+                "concurrently")
+        void respectCausality() {
+            List<Agent> agents = new ArrayList<>();
+            for (int i = 0; i < NB_AGENTS; i++) {
+                agents.add(new Agent());
+            }
+            Map<Long, Long> inExecution = new ConcurrentHashMap<>();
+            AtomicBoolean severalStepsConcurrently = new AtomicBoolean(false);
+            for (Agent agent : agents) {
+                scheduler.scheduleAtTime(new MessageExecutable(scheduler, agent, agents, inExecution, severalStepsConcurrently),
+                                         r.nextLong(Scheduler.NEXT_STEP, LOOKAHEAD));
+            }
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            for (Agent agent : agents) {
+                assertThat(agent.getReceptionTimes()).isSorted().isNotEmpty();
+            }
+            assertThat(severalStepsConcurrently).isTrue();
+        }
+
+        @Test
+        @DisplayName("Step which contains an Executable without lock monitor is not executed concurrently with other steps")
+        void executeAloneStepWithoutLockMonitor() {
+            Map<Long, Long> inExecution = new ConcurrentHashMap<>();
+            AtomicBoolean notAlone = new AtomicBoolean(false);
+            for (long time = Scheduler.NEXT_STEP; time <= 100; time++) {
+                Object lockMonitor = time % 10 == 0 ? null : new Object();
+                scheduler.scheduleAtTime(new StepExecutable(scheduler, inExecution, notAlone, lockMonitor, lockMonitor == null), time);
+                scheduler.scheduleAtTime(new StepExecutable(scheduler, inExecution, notAlone, new Object(), lockMonitor == null), time);
+            }
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(notAlone).isFalse();
+        }
+
+        @Test
+        @DisplayName("await(Condition, long) wake up the specified executable at the time of the wake up")
+        void wakeUpExecutableWithAwaitTimeout() {
+            long waitingTime = 50L;
+            WaitingExecutable waitingExecutable = new WaitingExecutable(scheduler, Scheduler.NEXT_STEP, waitingTime);
+            scheduler.scheduleAtTime(waitingExecutable, waitingExecutable.getExpectedExecutedTime());
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(waitingExecutable.getExecutionCounter()).isEqualByComparingTo(1);
+            assertThat(waitingExecutable.getExecutedTime()).isEqualByComparingTo(Scheduler.NEXT_STEP + waitingTime);
+        }
+
+        @Test
+        @DisplayName("await() keeps the time of the woken up Executable if the Executable which wakes it up is behind it")
+        void wakeUpByExecutableBehind() {
+            AtomicReference<Executor.Condition> condition = new AtomicReference<>();
+            WaitingExecutable waiter = new ConditionWaitingExecutable(scheduler, LOOKAHEAD - 2, condition);
+            WakerExecutable waker = new WakerExecutable(Scheduler.NEXT_STEP, condition);
+            scheduler.scheduleAtTime(waiter, waiter.getExpectedExecutedTime());
+            scheduler.scheduleAtTime(waker, waker.time());
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(waiter.getExecutionCounter()).isEqualByComparingTo(1);
+            assertThat(waiter.getExecutedTime()).isEqualByComparingTo(waiter.getExpectedExecutedTime());
+        }
+
+        @Test
+        @DisplayName("SimpleScheduler finish even if there is Executable infinitely waiting")
+        void withInfinitelyWaitingExecutable() {
+            List<WaitingExecutable> executables = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                executables.add(new WaitingExecutable(scheduler, r.nextLong(Scheduler.NEXT_STEP, MAX_DURATION + 1), -1L));
+            }
+            executables.forEach(exec -> scheduler.scheduleAtTime(exec, exec.getExpectedExecutedTime()));
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            for (WaitingExecutable executable : executables) {
+                assertThat(executable.getExecutionCounter()).isEqualByComparingTo(0);
+            }
+        }
+    }
+
+    private void waitSchedulerEnd() {
+        try {
+            int counter = 0;
+            while (!scheduler.isKilled()) {
+                observer.waitSchedulerEnd(1000L);
+                counter++;
+                log.debug("Wake up after waiting Scheduler end");
+                if (counter >= 30) {
+                    log.error("To much wait Scheduler end");
+                    fail();
+                }
+            }
+        } catch (InterruptedException e) {
+            fail(e);
+        }
+    }
+
+    private static void enterStep(Map<Long, Long> inExecution, long time) {
+        inExecution.merge(time, 1L, Long::sum);
+    }
+
+    private static void leaveStep(Map<Long, Long> inExecution, long time) {
+        inExecution.computeIfPresent(time, (t, counter) -> counter > 1L ? counter - 1L : null);
+    }
+
+    // Inner classes.
+
+    @RequiredArgsConstructor
+    private static class TimeExecutable implements Executable {
+
+        protected final Scheduler scheduler;
+
+        @Getter
+        private final long expectedExecutedTime;
+
+        private final Object lockMonitor;
+
+        @Getter
+        private int executionCounter = 0;
+
+        @Getter
+        private long executedTime;
+
+        @Override
+        public void execute() throws Exception {
+            executedTime();
+        }
+
+        protected void executedTime() {
+            executedTime = scheduler.getCurrentTime();
+            executionCounter++;
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return lockMonitor;
+        }
+    }
+
+    private static class WaitingExecutable extends TimeExecutable {
+
+        private final long waitingTime;
+
+        public WaitingExecutable(Scheduler scheduler, long expectedExecutedTime, long waitingTime) {
+            super(scheduler, expectedExecutedTime, new Object());
+            this.waitingTime = waitingTime;
+        }
+
+        @Override
+        public void execute() throws Exception {
+            if (waitingTime <= 0)
+                scheduler.await(scheduler.generateCondition());
+            else
+                scheduler.await(scheduler.generateCondition(), waitingTime);
+
+            super.execute();
+        }
+    }
+
+    /**
+     * Waits a condition that it publishes before waiting.
+     */
+    private static class ConditionWaitingExecutable extends WaitingExecutable {
+
+        private final AtomicReference<Executor.Condition> condition;
+
+        public ConditionWaitingExecutable(Scheduler scheduler, long expectedExecutedTime, AtomicReference<Executor.Condition> condition) {
+            super(scheduler, expectedExecutedTime, -1L);
+            this.condition = condition;
+        }
+
+        @Override
+        public void execute() throws Exception {
+            Executor.Condition toWait = scheduler.generateCondition();
+            condition.set(toWait);
+            scheduler.await(toWait);
+
+            executedTime();
+        }
+    }
+
+    /**
+     * Wakes up the condition published by a {@link ConditionWaitingExecutable}, waits its publication if needed.
+     */
+    private record WakerExecutable(long time, AtomicReference<Executor.Condition> condition) implements Executable {
+
+        @Override
+        public void execute() throws Exception {
+            for (int i = 0; i < 100 && condition.get() == null; i++) {
+                Thread.sleep(10L);
+            }
+            condition.get().wakeup();
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return this;
+        }
+    }
+
+    @Getter
+    private static class Agent {
+
+        private final List<Long> receptionTimes = new ArrayList<>();
+    }
+
+    /**
+     * Simulates the reception of a message by an agent which sends a message to another agent with a delay which respects the lookahead.
+     */
+    @RequiredArgsConstructor
+    private static class MessageExecutable implements Executable {
+
+        private final Scheduler scheduler;
+        private final Agent agent;
+        private final List<Agent> agents;
+        private final Map<Long, Long> inExecution;
+        private final AtomicBoolean severalStepsConcurrently;
+
+        @Override
+        public void execute() throws Exception {
+            long time = scheduler.getCurrentTime();
+            enterStep(inExecution, time);
+            if (inExecution.size() > 1)
+                severalStepsConcurrently.set(true);
+
+            agent.getReceptionTimes().add(time);
+            Agent target = agents.get(r.nextInt(agents.size()));
+            scheduler.scheduleOnce(new MessageExecutable(scheduler, target, agents, inExecution, severalStepsConcurrently),
+                                   r.nextLong(LOOKAHEAD, 2 * LOOKAHEAD));
+            Thread.sleep(1);
+
+            leaveStep(inExecution, time);
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return agent;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class StepExecutable implements Executable {
+
+        private final Scheduler scheduler;
+        private final Map<Long, Long> inExecution;
+        private final AtomicBoolean notAlone;
+        private final Object lockMonitor;
+        private final boolean barrierStep;
+
+        @Override
+        public void execute() throws Exception {
+            long time = scheduler.getCurrentTime();
+            enterStep(inExecution, time);
+            checkAlone();
+            Thread.sleep(1);
+            checkAlone();
+            leaveStep(inExecution, time);
+        }
+
+        private void checkAlone() {
+            if (barrierStep && inExecution.size() > 1)
+                notAlone.set(true);
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return lockMonitor;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.paradise.palmbeach.core.scheduler.exception.ForcedWakeUpException;
 import org.paradise.palmbeach.core.scheduler.exception.ImpossibleSchedulingException;
 import org.paradise.palmbeach.core.scheduler.executor.Executable;
 import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.store.TimingWheelExecutableStore;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -48,12 +49,28 @@ public class SimpleSchedulerTest {
             assertThrows(NullPointerException.class, () -> new SimpleScheduler(1, null));
         }
 
+        @Test
+        @DisplayName("constructor throws NullPointerException with null ExecutableStore")
+        void withNullExecutableStore(@Mock Executor executor) {
+            //noinspection ConstantConditions
+            assertThrows(NullPointerException.class, () -> new SimpleScheduler(1, executor, null));
+        }
+
         @ParameterizedTest
         @ValueSource(ints = {1, 2, 1545, 645654, 6, 466})
         @DisplayName("constructors does not throw exception with correct parameter")
         void withCorrectParameter(int maxDuration, @Mock Executor executor) {
             assertDoesNotThrow(() -> new SimpleScheduler(maxDuration, executor));
         }
+
+        @Test
+        @DisplayName("constructor with lookahead creates a conservative SimpleScheduler")
+        void withLookahead(@Mock Executor executor) {
+            SimpleScheduler scheduler = new SimpleScheduler(DEFAULT_MAX_DURATION, executor, new TimingWheelExecutableStore(), () -> 5L);
+
+            assertThat(scheduler.isConservative()).isTrue();
+            assertThat(new SimpleScheduler(DEFAULT_MAX_DURATION, executor).isConservative()).isFalse();
+        }
     }
 
     @Nested
@@ -157,6 +174,23 @@ public class SimpleSchedulerTest {
             verify(executor, times(1)).execute(executable);
         }
 
+        @Test
+        @DisplayName("start() in conservative mode executes all steps of the lookahead window")
+        void executeLookaheadWindow(@Mock Executor executor, @Mock Executable e0, @Mock Executable e1, @Mock Executable e2) {
+            when(e0.getLockMonitor()).thenReturn(e0);
+            when(e1.getLockMonitor()).thenReturn(e1);
+            Scheduler scheduler = new SimpleScheduler(DEFAULT_MAX_DURATION, executor, new TimingWheelExecutableStore(), () -> 10L);
+            scheduler.scheduleAtTime(e0, 1L);
+            scheduler.scheduleAtTime(e1, 10L);
+            scheduler.scheduleAtTime(e2, 11L);
+            scheduler.start();
+
+            verify(executor, timeout(1000L).times(2)).execute(any());
+            verify(executor, after(100L).times(2)).execute(any());
+            assertThat(scheduler.getCurrentTime()).isEqualTo(10L);
+            scheduler.kill();
+        }
+
         @Test
         @DisplayName("start() direct finish by end reach if Executable are scheduled after the max duration")
         void reachEnd(@Mock Executor executor, @Mock Scheduler.SchedulerObserver observer, @Mock Executable executable) {
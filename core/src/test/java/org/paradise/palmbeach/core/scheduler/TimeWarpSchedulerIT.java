@@ -0,0 +1,378 @@
+package org.paradise.palmbeach.core.scheduler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.executor.mailbox.MailboxExecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@Nested
+@DisplayName("TimeWarpScheduler integration tests")
+@Tag("TimeWarpScheduler")
+@Slf4j
+@PalmBeachTest
+class TimeWarpSchedulerIT {
+
+    private static final int NB_EXECUTOR_THREADS = 4;
+
+    private static final long MAX_DURATION = 500;
+
+    private static final int NB_AGENTS = 20;
+
+    private TimeWarpScheduler scheduler;
+    private Scheduler.WaitingSchedulerEndObserver observer;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TimeWarpScheduler(MAX_DURATION, new MailboxExecutor(NB_EXECUTOR_THREADS));
+        observer = new Scheduler.WaitingSchedulerEndObserver();
+        scheduler.addSchedulerObserver(observer);
+    }
+
+    @Nested
+    @DisplayName("TimeWarpScheduler rollback")
+    @Tag("rollback")
+    class Rollback {
+
+        @Test
+        @DisplayName("Straggler Executable rolls back the Executables of its lock monitor which have been executed after its time")
+        void rollbackStraggler() {
+            Agent a = new Agent();
+            Agent b = new Agent();
+            scheduler.scheduleAtTime(new MessageExecutable(scheduler, b, 200L, new Message(a, 5L), null), 1L);
+            scheduler.scheduleAtTime(new MessageExecutable(scheduler, a, 0L, null, null), 10L);
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(scheduler.getRollbackNumber()).isPositive();
+            assertThat(a.getReceptionTimes()).containsExactly(5L, 10L);
+            assertThat(b.getReceptionTimes()).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Rolled back Executable cancels the Executables that it has scheduled")
+        void cancelScheduledExecutables() {
+            Agent a = new Agent();
+            Agent b = new Agent();
+            Agent c = new Agent();
+            scheduler.scheduleAtTime(new MessageExecutable(scheduler, b, 200L, new Message(a, 5L), null), 1L);
+            scheduler.scheduleAtTime(new MessageExecutable(scheduler, a, 0L, null, new Message(c, 10L)), 10L);
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(scheduler.getRollbackNumber()).isPositive();
+            assertThat(a.getReceptionTimes()).containsExactly(5L, 10L);
+            assertThat(c.getReceptionTimes()).containsExactly(20L);
+        }
+
+        @Test
+        @DisplayName("Cancelled Executable is rolled back if it has been executed speculatively even if its lock monitor is no more rollbackable")
+        void cancelSpeculativeExecutableOfNoMoreRollbackableLockMonitor() {
+            Agent a = new Agent();
+            Agent b = new Agent();
+            Agent c = new NoMoreRollbackableAgent();
+            scheduler.scheduleAtTime(new MessageExecutable(scheduler, b, 200L, new Message(a, 5L), null), 1L);
+            scheduler.scheduleAtTime(new MessageExecutable(scheduler, a, 0L, null, new Message(c, 10L)), 10L);
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(scheduler.getRollbackNumber()).isPositive();
+            assertThat(a.getReceptionTimes()).containsExactly(5L, 10L);
+            assertThat(c.getReceptionTimes()).containsExactly(20L);
+        }
+
+        @Test
+        @DisplayName("Speculative execution gives the same result as a sequential execution")
+        void sameResultAsSequentialExecution() {
+            Random random = new Random(42L);
+            List<Agent> agents = new ArrayList<>();
+            for (int i = 0; i < NB_AGENTS; i++) {
+                agents.add(new Agent());
+            }
+            List<GossipExecutable> initials = new ArrayList<>();
+            for (int i = 0; i < NB_AGENTS; i++) {
+                initials.add(new GossipExecutable(scheduler, agents, i, random.nextLong(1, 20), random.nextInt()));
+            }
+            initials.forEach(gossip -> scheduler.scheduleAtTime(gossip, gossip.time()));
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            List<List<Long>> expected = sequentialExecution(initials);
+            for (int i = 0; i < NB_AGENTS; i++) {
+                assertThat(agents.get(i).getReceptionTimes()).isEqualTo(expected.get(i));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("TimeWarpScheduler await()")
+    @Tag("await")
+    class Await {
+
+        @Test
+        @DisplayName("Waiting Executable is executed again at the time of the Executable which wakes up the Condition")
+        void resumedAtWakeUpTime() {
+            Agent a = new Agent();
+            Agent b = new Agent();
+            Mailbox mailbox = new Mailbox(scheduler.generateCondition());
+            scheduler.scheduleAtTime(new WaitingExecutable(scheduler, a, mailbox, -1L), 5L);
+            scheduler.scheduleAtTime(new PostingExecutable(b, mailbox), 20L);
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(scheduler.getRollbackNumber()).isPositive();
+            assertThat(a.getReceptionTimes()).containsExactly(20L);
+            assertThat(b.getReceptionTimes()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Waiting Executable is executed again at the timeout if the Condition is not woken up")
+        void resumedAtTimeout() {
+            Agent a = new Agent();
+            Mailbox mailbox = new Mailbox(scheduler.generateCondition());
+            scheduler.scheduleAtTime(new WaitingExecutable(scheduler, a, mailbox, 10L), 5L);
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(a.getReceptionTimes()).containsExactly(15L);
+        }
+
+        @Test
+        @DisplayName("Executable which cannot be rolled back cannot wait")
+        void notRollbackableCannotWait() {
+            Object lockMonitor = new Object();
+            Executor.Condition condition = scheduler.generateCondition();
+            List<Exception> exceptions = new ArrayList<>();
+            scheduler.scheduleAtTime(new Executable() {
+                @Override
+                public void execute() throws Exception {
+                    try {
+                        scheduler.await(condition);
+                    } catch (UnsupportedOperationException e) {
+                        exceptions.add(e);
+                    }
+                }
+
+                @Override
+                public Object getLockMonitor() {
+                    return lockMonitor;
+                }
+            }, 5L);
+            scheduler.start();
+
+            waitSchedulerEnd();
+
+            assertThat(exceptions).hasSize(1);
+        }
+    }
+
+    private void waitSchedulerEnd() {
+        try {
+            int counter = 0;
+            while (!scheduler.isKilled()) {
+                observer.waitSchedulerEnd(1000L);
+                counter++;
+                log.debug("Wake up after waiting Scheduler end");
+                if (counter >= 30) {
+                    log.error("To much wait Scheduler end");
+                    fail();
+                }
+            }
+        } catch (InterruptedException e) {
+            fail(e);
+        }
+    }
+
+    private static List<List<Long>> sequentialExecution(List<GossipExecutable> initials) {
+        List<List<Long>> receptions = new ArrayList<>();
+        for (int i = 0; i < NB_AGENTS; i++) {
+            receptions.add(new ArrayList<>());
+        }
+        Deque<long[]> toExecute = new ArrayDeque<>();
+        initials.forEach(gossip -> toExecute.add(new long[]{gossip.agent(), gossip.time(), gossip.payload()}));
+        while (!toExecute.isEmpty()) {
+            long[] gossip = toExecute.poll();
+            if (gossip[1] <= MAX_DURATION) {
+                receptions.get((int) gossip[0]).add(gossip[1]);
+                toExecute.add(new long[]{nextAgent((int) gossip[2]), gossip[1] + nextDelay((int) gossip[2]), nextPayload((int) gossip[2])});
+            }
+        }
+        receptions.forEach(times -> times.sort(Long::compare));
+        return receptions;
+    }
+
+    private static int nextAgent(int payload) {
+        return Math.floorMod(payload, NB_AGENTS);
+    }
+
+    private static long nextDelay(int payload) {
+        return 1L + Math.floorMod(payload >> 8, 15);
+    }
+
+    private static int nextPayload(int payload) {
+        return payload * 1103515245 + 12345;
+    }
+
+    // Inner classes.
+
+    /**
+     * Rollbackable agent which records the times of the messages that it receives.
+     */
+    @Getter
+    private static class Agent implements Rollbackable {
+
+        private final List<Long> receptionTimes = new ArrayList<>();
+
+        void receive(long time) {
+            receptionTimes.add(time);
+        }
+
+        @Override
+        public Object snapshot() {
+            return new ArrayList<>(receptionTimes);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void restore(Object snapshot) {
+            receptionTimes.clear();
+            receptionTimes.addAll((List<Long>) snapshot);
+        }
+    }
+
+    /**
+     * Agent which is no more rollbackable once it has received a message.
+     */
+    private static class NoMoreRollbackableAgent extends Agent {
+
+        private volatile boolean rollbackable = true;
+
+        @Override
+        void receive(long time) {
+            super.receive(time);
+            rollbackable = false;
+        }
+
+        @Override
+        public boolean isRollbackable() {
+            return rollbackable;
+        }
+    }
+
+    private record Message(Agent target, long delay) {
+    }
+
+    /**
+     * Reception of a message by an agent which can sleep and then send a message.
+     */
+    @RequiredArgsConstructor
+    private static class MessageExecutable implements Executable {
+
+        private final Scheduler scheduler;
+        private final Agent agent;
+        private final long sleep;
+        private final Message toSend;
+        private final Message toSendAfter;
+
+        @Override
+        public void execute() throws Exception {
+            agent.receive(scheduler.getCurrentTime());
+            if (sleep > 0)
+                Thread.sleep(sleep);
+            if (toSend != null)
+                scheduler.scheduleOnce(new MessageExecutable(scheduler, toSend.target(), 0L, null, null), toSend.delay() - scheduler.getCurrentTime());
+            if (toSendAfter != null)
+                scheduler.scheduleOnce(new MessageExecutable(scheduler, toSendAfter.target(), 0L, null, null), toSendAfter.delay());
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return agent;
+        }
+    }
+
+    /**
+     * Mailbox shared by two agents, the posting agent sleeps before posting to be executed after the waiting agent has started to wait.
+     */
+    @RequiredArgsConstructor
+    private static class Mailbox {
+
+        private final Executor.Condition condition;
+        private volatile boolean posted = false;
+    }
+
+    /**
+     * Reception of the content of a mailbox by an agent which waits until the mailbox is posted, with a timeout if it is positive.
+     */
+    private record WaitingExecutable(Scheduler scheduler, Agent agent, Mailbox mailbox, long timeout) implements Executable {
+
+        @Override
+        public void execute() throws Exception {
+            if (!mailbox.posted) {
+                if (timeout > 0)
+                    scheduler.await(mailbox.condition, timeout);
+                else
+                    scheduler.await(mailbox.condition);
+            }
+            agent.receive(scheduler.getCurrentTime());
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return agent;
+        }
+    }
+
+    private record PostingExecutable(Agent agent, Mailbox mailbox) implements Executable {
+
+        @Override
+        public void execute() throws Exception {
+            Thread.sleep(100L);
+            mailbox.posted = true;
+            mailbox.condition.wakeup();
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return agent;
+        }
+    }
+
+    /**
+     * Reception of a gossip by an agent which forwards a new gossip to an agent and with a delay deduced from the payload.
+     */
+    private record GossipExecutable(Scheduler scheduler, List<Agent> agents, int agent, long time, int payload) implements Executable {
+
+        @Override
+        public void execute() throws Exception {
+            agents.get(agent).receive(scheduler.getCurrentTime());
+            if (Math.floorMod(payload, 7) == 0)
+                Thread.sleep(1);
+            long nextTime = time + nextDelay(payload);
+            scheduler.scheduleAtTime(new GossipExecutable(scheduler, agents, nextAgent(payload), nextTime, nextPayload(payload)), nextTime);
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return agents.get(agent);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package org.paradise.palmbeach.core.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.core.scheduler.exception.CannotKillSchedulerException;
+import org.paradise.palmbeach.core.scheduler.exception.CannotStartSchedulerException;
+import org.paradise.palmbeach.core.scheduler.exception.ImpossibleSchedulingException;
+import org.paradise.palmbeach.core.scheduler.exception.NotPreparedConditionException;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+import org.paradise.palmbeach.core.scheduler.executor.Executor;
+import org.paradise.palmbeach.core.scheduler.executor.exception.NotInExecutorContextException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@Nested
+@DisplayName("TimeWarpScheduler tests")
+@Tag("TimeWarpScheduler")
+@PalmBeachTest
+public class TimeWarpSchedulerTest {
+
+    private static final long DEFAULT_MAX_DURATION = 1500L;
+
+    private static final long OPTIMISM_WINDOW = 100L;
+
+    @Nested
+    @DisplayName("TimeWarpScheduler constructor")
+    @Tag("Constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(ints = {-9645, -64, -1, 0})
+        @DisplayName("constructor throws IllegalException with less than 1 max duration")
+        void withLessThanOneMaxDuration(int maxDuration, @Mock Executor executor) {
+            assertThrows(IllegalArgumentException.class, () -> new TimeWarpScheduler(maxDuration, executor));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {-9645, -64, -1, 0})
+        @DisplayName("constructor throws IllegalException with less than 1 optimism window")
+        void withLessThanOneOptimismWindow(int optimismWindow, @Mock Executor executor) {
+            assertThrows(IllegalArgumentException.class, () -> new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor, optimismWindow));
+        }
+
+        @Test
+        @DisplayName("constructor throws NullPointerException with null executor")
+        void withNullExecutor() {
+            //noinspection ConstantConditions
+            assertThrows(NullPointerException.class, () -> new TimeWarpScheduler(1, null));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 1545, 645654})
+        @DisplayName("constructors does not throw exception with correct parameter")
+        void withCorrectParameter(int maxDuration, @Mock Executor executor) {
+            assertDoesNotThrow(() -> new TimeWarpScheduler(maxDuration, executor));
+            assertDoesNotThrow(() -> new TimeWarpScheduler(maxDuration, executor, maxDuration));
+        }
+    }
+
+    @Nested
+    @DisplayName("TimeWarpScheduler toString()")
+    @Tag("toString")
+    class ToString {
+
+        @Test
+        @DisplayName("toString() never returns null")
+        void nerverReturnsNull(@Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+
+            assertThat(scheduler.toString()).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("TimeWarpScheduler start()")
+    @Tag("start")
+    class Start {
+
+        @Test
+        @DisplayName("start() does not throws exception after Scheduler creation with no executable, kill by no executable to execute and call " +
+                "SchedulerObserver methods")
+        void afterCreation(@Mock Executor executor, @Mock Scheduler.SchedulerObserver observer) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+            scheduler.addSchedulerObserver(observer);
+
+            assertDoesNotThrow(scheduler::start);
+            verify(observer, times(1)).schedulerStarted();
+            verify(observer, timeout(1000L).times(1)).noExecutableToExecute();
+            verify(observer, timeout(1000L).times(1)).schedulerKilled();
+            assertThat(scheduler.isKilled()).isTrue();
+        }
+
+        @Test
+        @DisplayName("start() throws CannotStartSchedulerException if at been already started")
+        void alreadyStarted(@Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+            scheduler.start();
+
+            assertThrows(CannotStartSchedulerException.class, scheduler::start);
+        }
+
+        @Test
+        @DisplayName("start() executes speculatively Executables of Rollbackable lock monitor in the optimism window and others only at the GVT")
+        void executeOptimismWindow(@Mock Executor executor, @Mock Rollbackable r0, @Mock Rollbackable r1, @Mock Executable e0, @Mock Executable e1,
+                                   @Mock Executable e2, @Mock Executable e3) {
+            when(r0.isRollbackable()).thenReturn(true);
+            when(r1.isRollbackable()).thenReturn(true);
+            when(e0.getLockMonitor()).thenReturn(r0);
+            when(e1.getLockMonitor()).thenReturn(r1);
+            when(e2.getLockMonitor()).thenReturn(r1);
+            when(e3.getLockMonitor()).thenReturn(new Object());
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor, OPTIMISM_WINDOW);
+            scheduler.scheduleAtTime(e0, 1L);
+            scheduler.scheduleAtTime(e1, OPTIMISM_WINDOW);
+            scheduler.scheduleAtTime(e2, OPTIMISM_WINDOW + 1);
+            scheduler.scheduleAtTime(e3, 2L);
+            scheduler.start();
+
+            verify(executor, timeout(1000L).times(2)).execute(any());
+            verify(executor, after(100L).times(2)).execute(any());
+            assertThat(scheduler.getCurrentTime()).isEqualTo(1L);
+            scheduler.kill();
+        }
+
+        @Test
+        @DisplayName("start() executes Executables of Rollbackable lock monitor which cannot be rolled back only at the GVT")
+        void executeNotRollbackableAtGVT(@Mock Executor executor, @Mock Rollbackable r0, @Mock Rollbackable r1, @Mock Executable e0,
+                                         @Mock Executable e1) {
+            when(r0.isRollbackable()).thenReturn(true);
+            when(r1.isRollbackable()).thenReturn(false);
+            when(e0.getLockMonitor()).thenReturn(r0);
+            when(e1.getLockMonitor()).thenReturn(r1);
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor, OPTIMISM_WINDOW);
+            scheduler.scheduleAtTime(e0, 1L);
+            scheduler.scheduleAtTime(e1, 2L);
+            scheduler.start();
+
+            verify(executor, timeout(1000L).times(1)).execute(any());
+            verify(executor, after(100L).times(1)).execute(any());
+            verify(r1, never()).snapshot();
+            scheduler.kill();
+        }
+
+        @Test
+        @DisplayName("start() finish by end reach if Executable are scheduled after the max duration")
+        void reachEnd(@Mock Executor executor, @Mock Scheduler.SchedulerObserver observer, @Mock Executable executable) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+            scheduler.addSchedulerObserver(observer);
+            scheduler.scheduleOnce(executable, DEFAULT_MAX_DURATION + 1);
+            scheduler.start();
+
+            verify(observer, timeout(1000L).times(1)).schedulerReachEnd();
+            verify(executor, never()).execute(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("TimeWarpScheduler kill()")
+    @Tag("kill")
+    class Kill {
+
+        @Test
+        @DisplayName("kill() throws CannotKillSchedulerException is Scheduler is just created")
+        void withCreatedScheduler(@Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+
+            assertThrows(CannotKillSchedulerException.class, scheduler::kill);
+        }
+    }
+
+    @Nested
+    @DisplayName("TimeWarpScheduler scheduleAtTime()")
+    @Tag("scheduleAtTime")
+    class ScheduleAtTime {
+
+        @Test
+        @DisplayName("scheduleAtTime() throws NullPointerException with null Executable")
+        void withNullExecutable(@Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+
+            //noinspection ConstantConditions
+            assertThrows(NullPointerException.class, () -> scheduler.scheduleAtTime(null, 1));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1516, -665, -1, 0})
+        @DisplayName("scheduleAtTime() throws IllegalArgumentException with less than 1 time")
+        void withNotCorrectTime(int time, @Mock Executor executor, @Mock Executable executable) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+
+            assertThrows(IllegalArgumentException.class, () -> scheduler.scheduleAtTime(executable, time));
+        }
+
+        @Test
+        @DisplayName("scheduleAtTime() throws ImpossibleSchedulingException if is killed")
+        void killedScheduler(@Mock Executor executor, @Mock Scheduler.SchedulerObserver observer, @Mock Executable executable) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+            scheduler.addSchedulerObserver(observer);
+            scheduler.start(); // Killed by no executable to execute
+            verify(observer, timeout(1000L).times(1)).schedulerKilled();
+
+            assertThrows(ImpossibleSchedulingException.class, () -> scheduler.scheduleAtTime(executable, Scheduler.NEXT_STEP));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 1456, 4, 6546})
+        @DisplayName("scheduleAtTime() does not throws exception with correct parameters")
+        void withCorrectParameters(int time, @Mock Executor executor, @Mock Executable executable) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+
+            assertDoesNotThrow(() -> scheduler.scheduleAtTime(executable, time));
+        }
+    }
+
+    @Nested
+    @DisplayName("TimeWarpScheduler await()")
+    @Tag("await")
+    class Await {
+
+        @Test
+        @DisplayName("generateCondition() returns a new Condition")
+        void generateCondition(@Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+
+            Executor.Condition condition = scheduler.generateCondition();
+
+            assertThat(condition).isNotNull().isNotSameAs(scheduler.generateCondition());
+        }
+
+        @Test
+        @DisplayName("await() throws NotInExecutorContextException if not called by an Executable of the scheduler")
+        void notInExecutorContext(@Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+            Executor.Condition condition = scheduler.generateCondition();
+
+            assertThrows(NotInExecutorContextException.class, () -> scheduler.await(condition));
+            assertThrows(NotInExecutorContextException.class, () -> scheduler.await(condition, 5L));
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {-9645, -64, 0})
+        @DisplayName("await() throws IllegalArgumentException with less than 1 timeout")
+        void withLessThanOneTimeout(long timeout, @Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+            Executor.Condition condition = scheduler.generateCondition();
+
+            assertThrows(IllegalArgumentException.class, () -> scheduler.await(condition, timeout));
+        }
+
+        @Test
+        @DisplayName("wakeup() throws NotPreparedConditionException if no Executable waits on the Condition")
+        void wakeupWithoutWaitingExecutable(@Mock Executor executor) {
+            Scheduler scheduler = new TimeWarpScheduler(DEFAULT_MAX_DURATION, executor);
+            Executor.Condition condition = scheduler.generateCondition();
+
+            assertThrows(NotPreparedConditionException.class, condition::wakeup);
+        }
+    }
+}
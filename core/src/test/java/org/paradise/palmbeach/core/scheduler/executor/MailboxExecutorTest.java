@@ -0,0 +1,391 @@
+package org.paradise.palmbeach.core.scheduler.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.core.scheduler.executor.MultiThreadExecutorTest.BasicExecutable;
+import org.paradise.palmbeach.core.scheduler.executor.MultiThreadExecutorTest.FailedExecutable;
+import org.paradise.palmbeach.core.scheduler.executor.MultiThreadExecutorTest.NotifierExecutable;
+import org.paradise.palmbeach.core.scheduler.executor.MultiThreadExecutorTest.WaitingExecutable;
+import org.paradise.palmbeach.core.scheduler.executor.exception.NotInExecutorContextException;
+import org.paradise.palmbeach.core.scheduler.executor.exception.RejectedExecutionException;
+import org.paradise.palmbeach.core.scheduler.executor.mailbox.MailboxExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Nested
+@DisplayName("MailboxExecutor tests")
+@Tag("MailboxExecutor")
+@Slf4j
+@PalmBeachTest
+public class MailboxExecutorTest {
+
+    private static final int RUNNING_THREAD = 4;
+
+    private static final int NUMBER_CORRECT_EXECUTABLE = 50;
+    private static final int NUMBER_LOCK_MONITOR_EXECUTABLE = 500;
+    private static final int NUMBER_FAILED_EXECUTABLE = 50;
+    private static final int NUMBER_WAITING_EXECUTABLE = 10;
+    private static final int NUMBER_NOTIFIER_EXECUTABLE = 5;
+
+    private static final long DEFAULT_TERMINATION_WAITING_TIMEOUT = 50L;
+
+    @Nested
+    @DisplayName("MailboxExecutor constructor")
+    @Tag("constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1654, -1, 0})
+        @DisplayName("constructor throws IllegalArgumentException with less than 1 maxRunningThreads")
+        void withUnCorrectMaxRunningThreads(int maxRunningThreads) {
+            assertThrows(IllegalArgumentException.class, () -> new MailboxExecutor(maxRunningThreads));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1654, -1, 0})
+        @DisplayName("constructor throws IllegalArgumentException with less than 1 throughput")
+        void withUnCorrectThroughput(int throughput) {
+            assertThrows(IllegalArgumentException.class, () -> new MailboxExecutor(RUNNING_THREAD, throughput));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 4, 8, 10})
+        @DisplayName("constructor does not throw exception with correct parameters and is in correct state")
+        void withCorrectParameter(int maxRunningThreads) {
+            AtomicReference<Executor> executor = new AtomicReference<>();
+
+            assertDoesNotThrow(() -> executor.set(new MailboxExecutor(maxRunningThreads)));
+
+            assertThat(executor.get().isQuiescence()).isTrue();
+            assertThat(executor.get().isShutdown()).isFalse();
+            assertThat(executor.get().isTerminated()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("MailboxExecutor execute()")
+    @Tag("execute")
+    class Execute {
+
+        @Test
+        @DisplayName("execute() throws NullPointerException with null Executable")
+        void withNullExecutable() {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+
+            //noinspection ConstantConditions
+            assertThrows(NullPointerException.class, () -> executor.execute(null));
+        }
+
+        @Test
+        @DisplayName("execute() throws RejectedExecutionException if Executor is shutdown")
+        void withShutdownExecutor(@Mock Executable executable) throws Exception {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+            executor.shutdown();
+
+            assertThat(executor.isShutdown()).isTrue();
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(executable));
+            verify(executable, times(0)).execute();
+        }
+
+        @Test
+        @DisplayName("execute() executes all Executables")
+        void executeAllExecutables() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+            List<BasicExecutable> executables = generateBasicExecutables();
+
+            executables.forEach(executor::execute);
+
+            awaitExecutorQuiescence(executor);
+            checkAllExecutableHasBeenExecuted(executables);
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 3, 8})
+        @DisplayName("execute() never executes concurrently two Executables of the same lock monitor")
+        void oneExecutablePerLockMonitor(int nbLockMonitor) throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD, 2);
+            AtomicBoolean concurrentExecution = new AtomicBoolean(false);
+            List<CountingExecutable> executables = new ArrayList<>();
+            List<AtomicInteger> lockMonitors = new ArrayList<>();
+            for (int i = 0; i < nbLockMonitor; i++) {
+                lockMonitors.add(new AtomicInteger(0));
+            }
+            for (int i = 0; i < NUMBER_LOCK_MONITOR_EXECUTABLE; i++) {
+                executables.add(new CountingExecutable(lockMonitors.get(i % nbLockMonitor), concurrentExecution));
+            }
+
+            executables.forEach(executor::execute);
+
+            awaitExecutorQuiescence(executor);
+            checkAllExecutableHasBeenExecuted(executables);
+            assertThat(concurrentExecution.get()).isFalse();
+        }
+
+        @Test
+        @DisplayName("execute() executes Executables of the same lock monitor in the submission order")
+        void keepSubmissionOrderOfLockMonitor() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD, 3);
+            Object lockMonitor = new Object();
+            List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+            List<Integer> expectedOrder = new ArrayList<>();
+
+            for (int i = 0; i < NUMBER_LOCK_MONITOR_EXECUTABLE; i++) {
+                int id = i;
+                expectedOrder.add(id);
+                executor.execute(new Executable() {
+                    @Override
+                    public void execute() {
+                        executionOrder.add(id);
+                    }
+
+                    @Override
+                    public Object getLockMonitor() {
+                        return lockMonitor;
+                    }
+                });
+            }
+
+            awaitExecutorQuiescence(executor);
+            assertThat(executionOrder).isEqualTo(expectedOrder);
+        }
+
+        @Test
+        @DisplayName("execute() executes all Executables even some of them fail")
+        void executeAllExecutablesEvenFailedExecutables() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+            List<BasicExecutable> executables = generateBasicExecutables();
+            List<FailedExecutable> failedExecutables = generateFailedExecutables();
+            executables.addAll(failedExecutables);
+            Collections.shuffle(executables);
+
+            executables.forEach(executor::execute);
+
+            awaitExecutorQuiescence(executor);
+            checkAllExecutableHasBeenExecuted(executables);
+        }
+
+        @Test
+        @DisplayName("execute() execute all Executables even with waiting Executables")
+        void executeAllExecutableEvenWithWaitingExecutables() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+            List<BasicExecutable> correctExecutables = generateBasicExecutables();
+            List<WaitingExecutable> waitingExecutables = generateWaitingExecutables(executor);
+            List<BasicExecutable> executables = new ArrayList<>(correctExecutables);
+            executables.addAll(waitingExecutables);
+            Collections.shuffle(executables);
+
+            executables.forEach(executor::execute);
+
+            awaitExecutorQuiescence(executor);
+            checkAllExecutableHasBeenExecuted(correctExecutables);
+            checkAllExecutableHasNotBeenExecuted(waitingExecutables);
+        }
+
+        @Test
+        @DisplayName("execute() execute all waiting executables which are wakeup")
+        void executeWakeUpWaitingExecutable() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+            List<NotifierExecutable> notifierExecutables = generateNotifierExecutables(executor);
+            List<WaitingExecutable> waitingExecutables = generateWaitingExecutables(executor, notifierExecutables);
+
+            waitingExecutables.forEach(executor::execute);
+            awaitExecutorQuiescence(executor);
+
+            checkAllExecutableHasNotBeenExecuted(waitingExecutables);
+
+            notifierExecutables.forEach(executor::execute);
+            awaitExecutorQuiescence(executor);
+
+            checkAllExecutableHasBeenExecuted(notifierExecutables);
+            checkAllExecutableHasBeenExecuted(waitingExecutables);
+        }
+    }
+
+    @Nested
+    @DisplayName("MailboxExecutor shutdown()")
+    @Tag("shutdown")
+    class Shutdown {
+
+        @Test
+        @DisplayName("shutdown() wake up waiting thread")
+        void shutdownWakeUpWaitingThread() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+            List<WaitingExecutable> waitingExecutables = generateWaitingExecutables(executor);
+
+            waitingExecutables.forEach(executor::execute);
+            awaitExecutorQuiescence(executor);
+
+            checkAllExecutableHasNotBeenExecuted(waitingExecutables);
+
+            executor.shutdown();
+            awaitExecutorTermination(executor);
+
+            checkAllExecutableHasNotBeenExecuted(waitingExecutables);
+        }
+    }
+
+    @Nested
+    @DisplayName("MailboxExecutor getCurrentExecutorThread()")
+    @Tag("getCurrentExecutorThread")
+    class GetCurrentExecutorThread {
+
+        @Test
+        @DisplayName("getCurrentExecutorThread() throws NotInExecutorContextException if not in Executor context")
+        void notInExecutorContext() {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+
+            assertThrows(NotInExecutorContextException.class, executor::getCurrentExecutorThread);
+        }
+    }
+
+    @Nested
+    @DisplayName("MailboxExecutor awaitQuiescence(long)")
+    @Tag("awaitQuiescence")
+    class AwaitQuiescence {
+
+        @Test
+        @DisplayName("awaitQuiescence(long) returns true if executor is quiescence")
+        void returnsTrueWithQuiescenceExecutor() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+
+            assertThat(executor.awaitQuiescence(100L)).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("MailboxExecutor awaitTermination()")
+    @Tag("awaitTermination")
+    class AwaitTermination {
+
+        @Test
+        @DisplayName("awaitTermination() returns if the Executor is terminated")
+        void returnsTrueWithTerminatedExecutor() throws InterruptedException {
+            Executor executor = new MailboxExecutor(RUNNING_THREAD);
+            executor.shutdown();
+
+            awaitExecutorTermination(executor);
+
+            assertThat(executor.awaitTermination(100L)).isTrue();
+        }
+    }
+
+    private List<BasicExecutable> generateBasicExecutables() {
+        List<BasicExecutable> executables = new ArrayList<>();
+        for (int i = 0; i < NUMBER_CORRECT_EXECUTABLE; i++) {
+            executables.add(new BasicExecutable());
+        }
+        return executables;
+    }
+
+    private List<FailedExecutable> generateFailedExecutables() {
+        List<FailedExecutable> failedExecutables = new ArrayList<>();
+        for (int i = 0; i < NUMBER_FAILED_EXECUTABLE; i++) {
+            failedExecutables.add(new FailedExecutable());
+        }
+        return failedExecutables;
+    }
+
+    private List<WaitingExecutable> generateWaitingExecutables(Executor executor) {
+        List<WaitingExecutable> waitingExecutables = new ArrayList<>();
+        for (int i = 0; i < NUMBER_WAITING_EXECUTABLE; i++) {
+            waitingExecutables.add(new WaitingExecutable(executor, null));
+        }
+        return waitingExecutables;
+    }
+
+    private List<WaitingExecutable> generateWaitingExecutables(Executor executor, List<NotifierExecutable> notifierExecutables) {
+        List<WaitingExecutable> waitingExecutables = new ArrayList<>();
+        for (NotifierExecutable notifierExecutable : notifierExecutables) {
+            waitingExecutables.add(new WaitingExecutable(executor, notifierExecutable));
+        }
+        return waitingExecutables;
+    }
+
+    private List<NotifierExecutable> generateNotifierExecutables(Executor executor) {
+        List<NotifierExecutable> notifierExecutables = new ArrayList<>();
+        for (int i = 0; i < NUMBER_NOTIFIER_EXECUTABLE; i++) {
+            notifierExecutables.add(new NotifierExecutable(executor.generateCondition(), new AtomicBoolean(false)));
+        }
+        return notifierExecutables;
+    }
+
+    private void awaitExecutorQuiescence(Executor executor) throws InterruptedException {
+        int counter = 0;
+        while (!executor.isQuiescence()) {
+            executor.awaitQuiescence(1000);
+            log.debug("WakeUp wait quiescence, Executor = {}", executor);
+            counter++;
+            if (counter >= 5)
+                fail("To mush time to wait quiescence");
+        }
+    }
+
+    private void awaitExecutorTermination(Executor executor) throws InterruptedException {
+        int counter = 0;
+        while (!executor.isTerminated()) {
+            executor.awaitTermination(DEFAULT_TERMINATION_WAITING_TIMEOUT);
+            log.debug("WakeUp wait termination, Executor = {}", executor);
+            counter++;
+            if (counter >= 5)
+                fail("To mush time to wait quiescence");
+        }
+    }
+
+    private void checkAllExecutableHasBeenExecuted(List<? extends BasicExecutable> executables) {
+        executables.forEach(executable -> assertThat(executable.isExecuted()).isTrue());
+    }
+
+    private void checkAllExecutableHasNotBeenExecuted(List<? extends BasicExecutable> executables) {
+        executables.forEach(executable -> assertThat(executable.isExecuted()).isFalse());
+    }
+
+    // Inner class
+
+    /**
+     * Counts the number of {@link Executable} of its lock monitor in execution and records if more than one are executed at the same time.
+     */
+    private static class CountingExecutable extends BasicExecutable {
+
+        private final AtomicInteger lockMonitor;
+
+        private final AtomicBoolean concurrentExecution;
+
+        public CountingExecutable(AtomicInteger lockMonitor, AtomicBoolean concurrentExecution) {
+            super();
+            this.lockMonitor = lockMonitor;
+            this.concurrentExecution = concurrentExecution;
+        }
+
+        @Override
+        public void execute() throws Exception {
+            if (lockMonitor.incrementAndGet() > 1)
+                concurrentExecution.set(true);
+
+            Thread.yield();
+            super.execute();
+            lockMonitor.decrementAndGet();
+        }
+
+        @Override
+        public Object getLockMonitor() {
+            return lockMonitor;
+        }
+    }
+}
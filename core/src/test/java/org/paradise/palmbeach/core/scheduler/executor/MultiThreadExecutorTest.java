@@ -18,6 +18,8 @@ import org.paradise.palmbeach.core.scheduler.executor.multithread.MultiThreadExe
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -198,6 +200,26 @@ public class MultiThreadExecutorTest {
             checkAllExecutableHasBeenExecuted(notifierExecutables);
             checkAllExecutableHasBeenExecuted(waitingExecutables);
         }
+
+        @Test
+        @DisplayName("execute() does not await and keeps the executable active if it is woken up before awaiting")
+        void wakeUpBeforeAwait() throws InterruptedException {
+            Executor executor = new MultiThreadExecutor(RUNNING_THREAD);
+            CountDownLatch awaited = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            EarlyWakeUpExecutable executable = new EarlyWakeUpExecutable(executor, awaited, release);
+
+            executor.execute(executable);
+
+            assertThat(awaited.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(executor.isQuiescence()).isFalse();
+            assertThat(executor.awaitQuiescence(100L)).isFalse();
+
+            release.countDown();
+            awaitExecutorQuiescence(executor);
+
+            assertThat(executable.isExecuted()).isTrue();
+        }
     }
 
     @Nested
@@ -484,6 +506,29 @@ public class MultiThreadExecutorTest {
         }
     }
 
+    /**
+     * Executable which wakes up its thread before awaiting, then waits the release.
+     */
+    @AllArgsConstructor
+    public static class EarlyWakeUpExecutable extends BasicExecutable {
+
+        private final Executor executor;
+
+        private final CountDownLatch awaited;
+
+        private final CountDownLatch release;
+
+        @Override
+        public void execute() throws Exception {
+            Executor.ExecutorThread executorThread = executor.getCurrentExecutorThread();
+            executorThread.wakeUp();
+            executorThread.await();
+            awaited.countDown();
+            release.await();
+            super.execute();
+        }
+    }
+
     @AllArgsConstructor
     public static class NotifierExecutable extends BasicExecutable {
 
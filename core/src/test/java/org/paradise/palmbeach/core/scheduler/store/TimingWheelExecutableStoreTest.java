@@ -0,0 +1,198 @@
+package org.paradise.palmbeach.core.scheduler.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+import org.paradise.palmbeach.core.scheduler.executor.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("TimingWheelExecutableStore tests")
+@Tag("TimingWheelExecutableStore")
+@PalmBeachTest
+public class TimingWheelExecutableStoreTest {
+
+    @Nested
+    @DisplayName("TimingWheelExecutableStore constructor")
+    @Tag("constructor")
+    class Constructor {
+
+        @ParameterizedTest
+        @ValueSource(ints = {-5, 0, 11, 64})
+        @DisplayName("constructor throws IllegalArgumentException with level number not between 1 and MAX_LEVEL_NUMBER")
+        void withWrongLevelNumber(int levelNumber) {
+            assertThrows(IllegalArgumentException.class, () -> new TimingWheelExecutableStore(levelNumber));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 4, 10})
+        @DisplayName("constructor does not throw exception with correct level number and store is empty")
+        void withCorrectLevelNumber(int levelNumber) {
+            assertDoesNotThrow(() -> new TimingWheelExecutableStore(levelNumber));
+            assertThat(new TimingWheelExecutableStore(levelNumber).isEmpty()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("TimingWheelExecutableStore add()")
+    @Tag("add")
+    class Add {
+
+        @Test
+        @DisplayName("add() throws NullPointerException with null Executable")
+        void withNullExecutable() {
+            ExecutableStore store = new TimingWheelExecutableStore();
+
+            //noinspection ConstantConditions
+            assertThrows(NullPointerException.class, () -> store.add(1L, null));
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {1L, 63L, 64L, 4096L, 16_777_216L, Long.MAX_VALUE - 1})
+        @DisplayName("add() makes the store not empty and nextTime() returns the added time")
+        void addOneExecutable(long time, @Mock Executable executable) {
+            ExecutableStore store = new TimingWheelExecutableStore();
+            store.add(time, executable);
+
+            assertThat(store.isEmpty()).isFalse();
+            assertThat(store.nextTime()).isEqualTo(time);
+        }
+
+        @Test
+        @DisplayName("addAll() adds executables after already added executables of the same time as the sorted store does")
+        void addAllExecutables(@Mock Executable e0, @Mock Executable e1, @Mock Executable e2) {
+            for (ExecutableStore store : List.of(new TimingWheelExecutableStore(), new SortedExecutableStore())) {
+                store.add(7L, e0);
+                store.addAll(7L, List.of(e1, e2));
+                store.addAll(3L, List.of(e2));
+
+                assertThat(store.pollNextStep().executables()).containsExactly(e2);
+                assertThat(store.pollNextStep().executables()).containsExactly(e0, e1, e2);
+                assertThat(store.isEmpty()).isTrue();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("TimingWheelExecutableStore pollNextStep()")
+    @Tag("pollNextStep")
+    class PollNextStep {
+
+        @Test
+        @DisplayName("pollNextStep() returns null if the store is empty")
+        void withEmptyStore() {
+            ExecutableStore store = new TimingWheelExecutableStore();
+
+            assertThat(store.pollNextStep()).isNull();
+            assertThat(store.nextTime()).isEqualTo(ExecutableStore.NO_TIME);
+        }
+
+        @Test
+        @DisplayName("pollNextStep() returns executables of a same time in adding order")
+        void keepAddingOrder(@Mock Executable e0, @Mock Executable e1, @Mock Executable e2) {
+            ExecutableStore store = new TimingWheelExecutableStore();
+            store.add(500L, e0);
+            store.add(500L, e1);
+            store.add(12L, e2);
+            store.add(500L, e2);
+
+            assertThat(store.pollNextStep().executables()).containsExactly(e2);
+
+            ExecutableStore.Step step = store.pollNextStep();
+            assertThat(step.time()).isEqualTo(500L);
+            assertThat(step.executables()).containsExactly(e0, e1, e2);
+            assertThat(store.isEmpty()).isTrue();
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 4})
+        @DisplayName("pollNextStep() returns steps in the same order than SortedExecutableStore")
+        void sameOrderThanSortedStore(int levelNumber) {
+            Random random = new Random(levelNumber);
+            ExecutableStore wheel = new TimingWheelExecutableStore(levelNumber);
+            ExecutableStore sorted = new SortedExecutableStore();
+
+            long currentTime = 0L;
+            for (int i = 0; i < 5_000; i++) {
+                long time = currentTime + 1 + (random.nextBoolean() ? random.nextLong(100L) : random.nextLong(50_000_000L));
+                Executable executable = new IdExecutable(i);
+                wheel.add(time, executable);
+                sorted.add(time, executable);
+
+                if (random.nextInt(3) == 0) {
+                    ExecutableStore.Step expected = sorted.pollNextStep();
+                    ExecutableStore.Step step = wheel.pollNextStep();
+                    assertThat(step).isEqualTo(expected);
+                    currentTime = step.time();
+                }
+            }
+
+            List<ExecutableStore.Step> expectedSteps = drain(sorted);
+            assertThat(drain(wheel)).isEqualTo(expectedSteps);
+        }
+
+        @Test
+        @DisplayName("pollNextStep() returns executables added before the cursor of the wheel")
+        void withExecutableBeforeCursor(@Mock Executable e0, @Mock Executable e1) {
+            ExecutableStore store = new TimingWheelExecutableStore();
+            store.add(10_000L, e0);
+
+            // Cascades the wheel cursor to the slot of the time 10_000
+            assertThat(store.nextTime()).isEqualTo(10_000L);
+
+            store.add(9_990L, e1);
+
+            assertThat(store.pollNextStep().executables()).containsExactly(e1);
+            assertThat(store.pollNextStep().executables()).containsExactly(e0);
+        }
+
+        private List<ExecutableStore.Step> drain(ExecutableStore store) {
+            List<ExecutableStore.Step> steps = new ArrayList<>();
+            ExecutableStore.Step step;
+            while ((step = store.pollNextStep()) != null) {
+                steps.add(step);
+            }
+            return steps;
+        }
+    }
+
+    @Nested
+    @DisplayName("TimingWheelExecutableStore clear()")
+    @Tag("clear")
+    class Clear {
+
+        @Test
+        @DisplayName("clear() removes all executables")
+        void removeAll(@Mock Executable executable) {
+            ExecutableStore store = new TimingWheelExecutableStore();
+            store.add(5L, executable);
+            store.add(5_000L, executable);
+            store.add(Long.MAX_VALUE - 1, executable);
+
+            store.clear();
+
+            assertThat(store.isEmpty()).isTrue();
+            assertThat(store.pollNextStep()).isNull();
+        }
+    }
+
+    private record IdExecutable(int id) implements Executable {
+
+        @Override
+        public void execute() {
+            // Nothing
+        }
+    }
+}
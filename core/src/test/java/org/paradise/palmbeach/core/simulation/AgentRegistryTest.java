@@ -0,0 +1,114 @@
+package org.paradise.palmbeach.core.simulation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.palmbeach.core.junit.PalmBeachTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@Nested
+@DisplayName("AgentRegistry tests")
+@Tag("AgentRegistry")
+@PalmBeachTest
+public class AgentRegistryTest {
+
+    @Nested
+    @DisplayName("AgentRegistry putIfAbsent()")
+    @Tag("putIfAbsent")
+    class PutIfAbsent {
+
+        @Test
+        @DisplayName("putIfAbsent() throws NullPointerException with null agent")
+        void withNullAgent() {
+            AgentRegistry registry = new AgentRegistry();
+
+            //noinspection ConstantConditions
+            assertThrows(NullPointerException.class, () -> registry.putIfAbsent(null));
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {0L, 1L, 1023L, 1024L, 150_000L, Long.MAX_VALUE, -1L, Long.MIN_VALUE})
+        @DisplayName("putIfAbsent() registers the agent which can be get with its identifier or its unique id")
+        void registerAgent(long uniqueId, @Mock SimpleAgent agent) {
+            AgentRegistry registry = new AgentRegistry();
+            SimpleAgent.AgentIdentifier identifier = new SimpleAgent.AgentIdentifier("Agent", uniqueId);
+            when(agent.getIdentifier()).thenReturn(identifier);
+
+            assertThat(registry.putIfAbsent(agent)).isNull();
+            assertThat(registry.get(uniqueId)).isSameAs(agent);
+            assertThat(registry.get(new SimpleAgent.AgentIdentifier("Agent", uniqueId))).isSameAs(agent);
+            assertThat(registry.values()).containsExactly(agent);
+        }
+
+        @Test
+        @DisplayName("putIfAbsent() returns the already registered agent with the same identifier")
+        void alreadyRegistered(@Mock SimpleAgent a0, @Mock SimpleAgent a1) {
+            AgentRegistry registry = new AgentRegistry();
+            when(a0.getIdentifier()).thenReturn(new SimpleAgent.AgentIdentifier("A0", 5L));
+            when(a1.getIdentifier()).thenReturn(new SimpleAgent.AgentIdentifier("A0", 5L));
+            registry.putIfAbsent(a0);
+
+            assertThat(registry.putIfAbsent(a1)).isSameAs(a0);
+            assertThat(registry.values()).containsExactly(a0);
+        }
+
+        @Test
+        @DisplayName("putIfAbsent() registers agents with the same unique id and different identifiers")
+        void sameUniqueIdDifferentIdentifiers(@Mock SimpleAgent a0, @Mock SimpleAgent a1) {
+            AgentRegistry registry = new AgentRegistry();
+            SimpleAgent.AgentIdentifier i0 = new SimpleAgent.AgentIdentifier("A0", 5L);
+            SimpleAgent.AgentIdentifier i1 = new SimpleAgent.AgentIdentifier("A1", 5L);
+            when(a0.getIdentifier()).thenReturn(i0);
+            when(a1.getIdentifier()).thenReturn(i1);
+            registry.putIfAbsent(a0);
+
+            assertThat(registry.putIfAbsent(a1)).isNull();
+            assertThat(registry.get(i0)).isSameAs(a0);
+            assertThat(registry.get(i1)).isSameAs(a1);
+            assertThat(registry.values()).containsExactlyInAnyOrder(a0, a1);
+        }
+    }
+
+    @Nested
+    @DisplayName("AgentRegistry get()")
+    @Tag("get")
+    class Get {
+
+        @Test
+        @DisplayName("get() returns null if there is no agent with the unique id or with the identifier")
+        void notRegistered(@Mock SimpleAgent agent) {
+            AgentRegistry registry = new AgentRegistry();
+            when(agent.getIdentifier()).thenReturn(new SimpleAgent.AgentIdentifier("Agent", 3L));
+            registry.putIfAbsent(agent);
+
+            assertThat(registry.get(2L)).isNull();
+            assertThat(registry.get(5_000L)).isNull();
+            assertThat(registry.get(new SimpleAgent.AgentIdentifier("Other", 3L))).isNull();
+            assertThat(registry.get(null)).isNull();
+        }
+
+        @Test
+        @DisplayName("get() returns all registered agents even after the growth of the registry")
+        void afterGrowth() {
+            AgentRegistry registry = new AgentRegistry();
+            int nbAgents = 5_000;
+            for (int i = 0; i < nbAgents; i++) {
+                registry.putIfAbsent(new SimpleAgent(new SimpleAgent.AgentIdentifier("Agent " + i, i), null));
+            }
+
+            for (int i = 0; i < nbAgents; i++) {
+                assertThat(registry.get(i)).isNotNull();
+                assertThat(registry.get(i).getIdentifier().getUniqueId()).isEqualTo(i);
+            }
+            assertThat(registry.values()).hasSize(nbAgents);
+        }
+    }
+}
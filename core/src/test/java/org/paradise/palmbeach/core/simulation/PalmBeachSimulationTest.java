@@ -157,6 +157,7 @@ public class PalmBeachSimulationTest {
 
             assertThat(PalmBeachSimulation.addAgent(agent)).isTrue();
             assertThat(PalmBeachSimulation.getAgent(identifier)).isNotNull().isSameAs(agent);
+            assertThat(PalmBeachSimulation.getAgent(identifier.getUniqueId())).isNotNull().isSameAs(agent);
             assertThat(PalmBeachSimulation.allAgents()).isNotEmpty().hasSize(1);
         }
 
@@ -71,6 +71,33 @@ public class ContextConfigurationTest {
             assertThat(context.get().getClass()).isEqualTo(SimpleContext.class);
             assertThat(context.get().getValue(key1)).isEqualTo(v1);
         }
+
+        @Test
+        @DisplayName("generate() generates independent SimpleContexts which share the configured values")
+        void sharedPrototype(@Mock Config config, @Mock ConfigValue value1) {
+            String key1 = "key1";
+            String v1 = "value1";
+
+            Map<String, ConfigValue> keyValue = Maps.asMap(Sets.newSet(key1), (k) -> value1);
+
+            when(config.entrySet()).thenReturn(keyValue.entrySet());
+            when(value1.unwrapped()).thenReturn(v1);
+
+            ContextConfiguration contextConfiguration = new ContextConfiguration(config);
+
+            AtomicReference<Context> c0 = new AtomicReference<>();
+            AtomicReference<Context> c1 = new AtomicReference<>();
+            assertDoesNotThrow(() -> c0.set(contextConfiguration.generate()));
+            assertDoesNotThrow(() -> c1.set(contextConfiguration.generate()));
+
+            assertThat(c0.get()).isNotSameAs(c1.get());
+            assertThat(c1.get().getValue(key1)).isSameAs(c0.get().getValue(key1));
+
+            c0.get().map(key1, "other");
+
+            assertThat(c0.get().getValue(key1)).isEqualTo("other");
+            assertThat(c1.get().getValue(key1)).isEqualTo(v1);
+        }
     }
 
     @Nested
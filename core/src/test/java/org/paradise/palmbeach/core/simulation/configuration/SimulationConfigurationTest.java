@@ -2,6 +2,11 @@ package org.paradise.palmbeach.core.simulation.configuration;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import org.paradise.palmbeach.core.agent.SimpleAgent;
+import org.paradise.palmbeach.core.agent.behavior.BehaviorTest;
+import org.paradise.palmbeach.core.agent.protocol.ProtocolTest;
+import org.paradise.palmbeach.core.environment.Environment;
+import org.paradise.palmbeach.core.simulation.configuration.exception.GenerationFailedException;
 import org.paradise.palmbeach.core.simulation.configuration.exception.WrongSimulationConfigurationException;
 import org.paradise.palmbeach.core.junit.PalmBeachTest;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +19,9 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.paradise.palmbeach.core.simulation.PalmBeachSimulation;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -110,5 +118,68 @@ public class SimulationConfigurationTest {
             assertDoesNotThrow(() -> palmBeachSimulation.set(simulationConfiguration.generate()));
             assertThat(palmBeachSimulation.get()).isNotNull();
         }
+
+        @Test
+        @DisplayName("generate() with parallel build generates all agents with their protocols and behaviors and adds them in environments")
+        void parallelBuild() throws WrongSimulationConfigurationException, GenerationFailedException {
+            int agentNumber = 3 * SimulationConfiguration.AGENT_BATCH_SIZE + 1;
+            Config mainConfig = ConfigFactory.parseString(SimulationConfiguration.SIMULATION_PROPERTY + "." +
+                                                                  SimulationConfiguration.PARALLEL_BUILD_PROPERTY + "=true\n" +
+                                                                  "agent.correctAgent.number=" + agentNumber)
+                    .withFallback(ConfigFactory.load(SimulationConfiguration.DEFAULT_SIMULATION_CONFIG_NAME));
+            SimulationConfiguration simulationConfiguration = new SimulationConfiguration(mainConfig);
+
+            PalmBeachSimulation.setSingletonInstance(simulationConfiguration.generate());
+            try {
+                List<SimpleAgent> allAgents = PalmBeachSimulation.allAgents();
+                Environment environment = PalmBeachSimulation.getEnvironment("simpleEnvironment");
+
+                assertThat(simulationConfiguration.isParallelBuild()).isTrue();
+                assertThat(allAgents).hasSize(agentNumber + 3);
+                assertThat(environment.evolvingAgents()).hasSize(agentNumber + 3);
+                assertThat(allAgents).allMatch(agent -> agent.hasProtocol(ProtocolTest.BasicProtocol.class))
+                        .allMatch(agent -> agent.hasBehavior(BehaviorTest.BasicBehavior.class));
+                assertThat(allAgents).filteredOn(agent -> agent.hasProtocol(ProtocolTest.ProtocolWithDependencies.class))
+                        .hasSize(agentNumber)
+                        .allMatch(agent -> agent.getProtocol(ProtocolTest.ProtocolWithDependencies.class).getBasicProtocol() ==
+                                agent.getProtocol(ProtocolTest.BasicProtocol.class));
+            } finally {
+                PalmBeachSimulation.clear();
+            }
+        }
+
+        @Test
+        @DisplayName("generate() with parallel build gives the same unique id offsets to agents as a sequential build")
+        void parallelBuildSameIdsAsSequentialBuild() throws WrongSimulationConfigurationException, GenerationFailedException {
+            int agentNumber = 3 * SimulationConfiguration.AGENT_BATCH_SIZE + 1;
+
+            Map<String, Long> sequentialIds = generatedAgentIdOffsets(agentNumber, false);
+            Map<String, Long> parallelIds = generatedAgentIdOffsets(agentNumber, true);
+
+            assertThat(parallelIds).hasSize(agentNumber + 3).isEqualTo(sequentialIds);
+        }
+
+        /**
+         * @return the map agent name -> unique id minus the min unique id of the generated simulation.
+         */
+        private Map<String, Long> generatedAgentIdOffsets(int agentNumber, boolean parallelBuild)
+                throws WrongSimulationConfigurationException, GenerationFailedException {
+            Config mainConfig = ConfigFactory.parseString(SimulationConfiguration.SIMULATION_PROPERTY + "." +
+                                                                  SimulationConfiguration.PARALLEL_BUILD_PROPERTY + "=" + parallelBuild + "\n" +
+                                                                  "agent.correctAgent.number=" + agentNumber)
+                    .withFallback(ConfigFactory.load(SimulationConfiguration.DEFAULT_SIMULATION_CONFIG_NAME));
+            SimulationConfiguration simulationConfiguration = new SimulationConfiguration(mainConfig);
+
+            PalmBeachSimulation.setSingletonInstance(simulationConfiguration.generate());
+            try {
+                List<SimpleAgent.AgentIdentifier> identifiers = PalmBeachSimulation.allAgents().stream().map(SimpleAgent::getIdentifier).toList();
+                long minId = identifiers.stream().mapToLong(SimpleAgent.AgentIdentifier::getUniqueId).min().orElse(0L);
+                Map<String, Long> idOffsets = new HashMap<>();
+                identifiers.forEach(identifier -> idOffsets.put(identifier.getAgentName(), identifier.getUniqueId() - minId));
+                return idOffsets;
+            } finally {
+                PalmBeachSimulation.clear();
+            }
+        }
     }
 }
@@ -1,9 +1,9 @@
 package org.paradise.palmbeach.utils.context;
 
 import lombok.NonNull;
+import org.paradise.palmbeach.utils.reflection.FactoryCache;
 import org.paradise.palmbeach.utils.validation.Validate;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
 /**
@@ -35,6 +35,35 @@ public interface Context {
         return getValue(key) != null;
     }
 
+    /**
+     * Returns the value of the typed key converted and validated by the key. Implementations can cache the converted value until the key is mapped
+     * again, the default implementation converts the raw value at each call.
+     *
+     * @param key the typed key
+     * @param <T> the type of the value
+     *
+     * @return the converted value mapped to the key, the default value of the key if there is no value.
+     *
+     * @throws IllegalArgumentException if the mapped value cannot be converted or is not valid
+     */
+    default <T> T get(ContextKey<T> key) {
+        T value = key.convert(getValue(key.getName()));
+        return value != null ? value : key.getDefaultValue();
+    }
+
+    /**
+     * Validates the value with the typed key, then maps it to the name of the key.
+     *
+     * @param key   the typed key
+     * @param value the value
+     * @param <T>   the type of the value
+     *
+     * @throws IllegalArgumentException if the value is not valid
+     */
+    default <T> void set(ContextKey<T> key, T value) {
+        map(key.getName(), key.convert(value));
+    }
+
     default void setInt(String key, int value) {
         map(key, value);
     }
@@ -157,7 +186,6 @@ public interface Context {
      */
     static Context instantiateContext(@NonNull Class<? extends Context> contextClass)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<? extends Context> constructor = contextClass.getConstructor();
-        return constructor.newInstance();
+        return FactoryCache.constructor(contextClass).newInstance();
     }
 }
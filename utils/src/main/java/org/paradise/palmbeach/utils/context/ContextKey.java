@@ -0,0 +1,202 @@
+package org.paradise.palmbeach.utils.context;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.paradise.palmbeach.utils.validation.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Typed key of a {@link Context}. A {@code ContextKey} knows how to convert a raw value mapped in a {@code Context} (for example a {@link String}
+ * read from a configuration) to its type, how to validate it and which value to use if the {@code Context} does not map the key.
+ * <p>
+ * Each registered {@code ContextKey} receives a unique slot, therefore a {@code Context} can store the converted value of the key in an array instead
+ * of converting the raw value at each read. Several {@code ContextKeys} can be registered with the same name, for example by unrelated components
+ * which both read a {@code "randomSeed"}, as long as they have the same type. Each of them keeps its own default value and validator, a value mapped
+ * with the name must be valid for all of them. {@code ContextKeys} are generally declared as constants:
+ * <pre>
+ *     public static final ContextKey&lt;Long&gt; MIN_DELAY = ContextKey.longKey("minDelay", 50L, new Validate.MinLongValidator(1L));
+ * </pre>
+ *
+ * @param <T> the type of the value
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class ContextKey<T> {
+
+    // Constants.
+
+    /**
+     * Immutable lists of registered keys by name, all keys of a list have the same type.
+     */
+    private static final Map<String, List<ContextKey<?>>> REGISTERED_KEYS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SLOT_COUNTER = new AtomicInteger(0);
+
+    // Variables.
+
+    @Getter
+    @ToString.Include
+    private final String name;
+
+    @Getter
+    @ToString.Include
+    private final Class<T> type;
+
+    @Getter
+    private final T defaultValue;
+
+    private final Function<Object, T> converter;
+    private final Validate.Validator<T> validator;
+
+    /**
+     * Index of the key in the array of typed values of a {@link Context}.
+     */
+    @Getter
+    private final int slot;
+
+    // Constructors.
+
+    private ContextKey(String name, Class<T> type, T defaultValue, Function<Object, T> converter, Validate.Validator<T> validator) {
+        this.name = name;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.converter = converter;
+        this.validator = validator;
+        this.slot = SLOT_COUNTER.getAndIncrement();
+    }
+
+    // Methods.
+
+    /**
+     * Registers a new {@link ContextKey}. If keys are already registered with the same name, the new key must have the same type, but it can have
+     * a different default value and validator.
+     *
+     * @param name         the name of the key in the {@link Context}
+     * @param type         the type of the value
+     * @param defaultValue the value used if the context does not map the key, can be null
+     * @param converter    the function which converts a raw value to the type of the key, must throw IllegalArgumentException if the raw value
+     *                     cannot be converted
+     * @param validator    the validator of converted values, can be null
+     * @param <T>          the type of the value
+     *
+     * @return the registered {@link ContextKey}.
+     *
+     * @throws IllegalArgumentException if a key with the same name but another type is already registered
+     */
+    public static <T> ContextKey<T> register(@NonNull String name, @NonNull Class<T> type, T defaultValue, @NonNull Function<Object, T> converter,
+                                             Validate.Validator<T> validator) {
+        ContextKey<T> key = new ContextKey<>(name, type, defaultValue, converter, validator);
+        REGISTERED_KEYS.compute(name, (n, keys) -> {
+            if (keys == null)
+                return List.of(key);
+
+            Class<?> registeredType = keys.get(0).getType();
+            if (!registeredType.equals(type))
+                throw new IllegalArgumentException(
+                        "A ContextKey is already registered with the name " + name + " and the type " + registeredType.getName() + " instead of " +
+                                type.getName());
+
+            List<ContextKey<?>> newKeys = new ArrayList<>(keys);
+            newKeys.add(key);
+            return Collections.unmodifiableList(newKeys);
+        });
+
+        return key;
+    }
+
+    public static ContextKey<Long> longKey(@NonNull String name, Long defaultValue, Validate.Validator<Long> validator) {
+        return register(name, Long.class, defaultValue, ContextKey::toLong, validator);
+    }
+
+    public static ContextKey<Integer> intKey(@NonNull String name, Integer defaultValue, Validate.Validator<Integer> validator) {
+        return register(name, Integer.class, defaultValue, ContextKey::toInt, validator);
+    }
+
+    public static ContextKey<Double> doubleKey(@NonNull String name, Double defaultValue, Validate.Validator<Double> validator) {
+        return register(name, Double.class, defaultValue, ContextKey::toDouble, validator);
+    }
+
+    public static ContextKey<Boolean> booleanKey(@NonNull String name, Boolean defaultValue) {
+        return register(name, Boolean.class, defaultValue, ContextKey::toBoolean, null);
+    }
+
+    public static ContextKey<String> stringKey(@NonNull String name, String defaultValue, Validate.Validator<String> validator) {
+        return register(name, String.class, defaultValue, String::valueOf, validator);
+    }
+
+    /**
+     * @param name the name of the key
+     *
+     * @return the unmodifiable list of the {@link ContextKey}s registered with the specified name in the order of their registration, an empty list
+     * if no key has been registered with this name.
+     */
+    public static List<ContextKey<?>> forName(@NonNull String name) {
+        return REGISTERED_KEYS.getOrDefault(name, List.of());
+    }
+
+    /**
+     * @return the number of slots given to registered keys, all slots are in [0, slotNumber[.
+     */
+    static int slotNumber() {
+        return SLOT_COUNTER.get();
+    }
+
+    /**
+     * Converts and validates the raw value.
+     *
+     * @param rawValue the raw value mapped in a {@link Context}
+     *
+     * @return the converted value, null if the raw value is null.
+     *
+     * @throws IllegalArgumentException if the raw value cannot be converted or if the converted value is not valid
+     */
+    public T convert(Object rawValue) {
+        if (rawValue == null)
+            return null;
+
+        T value = type.isInstance(rawValue) ? type.cast(rawValue) : converter.apply(rawValue);
+        if (validator != null)
+            validator.validate(value);
+        return value;
+    }
+
+    private static Long toLong(Object rawValue) {
+        if (rawValue instanceof Number number)
+            return number.longValue();
+        else if (rawValue instanceof String sLong)
+            return Long.valueOf(sLong);
+        else
+            throw new IllegalArgumentException("Cannot convert " + rawValue + " to Long");
+    }
+
+    private static Integer toInt(Object rawValue) {
+        if (rawValue instanceof Number number)
+            return number.intValue();
+        else if (rawValue instanceof String sInteger)
+            return Integer.valueOf(sInteger);
+        else
+            throw new IllegalArgumentException("Cannot convert " + rawValue + " to Integer");
+    }
+
+    private static Double toDouble(Object rawValue) {
+        if (rawValue instanceof Number number)
+            return number.doubleValue();
+        else if (rawValue instanceof String sDouble)
+            return Double.valueOf(sDouble);
+        else
+            throw new IllegalArgumentException("Cannot convert " + rawValue + " to Double");
+    }
+
+    private static Boolean toBoolean(Object rawValue) {
+        if (rawValue instanceof String sBoolean)
+            return Boolean.parseBoolean(sBoolean);
+        else
+            throw new IllegalArgumentException("Cannot convert " + rawValue + " to Boolean");
+    }
+}
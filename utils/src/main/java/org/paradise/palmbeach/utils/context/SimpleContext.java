@@ -3,36 +3,191 @@ package org.paradise.palmbeach.utils.context;
 import lombok.NonNull;
 import lombok.ToString;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-@ToString
+/**
+ * {@link Context} backed by a {@link ConcurrentHashMap}.
+ * <p>
+ * A value mapped with the name of registered {@link ContextKey}s is converted and validated by each of these keys in {@link #map(String, Object)},
+ * therefore an invalid value fails at its mapping and is never mapped. The converted values are stored in an array at the slot of each key, thus
+ * reading a typed value is only an array load. A value mapped before the registration of its key is converted and validated at its first read.
+ * <p>
+ * A {@code SimpleContext} can be {@link #freeze() frozen} and used as prototype of other {@code SimpleContexts}. A {@code SimpleContext} created
+ * with a prototype reads the values of the prototype and only allocates its own map at the first {@link #map(String, Object)}, which hides the
+ * value of the prototype for the key. Therefore, a lot of contexts with the same initial values share one prototype instead of copying it.
+ */
+@ToString(onlyExplicitlyIncluded = true)
 public class SimpleContext implements Context {
 
+    // Constants.
+
+    /**
+     * Marks in {@link #typedValues} a key without mapped value.
+     */
+    private static final Object NO_VALUE = new Object();
+
+    private static final Object[] NO_TYPED_VALUES = new Object[0];
+
     // Variables.
 
-    private final Map<String, Object> map;
+    /**
+     * Frozen context whose values are visible if this context does not map the key, can be null.
+     */
+    @ToString.Include
+    private final SimpleContext prototype;
+
+    /**
+     * Values mapped in this context, null until the first mapping.
+     */
+    @ToString.Include
+    private volatile Map<String, Object> map;
+
+    /**
+     * Converted values by slot of {@link ContextKey}, null if the value has not been converted yet. The array is copied on each write, therefore
+     * reads do not need lock.
+     */
+    private volatile Object[] typedValues;
+
+    private volatile boolean frozen;
 
     // Constructors.
 
     public SimpleContext() {
+        this.prototype = null;
         this.map = new ConcurrentHashMap<>();
+        this.typedValues = NO_TYPED_VALUES;
+        this.frozen = false;
+    }
+
+    /**
+     * Constructs a {@link SimpleContext} which sees all values of the prototype until they are mapped again in the new context. The prototype is
+     * never modified.
+     *
+     * @param prototype the frozen prototype
+     *
+     * @throws IllegalArgumentException if the prototype is not frozen
+     */
+    public SimpleContext(@NonNull SimpleContext prototype) {
+        if (!prototype.isFrozen())
+            throw new IllegalArgumentException("Prototype context must be frozen");
+
+        this.prototype = prototype;
+        this.map = null;
+        this.typedValues = NO_TYPED_VALUES;
+        this.frozen = false;
     }
 
     // Methods.
 
+    /**
+     * Forbids all next mappings, then the context can be used as prototype of other {@link SimpleContext}s.
+     *
+     * @return this context.
+     */
+    public SimpleContext freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException if the context is frozen
+     * @throws IllegalArgumentException      if a {@link ContextKey} registered with the name cannot convert the value or does not validate it
+     */
     @Override
     public void map(@NonNull String key, @NonNull Object value) {
-        map.put(key, value);
+        if (frozen)
+            throw new UnsupportedOperationException("Cannot map value in a frozen context");
+
+        List<ContextKey<?>> typedKeys = ContextKey.forName(key);
+        if (!typedKeys.isEmpty()) {
+            Object[] converted = new Object[typedKeys.size()];
+            for (int i = 0; i < converted.length; i++) {
+                converted[i] = typedKeys.get(i).convert(value);
+            }
+            synchronized (this) {
+                ownMap().put(key, value);
+                for (int i = 0; i < converted.length; i++) {
+                    storeTypedValue(typedKeys.get(i).getSlot(), converted[i]);
+                }
+            }
+        } else if (map == null) {
+            synchronized (this) {
+                ownMap().put(key, value);
+            }
+        } else
+            map.put(key, value);
+    }
+
+    private Map<String, Object> ownMap() {
+        if (map == null)
+            map = new ConcurrentHashMap<>();
+        return map;
     }
 
     @Override
     public Object getValue(@NonNull String key) {
-        return map.get(key);
+        Map<String, Object> m = map;
+        Object value = m != null ? m.get(key) : null;
+        if (value == null && prototype != null)
+            value = prototype.getValue(key);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull ContextKey<T> key) {
+        Object value = typedValue(key);
+        return value != NO_VALUE ? (T) value : key.getDefaultValue();
+    }
+
+    /**
+     * @return the converted value of the key, {@link #NO_VALUE} if there is no value for the key.
+     */
+    private Object typedValue(ContextKey<?> key) {
+        Object[] values = typedValues;
+        Object value = key.getSlot() < values.length ? values[key.getSlot()] : null;
+        return value != null ? value : convertTypedValue(key);
+    }
+
+    private synchronized Object convertTypedValue(ContextKey<?> key) {
+        Map<String, Object> m = map;
+        Object raw = m != null ? m.get(key.getName()) : null;
+
+        Object value;
+        if (raw != null)
+            value = key.convert(raw);
+        else if (prototype != null)
+            // The prototype converts the value once for all contexts which share it.
+            value = prototype.typedValue(key);
+        else
+            value = NO_VALUE;
+
+        storeTypedValue(key.getSlot(), value);
+        return value;
+    }
+
+    private void storeTypedValue(int slot, Object value) {
+        Object[] values = typedValues;
+        if (slot >= values.length && value == null)
+            return;
+
+        Object[] newValues = Arrays.copyOf(values, Math.max(values.length, Math.max(slot + 1, ContextKey.slotNumber())));
+        newValues[slot] = value;
+        typedValues = newValues;
     }
 
     @Override
     public boolean isEmpty() {
-        return map.isEmpty();
+        Map<String, Object> m = map;
+        return (m == null || m.isEmpty()) && (prototype == null || prototype.isEmpty());
     }
 }
@@ -0,0 +1,310 @@
+package org.paradise.palmbeach.utils.reflection;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@link Factory}s and {@link Setter}s. A public constructor or setter is resolved only once by class, then it is bound to a lambda generated
+ * by {@link LambdaMetafactory}. Therefore, creating an instance or setting a value with a cached {@code Factory} or {@code Setter} costs a direct call
+ * instead of a reflective call. If the lambda cannot be generated (for example if the class is not accessible with a full privilege lookup), the
+ * call is done through a {@link MethodHandle}.
+ * <p>
+ * As with {@link java.lang.reflect.Constructor#newInstance(Object...)} and {@link Method#invoke(Object, Object...)}, any exception, checked or not,
+ * thrown by the constructor or the setter is wrapped in an {@link InvocationTargetException}. {@link Error}s are not wrapped.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FactoryCache {
+
+    // Constants.
+
+    /**
+     * Maximal number of parameters of a constructor bound to a {@link Factory}.
+     */
+    public static final int MAX_PARAMETER_NUMBER = 3;
+
+    private static final Map<ConstructorKey, Factory<?>> FACTORIES = new ConcurrentHashMap<>();
+    private static final Map<SetterKey, Setter> SETTERS = new ConcurrentHashMap<>();
+
+    // Methods.
+
+    /**
+     * Returns the cached {@link Factory} of the public constructor of the class with the specified parameter types. The constructor is resolved and
+     * bound only at the first call for the class and the parameter types.
+     *
+     * @param type           the class to instantiate
+     * @param parameterTypes the parameter types of the constructor
+     * @param <T>            the type of the class
+     *
+     * @return the {@link Factory} of the constructor.
+     *
+     * @throws NoSuchMethodException    if the class does not have a public constructor with the parameter types
+     * @throws IllegalAccessException   if the constructor is not accessible
+     * @throws InstantiationException   if the class is abstract
+     * @throws IllegalArgumentException if there is more than {@link #MAX_PARAMETER_NUMBER} parameter types
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Factory<T> constructor(@NonNull Class<T> type, @NonNull Class<?>... parameterTypes)
+            throws NoSuchMethodException, IllegalAccessException, InstantiationException {
+        ConstructorKey key = new ConstructorKey(type, List.of(parameterTypes));
+        Factory<?> factory = FACTORIES.get(key);
+        if (factory == null) {
+            factory = createFactory(type, parameterTypes);
+            Factory<?> previous = FACTORIES.putIfAbsent(key, factory);
+            if (previous != null)
+                factory = previous;
+        }
+        return (Factory<T>) factory;
+    }
+
+    /**
+     * Returns the cached {@link Setter} of the public non-static method of the class with the specified name and only one parameter. The method is
+     * resolved and bound only at the first call for the class and the name.
+     *
+     * @param type       the class of the modified objects
+     * @param setterName the name of the setter
+     *
+     * @return the {@link Setter} of the method.
+     *
+     * @throws NoSuchMethodException  if the class does not have a public non-static method with the name and only one parameter
+     * @throws IllegalAccessException if the method is not accessible
+     */
+    public static Setter setter(@NonNull Class<?> type, @NonNull String setterName) throws NoSuchMethodException, IllegalAccessException {
+        SetterKey key = new SetterKey(type, setterName);
+        Setter setter = SETTERS.get(key);
+        if (setter == null) {
+            setter = createSetter(type, setterName);
+            Setter previous = SETTERS.putIfAbsent(key, setter);
+            if (previous != null)
+                setter = previous;
+        }
+        return setter;
+    }
+
+    private static <T> Factory<T> createFactory(Class<T> type, Class<?>[] parameterTypes)
+            throws NoSuchMethodException, IllegalAccessException, InstantiationException {
+        if (parameterTypes.length > MAX_PARAMETER_NUMBER)
+            throw new IllegalArgumentException("Cannot bind a constructor with more than " + MAX_PARAMETER_NUMBER + " parameters");
+
+        if (Modifier.isAbstract(type.getModifiers()))
+            throw new InstantiationException("Cannot instantiate the abstract class " + type.getName());
+
+        // Only public constructors, as Class.getConstructor().
+        type.getConstructor(parameterTypes);
+
+        MethodHandles.Lookup lookup = lookupIn(type);
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+        try {
+            return lambdaFactory(lookup, constructor);
+        } catch (LambdaConversionException e) {
+            return methodHandleFactory(constructor);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Factory<T> lambdaFactory(MethodHandles.Lookup lookup, MethodHandle constructor) throws LambdaConversionException {
+        switch (constructor.type().parameterCount()) {
+            case 0 -> {
+                Supplier<T> supplier = (Supplier<T>) bind(lookup, Supplier.class, "get", constructor);
+                return args -> {
+                    try {
+                        return supplier.get();
+                    } catch (Throwable t) {
+                        throw wrap(t);
+                    }
+                };
+            }
+            case 1 -> {
+                Function<Object, T> function = (Function<Object, T>) bind(lookup, Function.class, "apply", constructor);
+                return args -> {
+                    try {
+                        return function.apply(args[0]);
+                    } catch (Throwable t) {
+                        throw wrap(t);
+                    }
+                };
+            }
+            case 2 -> {
+                BiFunction<Object, Object, T> function = (BiFunction<Object, Object, T>) bind(lookup, BiFunction.class, "apply", constructor);
+                return args -> {
+                    try {
+                        return function.apply(args[0], args[1]);
+                    } catch (Throwable t) {
+                        throw wrap(t);
+                    }
+                };
+            }
+            default -> {
+                TriFunction<T> function = (TriFunction<T>) bind(lookup, TriFunction.class, "apply", constructor);
+                return args -> {
+                    try {
+                        return function.apply(args[0], args[1], args[2]);
+                    } catch (Throwable t) {
+                        throw wrap(t);
+                    }
+                };
+            }
+        }
+    }
+
+    private static <T> Factory<T> methodHandleFactory(MethodHandle constructor) {
+        int parameterCount = constructor.type().parameterCount();
+        MethodHandle generic = constructor.asType(constructor.type().generic()).asSpreader(Object[].class, parameterCount);
+        return args -> {
+            try {
+                @SuppressWarnings("unchecked")
+                T instance = (T) generic.invokeExact(args);
+                return instance;
+            } catch (Throwable t) {
+                throw wrap(t);
+            }
+        };
+    }
+
+    private static Setter createSetter(Class<?> type, String setterName) throws NoSuchMethodException, IllegalAccessException {
+        Method method = Arrays.stream(type.getMethods())
+                .filter(m -> m.getName().equals(setterName) && m.getParameterCount() == 1 && !Modifier.isStatic(m.getModifiers()))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchMethodException("No public method " + setterName + " with one parameter in " + type.getName()));
+
+        MethodHandles.Lookup lookup = lookupIn(method.getDeclaringClass());
+        MethodHandle handle = lookup.unreflect(method);
+        try {
+            @SuppressWarnings("unchecked")
+            BiConsumer<Object, Object> consumer = (BiConsumer<Object, Object>) bind(lookup, BiConsumer.class, "accept", handle);
+            return (target, value) -> {
+                try {
+                    consumer.accept(target, value);
+                } catch (Throwable t) {
+                    throw wrap(t);
+                }
+            };
+        } catch (LambdaConversionException e) {
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> {
+                try {
+                    generic.invokeExact(target, value);
+                } catch (Throwable t) {
+                    throw wrap(t);
+                }
+            };
+        }
+    }
+
+    /**
+     * Wraps a throwable thrown by a bound constructor or setter. A checked exception can be thrown by the generated lambda or the method handle even
+     * if it is not declared, therefore all throwables are caught and only {@link Error}s are not wrapped.
+     *
+     * @return an {@link InvocationTargetException} which wraps the throwable.
+     *
+     * @throws Error the throwable itself if it is an {@code Error}
+     */
+    private static InvocationTargetException wrap(Throwable throwable) {
+        if (throwable instanceof Error error)
+            throw error;
+
+        return new InvocationTargetException(throwable);
+    }
+
+    /**
+     * @return a full privilege lookup in the class if the class is open to this module, else the public lookup.
+     */
+    private static MethodHandles.Lookup lookupIn(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    /**
+     * Generates with {@link LambdaMetafactory} an instance of the functional interface whose only method calls the method handle.
+     *
+     * @throws LambdaConversionException if the lambda cannot be generated
+     */
+    private static Object bind(MethodHandles.Lookup lookup, Class<?> functionalInterface, String methodName, MethodHandle target)
+            throws LambdaConversionException {
+        // Primitive parameters are unboxed by the generated lambda.
+        MethodType targetType = target.type();
+        MethodType instantiatedType = targetType.wrap();
+        if (targetType.returnType() == void.class)
+            instantiatedType = instantiatedType.changeReturnType(void.class);
+        MethodType erasedType = instantiatedType.erase();
+
+        if ((lookup.lookupModes() & MethodHandles.Lookup.PRIVATE) == 0)
+            throw new LambdaConversionException("LambdaMetafactory needs a full privilege lookup");
+
+        try {
+            return LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionalInterface), erasedType, target, instantiatedType)
+                    .getTarget()
+                    .invoke();
+        } catch (LambdaConversionException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new LambdaConversionException(t);
+        }
+    }
+
+    // Inner classes.
+
+    /**
+     * Public constructor of a class bound once.
+     *
+     * @param <T> the type of created instances
+     */
+    @FunctionalInterface
+    public interface Factory<T> {
+
+        /**
+         * @param args the arguments of the constructor, in the order of its parameter types
+         *
+         * @return a new instance.
+         *
+         * @throws InvocationTargetException if the constructor throws an exception or if an argument does not have the type of its parameter
+         */
+        T newInstance(Object... args) throws InvocationTargetException;
+    }
+
+    /**
+     * Public setter of a class bound once.
+     */
+    @FunctionalInterface
+    public interface Setter {
+
+        /**
+         * @param target the modified object
+         * @param value  the value to set
+         *
+         * @throws InvocationTargetException if the setter throws an exception or if the value does not have the type of the parameter of the setter
+         */
+        void set(Object target, Object value) throws InvocationTargetException;
+    }
+
+    @FunctionalInterface
+    private interface TriFunction<R> {
+        R apply(Object a, Object b, Object c);
+    }
+
+    private record ConstructorKey(Class<?> type, List<Class<?>> parameterTypes) {
+    }
+
+    private record SetterKey(Class<?> type, String setterName) {
+    }
+}
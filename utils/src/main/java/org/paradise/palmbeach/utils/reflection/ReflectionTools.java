@@ -4,12 +4,36 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ReflectionTools {
 
+    // Constants.
+
+    private static final Map<String, Class<?>> EXTRACTED_CLASSES = new ConcurrentHashMap<>();
+
+    // Methods.
+
+    /**
+     * Extracts the class with the specified name. Extracted classes are cached, therefore the class is searched only once by name.
+     *
+     * @param className the fully qualified name of the class
+     * @param <T>       the type of the class
+     *
+     * @return the class with the specified name.
+     *
+     * @throws ClassNotFoundException if the class cannot be found
+     */
     @SuppressWarnings("unchecked")
     public static <T> Class<? extends T> extractClass(@NonNull String className) throws ClassNotFoundException {
-        return (Class<? extends T>) Class.forName(className);
+        Class<?> extracted = EXTRACTED_CLASSES.get(className);
+        if (extracted == null) {
+            extracted = Class.forName(className);
+            EXTRACTED_CLASSES.putIfAbsent(className, extracted);
+        }
+        return (Class<? extends T>) extracted;
     }
 
 }
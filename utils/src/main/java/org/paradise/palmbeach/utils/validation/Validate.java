@@ -49,6 +49,19 @@ public class Validate {
             throw new IllegalArgumentException(errorMsg);
     }
 
+    /**
+     * @param toVerify the value to verify
+     * @param minValue the min value include
+     * @param maxValue the max value include
+     * @param errorMsg the error message
+     *
+     * @throws IllegalArgumentException if {@code toVerify NOT IN [minValue, maxValue]} or if toVerify is NaN.
+     */
+    public static void interval(double toVerify, double minValue, double maxValue, String errorMsg) {
+        if (!(toVerify >= minValue && toVerify <= maxValue))
+            throw new IllegalArgumentException(errorMsg);
+    }
+
     // Inner classes.
 
     @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
@@ -192,6 +205,31 @@ public class Validate {
         }
     }
 
+    public static class IntervalDoubleValidator extends NumberValidator<Double> {
+
+        // Variables.
+
+        private final Double max;
+
+        // Constructors.
+
+        public IntervalDoubleValidator(@NonNull Double min, @NonNull Double max) {
+            this(min, max, null);
+        }
+
+        public IntervalDoubleValidator(@NonNull Double min, @NonNull Double max, String errorMsg) {
+            super(min, errorMsg);
+            this.max = max;
+        }
+
+        // Methods.
+
+        @Override
+        public void validate(Double value) {
+            interval(value, getReference(), max, getErrorMsg());
+        }
+    }
+
     @FunctionalInterface
     public interface Validator<T> {
 
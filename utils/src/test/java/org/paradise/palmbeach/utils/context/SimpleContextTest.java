@@ -366,4 +366,153 @@ public class SimpleContextTest {
         }
     }
 
+    @Nested
+    @DisplayName("SimpleContext get(ContextKey)")
+    @Tag("getContextKey")
+    class GetContextKey {
+
+        private static final ContextKey<Long> LONG_KEY =
+                ContextKey.longKey("simpleContextTestLong", 5L, new Validate.MinLongValidator(1L, "Value cannot be less than 1"));
+        private static final ContextKey<Boolean> BOOLEAN_KEY = ContextKey.booleanKey("simpleContextTestBoolean", false);
+
+        @Test
+        @DisplayName("get(ContextKey) returns the default value if there is no mapped value")
+        void withNoValue() {
+            SimpleContext context = new SimpleContext();
+
+            assertThat(context.get(LONG_KEY)).isEqualTo(5L);
+            assertThat(context.get(BOOLEAN_KEY)).isFalse();
+        }
+
+        @Test
+        @DisplayName("get(ContextKey) converts the mapped value and returns the new value after a new mapping")
+        void convertMappedValue() {
+            SimpleContext context = new SimpleContext();
+            assertThat(context.get(LONG_KEY)).isEqualTo(5L);
+
+            context.map(LONG_KEY.getName(), "42");
+            context.map(BOOLEAN_KEY.getName(), "true");
+
+            assertThat(context.get(LONG_KEY)).isEqualTo(42L);
+            assertThat(context.get(LONG_KEY)).isSameAs(context.get(LONG_KEY));
+            assertThat(context.get(BOOLEAN_KEY)).isTrue();
+
+            context.map(LONG_KEY.getName(), 7);
+
+            assertThat(context.get(LONG_KEY)).isEqualTo(7L);
+            assertThat(context.getValue(LONG_KEY.getName())).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("map() throws IllegalArgumentException and does not map the value if it is not valid for the ContextKey of the name")
+        void withNotValidValue() {
+            SimpleContext context = new SimpleContext();
+            context.map(LONG_KEY.getName(), 3L);
+
+            assertThrows(IllegalArgumentException.class, () -> context.map(LONG_KEY.getName(), 0L));
+            assertThrows(IllegalArgumentException.class, () -> context.map(LONG_KEY.getName(), "not a long"));
+            assertThat(context.getValue(LONG_KEY.getName())).isEqualTo(3L);
+            assertThat(context.get(LONG_KEY)).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("get(ContextKey) throws IllegalArgumentException if the value mapped before the registration of the key is not valid")
+        void withNotValidValueMappedBeforeRegistration() {
+            SimpleContext context = new SimpleContext();
+            context.map("simpleContextTestLateLong", 0L);
+            ContextKey<Long> lateKey = ContextKey.longKey("simpleContextTestLateLong", 5L, new Validate.MinLongValidator(1L, "Less than 1"));
+
+            assertThrows(IllegalArgumentException.class, () -> context.get(lateKey));
+        }
+
+        @Test
+        @DisplayName("set(ContextKey) validates the value before mapping it")
+        void setValidates() {
+            SimpleContext context = new SimpleContext();
+
+            assertThrows(IllegalArgumentException.class, () -> context.set(LONG_KEY, -1L));
+            assertThat(context.hasValue(LONG_KEY.getName())).isFalse();
+
+            context.set(LONG_KEY, 10L);
+
+            assertThat(context.get(LONG_KEY)).isEqualTo(10L);
+        }
+
+        @Test
+        @DisplayName("ContextKey can be registered twice with the same name and type, a mapped value must be valid for both keys")
+        void registerTwiceSameType() {
+            ContextKey<Long> longKey = ContextKey.longKey("simpleContextTestSharedLong", 5L, new Validate.MinLongValidator(1L, "Value less than 1"));
+            ContextKey<Long> otherLongKey = ContextKey.longKey(longKey.getName(), 100L, new Validate.MinLongValidator(50L, "Value less than 50"));
+            SimpleContext context = new SimpleContext();
+
+            assertThat(ContextKey.forName(longKey.getName())).containsExactly(longKey, otherLongKey);
+            assertThat(context.get(longKey)).isEqualTo(5L);
+            assertThat(context.get(otherLongKey)).isEqualTo(100L);
+
+            assertThrows(IllegalArgumentException.class, () -> context.map(longKey.getName(), 10L));
+            assertThat(context.get(longKey)).isEqualTo(5L);
+
+            context.map(longKey.getName(), 60L);
+
+            assertThat(context.get(longKey)).isEqualTo(60L);
+            assertThat(context.get(otherLongKey)).isEqualTo(60L);
+        }
+
+        @Test
+        @DisplayName("ContextKey cannot be registered twice with the same name and another type")
+        void registerTwiceOtherType() {
+            assertThrows(IllegalArgumentException.class, () -> ContextKey.intKey(LONG_KEY.getName(), null, null));
+            assertThat(ContextKey.forName(LONG_KEY.getName())).allMatch(key -> key.getType() == Long.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("SimpleContext with prototype")
+    @Tag("prototype")
+    class Prototype {
+
+        private static final ContextKey<Integer> INT_KEY = ContextKey.intKey("simpleContextTestPrototypeInt", 0, null);
+
+        @Test
+        @DisplayName("constructor() throws IllegalArgumentException if the prototype is not frozen")
+        void notFrozenPrototype() {
+            SimpleContext notFrozen = new SimpleContext();
+
+            assertThrows(IllegalArgumentException.class, () -> new SimpleContext(notFrozen));
+        }
+
+        @Test
+        @DisplayName("map() throws UnsupportedOperationException in a frozen context")
+        void mapInFrozen() {
+            SimpleContext frozen = new SimpleContext().freeze();
+
+            assertThat(frozen.isFrozen()).isTrue();
+            assertThrows(UnsupportedOperationException.class, () -> frozen.map("key", "value"));
+        }
+
+        @Test
+        @DisplayName("context sees values of the prototype and mapping a value does not modify the prototype nor other contexts")
+        void copyOnWrite() {
+            SimpleContext prototype = new SimpleContext();
+            prototype.map("key", "value");
+            prototype.map(INT_KEY.getName(), "5");
+            prototype.freeze();
+
+            SimpleContext c0 = new SimpleContext(prototype);
+            SimpleContext c1 = new SimpleContext(prototype);
+
+            assertThat(c0.isEmpty()).isFalse();
+            assertThat(c0.getValue("key")).isEqualTo("value");
+            assertThat(c0.get(INT_KEY)).isEqualTo(5).isSameAs(c1.get(INT_KEY));
+
+            c0.map("key", "other");
+            c0.set(INT_KEY, 10);
+
+            assertThat(c0.getValue("key")).isEqualTo("other");
+            assertThat(c0.get(INT_KEY)).isEqualTo(10);
+            assertThat(c1.getValue("key")).isEqualTo("value");
+            assertThat(c1.get(INT_KEY)).isEqualTo(5);
+            assertThat(prototype.getValue("key")).isEqualTo("value");
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package org.paradise.palmbeach.utils.reflection;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.paradise.palmbeach.utils.junit.ParadiseTest;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Nested
+@DisplayName("FactoryCache tests")
+@Tag("FactoryCache")
+@ParadiseTest
+public class FactoryCacheTest {
+
+    @Nested
+    @DisplayName("FactoryCache constructor()")
+    @Tag("constructor")
+    class Constructor {
+
+        @Test
+        @DisplayName("constructor() returns the same Factory for the same class and parameter types")
+        void cachedFactory() throws Exception {
+            FactoryCache.Factory<BasicClass> factory = FactoryCache.constructor(BasicClass.class, String.class, Integer.class);
+
+            assertThat(FactoryCache.constructor(BasicClass.class, String.class, Integer.class)).isSameAs(factory);
+            assertThat(FactoryCache.constructor(BasicClass.class)).isNotSameAs(factory);
+        }
+
+        @Test
+        @DisplayName("constructor() returns a Factory which calls the constructor with the correct arguments")
+        void newInstance() throws Exception {
+            BasicClass noArg = FactoryCache.constructor(BasicClass.class).newInstance();
+            BasicClass oneArg = FactoryCache.constructor(BasicClass.class, String.class).newInstance("one");
+            BasicClass twoArgs = FactoryCache.constructor(BasicClass.class, String.class, Integer.class).newInstance("two", 2);
+            BasicClass threeArgs = FactoryCache.constructor(BasicClass.class, String.class, Integer.class, long.class).newInstance("three", 3, 3L);
+
+            assertThat(noArg.getName()).isNull();
+            assertThat(oneArg.getName()).isEqualTo("one");
+            assertThat(twoArgs.getName()).isEqualTo("two");
+            assertThat(twoArgs.getValue()).isEqualTo(2);
+            assertThat(threeArgs.getValue()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("constructor() throws NoSuchMethodException if there is no public constructor with the parameter types")
+        void noConstructor() {
+            assertThrows(NoSuchMethodException.class, () -> FactoryCache.constructor(BasicClass.class, Long.class));
+            assertThrows(NoSuchMethodException.class, () -> FactoryCache.constructor(BasicClass.class, Integer.class));
+        }
+
+        @Test
+        @DisplayName("constructor() throws InstantiationException with abstract class")
+        void abstractClass() {
+            assertThrows(InstantiationException.class, () -> FactoryCache.constructor(AbstractClass.class));
+        }
+
+        @Test
+        @DisplayName("constructor() throws IllegalArgumentException with more than the maximal number of parameters")
+        void tooManyParameters() {
+            assertThrows(IllegalArgumentException.class,
+                         () -> FactoryCache.constructor(BasicClass.class, String.class, Integer.class, long.class, Object.class));
+        }
+
+        @Test
+        @DisplayName("newInstance() wraps exceptions thrown by the constructor in InvocationTargetException")
+        void wrapConstructorException() throws Exception {
+            FactoryCache.Factory<BasicClass> factory = FactoryCache.constructor(BasicClass.class, String.class);
+
+            InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> factory.newInstance(BasicClass.FAIL));
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("newInstance() wraps checked exceptions thrown by the constructor in InvocationTargetException")
+        void wrapConstructorCheckedException() throws Exception {
+            FactoryCache.Factory<CheckedExceptionClass> factory = FactoryCache.constructor(CheckedExceptionClass.class);
+
+            InvocationTargetException e = assertThrows(InvocationTargetException.class, factory::newInstance);
+            assertThat(e.getCause()).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("FactoryCache setter()")
+    @Tag("setter")
+    class SetterMethod {
+
+        @Test
+        @DisplayName("setter() returns a cached Setter which calls the setter")
+        void set() throws Exception {
+            FactoryCache.Setter setter = FactoryCache.setter(BasicClass.class, "setName");
+            BasicClass basic = new BasicClass();
+
+            setter.set(basic, "name");
+
+            assertThat(basic.getName()).isEqualTo("name");
+            assertThat(FactoryCache.setter(BasicClass.class, "setName")).isSameAs(setter);
+        }
+
+        @Test
+        @DisplayName("setter() supports primitive parameter")
+        void primitiveSetter() throws Exception {
+            BasicClass basic = new BasicClass();
+
+            FactoryCache.setter(BasicClass.class, "setCounter").set(basic, 5L);
+
+            assertThat(basic.getCounter()).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("setter() throws NoSuchMethodException if there is no public setter with the name")
+        void noSetter() {
+            assertThrows(NoSuchMethodException.class, () -> FactoryCache.setter(BasicClass.class, "setUnknown"));
+        }
+
+        @Test
+        @DisplayName("set() throws InvocationTargetException with a value of wrong type")
+        void wrongType() throws Exception {
+            FactoryCache.Setter setter = FactoryCache.setter(BasicClass.class, "setName");
+            BasicClass basic = new BasicClass();
+
+            assertThrows(InvocationTargetException.class, () -> setter.set(basic, 5));
+        }
+
+        @Test
+        @DisplayName("set() wraps checked exceptions thrown by the setter in InvocationTargetException")
+        void wrapSetterCheckedException() throws Exception {
+            FactoryCache.Setter setter = FactoryCache.setter(CheckedExceptionClass.class, "setFailing");
+
+            InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> setter.set(new CheckedExceptionClass(false), "value"));
+            assertThat(e.getCause()).isInstanceOf(IOException.class);
+        }
+    }
+
+    // Inner classes.
+
+    @Getter
+    @Setter
+    public static class BasicClass {
+
+        public static final String FAIL = "fail";
+
+        private String name;
+        private Integer value;
+        private long counter;
+
+        public BasicClass() {
+            this((String) null);
+        }
+
+        public BasicClass(String name) {
+            if (FAIL.equals(name))
+                throw new IllegalStateException();
+
+            this.name = name;
+        }
+
+        public BasicClass(String name, Integer value) {
+            this(name);
+            this.value = value;
+        }
+
+        public BasicClass(String name, Integer value, long factor) {
+            this(name, (int) (value * factor));
+        }
+
+        private BasicClass(Integer value) {
+            this.value = value;
+        }
+    }
+
+    public abstract static class AbstractClass {
+        // Nothing
+    }
+
+    public static class CheckedExceptionClass {
+
+        public CheckedExceptionClass() throws IOException {
+            this(true);
+        }
+
+        public CheckedExceptionClass(boolean fail) throws IOException {
+            if (fail)
+                throw new IOException();
+        }
+
+        public void setFailing(String value) throws IOException {
+            throw new IOException(value);
+        }
+    }
+}
@@ -194,6 +194,28 @@ public class ValidateTest {
                 assertDoesNotThrow(() -> validator.validate(2L));
             }
         }
+
+        @Nested
+        @DisplayName("Validate IntervalDoubleValidator")
+        @Tag("IntervalDoubleValidator")
+        class IntervalDoubleValidator {
+
+            @Test
+            @DisplayName("validate() throws IllegalArgumentException if value is not valid")
+            void notValid() {
+                Validate.IntervalDoubleValidator validator = new Validate.IntervalDoubleValidator(0d, 1d);
+                assertThrows(IllegalArgumentException.class, () -> validator.validate(1.5d));
+                assertThrows(IllegalArgumentException.class, () -> validator.validate(Double.NaN));
+            }
+
+            @Test
+            @DisplayName("validate() does not throw Exception if value is valid")
+            void withValid() {
+                Validate.IntervalDoubleValidator validator = new Validate.IntervalDoubleValidator(0d, 1d);
+                assertDoesNotThrow(() -> validator.validate(0.25d));
+                assertDoesNotThrow(() -> validator.validate(1d));
+            }
+        }
     }
 
 }